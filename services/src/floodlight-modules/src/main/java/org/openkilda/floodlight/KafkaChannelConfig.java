@@ -41,6 +41,13 @@ public interface KafkaChannelConfig extends KafkaConsumerGroupConfig {
     @Key("testing-mode")
     String getTestingMode();
 
+    /**
+     * Wire format of the statistics messages, "json" or "smile" (see {@link org.openkilda.messaging.codec.WireFormat}).
+     */
+    @Key("stats-wire-format")
+    @Default("json")
+    String getStatsWireFormat();
+
     default boolean isTestingMode() {
         return "YES".equals(getTestingMode());
     }
@@ -76,7 +83,7 @@ public interface KafkaChannelConfig extends KafkaConsumerGroupConfig {
         properties.put("linger.ms", 10);
 
         properties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        properties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        properties.put("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
 
         return properties;
     }
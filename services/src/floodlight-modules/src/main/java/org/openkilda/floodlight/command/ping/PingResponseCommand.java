@@ -21,6 +21,7 @@ import org.openkilda.floodlight.error.CorruptedNetworkDataException;
 import org.openkilda.floodlight.model.OfInput;
 import org.openkilda.floodlight.model.PingData;
 import org.openkilda.floodlight.service.ping.PingService;
+import org.openkilda.floodlight.utils.DataSignature;
 import org.openkilda.messaging.floodlight.response.PingResponse;
 import org.openkilda.messaging.model.PingMeters;
 
@@ -76,7 +77,12 @@ public class PingResponseCommand extends PingCommand {
     }
 
     private PingData decode(byte[] payload) throws CorruptedNetworkDataException {
-        DecodedJWT token = getPingService().getSignature().verify(payload);
+        DataSignature signature = getPingService().getSignature();
+        if (signature.isBinary(payload)) {
+            return PingData.of(signature.verifyBinary(payload));
+        }
+        // the format used before the binary one
+        DecodedJWT token = signature.verify(payload);
         return PingData.of(token);
     }
 
@@ -18,11 +18,15 @@ package org.openkilda.floodlight.kafka;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static org.openkilda.messaging.Utils.MAPPER;
+import static org.openkilda.messaging.Utils.PAYLOAD;
 
 import org.openkilda.floodlight.service.kafka.KafkaConsumerSetup;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.google.common.annotations.VisibleForTesting;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -33,15 +37,17 @@ import org.apache.kafka.common.errors.InterruptException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.ExecutorService;
 
 public class Consumer implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(Consumer.class);
 
-    private final ExecutorService handlersPool;
+    private static final String SWITCH_ID_FIELD = "switch_id";
+
+    private final KeyedExecutor handlersPool;
     private final RecordHandler.Factory handlerFactory;
     private final KafkaConsumerSetup kafkaSetup;
     private final long commitInterval;
@@ -49,7 +55,7 @@ public class Consumer implements Runnable {
     private final KafkaUtilityService kafkaUtilityService;
     private final ISwitchManager switchManager; // HACK alert.. adding to facilitate safeSwitchTick()
 
-    public Consumer(FloodlightModuleContext moduleContext, ExecutorService handlersPool,
+    public Consumer(FloodlightModuleContext moduleContext, KeyedExecutor handlersPool,
                     KafkaConsumerSetup kafkaSetup, RecordHandler.Factory handlerFactory,
                     long commitInterval) {
         this.handlersPool = requireNonNull(handlersPool);
@@ -116,7 +122,55 @@ public class Consumer implements Runnable {
 
     protected void handle(ConsumerRecord<String, String> record) {
         logger.trace("received message: {} - {}", record.offset(), record.value());
-        handlersPool.execute(handlerFactory.produce(record));
+        try {
+            // commands of one switch are handled in the order they are received, back pressure blocks the poll loop
+            handlersPool.execute(extractSwitchId(record.value()), handlerFactory.produce(record));
+        } catch (InterruptedException e) {
+            throw new InterruptException(e);
+        }
+    }
+
+    /**
+     * Extract the switch id of the command ({@code payload.switch_id} field) to be used as the ordering key. Only
+     * the JSON tokens are scanned, the message is decoded by the handler later.
+     *
+     * @return the switch id or null if the command is not bound to the switch or can't be parsed
+     */
+    @VisibleForTesting
+    static String extractSwitchId(String json) {
+        if (json == null) {
+            return null;
+        }
+
+        try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (PAYLOAD.equals(field) && value == JsonToken.START_OBJECT) {
+                    return findSwitchId(parser);
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // the handler will report the malformed message
+            logger.debug("Unable to extract switch id from {}: {}", json, e.getMessage());
+        }
+        return null;
+    }
+
+    private static String findSwitchId(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (SWITCH_ID_FIELD.equals(field) && value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                return parser.getText();
+            }
+            parser.skipChildren();
+        }
+        return null;
     }
 
     /**
@@ -37,11 +37,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.RejectedExecutionHandler;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 public class KafkaMessageCollector implements IFloodlightModule {
@@ -83,8 +79,10 @@ public class KafkaMessageCollector implements IFloodlightModule {
         ConfigurationProvider provider = ConfigurationProvider.of(moduleContext, this);
         KafkaMessageCollectorConfig consumerConfig = provider.getConfiguration(KafkaMessageCollectorConfig.class);
 
-        ExecutorService generalExecutor = buildExecutorWithNoQueue(consumerConfig.getGeneralExecutorCount());
-        logger.info("Kafka Consumer: general executor threads = {}", consumerConfig.getGeneralExecutorCount());
+        KeyedExecutor generalExecutor = buildKeyedExecutor(
+                consumerConfig.getGeneralExecutorCount(), consumerConfig.getSwitchQueueLimit());
+        logger.info("Kafka Consumer: general executor threads = {}, per switch queue limit = {}",
+                consumerConfig.getGeneralExecutorCount(), consumerConfig.getSwitchQueueLimit());
 
         KafkaUtilityService kafkaUtility = moduleContext.getServiceImpl(KafkaUtilityService.class);
         KafkaTopicsConfig topics = kafkaUtility.getTopics();
@@ -94,18 +92,33 @@ public class KafkaMessageCollector implements IFloodlightModule {
         launcher.launch(generalExecutor, new KafkaConsumerSetup(topics.getSpeakerFlowTopic()));
         launcher.launch(generalExecutor, new KafkaConsumerSetup(topics.getSpeakerFlowPingTopic()));
 
-        ExecutorService discoCommandExecutor = buildExecutorWithNoQueue(consumerConfig.getDiscoExecutorCount());
+        KeyedExecutor discoCommandExecutor = buildKeyedExecutor(
+                consumerConfig.getDiscoExecutorCount(), consumerConfig.getSwitchQueueLimit());
         logger.info("Kafka Consumer: disco executor threads = {}", consumerConfig.getDiscoExecutorCount());
 
         KafkaConsumerSetup kafkaSetup = new KafkaConsumerSetup(topics.getSpeakerDiscoTopic());
         kafkaSetup.offsetResetStrategy(OffsetResetStrategy.LATEST);
         launcher.launch(discoCommandExecutor, kafkaSetup);
+
+        long reportInterval = consumerConfig.getQueueDepthReportInterval();
+        Executors.newSingleThreadScheduledExecutor().scheduleWithFixedDelay(() -> {
+            reportQueueDepth("general", generalExecutor);
+            reportQueueDepth("disco", discoCommandExecutor);
+        }, reportInterval, reportInterval, TimeUnit.SECONDS);
     }
 
-    private ExecutorService buildExecutorWithNoQueue(int executorCount) {
-        // A thread pool of fixed sized and no work queue.
-        return new ThreadPoolExecutor(executorCount, executorCount, 0L, TimeUnit.MILLISECONDS,
-                new SynchronousQueue<>(), new RetryableExecutionHandler());
+    private KeyedExecutor buildKeyedExecutor(int executorCount, int queueLimit) {
+        // A thread pool of fixed size, its work queue is bounded by the number of switches, because the keyed
+        // executor holds at most one pending task per switch in it.
+        return new KeyedExecutor(Executors.newFixedThreadPool(executorCount), queueLimit);
+    }
+
+    private void reportQueueDepth(String name, KeyedExecutor executor) {
+        Map<String, Integer> depth = executor.getQueueDepth();
+        if (!depth.isEmpty() || executor.getUnorderedDepth() != 0) {
+            logger.info("Kafka Consumer: {} executor queue depth per switch: {}, not switch related: {}",
+                    name, depth, executor.getUnorderedDepth());
+        }
     }
 
     private static class ConsumerLauncher {
@@ -125,7 +138,7 @@ public class KafkaMessageCollector implements IFloodlightModule {
             isTestingMode = moduleContext.getServiceImpl(KafkaUtilityService.class).isTestingMode();
         }
 
-        private void launch(ExecutorService handlerExecutor, KafkaConsumerSetup kafkaSetup) {
+        private void launch(KeyedExecutor handlerExecutor, KafkaConsumerSetup kafkaSetup) {
             Consumer consumer;
             if (!isTestingMode) {
                 consumer = new Consumer(moduleContext, handlerExecutor, kafkaSetup, handlerFactory,
@@ -138,22 +151,4 @@ public class KafkaMessageCollector implements IFloodlightModule {
                     .scheduleWithFixedDelay(consumer, 0, 1, TimeUnit.MILLISECONDS);
         }
     }
-
-    /**
-     * Handler of rejected messages by ThreadPoolExecutor, in case of reject this handler will wait
-     * until one of executors becomes available.
-     */
-    private static class RetryableExecutionHandler implements RejectedExecutionHandler {
-        @Override
-        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-            if (!executor.isShutdown()) {
-                try {
-                    executor.getQueue().put(r);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    logger.error("Couldn't retry to process message", e);
-                }
-            }
-        }
-    }
 }
@@ -36,6 +36,16 @@ public interface KafkaMessageCollectorConfig {
     @Min(1)
     int getDiscoExecutorCount();
 
+    @Key("consumer-switch-queue-limit")
+    @Default("64")
+    @Min(1)
+    int getSwitchQueueLimit();
+
+    @Key("consumer-queue-depth-report-interval")
+    @Default("60")
+    @Min(1)
+    long getQueueDepthReportInterval();
+
     @Key("consumer-auto-commit-interval")
     @Default("1000")
     @Min(1)
@@ -0,0 +1,174 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executes tasks in the shared pool of worker threads preserving the order of tasks with the same key.
+ * <p/>
+ * Tasks of one key (the switch DPID for the speaker commands) are executed one by one in the submission order,
+ * tasks of different keys are executed in parallel. After each task the key gives the worker thread away, so a busy
+ * switch can't hold more than one worker. Each key has a bounded queue, {@link #execute(String, Runnable)} blocks the
+ * caller while the queue of the key is full, so the Kafka consumer stops polling until the slow switch catches up.
+ * Tasks without a key are not ordered, they share one more bounded queue.
+ */
+public class KeyedExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(KeyedExecutor.class);
+
+    private final ExecutorService workers;
+    private final int queueLimit;
+
+    private final Map<String, KeyQueue> queues = new HashMap<>();
+    private int unorderedInFlight = 0;
+
+    public KeyedExecutor(ExecutorService workers, int queueLimit) {
+        if (queueLimit < 1) {
+            throw new IllegalArgumentException("queueLimit must be positive");
+        }
+        this.workers = workers;
+        this.queueLimit = queueLimit;
+    }
+
+    /**
+     * Schedule the task after all previously scheduled tasks of the same key. Blocks while the queue of the key is
+     * full.
+     *
+     * @param key the ordering key, tasks with null key are executed in any order
+     * @param task the task to execute
+     * @throws InterruptedException if interrupted while waiting for a room in the queue
+     */
+    public void execute(String key, Runnable task) throws InterruptedException {
+        if (key == null) {
+            executeUnordered(task);
+            return;
+        }
+
+        KeyQueue queue;
+        synchronized (this) {
+            queue = queues.computeIfAbsent(key, KeyQueue::new);
+            if (queueLimit <= queue.tasks.size()) {
+                logger.warn("The queue of {} is full ({} commands), wait for it before taking new commands",
+                        key, queue.tasks.size());
+                do {
+                    wait();
+                    queue = queues.computeIfAbsent(key, KeyQueue::new);
+                } while (queueLimit <= queue.tasks.size());
+            }
+
+            queue.tasks.add(task);
+            if (1 < queue.tasks.size()) {
+                // the queue is already served by the worker
+                return;
+            }
+        }
+
+        final KeyQueue target = queue;
+        workers.execute(() -> runNext(target));
+    }
+
+    /**
+     * Returns the number of queued (including the running one) tasks per key, the keys with empty queues are
+     * omitted.
+     */
+    public synchronized Map<String, Integer> getQueueDepth() {
+        Map<String, Integer> depth = new TreeMap<>();
+        for (KeyQueue queue : queues.values()) {
+            depth.put(queue.key, queue.tasks.size());
+        }
+        return Collections.unmodifiableMap(depth);
+    }
+
+    /**
+     * Returns the number of tasks without key that are queued or running.
+     */
+    public synchronized int getUnorderedDepth() {
+        return unorderedInFlight;
+    }
+
+    private void executeUnordered(Runnable task) throws InterruptedException {
+        synchronized (this) {
+            while (queueLimit <= unorderedInFlight) {
+                wait();
+            }
+            unorderedInFlight += 1;
+        }
+
+        workers.execute(() -> {
+            try {
+                runSafe(task);
+            } finally {
+                synchronized (this) {
+                    unorderedInFlight -= 1;
+                    notifyAll();
+                }
+            }
+        });
+    }
+
+    private void runNext(KeyQueue queue) {
+        Runnable task;
+        synchronized (this) {
+            // the task leaves the queue only when it is done, so the head of the queue is the running task
+            task = queue.tasks.peek();
+        }
+
+        try {
+            runSafe(task);
+        } finally {
+            if (completeHead(queue)) {
+                workers.execute(() -> runNext(queue));
+            }
+        }
+    }
+
+    private synchronized boolean completeHead(KeyQueue queue) {
+        queue.tasks.remove();
+        notifyAll();
+
+        if (queue.tasks.isEmpty()) {
+            queues.remove(queue.key);
+            return false;
+        }
+        return true;
+    }
+
+    private void runSafe(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            logger.error("Unhandled exception during task execution", e);
+        }
+    }
+
+    private static class KeyQueue {
+        private final String key;
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        KeyQueue(String key) {
+            this.key = key;
+        }
+    }
+}
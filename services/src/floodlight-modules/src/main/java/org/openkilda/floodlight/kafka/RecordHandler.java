@@ -23,8 +23,11 @@ import org.openkilda.floodlight.command.ping.PingRequestCommand;
 import org.openkilda.floodlight.converter.OfFlowStatsConverter;
 import org.openkilda.floodlight.converter.OfPortDescConverter;
 import org.openkilda.floodlight.error.FlowCommandException;
+import org.openkilda.floodlight.error.OfBatchException;
+import org.openkilda.floodlight.error.OfReplyTimeoutException;
 import org.openkilda.floodlight.error.SwitchNotFoundException;
 import org.openkilda.floodlight.error.SwitchOperationException;
+import org.openkilda.floodlight.model.OfRequestResponse;
 import org.openkilda.floodlight.service.CommandProcessorService;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
@@ -36,6 +39,7 @@ import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.CommandWithReplyToMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
@@ -63,7 +67,9 @@ import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.rule.DumpRulesErrorData;
 import org.openkilda.messaging.floodlight.request.PingRequest;
+import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.DiscoPacketSendingBatchConfirmation;
 import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
 import org.openkilda.messaging.info.event.PortChangeType;
 import org.openkilda.messaging.info.rule.FlowEntry;
@@ -83,6 +89,7 @@ import org.openkilda.messaging.payload.flow.OutputVlanType;
 import net.floodlightcontroller.core.IOFSwitch;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
@@ -90,11 +97,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 class RecordHandler implements Runnable {
@@ -146,6 +155,8 @@ class RecordHandler implements Runnable {
 
         if (data instanceof DiscoverIslCommandData) {
             doDiscoverIslCommand(message);
+        } else if (data instanceof DiscoverIslBatchCommandData) {
+            doDiscoverIslBatchCommand(message);
         } else if (data instanceof PingRequest) {
             doPingRequest(context, (PingRequest) data);
         } else if (data instanceof DiscoverPathCommandData) {
@@ -198,12 +209,28 @@ class RecordHandler implements Runnable {
 
     private void doDiscoverIslCommand(CommandMessage message) {
         DiscoverIslCommandData command = (DiscoverIslCommandData) message.getData();
+        sendDiscoveryPacket(command.getSwitchId(), command.getPortNumber());
+        sendDiscoveryConfirmation(message, new DiscoPacketSendingConfirmation(
+                new NetworkEndpoint(command.getSwitchId(), command.getPortNumber())));
+    }
+
+    private void doDiscoverIslBatchCommand(CommandMessage message) {
+        DiscoverIslBatchCommandData command = (DiscoverIslBatchCommandData) message.getData();
         SwitchId switchId = command.getSwitchId();
-        context.getPathVerificationService().sendDiscoveryMessage(
-                DatapathId.of(switchId.toLong()), OFPort.of(command.getPortNumber()));
+        logger.debug("Processing ISL discovery for {} ports of switch {}", command.getPortNumbers().size(), switchId);
+
+        for (Integer port : command.getPortNumbers()) {
+            sendDiscoveryPacket(switchId, port);
+        }
+        sendDiscoveryConfirmation(message,
+                new DiscoPacketSendingBatchConfirmation(switchId, command.getPortNumbers()));
+    }
+
+    private void sendDiscoveryPacket(SwitchId switchId, int port) {
+        context.getPathVerificationService().sendDiscoveryMessage(DatapathId.of(switchId.toLong()), OFPort.of(port));
+    }
 
-        DiscoPacketSendingConfirmation confirmation = new DiscoPacketSendingConfirmation(
-                new NetworkEndpoint(command.getSwitchId(), command.getPortNumber()));
+    private void sendDiscoveryConfirmation(CommandMessage message, InfoData confirmation) {
         getKafkaProducer().sendMessageAndTrack(context.getKafkaTopoDiscoTopic(),
                 new InfoMessage(confirmation, System.currentTimeMillis(), message.getCorrelationId()));
     }
@@ -581,36 +608,58 @@ class RecordHandler implements Runnable {
 
     private void doDumpRulesRequest(final CommandMessage message,  String replyToTopic, Destination replyDestination) {
         DumpRulesRequest request = (DumpRulesRequest) message.getData();
-
-        final IKafkaProducerService producerService = getKafkaProducer();
+        final SwitchId switchId = request.getSwitchId();
+        logger.debug("Loading installed rules for switch {}", switchId);
 
         try {
-            SwitchId switchId = request.getSwitchId();
-            logger.debug("Loading installed rules for switch {}", switchId);
-
-            List<OFFlowStatsEntry> flowEntries =
-                    context.getSwitchManager().dumpFlowTable(DatapathId.of(switchId.toLong()));
-            List<FlowEntry> flows = flowEntries.stream()
-                    .map(OfFlowStatsConverter::toFlowEntry)
-                    .collect(Collectors.toList());
-
-            SwitchFlowEntries response = SwitchFlowEntries.builder()
-                    .switchId(switchId)
-                    .flowEntries(flows)
-                    .build();
-            InfoMessage infoMessage = new InfoMessage(response, message.getTimestamp(),
-                    message.getCorrelationId());
-            producerService.sendMessageAndTrack(replyToTopic, infoMessage);
-        } catch (SwitchOperationException e) {
-            logger.info("Dump rules is unsuccessful. Switch {} not found", request.getSwitchId());
-            ErrorData errorData = new DumpRulesErrorData(ErrorType.NOT_FOUND, e.getMessage(),
+            // the reply is sent from the switch I/O thread, this worker is released right after the request is written
+            context.getSwitchManager().dumpFlowTableAsync(DatapathId.of(switchId.toLong()))
+                    .whenComplete((flowEntries, error) -> {
+                        if (error == null) {
+                            sendDumpRulesResponse(message, replyToTopic, switchId, flowEntries);
+                            return;
+                        }
+
+                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                        logger.error("Could not get flow stats for {}.", switchId, cause);
+                        if (cause instanceof OfReplyTimeoutException) {
+                            sendDumpRulesError(message, replyToTopic, replyDestination, ErrorType.OPERATION_TIMED_OUT,
+                                    cause.getMessage(), "The switch did not reply to the rules dump request.");
+                        } else {
+                            sendDumpRulesError(message, replyToTopic, replyDestination, ErrorType.INTERNAL_ERROR,
+                                    cause.getMessage(), "Failed to dump the rules of the switch.");
+                        }
+                    });
+        } catch (SwitchNotFoundException e) {
+            logger.info("Dump rules is unsuccessful. Switch {} not found", switchId);
+            sendDumpRulesError(message, replyToTopic, replyDestination, ErrorType.NOT_FOUND, e.getMessage(),
                     "The switch was not found when requesting a rules dump.");
-            ErrorMessage error = new ErrorMessage(errorData,
-                    System.currentTimeMillis(), message.getCorrelationId(), replyDestination);
-            producerService.sendMessageAndTrack(replyToTopic, error);
         }
     }
 
+    private void sendDumpRulesResponse(CommandMessage message, String replyToTopic, SwitchId switchId,
+                                       List<OFFlowStatsEntry> flowEntries) {
+        List<FlowEntry> flows = flowEntries.stream()
+                .map(OfFlowStatsConverter::toFlowEntry)
+                .collect(Collectors.toList());
+
+        SwitchFlowEntries response = SwitchFlowEntries.builder()
+                .switchId(switchId)
+                .flowEntries(flows)
+                .build();
+        InfoMessage infoMessage = new InfoMessage(response, message.getTimestamp(),
+                message.getCorrelationId());
+        getKafkaProducer().sendMessageAndTrack(replyToTopic, infoMessage);
+    }
+
+    private void sendDumpRulesError(CommandMessage message, String replyToTopic, Destination replyDestination,
+                                    ErrorType errorType, String errorMessage, String description) {
+        ErrorData errorData = new DumpRulesErrorData(errorType, errorMessage, description);
+        ErrorMessage error = new ErrorMessage(errorData,
+                System.currentTimeMillis(), message.getCorrelationId(), replyDestination);
+        getKafkaProducer().sendMessageAndTrack(replyToTopic, error);
+    }
+
     /**
      * Batch install of flows on the switch.
      *
@@ -621,25 +670,87 @@ class RecordHandler implements Runnable {
         final String switchId = request.getSwitchId();
         logger.debug("Processing flow commands for switch {}", switchId);
 
+        DatapathId dpid = DatapathId.of(new SwitchId(switchId).toLong());
+        List<OFMessage> batch = new ArrayList<>();
+        Map<Long, String> flowIdByXid = new HashMap<>();
         for (BaseInstallFlow command : request.getFlowCommands()) {
             logger.debug("Processing command for switch {} {}", switchId, command);
             try {
-                if (command instanceof InstallIngressFlow) {
-                    installIngressFlow((InstallIngressFlow) command);
-                } else if (command instanceof InstallEgressFlow) {
-                    installEgressFlow((InstallEgressFlow) command);
-                } else if (command instanceof InstallTransitFlow) {
-                    installTransitFlow((InstallTransitFlow) command);
-                } else if (command instanceof InstallOneSwitchFlow) {
-                    installOneSwitchFlow((InstallOneSwitchFlow) command);
-                } else {
-                    throw new FlowCommandException(command.getId(), ErrorType.REQUEST_INVALID,
-                            "Unsupported command for batch install.");
+                for (OFMessage ofMessage : buildBatchInstall(dpid, command)) {
+                    batch.add(ofMessage);
+                    flowIdByXid.put(ofMessage.getXid(), command.getId());
                 }
             } catch (SwitchOperationException e) {
                 logger.error("Error during flow installation", e);
             }
         }
+
+        try {
+            context.getSwitchManager().installBatch(dpid, batch).whenComplete((result, error) -> {
+                if (error instanceof OfBatchException) {
+                    for (OfRequestResponse entry : ((OfBatchException) error).getErrors()) {
+                        logger.error("Error during flow {} installation on switch {}: {}",
+                                flowIdByXid.get(entry.getXid()), switchId, entry.getError().getMessage());
+                    }
+                } else if (error != null) {
+                    logger.error("Error during flow installation on switch {}", switchId, error);
+                } else {
+                    logger.debug("{} OF messages have been installed on switch {}", result.size(), switchId);
+                }
+            });
+        } catch (SwitchOperationException e) {
+            logger.error("Error during flow installation", e);
+        }
+    }
+
+    /**
+     * Builds OF messages for one command of the batch install request, the meter-mod (if any) and the flow-mod.
+     */
+    private List<OFMessage> buildBatchInstall(DatapathId dpid, BaseInstallFlow command)
+            throws FlowCommandException, SwitchOperationException {
+        ISwitchManager switchManager = context.getSwitchManager();
+        List<OFMessage> messages = new ArrayList<>();
+
+        if (command instanceof InstallIngressFlow) {
+            InstallIngressFlow ingress = (InstallIngressFlow) command;
+            long meterId = buildBatchMeter(dpid, ingress, ingress.getMeterId(), ingress.getBandwidth(), messages);
+            messages.add(switchManager.buildIngressFlow(dpid, ingress.getId(), ingress.getCookie(),
+                    ingress.getInputPort(), ingress.getOutputPort(), ingress.getInputVlanId(),
+                    ingress.getTransitVlanId(), ingress.getOutputVlanType(), meterId));
+        } else if (command instanceof InstallEgressFlow) {
+            InstallEgressFlow egress = (InstallEgressFlow) command;
+            messages.add(switchManager.buildEgressFlow(dpid, egress.getId(), egress.getCookie(),
+                    egress.getInputPort(), egress.getOutputPort(), egress.getTransitVlanId(),
+                    egress.getOutputVlanId(), egress.getOutputVlanType()));
+        } else if (command instanceof InstallTransitFlow) {
+            InstallTransitFlow transit = (InstallTransitFlow) command;
+            messages.add(switchManager.buildTransitFlow(dpid, transit.getId(), transit.getCookie(),
+                    transit.getInputPort(), transit.getOutputPort(), transit.getTransitVlanId()));
+        } else if (command instanceof InstallOneSwitchFlow) {
+            InstallOneSwitchFlow oneSwitch = (InstallOneSwitchFlow) command;
+            long meterId = buildBatchMeter(dpid, oneSwitch, oneSwitch.getMeterId(), oneSwitch.getBandwidth(),
+                    messages);
+            messages.add(switchManager.buildOneSwitchFlow(dpid, oneSwitch.getId(), oneSwitch.getCookie(),
+                    oneSwitch.getInputPort(), oneSwitch.getOutputPort(), oneSwitch.getInputVlanId(),
+                    oneSwitch.getOutputVlanId(), oneSwitch.getOutputVlanType(), meterId));
+        } else {
+            throw new FlowCommandException(command.getId(), ErrorType.REQUEST_INVALID,
+                    "Unsupported command for batch install.");
+        }
+        return messages;
+    }
+
+    private long buildBatchMeter(DatapathId dpid, BaseInstallFlow command, Long meterId, Long bandwidth,
+                                 List<OFMessage> messages) throws SwitchOperationException {
+        if (meterId == null || meterId <= 0) {
+            logger.debug("Installing unmetered flow. Switch: {}, cookie: {}",
+                    command.getSwitchId(), command.getCookie());
+            return 0;
+        }
+
+        long allocatedId = allocateMeterId(meterId, command.getSwitchId(), command.getId(), command.getCookie());
+        context.getSwitchManager().buildMeter(dpid, bandwidth, 1024, allocatedId).ifPresent(messages::add);
+        return allocatedId;
     }
 
     private void doPortsCommandDataRequest(CommandMessage message) {
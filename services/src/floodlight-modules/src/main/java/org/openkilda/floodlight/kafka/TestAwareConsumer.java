@@ -29,7 +29,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
 
 public class TestAwareConsumer extends Consumer {
     private static final Logger logger = LoggerFactory.getLogger(TestAwareConsumer.class);
@@ -37,7 +36,7 @@ public class TestAwareConsumer extends Consumer {
     private KafkaBreakTrigger breakTrigger;
     private List<KafkaBreakTrigger> expectedTriggers;
 
-    public TestAwareConsumer(FloodlightModuleContext moduleContext, ExecutorService handlersPool,
+    public TestAwareConsumer(FloodlightModuleContext moduleContext, KeyedExecutor handlersPool,
                              KafkaConsumerSetup kafkaSetup, RecordHandler.Factory handlerFactory,
                              long commitInterval) {
         super(moduleContext, handlersPool, kafkaSetup, handlerFactory, commitInterval);
@@ -17,6 +17,15 @@ package org.openkilda.floodlight.model;
 
 import com.auth0.jwt.JWTCreator;
 
+import java.nio.ByteBuffer;
+
 public interface ISignPayload {
     JWTCreator.Builder toSign(JWTCreator.Builder token);
+
+    void toSign(ByteBuffer buffer);
+
+    /**
+     * Size of the binary form written by {@link #toSign(ByteBuffer)}.
+     */
+    int getBinarySize();
 }
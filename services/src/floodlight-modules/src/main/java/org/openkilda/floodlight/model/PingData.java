@@ -25,11 +25,18 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.projectfloodlight.openflow.types.DatapathId;
 
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 public class PingData implements ISignPayload {
     private static String JWT_KEY_PREFIX = "openkilda.ping.";
 
+    private static final short BINARY_NO_VLAN = -1;
+    /**
+     * Binary form: source vlan, source, dest, ping id (2 longs), sender latency, send time.
+     */
+    private static final int BINARY_SIZE = Short.BYTES + 6 * Long.BYTES;
+
     private long sendTime = 0;
     private long senderLatency = 0;
 
@@ -64,6 +71,26 @@ public class PingData implements ISignPayload {
         return data;
     }
 
+    /**
+     * Build {@link PingData} from the binary form, see {@link #toSign(ByteBuffer)}.
+     */
+    public static PingData of(ByteBuffer body) throws CorruptedNetworkDataException {
+        if (body.remaining() < BINARY_SIZE) {
+            throw new CorruptedNetworkDataException(String.format(
+                    "Corrupted flow verification package (%d bytes instead of %d)", body.remaining(), BINARY_SIZE));
+        }
+
+        short sourceVlan = body.getShort();
+        DatapathId source = DatapathId.of(body.getLong());
+        DatapathId dest = DatapathId.of(body.getLong());
+        UUID packetId = new UUID(body.getLong(), body.getLong());
+
+        PingData data = new PingData(sourceVlan == BINARY_NO_VLAN ? null : sourceVlan, source, dest, packetId);
+        data.setSenderLatency(body.getLong());
+        data.setSendTime(body.getLong());
+        return data;
+    }
+
     /**
      * Build {@link PingData} from {@link Ping} instance.
      */
@@ -98,6 +125,25 @@ public class PingData implements ISignPayload {
         return token;
     }
 
+    /**
+     * Write data in the binary form.
+     */
+    public void toSign(ByteBuffer buffer) {
+        buffer.putShort(sourceVlan != null ? sourceVlan : BINARY_NO_VLAN);
+        buffer.putLong(source.getLong());
+        buffer.putLong(dest.getLong());
+        buffer.putLong(pingId.getMostSignificantBits());
+        buffer.putLong(pingId.getLeastSignificantBits());
+
+        buffer.putLong(getSenderLatency());
+        sendTime = System.currentTimeMillis();
+        buffer.putLong(sendTime);
+    }
+
+    public int getBinarySize() {
+        return BINARY_SIZE;
+    }
+
     /**
      * Calculate flow's latency.
      */
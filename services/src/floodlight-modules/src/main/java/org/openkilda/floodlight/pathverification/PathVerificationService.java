@@ -18,6 +18,8 @@ package org.openkilda.floodlight.pathverification;
 import org.openkilda.floodlight.command.Command;
 import org.openkilda.floodlight.command.CommandContext;
 import org.openkilda.floodlight.config.provider.ConfigurationProvider;
+import org.openkilda.floodlight.error.CorruptedNetworkDataException;
+import org.openkilda.floodlight.error.InvalidSignatureConfigurationException;
 import org.openkilda.floodlight.model.OfInput;
 import org.openkilda.floodlight.pathverification.type.PathType;
 import org.openkilda.floodlight.pathverification.web.PathVerificationServiceWebRoutable;
@@ -29,6 +31,7 @@ import org.openkilda.floodlight.service.of.InputService;
 import org.openkilda.floodlight.service.ping.PingService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 import org.openkilda.floodlight.utils.CorrelationContext;
+import org.openkilda.floodlight.utils.DataSignature;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslChangeType;
@@ -37,9 +40,7 @@ import org.openkilda.messaging.info.event.PathNode;
 import org.openkilda.messaging.model.SwitchId;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
-import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
@@ -78,10 +79,8 @@ import org.projectfloodlight.openflow.types.U64;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.UnsupportedEncodingException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -99,13 +98,18 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     public static final int VERIFICATION_PACKET_UDP_PORT = 61231;
     public static final String VERIFICATION_PACKET_IP_DST = "192.168.0.255";
 
+    /**
+     * Size of the signed TLV value: OUI and subtype, dpid, port, timestamp and the signature.
+     */
+    private static final int SIGNED_TLV_SIZE = 4 + 8 + 4 + 8 + DataSignature.SIGNATURE_SIZE;
+
     private IKafkaProducerService producerService;
     private IOFSwitchService switchService;
 
     private String topoDiscoTopic;
     private double islBandwidthQuotient = 1.0;
-    private Algorithm algorithm;
-    private JWTVerifier verifier;
+    private DataSignature signature;
+    private boolean legacyJwtSign = true;
 
     /**
      * IFloodlightModule Methods.
@@ -151,6 +155,7 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         PathVerificationServiceConfig config = provider.getConfiguration(PathVerificationServiceConfig.class);
 
         islBandwidthQuotient = config.getIslBandwidthQuotient();
+        legacyJwtSign = config.isLegacyJwtSign();
 
         initAlgorithm(config.getHmac256Secret());
     }
@@ -158,9 +163,8 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     @VisibleForTesting
     void initAlgorithm(String secret) throws FloodlightModuleException {
         try {
-            algorithm = Algorithm.HMAC256(secret);
-            verifier = JWT.require(algorithm).build();
-        } catch (UnsupportedEncodingException e) {
+            signature = new DataSignature(secret);
+        } catch (InvalidSignatureConfigurationException e) {
             logger.error("Ivalid secret", e);
             throw new FloodlightModuleException("Invalid secret for HMAC256");
         }
@@ -324,21 +328,32 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
             vp.getOptionalTlvList().add(typeTlv);
 
             if (sign) {
-                String token = JWT.create()
-                        .withClaim("dpid", dpid.getLong())
-                        .withClaim("ts", time + swLatency)
-                        .sign(algorithm);
-
-                byte[] tokenBytes = token.getBytes(Charset.forName("UTF-8"));
-
-                byte[] tokenTlvValue = ByteBuffer.allocate(4 + tokenBytes.length).put((byte) 0x00)
+                byte[] signedTlvValue = ByteBuffer.allocate(SIGNED_TLV_SIZE).put((byte) 0x00)
                         .put((byte) 0x26).put((byte) 0xe1)
-                        .put((byte) 0x03)
-                        .put(tokenBytes).array();
-                LLDPTLV tokenTlv = new LLDPTLV().setType((byte) 127)
-                        .setLength((short) tokenTlvValue.length).setValue(tokenTlvValue);
-
-                vp.getOptionalTlvList().add(tokenTlv);
+                        .put((byte) 0x04)
+                        .putLong(dpid.getLong())
+                        .putInt(port.getPortNumber())
+                        .putLong(time + swLatency)
+                        .array();
+                signature.appendSignature(signedTlvValue, 0, SIGNED_TLV_SIZE - DataSignature.SIGNATURE_SIZE);
+                LLDPTLV signedTlv = new LLDPTLV().setType((byte) 127)
+                        .setLength((short) signedTlvValue.length).setValue(signedTlvValue);
+
+                vp.getOptionalTlvList().add(signedTlv);
+
+                if (legacyJwtSign) {
+                    byte[] tokenBytes = signature.signJwt(JWT.create()
+                            .withClaim("dpid", dpid.getLong())
+                            .withClaim("ts", time + swLatency));
+                    byte[] tokenTlvValue = ByteBuffer.allocate(4 + tokenBytes.length).put((byte) 0x00)
+                            .put((byte) 0x26).put((byte) 0xe1)
+                            .put((byte) 0x03)
+                            .put(tokenBytes).array();
+                    LLDPTLV tokenTlv = new LLDPTLV().setType((byte) 127)
+                            .setLength((short) tokenTlvValue.length).setValue(tokenTlvValue);
+
+                    vp.getOptionalTlvList().add(tokenTlv);
+                }
             }
 
             MacAddress dstMac = MacAddress.of(VERIFICATION_BCAST_PACKET_DST);
@@ -419,9 +434,14 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
             portBb.position(1);
 
             long timestamp = 0;
+            Long sentTimestamp = null;
             int pathOrdinal = 10;
             IOFSwitch remoteSwitch = null;
             boolean signed = false;
+            Long signedDpid = null;
+            int signedPort = 0;
+            Long signedTimestamp = null;
+            byte[] jwtToken = null;
             for (LLDPTLV lldptlv : verificationPacket.getOptionalTlvList()) {
                 if (lldptlv.getType() == 127 && lldptlv.getLength() == 12
                         && lldptlv.getValue()[0] == 0x0
@@ -436,8 +456,9 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
                         && lldptlv.getValue()[2] == (byte) 0xe1
                         && lldptlv.getValue()[3] == 0x01) {
                     ByteBuffer tsBb = ByteBuffer.wrap(lldptlv.getValue()); /* skip OpenFlow OUI (4 bytes above) */
-                    timestamp = tsBb.getLong(4); /* include the RX switch latency to "subtract" it */
-                    timestamp = timestamp + input.getLatency();
+                    sentTimestamp = tsBb.getLong(4);
+                    /* include the RX switch latency to "subtract" it */
+                    timestamp = sentTimestamp + input.getLatency();
                 } else if (lldptlv.getType() == 127 && lldptlv.getLength() == 8
                         && lldptlv.getValue()[0] == 0x0
                         && lldptlv.getValue()[1] == 0x26
@@ -452,20 +473,46 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
                         && lldptlv.getValue()[3] == 0x03) {
                     ByteBuffer bb = ByteBuffer.wrap(lldptlv.getValue());
                     bb.position(4);
-                    byte[] tokenArray = new byte[lldptlv.getLength() - 4];
-                    bb.get(tokenArray, 0, tokenArray.length);
-                    String token = new String(tokenArray);
-
-                    try {
-                        DecodedJWT jwt = verifier.verify(token);
-                        signed = true;
-                    } catch (JWTVerificationException e) {
-                        logger.error("Packet verification failed", e);
+                    // JWT signed packet, the format used before the binary one. It is checked after the loop and
+                    // only if there is no binary signed TLV next to it.
+                    jwtToken = new byte[lldptlv.getLength() - 4];
+                    bb.get(jwtToken, 0, jwtToken.length);
+                } else if (lldptlv.getType() == 127 && lldptlv.getLength() == SIGNED_TLV_SIZE
+                        && lldptlv.getValue()[0] == 0x0
+                        && lldptlv.getValue()[1] == 0x26
+                        && lldptlv.getValue()[2] == (byte) 0xe1
+                        && lldptlv.getValue()[3] == 0x04) {
+                    byte[] value = lldptlv.getValue();
+                    if (!signature.checkSignature(value, 0, SIGNED_TLV_SIZE - DataSignature.SIGNATURE_SIZE)) {
+                        logger.error("Packet verification failed: signature mismatch");
                         return;
                     }
+                    ByteBuffer signedBb = ByteBuffer.wrap(value);
+                    signedDpid = signedBb.getLong(4);
+                    signedPort = signedBb.getInt(12);
+                    signedTimestamp = signedBb.getLong(16);
+                    signed = true;
                 }
             }
 
+            if (!signed && jwtToken != null) {
+                try {
+                    DecodedJWT token = signature.verify(jwtToken);
+                    Claim tokenTimestamp = token.getClaim("ts");
+                    signedTimestamp = tokenTimestamp.isNull() ? null : tokenTimestamp.asLong();
+                    signed = true;
+                } catch (CorruptedNetworkDataException e) {
+                    logger.error("Packet verification failed", e);
+                    return;
+                }
+            }
+
+            if (signed && (signedTimestamp == null || !signedTimestamp.equals(sentTimestamp))) {
+                logger.error("Packet verification failed: signed timestamp {} doesn't match timestamp TLV {}",
+                        signedTimestamp, sentTimestamp);
+                return;
+            }
+
             // Corner case where we receive a valid VerificationPacket but the remote switch is not known.  This is
             // going to be a bigger issue when we have multiple speakers with different switches on them.  For now
             // if we don't know the switch, then return.
@@ -483,6 +530,12 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
 
             OFPort inPort = OFMessageUtils.getInPort((OFPacketIn) input.getMessage());
             OFPort remotePort = OFPort.of(portBb.getShort());
+            if (signedDpid != null && (signedDpid != remoteSwitch.getId().getLong()
+                    || signedPort != remotePort.getPortNumber())) {
+                logger.error("Packet verification failed: signed endpoint {}-{} doesn't match {}-{}",
+                        DatapathId.of(signedDpid), signedPort, remoteSwitch.getId(), remotePort);
+                return;
+            }
             long latency = measureLatency(input, timestamp);
             logIsl.info("link discovered: {}-{} ===( {} ms )===> {}-{}",
                     remoteSwitch.getId(), remotePort, latency, input.getDpId(), inPort);
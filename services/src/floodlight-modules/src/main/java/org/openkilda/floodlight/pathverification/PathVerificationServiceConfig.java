@@ -34,4 +34,12 @@ public interface PathVerificationServiceConfig {
     @Key("hmac256-secret")
     @NotBlank
     String getHmac256Secret();
+
+    /**
+     * Put the JWT signed TLV (the format used before the binary one) into the discovery packets next to the binary
+     * signed TLV, so speakers that don't know the binary format yet still accept them.
+     */
+    @Key("legacy-jwt-sign")
+    @Default("true")
+    boolean isLegacyJwtSign();
 }
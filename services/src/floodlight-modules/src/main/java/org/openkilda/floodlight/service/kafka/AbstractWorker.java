@@ -16,7 +16,8 @@
 package org.openkilda.floodlight.service.kafka;
 
 import org.openkilda.messaging.Message;
-import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.WireFormat;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.kafka.clients.producer.Callback;
@@ -27,12 +28,14 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractWorker {
     private static final Logger log = LoggerFactory.getLogger(AbstractWorker.class);
 
-    private final Producer<String, String> kafkaProducer;
+    private final Producer<String, byte[]> kafkaProducer;
     private final String topic;
+    private final WireFormat wireFormat;
 
-    public AbstractWorker(Producer<String, String> kafkaProducer, String topic) {
+    public AbstractWorker(Producer<String, byte[]> kafkaProducer, String topic, WireFormat wireFormat) {
         this.kafkaProducer = kafkaProducer;
         this.topic = topic;
+        this.wireFormat = wireFormat;
     }
 
     /**
@@ -40,16 +43,16 @@ public abstract class AbstractWorker {
      */
     public SendStatus sendMessage(Message payload, Callback callback) {
         log.debug("Send kafka message: {} <== {}", getTopic(), payload);
-        String json = encode(payload);
-        return send(json, callback);
+        byte[] encoded = encode(payload);
+        return send(encoded, callback);
     }
 
-    protected abstract SendStatus send(String payload, Callback callback);
+    protected abstract SendStatus send(byte[] payload, Callback callback);
 
-    protected String encode(Message message) {
-        String encoded;
+    protected byte[] encode(Message message) {
+        byte[] encoded;
         try {
-            encoded = Utils.MAPPER.writeValueAsString(message);
+            encoded = MessageCodec.encode(message, wireFormat);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(String.format("Can not serialize message: %s", e.toString()), e);
         }
@@ -57,7 +60,7 @@ public abstract class AbstractWorker {
         return encoded;
     }
 
-    protected Producer<String, String> getKafkaProducer() {
+    protected Producer<String, byte[]> getKafkaProducer() {
         return kafkaProducer;
     }
 
@@ -65,6 +68,10 @@ public abstract class AbstractWorker {
         return topic;
     }
 
+    protected WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
     void deactivate(long transitionPeriod) {}
 
     boolean isActive() {
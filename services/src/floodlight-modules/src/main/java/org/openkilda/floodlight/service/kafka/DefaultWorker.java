@@ -15,18 +15,20 @@
 
 package org.openkilda.floodlight.service.kafka;
 
+import org.openkilda.messaging.codec.WireFormat;
+
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 
 public class DefaultWorker extends AbstractWorker {
-    public DefaultWorker(Producer<String, String> kafkaProducer, String topic) {
-        super(kafkaProducer, topic);
+    public DefaultWorker(Producer<String, byte[]> kafkaProducer, String topic, WireFormat wireFormat) {
+        super(kafkaProducer, topic, wireFormat);
     }
 
     @Override
-    protected SendStatus send(String payload, Callback callback) {
-        ProducerRecord<String, String> record = new ProducerRecord<>(getTopic(), payload);
+    protected SendStatus send(byte[] payload, Callback callback) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(getTopic(), payload);
         return new SendStatus(getKafkaProducer().send(record, callback));
     }
 }
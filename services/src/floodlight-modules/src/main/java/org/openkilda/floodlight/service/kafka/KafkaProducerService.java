@@ -17,6 +17,7 @@ package org.openkilda.floodlight.service.kafka;
 
 import org.openkilda.floodlight.service.HeartBeatService;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.TopicWireFormats;
 
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import org.apache.kafka.clients.producer.Callback;
@@ -33,13 +34,16 @@ public class KafkaProducerService implements IKafkaProducerService {
     private static final Logger logger = LoggerFactory.getLogger(KafkaProducerService.class);
 
     private HeartBeatService heartBeat;
-    private Producer<String, String> producer;
+    private Producer<String, byte[]> producer;
+    private TopicWireFormats wireFormats;
     private final Map<String, AbstractWorker> workersMap = new HashMap<>();
 
     @Override
     public void setup(FloodlightModuleContext moduleContext) {
         heartBeat = moduleContext.getServiceImpl(HeartBeatService.class);
-        producer = moduleContext.getServiceImpl(KafkaUtilityService.class).makeProducer();
+        KafkaUtilityService kafkaUtility = moduleContext.getServiceImpl(KafkaUtilityService.class);
+        producer = kafkaUtility.makeProducer();
+        wireFormats = kafkaUtility.getWireFormats();
     }
 
     /**
@@ -87,9 +91,9 @@ public class KafkaProducerService implements IKafkaProducerService {
 
     private synchronized AbstractWorker getWorker(String topic) {
         AbstractWorker worker = workersMap.computeIfAbsent(
-                topic, t -> new DefaultWorker(producer, t));
+                topic, t -> new DefaultWorker(producer, t, wireFormats.get(t)));
         if (!worker.isActive()) {
-            worker = new DefaultWorker(producer, topic);
+            worker = new DefaultWorker(producer, topic, wireFormats.get(topic));
             workersMap.put(topic, worker);
         }
         return worker;
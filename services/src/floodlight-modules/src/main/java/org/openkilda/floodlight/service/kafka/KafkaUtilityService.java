@@ -18,6 +18,8 @@ package org.openkilda.floodlight.service.kafka;
 import org.openkilda.config.KafkaTopicsConfig;
 import org.openkilda.floodlight.KafkaChannel;
 import org.openkilda.floodlight.service.IService;
+import org.openkilda.messaging.codec.TopicWireFormats;
+import org.openkilda.messaging.codec.WireFormat;
 
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
@@ -45,10 +47,18 @@ public class KafkaUtilityService implements IService {
         return consumer;
     }
 
-    public Producer<String, String> makeProducer() {
+    public Producer<String, byte[]> makeProducer() {
         return new KafkaProducer<>(owner.getConfig().producerProperties());
     }
 
+    /**
+     * Wire formats of the topics we write to.
+     */
+    public TopicWireFormats getWireFormats() {
+        return new TopicWireFormats()
+                .set(getTopics().getStatsTopic(), WireFormat.byName(owner.getConfig().getStatsWireFormat()));
+    }
+
     public KafkaTopicsConfig getTopics() {
         return owner.getTopics();
     }
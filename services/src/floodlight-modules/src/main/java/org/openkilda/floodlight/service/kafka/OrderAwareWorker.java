@@ -15,6 +15,8 @@
 
 package org.openkilda.floodlight.service.kafka;
 
+import org.openkilda.messaging.codec.WireFormat;
+
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -32,7 +34,7 @@ public class OrderAwareWorker extends AbstractWorker {
     private Integer partition;
 
     public OrderAwareWorker(AbstractWorker worker) {
-        super(worker.getKafkaProducer(), worker.getTopic());
+        super(worker.getKafkaProducer(), worker.getTopic(), worker.getWireFormat());
 
         if (worker instanceof OrderAwareWorker) {
             OrderAwareWorker other = (OrderAwareWorker) worker;
@@ -41,13 +43,13 @@ public class OrderAwareWorker extends AbstractWorker {
         }
     }
 
-    public OrderAwareWorker(Producer<String, String> kafkaProducer, String topic) {
-        super(kafkaProducer, topic);
+    public OrderAwareWorker(Producer<String, byte[]> kafkaProducer, String topic, WireFormat wireFormat) {
+        super(kafkaProducer, topic, wireFormat);
     }
 
     @Override
-    protected synchronized SendStatus send(String payload, Callback callback) {
-        ProducerRecord<String, String> record;
+    protected synchronized SendStatus send(byte[] payload, Callback callback) {
+        ProducerRecord<String, byte[]> record;
         if (partition == null) {
             record = new ProducerRecord<>(getTopic(), payload);
         } else {
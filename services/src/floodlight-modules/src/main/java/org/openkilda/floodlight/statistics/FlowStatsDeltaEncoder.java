@@ -0,0 +1,140 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import org.openkilda.messaging.info.stats.FlowStatsDeltaData;
+import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.messaging.utils.LongObjectHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Remembers the last sent flow counters of one switch and picks the flows whose counters have changed.
+ * <p/>
+ * Counters are kept in a {@link LongObjectHashMap} keyed by the flow cookie and updated in place, so a dump with no
+ * new flows allocates nothing but the resulting message. Flows missing in a dump are forgotten. Each
+ * {@code fullRefreshCycles}-th dump (starting with the first one) emits all flows, so the receiver recovers from lost
+ * messages and restarts. The encoder is not thread safe, the dumps of one switch must be fed one by one.
+ */
+class FlowStatsDeltaEncoder {
+    private static final int MIN_CAPACITY = 16;
+
+    private final int fullRefreshCycles;
+    private long dumps = 0;
+
+    private final LongObjectHashMap<Counters> flows = new LongObjectHashMap<>();
+    /**
+     * The dump the counters were seen last time.
+     */
+    private int mark = 0;
+    private int seen;
+
+    private boolean full;
+    private int outSize;
+    private int[] outTableIds = new int[MIN_CAPACITY];
+    private long[] outCookies = new long[MIN_CAPACITY];
+    private long[] outPackets = new long[MIN_CAPACITY];
+    private long[] outBytes = new long[MIN_CAPACITY];
+
+    FlowStatsDeltaEncoder(int fullRefreshCycles) {
+        if (fullRefreshCycles < 1) {
+            throw new IllegalArgumentException("fullRefreshCycles must be positive");
+        }
+        this.fullRefreshCycles = fullRefreshCycles;
+    }
+
+    /**
+     * Start the next dump.
+     */
+    void begin() {
+        if (mark == Integer.MAX_VALUE) {
+            flows.clear();
+            mark = 0;
+        }
+        mark += 1;
+        seen = 0;
+        full = dumps % fullRefreshCycles == 0;
+        dumps += 1;
+        outSize = 0;
+    }
+
+    void add(int tableId, long cookie, long packetCount, long byteCount) {
+        Counters counters = flows.get(cookie);
+        boolean changed;
+        if (counters == null) {
+            counters = new Counters();
+            flows.put(cookie, counters);
+            changed = true;
+        } else {
+            changed = counters.tableId != tableId || counters.packets != packetCount || counters.bytes != byteCount;
+        }
+        if (counters.mark != mark) {
+            seen += 1;
+        }
+        counters.tableId = tableId;
+        counters.packets = packetCount;
+        counters.bytes = byteCount;
+        counters.mark = mark;
+
+        if (changed || full) {
+            append(tableId, cookie, packetCount, byteCount);
+        }
+    }
+
+    /**
+     * Finish the dump: forget flows missing in it and build the message.
+     *
+     * @return the message or null if nothing has changed
+     */
+    FlowStatsDeltaData finish(SwitchId switchId) {
+        if (seen < flows.size()) {
+            flows.removeIf(counters -> counters.mark != mark);
+        }
+
+        if (outSize == 0 && !full) {
+            return null;
+        }
+        return new FlowStatsDeltaData(switchId, full,
+                Arrays.copyOf(outTableIds, outSize), Arrays.copyOf(outCookies, outSize),
+                Arrays.copyOf(outPackets, outSize), Arrays.copyOf(outBytes, outSize));
+    }
+
+    int size() {
+        return flows.size();
+    }
+
+    private void append(int tableId, long cookie, long packetCount, long byteCount) {
+        if (outSize == outCookies.length) {
+            int length = outSize * 2;
+            outTableIds = Arrays.copyOf(outTableIds, length);
+            outCookies = Arrays.copyOf(outCookies, length);
+            outPackets = Arrays.copyOf(outPackets, length);
+            outBytes = Arrays.copyOf(outBytes, length);
+        }
+        outTableIds[outSize] = tableId;
+        outCookies[outSize] = cookie;
+        outPackets[outSize] = packetCount;
+        outBytes[outSize] = byteCount;
+        outSize += 1;
+    }
+
+    private static final class Counters {
+        int tableId;
+        long packets;
+        long bytes;
+        int mark;
+    }
+}
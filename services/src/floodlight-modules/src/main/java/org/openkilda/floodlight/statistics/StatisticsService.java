@@ -20,15 +20,16 @@ import static java.util.stream.Collectors.toList;
 import org.openkilda.floodlight.config.provider.ConfigurationProvider;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
+import org.openkilda.floodlight.statistics.StatsCollectionScheduler.Ticket;
 import org.openkilda.floodlight.utils.CorrelationContext;
 import org.openkilda.floodlight.utils.CorrelationContext.CorrelationContextClosable;
 import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
-import org.openkilda.messaging.info.stats.FlowStatsData;
-import org.openkilda.messaging.info.stats.FlowStatsEntry;
-import org.openkilda.messaging.info.stats.FlowStatsReply;
+import org.openkilda.messaging.info.stats.MeterStatsData;
+import org.openkilda.messaging.info.stats.MeterStatsEntry;
+import org.openkilda.messaging.info.stats.MeterStatsReply;
 import org.openkilda.messaging.info.stats.PortStatsData;
 import org.openkilda.messaging.info.stats.PortStatsEntry;
 import org.openkilda.messaging.info.stats.PortStatsReply;
@@ -46,12 +47,18 @@ import net.floodlightcontroller.core.module.IFloodlightModule;
 import net.floodlightcontroller.core.module.IFloodlightService;
 import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.projectfloodlight.openflow.protocol.OFFactory;
+import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
+import org.projectfloodlight.openflow.protocol.OFFlowStatsReply;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsRequest;
+import org.projectfloodlight.openflow.protocol.OFMeterStatsReply;
+import org.projectfloodlight.openflow.protocol.OFMeterStatsRequest;
 import org.projectfloodlight.openflow.protocol.OFPortStatsProp;
 import org.projectfloodlight.openflow.protocol.OFPortStatsPropEthernet;
 import org.projectfloodlight.openflow.protocol.OFPortStatsRequest;
 import org.projectfloodlight.openflow.protocol.OFStatsReply;
+import org.projectfloodlight.openflow.protocol.OFStatsRequest;
 import org.projectfloodlight.openflow.protocol.OFVersion;
+import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFGroup;
 import org.projectfloodlight.openflow.types.OFPort;
 import org.projectfloodlight.openflow.types.U64;
@@ -62,6 +69,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
@@ -77,8 +86,15 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
     private IKafkaProducerService producerService;
     private IThreadPoolService threadPoolService;
     private int interval;
+    private int maxInFlightRequests;
+    private int flowStatsFullRefreshCycles;
     private String statisticsTopic;
 
+    private StatsCollectionScheduler scheduler;
+    private long tick = 0;
+
+    private final ConcurrentMap<DatapathId, FlowStatsDeltaEncoder> flowStatsEncoders = new ConcurrentHashMap<>();
+
     @Override
     public Collection<Class<? extends IFloodlightService>> getModuleServices() {
         return Collections.singletonList(IStatisticsService.class);
@@ -108,6 +124,8 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         ConfigurationProvider provider = ConfigurationProvider.of(context, this);
         StatisticsServiceConfig serviceConfig = provider.getConfiguration(StatisticsServiceConfig.class);
         interval = serviceConfig.getInterval();
+        maxInFlightRequests = serviceConfig.getMaxInFlightRequests();
+        flowStatsFullRefreshCycles = serviceConfig.getFlowStatsFullRefreshCycles();
     }
 
     @Override
@@ -115,16 +133,62 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         statisticsTopic = context.getServiceImpl(KafkaUtilityService.class).getTopics().getStatsTopic();
 
         if (interval > 0) {
+            // one tick per second, each switch is polled on its own tick of the interval
+            scheduler = new StatsCollectionScheduler(interval, maxInFlightRequests);
             threadPoolService.getScheduledExecutor().scheduleAtFixedRate(
-                    () -> switchService.getAllSwitchMap().values().forEach(iofSwitch -> {
-                        gatherPortStats(iofSwitch);
-                        gatherFlowStats(iofSwitch);
-                    }), interval, interval, TimeUnit.SECONDS);
+                    this::collectStatistics, 1, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    private void collectStatistics() {
+        long currentTick = tick++;
+        try {
+            Map<DatapathId, IOFSwitch> switches = switchService.getAllSwitchMap();
+            if (currentTick % interval == 0) {
+                // forget the last sent counters of disconnected switches
+                flowStatsEncoders.keySet().retainAll(switches.keySet());
+            }
+
+            for (IOFSwitch iofSwitch : switches.values()) {
+                long dpid = iofSwitch.getId().getLong();
+                if (!scheduler.isDue(dpid, currentTick)) {
+                    continue;
+                }
+
+                OFVersion version = iofSwitch.getOFFactory().getVersion();
+                Ticket ticket = scheduler.tryAcquire(dpid, currentTick, countRequests(version));
+                if (ticket == null) {
+                    continue;
+                }
+
+                gatherPortStats(iofSwitch, ticket);
+                gatherFlowStats(iofSwitch, ticket);
+                gatherMeterStats(iofSwitch, ticket);
+            }
+        } catch (Exception e) {
+            // an exception would cancel the periodic task
+            logger.error("Failed to collect statistics", e);
+        }
+
+        if (currentTick % interval == 0) {
+            logger.debug("Stats requests in flight: {} for {} switches",
+                    scheduler.getOutstanding(), scheduler.getPendingSwitches());
+        }
+    }
+
+    private static int countRequests(OFVersion version) {
+        int requests = 1;
+        if (version.compareTo(OFVersion.OF_15) != 0) {
+            requests += 1;
+        }
+        if (version.compareTo(OFVersion.OF_13) >= 0) {
+            requests += 1;
         }
+        return requests;
     }
 
     @NewCorrelationContextRequired
-    private void gatherPortStats(IOFSwitch iofSwitch) {
+    private void gatherPortStats(IOFSwitch iofSwitch, Ticket ticket) {
         OFFactory factory = iofSwitch.getOFFactory();
         SwitchId switchId = new SwitchId(iofSwitch.getId().toString());
 
@@ -135,68 +199,67 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
         logger.trace("Getting port stats for switch={}", iofSwitch.getId());
 
-        Futures.addCallback(iofSwitch.writeStatsRequest(portStatsRequest),
-                new RequestCallback<>(data -> {
-                    List<PortStatsReply> replies = data.stream().map(reply -> {
-                        List<PortStatsEntry> entries = reply.getEntries().stream()
-                                .map(entry -> {
-                                    if (entry.getVersion().compareTo(OFVersion.OF_13) > 0) {
-                                        long rxFrameErr = 0L;
-                                        long rxOverErr = 0L;
-                                        long rxCrcErr = 0L;
-                                        long collisions = 0L;
-
-                                        for (OFPortStatsProp property : entry.getProperties()) {
-                                            if (property.getType() == 0x0) {
-                                                OFPortStatsPropEthernet etherProps =
-                                                        (OFPortStatsPropEthernet) property;
-                                                rxFrameErr = etherProps.getRxFrameErr().getValue();
-                                                rxOverErr = etherProps.getRxOverErr().getValue();
-                                                rxCrcErr = etherProps.getRxCrcErr().getValue();
-                                                collisions = etherProps.getCollisions().getLength();
-                                            }
-                                        }
-
-                                        return new PortStatsEntry(
-                                                entry.getPortNo().getPortNumber(),
-                                                entry.getRxPackets().getValue(),
-                                                entry.getTxPackets().getValue(),
-                                                entry.getRxBytes().getValue(),
-                                                entry.getTxBytes().getValue(),
-                                                entry.getRxDropped().getValue(),
-                                                entry.getTxDropped().getValue(),
-                                                entry.getRxErrors().getValue(),
-                                                entry.getTxErrors().getValue(),
-                                                rxFrameErr,
-                                                rxOverErr,
-                                                rxCrcErr,
-                                                collisions);
-                                    } else {
-                                        return new PortStatsEntry(
-                                                entry.getPortNo().getPortNumber(),
-                                                entry.getRxPackets().getValue(),
-                                                entry.getTxPackets().getValue(),
-                                                entry.getRxBytes().getValue(),
-                                                entry.getTxBytes().getValue(),
-                                                entry.getRxDropped().getValue(),
-                                                entry.getTxDropped().getValue(),
-                                                entry.getRxErrors().getValue(),
-                                                entry.getTxErrors().getValue(),
-                                                entry.getRxFrameErr().getValue(),
-                                                entry.getRxOverErr().getValue(),
-                                                entry.getRxCrcErr().getValue(),
-                                                entry.getCollisions().getValue());
+        sendStatsRequest(iofSwitch, portStatsRequest, ticket, new RequestCallback<>(data -> {
+            List<PortStatsReply> replies = data.stream().map(reply -> {
+                List<PortStatsEntry> entries = reply.getEntries().stream()
+                        .map(entry -> {
+                            if (entry.getVersion().compareTo(OFVersion.OF_13) > 0) {
+                                long rxFrameErr = 0L;
+                                long rxOverErr = 0L;
+                                long rxCrcErr = 0L;
+                                long collisions = 0L;
+
+                                for (OFPortStatsProp property : entry.getProperties()) {
+                                    if (property.getType() == 0x0) {
+                                        OFPortStatsPropEthernet etherProps =
+                                                (OFPortStatsPropEthernet) property;
+                                        rxFrameErr = etherProps.getRxFrameErr().getValue();
+                                        rxOverErr = etherProps.getRxOverErr().getValue();
+                                        rxCrcErr = etherProps.getRxCrcErr().getValue();
+                                        collisions = etherProps.getCollisions().getLength();
                                     }
-                                })
-                                .collect(toList());
-                        return new PortStatsReply(reply.getXid(), entries);
-                    }).collect(toList());
-                    return new PortStatsData(switchId, replies);
-                }, "port", CorrelationContext.getId()));
+                                }
+
+                                return new PortStatsEntry(
+                                        entry.getPortNo().getPortNumber(),
+                                        entry.getRxPackets().getValue(),
+                                        entry.getTxPackets().getValue(),
+                                        entry.getRxBytes().getValue(),
+                                        entry.getTxBytes().getValue(),
+                                        entry.getRxDropped().getValue(),
+                                        entry.getTxDropped().getValue(),
+                                        entry.getRxErrors().getValue(),
+                                        entry.getTxErrors().getValue(),
+                                        rxFrameErr,
+                                        rxOverErr,
+                                        rxCrcErr,
+                                        collisions);
+                            } else {
+                                return new PortStatsEntry(
+                                        entry.getPortNo().getPortNumber(),
+                                        entry.getRxPackets().getValue(),
+                                        entry.getTxPackets().getValue(),
+                                        entry.getRxBytes().getValue(),
+                                        entry.getTxBytes().getValue(),
+                                        entry.getRxDropped().getValue(),
+                                        entry.getTxDropped().getValue(),
+                                        entry.getRxErrors().getValue(),
+                                        entry.getTxErrors().getValue(),
+                                        entry.getRxFrameErr().getValue(),
+                                        entry.getRxOverErr().getValue(),
+                                        entry.getRxCrcErr().getValue(),
+                                        entry.getCollisions().getValue());
+                            }
+                        })
+                        .collect(toList());
+                return new PortStatsReply(reply.getXid(), entries);
+            }).collect(toList());
+            return new PortStatsData(switchId, replies);
+        }, "port", CorrelationContext.getId(), ticket));
     }
 
     @NewCorrelationContextRequired
-    private void gatherFlowStats(IOFSwitch iofSwitch) {
+    private void gatherFlowStats(IOFSwitch iofSwitch, Ticket ticket) {
         OFFactory factory = iofSwitch.getOFFactory();
         final SwitchId switchId = new SwitchId(iofSwitch.getId().toString());
 
@@ -210,20 +273,58 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
             // skip flow stats for OF 1.5 protocol version
             logger.trace("Getting flow stats for switch={}", iofSwitch.getId());
 
-            Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest),
-                    new RequestCallback<>(data -> {
-                        List<FlowStatsReply> replies = data.stream().map(reply -> {
-                            List<FlowStatsEntry> entries = reply.getEntries().stream()
-                                    .map(entry -> new FlowStatsEntry(
-                                            entry.getTableId().getValue(),
-                                            entry.getCookie().getValue(),
-                                            entry.getPacketCount().getValue(),
-                                            entry.getByteCount().getValue()))
-                                    .collect(toList());
-                            return new FlowStatsReply(reply.getXid(), entries);
-                        }).collect(toList());
-                        return new FlowStatsData(switchId, replies);
-                    }, "flow", CorrelationContext.getId()));
+            FlowStatsDeltaEncoder encoder = flowStatsEncoders.computeIfAbsent(
+                    iofSwitch.getId(), dpid -> new FlowStatsDeltaEncoder(flowStatsFullRefreshCycles));
+            sendStatsRequest(iofSwitch, flowStatsRequest, ticket, new RequestCallback<OFFlowStatsReply>(data -> {
+                // only changed counters are sent, see FlowStatsDeltaEncoder
+                synchronized (encoder) {
+                    encoder.begin();
+                    for (OFFlowStatsReply reply : data) {
+                        for (OFFlowStatsEntry entry : reply.getEntries()) {
+                            encoder.add(entry.getTableId().getValue(), entry.getCookie().getValue(),
+                                    entry.getPacketCount().getValue(), entry.getByteCount().getValue());
+                        }
+                    }
+                    return encoder.finish(switchId);
+                }
+            }, "flow", CorrelationContext.getId(), ticket));
+        }
+    }
+
+    @NewCorrelationContextRequired
+    private void gatherMeterStats(IOFSwitch iofSwitch, Ticket ticket) {
+        OFFactory factory = iofSwitch.getOFFactory();
+        final SwitchId switchId = new SwitchId(iofSwitch.getId().toString());
+
+        if (factory.getVersion().compareTo(OFVersion.OF_13) >= 0) {
+            // meters are supported since OF 1.3
+            OFMeterStatsRequest meterStatsRequest = factory
+                    .buildMeterStatsRequest()
+                    .setMeterId(OFPM_ALL)
+                    .build();
+
+            logger.trace("Getting meter stats for switch={}", iofSwitch.getId());
+
+            sendStatsRequest(iofSwitch, meterStatsRequest, ticket, new RequestCallback<OFMeterStatsReply>(data -> {
+                List<MeterStatsReply> replies = data.stream().map(reply -> {
+                    List<MeterStatsEntry> entries = reply.getEntries().stream()
+                            .map(entry -> new MeterStatsEntry(entry.getMeterId(), entry.getByteInCount().getValue(),
+                                    entry.getPacketInCount().getValue()))
+                            .collect(toList());
+                    return new MeterStatsReply(reply.getXid(), entries);
+                }).collect(toList());
+                return new MeterStatsData(switchId, replies);
+            }, "meter", CorrelationContext.getId(), ticket));
+        }
+    }
+
+    private <T extends OFStatsReply> void sendStatsRequest(IOFSwitch iofSwitch, OFStatsRequest<T> request,
+                                                           Ticket ticket, RequestCallback<T> callback) {
+        try {
+            Futures.addCallback(iofSwitch.writeStatsRequest(request), callback);
+        } catch (Exception e) {
+            scheduler.release(ticket);
+            logger.error("Unable to send {} stats request to switch={}", callback.type, iofSwitch.getId(), e);
         }
     }
 
@@ -231,19 +332,28 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         private Function<List<T>, InfoData> transform;
         private String type;
         private final String correlationId;
+        private final Ticket ticket;
 
-        RequestCallback(Function<List<T>, InfoData> transform, String type, String correlationId) {
+        RequestCallback(Function<List<T>, InfoData> transform, String type, String correlationId, Ticket ticket) {
             this.transform = transform;
             this.type = type;
             this.correlationId = correlationId;
+            this.ticket = ticket;
         }
 
         @Override
         public void onSuccess(List<T> data) {
+            scheduler.release(ticket);
+
             // Restore the correlation context used for the request.
             try (CorrelationContextClosable closable = CorrelationContext.create(correlationId)) {
 
-                InfoMessage infoMessage = new InfoMessage(transform.apply(data),
+                InfoData payload = transform.apply(data);
+                if (payload == null) {
+                    logger.trace("No {} stats changes to send", type);
+                    return;
+                }
+                InfoMessage infoMessage = new InfoMessage(payload,
                         System.currentTimeMillis(), correlationId, Destination.WFM_STATS);
                 producerService.sendMessageAndTrack(statisticsTopic, infoMessage);
             }
@@ -251,6 +361,8 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
         @Override
         public void onFailure(Throwable throwable) {
+            scheduler.release(ticket);
+
             // Restore the correlation context used for the request.
             try (CorrelationContextClosable closable = CorrelationContext.create(correlationId)) {
 
@@ -16,6 +16,7 @@
 package org.openkilda.floodlight.statistics;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.Key;
 
 import javax.validation.constraints.Min;
@@ -25,4 +26,14 @@ public interface StatisticsServiceConfig {
     @Key("interval")
     @Min(0)
     int getInterval();
+
+    @Key("max-in-flight-requests")
+    @Default("1024")
+    @Min(1)
+    int getMaxInFlightRequests();
+
+    @Key("flow-stats-full-refresh-cycles")
+    @Default("10")
+    @Min(1)
+    int getFlowStatsFullRefreshCycles();
 }
@@ -0,0 +1,134 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides which switches must be polled for statistics on each tick of the collection cycle.
+ * <p/>
+ * The collection interval is split into {@code slots} ticks and every switch gets its own phase (slot) derived from
+ * its DPID, so switches are polled evenly across the interval instead of all at once. A switch is not polled while
+ * replies of its previous poll are still pending. The total number of outstanding stats requests is capped, a switch
+ * that doesn't fit under the cap is deferred to the next ticks.
+ */
+class StatsCollectionScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(StatsCollectionScheduler.class);
+
+    private final int slots;
+    private final int maxInFlight;
+
+    private final Map<Long, Ticket> pending = new HashMap<>();
+    private final Set<Long> deferred = new HashSet<>();
+    private int outstanding = 0;
+
+    StatsCollectionScheduler(int slots, int maxInFlight) {
+        if (slots < 1) {
+            throw new IllegalArgumentException("slots must be positive");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.slots = slots;
+        this.maxInFlight = maxInFlight;
+    }
+
+    int phaseOf(long dpid) {
+        return (int) Math.floorMod(dpid ^ (dpid >>> 32), (long) slots);
+    }
+
+    synchronized boolean isDue(long dpid, long tick) {
+        return phaseOf(dpid) == Math.floorMod(tick, (long) slots) || deferred.contains(dpid);
+    }
+
+    /**
+     * Reserve room for {@code requests} stats requests of the switch.
+     * <p/>
+     * Returns null if the previous poll of the switch is still pending or if the cap of outstanding requests is
+     * reached. In the last case the switch is polled on the next tick. A poll pending for two whole intervals is
+     * considered lost, its reservation is dropped.
+     */
+    synchronized Ticket tryAcquire(long dpid, long tick, int requests) {
+        Ticket current = pending.get(dpid);
+        if (current != null) {
+            if (tick - current.tick < 2L * slots) {
+                deferred.remove(dpid);
+                logger.debug("Skip stats collection for {}, previous replies are still pending", dpid);
+                return null;
+            }
+            logger.warn("Stats replies of {} are pending for {} ticks, drop them", dpid, tick - current.tick);
+            expire(current);
+        }
+
+        if (0 < outstanding && maxInFlight < outstanding + requests) {
+            deferred.add(dpid);
+            logger.debug("Defer stats collection for {}, {} requests are in flight", dpid, outstanding);
+            return null;
+        }
+
+        deferred.remove(dpid);
+        Ticket ticket = new Ticket(dpid, tick, requests);
+        pending.put(dpid, ticket);
+        outstanding += requests;
+        return ticket;
+    }
+
+    /**
+     * Account one reply (or failure) of the poll.
+     */
+    synchronized void release(Ticket ticket) {
+        if (ticket.remaining == 0) {
+            return;
+        }
+        ticket.remaining -= 1;
+        outstanding -= 1;
+        if (ticket.remaining == 0) {
+            pending.remove(ticket.dpid, ticket);
+        }
+    }
+
+    synchronized int getOutstanding() {
+        return outstanding;
+    }
+
+    synchronized int getPendingSwitches() {
+        return pending.size();
+    }
+
+    private void expire(Ticket ticket) {
+        outstanding -= ticket.remaining;
+        ticket.remaining = 0;
+        pending.remove(ticket.dpid, ticket);
+    }
+
+    static final class Ticket {
+        private final long dpid;
+        private final long tick;
+        private int remaining;
+
+        private Ticket(long dpid, long tick, int remaining) {
+            this.dpid = dpid;
+            this.tick = tick;
+            this.remaining = remaining;
+        }
+    }
+}
@@ -15,22 +15,29 @@
 
 package org.openkilda.floodlight.switchmanager;
 
+import org.openkilda.floodlight.error.OfBatchException;
 import org.openkilda.floodlight.error.SwitchNotFoundException;
 import org.openkilda.floodlight.error.SwitchOperationException;
+import org.openkilda.floodlight.model.OfRequestResponse;
 import org.openkilda.messaging.command.switches.ConnectModeRequest;
 import org.openkilda.messaging.command.switches.DeleteRulesCriteria;
 import org.openkilda.messaging.payload.flow.OutputVlanType;
 
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.module.IFloodlightService;
+import org.projectfloodlight.openflow.protocol.OFFlowMod;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFMeterConfig;
+import org.projectfloodlight.openflow.protocol.OFMeterMod;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 
 public interface ISwitchManager extends IFloodlightService {
@@ -109,6 +116,18 @@ public interface ISwitchManager extends IFloodlightService {
                                                     final int transitVlanId, final OutputVlanType outputVlanType,
                                                     final long meterId) throws SwitchOperationException;
 
+    /**
+     * Builds an ingress flow-mod without writing it to the switch, the same rule as installed by
+     * {@link #installIngressFlow}.
+     *
+     * @return the flow-mod to be passed into {@link #installBatch}
+     * @throws SwitchOperationException Switch not found
+     */
+    OFFlowMod buildIngressFlow(final DatapathId dpid, final String flowId, final Long cookie,
+                               final int inputPort, final int outputPort, final int inputVlanId,
+                               final int transitVlanId, final OutputVlanType outputVlanType,
+                               final long meterId) throws SwitchOperationException;
+
     /**
      * Installs flow on egress swtich.
      *
@@ -127,6 +146,18 @@ public interface ISwitchManager extends IFloodlightService {
                                                    final int outputVlanId, final OutputVlanType outputVlanType)
             throws SwitchOperationException;
 
+    /**
+     * Builds an egress flow-mod without writing it to the switch, the same rule as installed by
+     * {@link #installEgressFlow}.
+     *
+     * @return the flow-mod to be passed into {@link #installBatch}
+     * @throws SwitchOperationException Switch not found
+     */
+    OFFlowMod buildEgressFlow(final DatapathId dpid, final String flowId, final Long cookie,
+                              final int inputPort, final int outputPort, final int transitVlanId,
+                              final int outputVlanId, final OutputVlanType outputVlanType)
+            throws SwitchOperationException;
+
     /**
      * Installs flow on a transit switch.
      *
@@ -142,6 +173,17 @@ public interface ISwitchManager extends IFloodlightService {
                                                     final int inputPort, final int outputPort, final int transitVlanId)
             throws SwitchOperationException;
 
+    /**
+     * Builds a transit flow-mod without writing it to the switch, the same rule as installed by
+     * {@link #installTransitFlow}.
+     *
+     * @return the flow-mod to be passed into {@link #installBatch}
+     * @throws SwitchOperationException Switch not found
+     */
+    OFFlowMod buildTransitFlow(final DatapathId dpid, final String flowId, final Long cookie,
+                               final int inputPort, final int outputPort, final int transitVlanId)
+            throws SwitchOperationException;
+
     /**
      * Installs flow through one switch.
      *
@@ -160,6 +202,18 @@ public interface ISwitchManager extends IFloodlightService {
                                                       int outputVlanId, final OutputVlanType outputVlanType,
                                                       final long meterId) throws SwitchOperationException;
 
+    /**
+     * Builds a one switch flow-mod without writing it to the switch, the same rule as installed by
+     * {@link #installOneSwitchFlow}.
+     *
+     * @return the flow-mod to be passed into {@link #installBatch}
+     * @throws SwitchOperationException Switch not found
+     */
+    OFFlowMod buildOneSwitchFlow(final DatapathId dpid, final String flowId, final Long cookie,
+                                 final int inputPort, final int outputPort, int inputVlanId,
+                                 int outputVlanId, final OutputVlanType outputVlanType,
+                                 final long meterId) throws SwitchOperationException;
+
     /**
      * Returns list of installed flows.
      *
@@ -168,6 +222,19 @@ public interface ISwitchManager extends IFloodlightService {
      */
     List<OFFlowStatsEntry> dumpFlowTable(final DatapathId dpid) throws SwitchNotFoundException;
 
+    /**
+     * Requests the list of installed flows without blocking the caller.
+     * <p/>
+     * The future is completed by the switch I/O thread, so dependent actions must not block on other switch requests.
+     * It fails with {@link org.openkilda.floodlight.error.OfReplyTimeoutException} if the switch doesn't reply in time.
+     *
+     * @param dpid switch id
+     * @return future OF flow stats entries
+     * @throws SwitchNotFoundException Switch not found
+     */
+    CompletableFuture<List<OFFlowStatsEntry>> dumpFlowTableAsync(final DatapathId dpid)
+            throws SwitchNotFoundException;
+
     /**
      * Returns list of installed meters.
      *
@@ -177,6 +244,18 @@ public interface ISwitchManager extends IFloodlightService {
      */
     List<OFMeterConfig> dumpMeters(final DatapathId dpid) throws SwitchOperationException;
 
+    /**
+     * Requests the list of installed meters without blocking the caller.
+     * <p/>
+     * The future is completed by the switch I/O thread, so dependent actions must not block on other switch requests.
+     * It fails with {@link org.openkilda.floodlight.error.OfReplyTimeoutException} if the switch doesn't reply in time.
+     *
+     * @param dpid switch id
+     * @return future OF meter config stats entries
+     * @throws SwitchOperationException Switch not found or meters are not supported
+     */
+    CompletableFuture<List<OFMeterConfig>> dumpMetersAsync(final DatapathId dpid) throws SwitchOperationException;
+
     /**
      * Installs a meter on ingress switch OF_13.
      * TODO: describe params meaning in accordance with OF
@@ -191,6 +270,32 @@ public interface ISwitchManager extends IFloodlightService {
     long installMeter(final DatapathId dpid, final long bandwidth, final long burstSize,
                                               final long meterId) throws SwitchOperationException;
 
+    /**
+     * Builds a meter-mod without writing it to the switch. Nothing is built if {@link #installMeter} would skip
+     * the meter: zero meter id, OVS switch or OF 1.2 switch.
+     *
+     * @return the meter-mod to be passed into {@link #installBatch}
+     * @throws SwitchOperationException Switch not found
+     */
+    Optional<OFMeterMod> buildMeter(final DatapathId dpid, final long bandwidth, final long burstSize,
+                                    final long meterId) throws SwitchOperationException;
+
+    /**
+     * Writes the flow-mods and meter-mods into the switch back to back and follows them with a single barrier.
+     * <p/>
+     * Meter-mods are written ahead of the rest of the batch. The returned future is completed once the barrier
+     * reply is received. It carries every request of the batch if all of them were accepted by the switch, or fails
+     * with {@link OfBatchException} holding the requests rejected with {@code OFErrorMsg} (matched by xid) or not
+     * written at all.
+     *
+     * @param dpid     datapath ID of the switch
+     * @param messages flow-mods and meter-mods to write
+     * @return the batch result
+     * @throws SwitchOperationException Switch not found
+     */
+    CompletableFuture<List<OfRequestResponse>> installBatch(DatapathId dpid, List<OFMessage> messages)
+            throws SwitchOperationException;
+
     /**
      * Deletes the meter from the switch OF_13.
      *
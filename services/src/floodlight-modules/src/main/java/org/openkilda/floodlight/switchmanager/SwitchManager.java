@@ -17,6 +17,7 @@ package org.openkilda.floodlight.switchmanager;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.openkilda.floodlight.pathverification.PathVerificationService.VERIFICATION_BCAST_PACKET_DST;
 import static org.openkilda.messaging.Utils.ETH_TYPE;
@@ -26,10 +27,15 @@ import static org.projectfloodlight.openflow.protocol.OFVersion.OF_15;
 
 import org.openkilda.floodlight.config.provider.ConfigurationProvider;
 import org.openkilda.floodlight.error.InvalidMeterIdException;
+import org.openkilda.floodlight.error.OfBatchException;
 import org.openkilda.floodlight.error.OfInstallException;
+import org.openkilda.floodlight.error.OfLostConnectionException;
+import org.openkilda.floodlight.error.OfReplyTimeoutException;
+import org.openkilda.floodlight.error.OfWriteException;
 import org.openkilda.floodlight.error.SwitchNotFoundException;
 import org.openkilda.floodlight.error.SwitchOperationException;
 import org.openkilda.floodlight.error.UnsupportedSwitchOperationException;
+import org.openkilda.floodlight.model.OfRequestResponse;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
 import org.openkilda.floodlight.switchmanager.web.SwitchManagerWebRoutable;
@@ -46,7 +52,10 @@ import org.openkilda.messaging.payload.flow.OutputVlanType;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import net.floodlightcontroller.core.FloodlightContext;
 import net.floodlightcontroller.core.IFloodlightProviderService;
 import net.floodlightcontroller.core.IOFMessageListener;
@@ -57,6 +66,7 @@ import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.core.module.IFloodlightModule;
 import net.floodlightcontroller.core.module.IFloodlightService;
 import net.floodlightcontroller.restserver.IRestApiService;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import net.floodlightcontroller.util.FlowModUtils;
 import org.projectfloodlight.openflow.protocol.OFBarrierReply;
 import org.projectfloodlight.openflow.protocol.OFBarrierRequest;
@@ -112,8 +122,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -136,6 +151,11 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     public static final int VERIFICATION_RULE_PRIORITY = FlowModUtils.PRIORITY_MAX - 1000;
     public static final int DEFAULT_RULE_PRIORITY = FlowModUtils.PRIORITY_HIGH;
 
+    /**
+     * How long (in seconds) to wait for the switch reply.
+     */
+    private static final long REPLY_TIMEOUT = 10;
+
 
     // This is invalid VID mask - it cut of highest bit that indicate presence of VLAN tag on package. But valid mask
     // 0x1FFF lead to rule reject during install attempt on accton based switches.
@@ -143,10 +163,14 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
 
     private IOFSwitchService ofSwitchService;
     private IKafkaProducerService producerService;
+    private IThreadPoolService threadPoolService;
     private SwitchTrackingService switchTracking;
 
     private ConnectModeRequest.Mode connectMode;
 
+    private final ConcurrentMap<DatapathId, Map<Long, OfRequestResponse>> pendingBatchRequests =
+            new ConcurrentHashMap<>();
+
     /**
      * Create an OFInstructionApplyActions which applies actions.
      *
@@ -203,7 +227,8 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 IOFSwitchService.class,
                 IRestApiService.class,
                 KafkaUtilityService.class,
-                IKafkaProducerService.class);
+                IKafkaProducerService.class,
+                IThreadPoolService.class);
     }
 
     /**
@@ -213,6 +238,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     public void init(FloodlightModuleContext context) throws FloodlightModuleException {
         ofSwitchService = context.getServiceImpl(IOFSwitchService.class);
         producerService = context.getServiceImpl(IKafkaProducerService.class);
+        threadPoolService = context.getServiceImpl(IThreadPoolService.class);
         switchTracking = context.getServiceImpl(SwitchTrackingService.class);
 
         ConfigurationProvider provider = ConfigurationProvider.of(context, this);
@@ -246,14 +272,20 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     @NewCorrelationContextRequired
     public Command receive(IOFSwitch sw, OFMessage msg, FloodlightContext cntx) {
         logger.debug("OF_ERROR: {}", msg);
-        // TODO: track xid for flow id
         if (OFType.ERROR.equals(msg.getType())) {
-            ErrorMessage error = new ErrorMessage(
-                    new ErrorData(ErrorType.INTERNAL_ERROR, ((OFErrorMsg) msg).getErrType().toString(), null),
-                    System.currentTimeMillis(), CorrelationContext.getId(), Destination.WFM_TRANSACTION);
-            // TODO: Most/all commands are flow related, but not all. 'kilda.flow' might
-            // not be the best place to send a generic error.
-            producerService.sendMessageAndTrack("kilda.flow", error);
+            // errors caused by the batch requests are reported to the batch owner
+            OfRequestResponse batchEntry = pendingBatchRequests.getOrDefault(sw.getId(), emptyMap())
+                    .get(msg.getXid());
+            if (batchEntry != null) {
+                batchEntry.setResponse(msg);
+            } else {
+                ErrorMessage error = new ErrorMessage(
+                        new ErrorData(ErrorType.INTERNAL_ERROR, ((OFErrorMsg) msg).getErrType().toString(), null),
+                        System.currentTimeMillis(), CorrelationContext.getId(), Destination.WFM_TRANSACTION);
+                // TODO: Most/all commands are flow related, but not all. 'kilda.flow' might
+                // not be the best place to send a generic error.
+                producerService.sendMessageAndTrack("kilda.flow", error);
+            }
         }
         return Command.CONTINUE;
     }
@@ -285,6 +317,12 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     @Override
     public void deactivate(DatapathId dpid) {
         stopSafeMode(dpid);
+
+        // the switch is gone, so are the replies to the batch requests in flight
+        Map<Long, OfRequestResponse> pending = pendingBatchRequests.remove(dpid);
+        if (pending != null) {
+            pending.values().forEach(entry -> entry.setError(new OfLostConnectionException(dpid)));
+        }
     }
 
     /**
@@ -335,6 +373,20 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             final Long cookie, final int inputPort, final int outputPort,
             final int inputVlanId, final int transitVlanId,
             final OutputVlanType outputVlanType, final long meterId) throws SwitchOperationException {
+        OFFlowMod flowMod = buildIngressFlow(dpid, flowId, cookie, inputPort, outputPort, inputVlanId, transitVlanId,
+                outputVlanType, meterId);
+        return pushFlow(lookupSwitch(dpid), "--InstallIngressFlow--", flowMod);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFFlowMod buildIngressFlow(
+            final DatapathId dpid, final String flowId,
+            final Long cookie, final int inputPort, final int outputPort,
+            final int inputVlanId, final int transitVlanId,
+            final OutputVlanType outputVlanType, final long meterId) throws SwitchOperationException {
         List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = lookupSwitch(dpid);
         OFFactory ofFactory = sw.getOFFactory();
@@ -356,10 +408,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         Match match = matchFlow(ofFactory, inputPort, inputVlanId);
 
         // build FLOW_MOD command with meter
-        OFFlowMod flowMod = buildFlowMod(ofFactory, match, meter, actions,
-                cookie & FLOW_COOKIE_MASK, DEFAULT_RULE_PRIORITY);
-
-        return pushFlow(sw, "--InstallIngressFlow--", flowMod);
+        return buildFlowMod(ofFactory, match, meter, actions, cookie & FLOW_COOKIE_MASK, DEFAULT_RULE_PRIORITY);
     }
 
     /**
@@ -371,6 +420,20 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             final int inputPort, final int outputPort,
             final int transitVlanId, final int outputVlanId,
             final OutputVlanType outputVlanType) throws SwitchOperationException {
+        OFFlowMod flowMod = buildEgressFlow(dpid, flowId, cookie, inputPort, outputPort, transitVlanId, outputVlanId,
+                outputVlanType);
+        return pushFlow(lookupSwitch(dpid), "--InstallEgressFlow--", flowMod);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFFlowMod buildEgressFlow(
+            final DatapathId dpid, String flowId, final Long cookie,
+            final int inputPort, final int outputPort,
+            final int transitVlanId, final int outputVlanId,
+            final OutputVlanType outputVlanType) throws SwitchOperationException {
         List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = lookupSwitch(dpid);
         OFFactory ofFactory = sw.getOFFactory();
@@ -388,10 +451,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         OFInstructionApplyActions actions = buildInstructionApplyActions(ofFactory, actionList);
 
         // build FLOW_MOD command, no meter
-        OFFlowMod flowMod = buildFlowMod(ofFactory, match, null, actions,
-                cookie & FLOW_COOKIE_MASK, DEFAULT_RULE_PRIORITY);
-
-        return pushFlow(sw, "--InstallEgressFlow--", flowMod);
+        return buildFlowMod(ofFactory, match, null, actions, cookie & FLOW_COOKIE_MASK, DEFAULT_RULE_PRIORITY);
     }
 
     /**
@@ -402,6 +462,18 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             final DatapathId dpid, final String flowId,
             final Long cookie, final int inputPort, final int outputPort,
             final int transitVlanId) throws SwitchOperationException {
+        OFFlowMod flowMod = buildTransitFlow(dpid, flowId, cookie, inputPort, outputPort, transitVlanId);
+        return pushFlow(lookupSwitch(dpid), flowId, flowMod);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFFlowMod buildTransitFlow(
+            final DatapathId dpid, final String flowId,
+            final Long cookie, final int inputPort, final int outputPort,
+            final int transitVlanId) throws SwitchOperationException {
         List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = lookupSwitch(dpid);
         OFFactory ofFactory = sw.getOFFactory();
@@ -416,10 +488,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         OFInstructionApplyActions actions = buildInstructionApplyActions(ofFactory, actionList);
 
         // build FLOW_MOD command, no meter
-        OFFlowMod flowMod = buildFlowMod(ofFactory, match, null, actions,
-                cookie & FLOW_COOKIE_MASK, DEFAULT_RULE_PRIORITY);
-
-        return pushFlow(sw, flowId, flowMod);
+        return buildFlowMod(ofFactory, match, null, actions, cookie & FLOW_COOKIE_MASK, DEFAULT_RULE_PRIORITY);
     }
 
     /**
@@ -432,6 +501,24 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             final int outputPort, final int inputVlanId,
             final int outputVlanId,
             final OutputVlanType outputVlanType, final long meterId) throws SwitchOperationException {
+        OFFlowMod flowMod = buildOneSwitchFlow(dpid, flowId, cookie, inputPort, outputPort, inputVlanId, outputVlanId,
+                outputVlanType, meterId);
+
+        pushFlow(lookupSwitch(dpid), flowId, flowMod);
+
+        return flowMod.getXid();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFFlowMod buildOneSwitchFlow(
+            final DatapathId dpid, final String flowId,
+            final Long cookie, final int inputPort,
+            final int outputPort, final int inputVlanId,
+            final int outputVlanId,
+            final OutputVlanType outputVlanType, final long meterId) throws SwitchOperationException {
         // TODO: As per other locations, how different is this to IngressFlow? Why separate code path?
         //          As with any set of tests, the more we test the same code path, the better.
         //          Based on brief glance, this looks 90% the same as IngressFlow.
@@ -457,12 +544,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         Match match = matchFlow(ofFactory, inputPort, inputVlanId);
 
         // build FLOW_MOD command with meter
-        OFFlowMod flowMod = buildFlowMod(ofFactory, match, meter, actions,
-                cookie & FLOW_COOKIE_MASK, DEFAULT_RULE_PRIORITY);
-
-        pushFlow(sw, flowId, flowMod);
-
-        return flowMod.getXid();
+        return buildFlowMod(ofFactory, match, meter, actions, cookie & FLOW_COOKIE_MASK, DEFAULT_RULE_PRIORITY);
     }
 
     /**
@@ -470,7 +552,20 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
      */
     @Override
     public List<OFFlowStatsEntry> dumpFlowTable(final DatapathId dpid) throws SwitchNotFoundException {
-        List<OFFlowStatsEntry> entries = new ArrayList<>();
+        try {
+            return dumpFlowTableAsync(dpid).get(REPLY_TIMEOUT, TimeUnit.SECONDS);
+        } catch (ExecutionException | InterruptedException | TimeoutException e) {
+            logger.error("Could not get flow stats for {}.", dpid, e);
+            throw new SwitchNotFoundException(dpid);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<OFFlowStatsEntry>> dumpFlowTableAsync(final DatapathId dpid)
+            throws SwitchNotFoundException {
         IOFSwitch sw = lookupSwitch(dpid);
 
         OFFactory ofFactory = sw.getOFFactory();
@@ -479,29 +574,39 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 .setCookieMask(U64.ZERO)
                 .build();
 
+        return withReplyTimeout(dpid, toCompletableFuture(sw.writeStatsRequest(flowRequest))
+                .thenApply(values -> {
+                    if (values == null) {
+                        return new ArrayList<>();
+                    }
+                    return values.stream()
+                            .map(OFFlowStatsReply::getEntries)
+                            .flatMap(List::stream)
+                            .collect(Collectors.toList());
+                }));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<OFMeterConfig> dumpMeters(final DatapathId dpid) throws SwitchOperationException {
+        List<OFMeterConfig> result = null;
         try {
-            Future<List<OFFlowStatsReply>> future = sw.writeStatsRequest(flowRequest);
-            List<OFFlowStatsReply> values = future.get(10, TimeUnit.SECONDS);
-            if (values != null) {
-                entries = values.stream()
-                        .map(OFFlowStatsReply::getEntries)
-                        .flatMap(List::stream)
-                        .collect(Collectors.toList());
-            }
+            result = dumpMetersAsync(dpid).get(REPLY_TIMEOUT, TimeUnit.SECONDS);
         } catch (ExecutionException | InterruptedException | TimeoutException e) {
-            logger.error("Could not get flow stats for {}.", dpid, e);
-            throw new SwitchNotFoundException(dpid);
+            logger.error("Could not get meter config stats for {}.", dpid, e);
         }
 
-        return entries;
+        return result;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<OFMeterConfig> dumpMeters(final DatapathId dpid) throws SwitchOperationException {
-        List<OFMeterConfig> result = null;
+    public CompletableFuture<List<OFMeterConfig>> dumpMetersAsync(final DatapathId dpid)
+            throws SwitchOperationException {
         IOFSwitch sw = lookupSwitch(dpid);
         if (sw == null) {
             throw new IllegalArgumentException(String.format("Switch %s was not found", dpid));
@@ -517,20 +622,16 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 .setMeterId(0xffffffff)
                 .build();
 
-        try {
-            ListenableFuture<List<OFMeterConfigStatsReply>> future = sw.writeStatsRequest(meterRequest);
-            List<OFMeterConfigStatsReply> values = future.get(10, TimeUnit.SECONDS);
-            if (values != null) {
-                result = values.stream()
-                        .map(OFMeterConfigStatsReply::getEntries)
-                        .flatMap(List::stream)
-                        .collect(Collectors.toList());
-            }
-        } catch (ExecutionException | InterruptedException | TimeoutException e) {
-            logger.error("Could not get meter config stats for {}.", dpid, e);
-        }
-
-        return result;
+        return withReplyTimeout(dpid, toCompletableFuture(sw.writeStatsRequest(meterRequest))
+                .thenApply(values -> {
+                    if (values == null) {
+                        return null;
+                    }
+                    return values.stream()
+                            .map(OFMeterConfigStatsReply::getEntries)
+                            .flatMap(List::stream)
+                            .collect(Collectors.toList());
+                }));
     }
 
     /**
@@ -539,18 +640,36 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     @Override
     public long installMeter(final DatapathId dpid, final long bandwidth, final long burstSize, final long meterId)
             throws SwitchOperationException {
-        long meterCommandXid = 0L;
+        Optional<OFMeterMod> meterMod = buildMeter(dpid, bandwidth, burstSize, meterId);
+        if (!meterMod.isPresent()) {
+            return 0L;
+        }
+
+        IOFSwitch sw = lookupSwitch(dpid);
+        long meterCommandXid = pushFlow(sw, "--InstallMeter--", meterMod.get());
+        // All cases when we're installing meters require that we wait until the command is processed and the meter is
+        // installed.
+        sendBarrierRequest(sw);
+
+        return meterCommandXid;
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<OFMeterMod> buildMeter(final DatapathId dpid, final long bandwidth, final long burstSize,
+                                           final long meterId) throws SwitchOperationException {
         if (meterId == 0) {
             logger.info("skip installing meter {} on switch {} width bandwidth {}", meterId, dpid, bandwidth);
-            return meterCommandXid;
+            return Optional.empty();
         }
 
         IOFSwitch sw = lookupSwitch(dpid);
 
         if (OVS_MANUFACTURER.equals(sw.getSwitchDescription().getManufacturerDescription())) {
             logger.info("skip installing meter {} on OVS switch {} width bandwidth {}", meterId, dpid, bandwidth);
-            return meterCommandXid;
+            return Optional.empty();
         }
 
         if (sw.getOFFactory().getVersion().compareTo(OF_12) <= 0) {
@@ -558,15 +677,10 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             /* FIXME: Since we can't read/validate meters from switches with OF 1.2 we should not install them
             meterCommandXid = installLegacyMeter(sw, dpid, bandwidth, burstSize, meterId);
             */
-            return meterCommandXid;
+            return Optional.empty();
         }
 
-        meterCommandXid = buildAndinstallMeter(sw, dpid, bandwidth, burstSize, meterId);
-        // All cases when we're installing meters require that we wait until the command is processed and the meter is
-        // installed.
-        sendBarrierRequest(sw);
-
-        return meterCommandXid;
+        return Optional.of(buildMeterMod(sw, dpid, bandwidth, burstSize, meterId));
     }
 
     @Override
@@ -607,7 +721,34 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<OfRequestResponse>> installBatch(final DatapathId dpid,
+                                                                   final List<OFMessage> messages)
+            throws SwitchOperationException {
+        IOFSwitch sw = lookupSwitch(dpid);
+        OFFactory ofFactory = sw.getOFFactory();
 
+        Map<Boolean, List<OFMessage>> isMeter = messages.stream()
+                .collect(Collectors.partitioningBy(message -> OFType.METER_MOD == message.getType()));
+        List<OfRequestResponse> batch = new ArrayList<>(messages.size());
+
+        // Switches are free to reorder messages between barriers, so meters are written first and fenced off from
+        // the flows that refer them. Nobody waits for this intermediate barrier, the whole batch is still pipelined.
+        writeBatch(sw, dpid, isMeter.get(true), batch);
+        if (!isMeter.get(true).isEmpty() && !isMeter.get(false).isEmpty()) {
+            sw.writeRequest(ofFactory.buildBarrierRequest().build());
+        }
+        writeBatch(sw, dpid, isMeter.get(false), batch);
+
+        CompletableFuture<List<OfRequestResponse>> result = new CompletableFuture<>();
+        withReplyTimeout(dpid, toCompletableFuture(sw.writeRequest(ofFactory.buildBarrierRequest().build())))
+                .whenComplete((reply, error) -> completeBatch(dpid, batch, error, result));
+
+        return result;
+    }
 
     @Override
     public List<Long> deleteAllNonDefaultRules(final DatapathId dpid) throws SwitchOperationException {
@@ -616,6 +757,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         OFFactory ofFactory = sw.getOFFactory();
 
         Set<Long> removedRules = new HashSet<>();
+        List<OFMessage> flowDeletes = new ArrayList<>();
 
         for (OFFlowStatsEntry flowStatsEntry : flowStatsBefore) {
             long flowCookie = flowStatsEntry.getCookie().getValue();
@@ -626,7 +768,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                         .setCookie(U64.of(flowCookie))
                         .setCookieMask(U64.NO_MASK)
                         .build();
-                pushFlow(sw, "--DeleteFlow--", flowDelete);
+                flowDeletes.add(flowDelete);
 
                 logger.info("Rule with cookie {} is to be removed from switch {}.", flowCookie, dpid);
 
@@ -635,7 +777,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         }
 
         // Wait for OFFlowDelete to be processed.
-        sendBarrierRequest(sw);
+        installBatchAndWait(dpid, flowDeletes);
 
         List<OFFlowStatsEntry> flowStatsAfter = dumpFlowTable(dpid);
         Set<Long> cookiesAfter = flowStatsAfter.stream()
@@ -672,16 +814,17 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         IOFSwitch sw = lookupSwitch(dpid);
         OFFactory ofFactory = sw.getOFFactory();
 
+        List<OFMessage> flowDeletes = new ArrayList<>(criteria.length);
         for (DeleteRulesCriteria criteriaEntry : criteria) {
             OFFlowDelete dropFlowDelete = buildFlowDeleteByCriteria(ofFactory, criteriaEntry);
 
             logger.info("Rules by criteria {} are to be removed from switch {}.", criteria, dpid);
 
-            pushFlow(sw, "--DeleteFlow--", dropFlowDelete);
+            flowDeletes.add(dropFlowDelete);
         }
 
         // Wait for OFFlowDelete to be processed.
-        sendBarrierRequest(sw);
+        installBatchAndWait(dpid, flowDeletes);
 
         List<OFFlowStatsEntry> flowStatsAfter = dumpFlowTable(dpid);
         Set<Long> cookiesAfter = flowStatsAfter.stream()
@@ -778,9 +921,8 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         }
     }
 
-    private long buildAndinstallMeter(final IOFSwitch sw, final DatapathId dpid, final long bandwidth,
-                                      final long burstSize, final long meterId)
-            throws OfInstallException {
+    private OFMeterMod buildMeterMod(final IOFSwitch sw, final DatapathId dpid, final long bandwidth,
+                                     final long burstSize, final long meterId) {
         logger.debug("installing meter {} on switch {} width bandwidth {}", meterId, dpid, bandwidth);
 
         Set<OFMeterFlags> flags = new HashSet<>(asList(OFMeterFlags.KBPS, OFMeterFlags.BURST));
@@ -802,9 +944,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             meterModBuilder.setMeters(singletonList(bandBuilder.build()));
         }
 
-        OFMeterMod meterMod = meterModBuilder.build();
-
-        return pushFlow(sw, "--InstallMeter--", meterMod);
+        return meterModBuilder.build();
     }
 
     private long installLegacyMeter(
@@ -897,6 +1037,39 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return builder.build();
     }
 
+    /**
+     * Adapt the OF connection future, so the result can be chained without blocking on it. Callbacks are executed by
+     * the thread completing the future, which is the switch I/O thread for the OF replies.
+     */
+    private static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> future) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                result.completeExceptionally(error);
+            }
+        }, MoreExecutors.directExecutor());
+        return result;
+    }
+
+    /**
+     * Fail the future with {@link OfReplyTimeoutException} if the switch doesn't reply in
+     * {@link #REPLY_TIMEOUT} seconds, the same bound the blocking requests have. So the actions chained on the future
+     * are always executed, even if the reply is lost.
+     */
+    private <T> CompletableFuture<T> withReplyTimeout(DatapathId dpid, CompletableFuture<T> future) {
+        ScheduledFuture<?> timer = threadPoolService.getScheduledExecutor().schedule(
+                () -> future.completeExceptionally(new OfReplyTimeoutException(dpid, REPLY_TIMEOUT)),
+                REPLY_TIMEOUT, TimeUnit.SECONDS);
+        future.whenComplete((value, error) -> timer.cancel(false));
+        return future;
+    }
+
     private OFBarrierReply sendBarrierRequest(IOFSwitch sw) {
         OFFactory ofFactory = sw.getOFFactory();
         OFBarrierRequest barrierRequest = ofFactory.buildBarrierRequest().build();
@@ -911,6 +1084,61 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return result;
     }
 
+    private void writeBatch(IOFSwitch sw, DatapathId dpid, List<OFMessage> messages, List<OfRequestResponse> batch) {
+        Map<Long, OfRequestResponse> pending = pendingBatchRequests.computeIfAbsent(
+                dpid, key -> new ConcurrentHashMap<>());
+        for (OFMessage message : messages) {
+            OfRequestResponse entry = new OfRequestResponse(dpid, message);
+            batch.add(entry);
+
+            logger.debug("installing batch message on switch {}: {}", dpid, message);
+            pending.put(entry.getXid(), entry);
+            if (!sw.write(message)) {
+                pending.remove(entry.getXid());
+                entry.setError(new OfWriteException(dpid, message));
+            }
+        }
+    }
+
+    private void completeBatch(DatapathId dpid, List<OfRequestResponse> batch, Throwable barrierError,
+                               CompletableFuture<List<OfRequestResponse>> result) {
+        // Drop the batch from the pending requests whether the barrier is replied, lost or timed out, so a switch
+        // that never replies doesn't pile up the entries.
+        Map<Long, OfRequestResponse> pending = pendingBatchRequests.getOrDefault(dpid, emptyMap());
+        batch.forEach(entry -> pending.remove(entry.getXid(), entry));
+
+        if (barrierError != null) {
+            logger.error("Could not get a barrier reply for batch of {} messages on {}.", batch.size(), dpid,
+                    barrierError);
+            batch.stream()
+                    .filter(entry -> entry.getError() == null)
+                    .forEach(entry -> entry.setError(new OfLostConnectionException(dpid)));
+        }
+
+        List<OfRequestResponse> errors = batch.stream()
+                .filter(entry -> entry.getError() != null)
+                .collect(Collectors.toList());
+        if (errors.isEmpty()) {
+            result.complete(batch);
+        } else {
+            result.completeExceptionally(new OfBatchException(errors));
+        }
+    }
+
+    private void installBatchAndWait(DatapathId dpid, List<OFMessage> messages) throws SwitchOperationException {
+        try {
+            installBatch(dpid, messages).get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof OfBatchException) {
+                ((OfBatchException) e.getCause()).getErrors()
+                        .forEach(entry -> logger.error("Switch {} has rejected a message: {}", dpid, entry));
+            } else {
+                logger.error("Could not install batch of {} messages on {}.", messages.size(), dpid, e);
+            }
+        } catch (InterruptedException | TimeoutException e) {
+            logger.error("Could not get a barrier reply for {}.", dpid, e);
+        }
+    }
 
     private List<Long> deleteRulesWithCookie(final DatapathId dpid, Long... cookiesToRemove)
             throws SwitchOperationException {
@@ -1321,6 +1549,8 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         int dropRuleStage;
         int broadcastRuleStage;
         int unicastRuleStage;
+        // pending flow table dump, safeModeTick() consumes it when it is completed
+        CompletableFuture<List<OFFlowStatsEntry>> flowTableDump;
 
         SafeData(DatapathId dpid) {
             this.dpid = dpid;
@@ -1389,6 +1619,35 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     private Map<DatapathId, SafeData> safeSwitches = new HashMap<>();
     private long lastRun = 0L;
 
+    /**
+     * Take the result of the flow table dump requested for the safe mode switch. Returns null if the dump is not
+     * completed yet, the first dump is requested here.
+     */
+    private List<OFFlowStatsEntry> takeFlowTableDump(SafeData safeData) throws SwitchOperationException {
+        CompletableFuture<List<OFFlowStatsEntry>> dump = safeData.flowTableDump;
+        if (dump == null) {
+            safeData.flowTableDump = dumpFlowTableAsync(safeData.dpid);
+            return null;
+        }
+        if (!dump.isDone()) {
+            return null;
+        }
+
+        safeData.flowTableDump = null;
+        try {
+            return dump.join();
+        } catch (CompletionException e) {
+            logger.error("Could not get flow stats for {}.", safeData.dpid, e.getCause());
+            if (e.getCause() instanceof SwitchOperationException) {
+                throw (SwitchOperationException) e.getCause();
+            }
+            throw new SwitchOperationException(safeData.dpid,
+                    String.format("Could not get flow stats: %s", e.getCause().getMessage()));
+        } catch (CancellationException e) {
+            throw new SwitchOperationException(safeData.dpid, "Flow stats request was cancelled");
+        }
+    }
+
     private void startSafeMode(final DatapathId dpid) {
         // Don't create a new object if one already exists .. ie, don't restart the process of
         // installing base rules.
@@ -1426,7 +1685,12 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         for (SafeData safeData : values) {
             // Grab switch rule stats .. X pre and post .. X for 0, X for 1 .. make a decision.
             try {
-                safeData.consumeData(time, dumpFlowTable(safeData.dpid));
+                List<OFFlowStatsEntry> flowEntries = takeFlowTableDump(safeData);
+                if (flowEntries == null) {
+                    // the dump is still in progress, don't block the caller (kafka consumer loop) waiting for it
+                    continue;
+                }
+                safeData.consumeData(time, flowEntries);
                 int datapoints = safeData.timestamps.size();
 
                 if (safeData.dropRuleStage < RULE_TESTED) {
@@ -1502,7 +1766,11 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                     switchTracking.completeSwitchActivation(sw.getId());
                     // WE ARE DONE!! Remove ourselves from the list.
                     values.remove(safeData);  // will be reflected in safeSwitches
+                    continue;
                 }
+
+                // collect the next data point in background, it will be consumed on one of the next ticks
+                safeData.flowTableDump = dumpFlowTableAsync(safeData.dpid);
             } catch (SwitchOperationException e) {
                 logger.error("Error while switch {} was in safe mode. Removing switch from safe "
                         + "mode and NOT SENDING ACTIVATION. \nERROR: {}", safeData.dpid, e);
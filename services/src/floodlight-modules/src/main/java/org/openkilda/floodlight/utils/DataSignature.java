@@ -27,12 +27,35 @@ import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
+/**
+ * Signs and verifies the data we put into network packets.
+ * <p/>
+ * The data is signed in a compact binary form: a 2 bytes header (the zero magic byte and the format version), the
+ * fixed layout body and the HMAC-SHA256 of the header and the body truncated to {@link #SIGNATURE_SIZE} bytes.
+ * JWT tokens signed with the same secret (the previous format) are still accepted, a JWT token can't start with
+ * the zero byte, so the formats are told apart by the first byte.
+ */
 public class DataSignature {
+    public static final byte BINARY_MAGIC = 0;
+    public static final byte BINARY_VERSION = 1;
+    public static final int HEADER_SIZE = 2;
+    public static final int SIGNATURE_SIZE = 16;
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
     private final Algorithm signAlgorithm;
     private final JWTVerifier signVerification;
 
+    private final SecretKeySpec key;
+    private final ThreadLocal<MacContext> macContext;
+
     public DataSignature(String secret) throws InvalidSignatureConfigurationException {
         try {
             signAlgorithm = Algorithm.HMAC256(secret);
@@ -40,15 +63,71 @@ public class DataSignature {
         } catch (UnsupportedEncodingException e) {
             throw new InvalidSignatureConfigurationException("Can't initialize sing/verify objects", e);
         }
+
+        try {
+            key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+            // fail here on broken configuration, not on the first packet
+            makeMac(key);
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            throw new InvalidSignatureConfigurationException("Can't initialize HMAC object", e);
+        }
+        macContext = ThreadLocal.withInitial(() -> new MacContext(key));
     }
 
+    /**
+     * Sign the payload, the result is in the binary format.
+     */
     public byte[] sign(ISignPayload payload) {
-        JWTCreator.Builder token = payload.toSign(JWT.create());
+        byte[] data = new byte[HEADER_SIZE + payload.getBinarySize() + SIGNATURE_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.put(BINARY_MAGIC).put(BINARY_VERSION);
+        payload.toSign(buffer);
+
+        appendSignature(data, 0, data.length - SIGNATURE_SIZE);
+        return data;
+    }
+
+    /**
+     * Sign the payload in the JWT format. Only to produce the data in the format used before the binary one.
+     */
+    public byte[] signJwt(ISignPayload payload) {
+        return signJwt(payload.toSign(JWT.create()));
+    }
+
+    /**
+     * Sign the claims in the JWT format. Only to produce the data in the format used before the binary one.
+     */
+    public byte[] signJwt(JWTCreator.Builder token) {
         return token.sign(signAlgorithm).getBytes(Charset.forName("UTF-8"));
     }
 
+    public boolean isBinary(byte[] payload) {
+        return 0 < payload.length && payload[0] == BINARY_MAGIC;
+    }
+
+    /**
+     * Verify data signature of the binary formatted data.
+     *
+     * @return read only view of the body, the data is not copied.
+     */
+    public ByteBuffer verifyBinary(byte[] payload) throws CorruptedNetworkDataException {
+        if (payload.length < HEADER_SIZE + SIGNATURE_SIZE || payload[0] != BINARY_MAGIC) {
+            throw new CorruptedNetworkDataException("Bad signature: not a binary signed data");
+        }
+        if (payload[1] != BINARY_VERSION) {
+            throw new CorruptedNetworkDataException(
+                    String.format("Bad signature: unsupported format version %d", payload[1]));
+        }
+
+        int signedLength = payload.length - SIGNATURE_SIZE;
+        if (!checkSignature(payload, 0, signedLength)) {
+            throw new CorruptedNetworkDataException("Bad signature: HMAC mismatch");
+        }
+        return ByteBuffer.wrap(payload, HEADER_SIZE, signedLength - HEADER_SIZE).slice().asReadOnlyBuffer();
+    }
+
     /**
-     * Verify data signature.
+     * Verify data signature of the JWT formatted data.
      */
     public DecodedJWT verify(byte[] payload) throws CorruptedNetworkDataException {
         String payloadStr = new String(payload, Charset.forName("UTF-8"));
@@ -61,4 +140,68 @@ public class DataSignature {
 
         return token;
     }
+
+    /**
+     * Calculate the signature of {@code length} bytes of {@code data} starting at {@code offset}, and write it
+     * right after them. There must be {@link #SIGNATURE_SIZE} bytes of room for it.
+     */
+    public void appendSignature(byte[] data, int offset, int length) {
+        MacContext context = macContext.get();
+        byte[] digest = context.digest(data, offset, length);
+        System.arraycopy(digest, 0, data, offset + length, SIGNATURE_SIZE);
+    }
+
+    /**
+     * Check the signature written by {@link #appendSignature(byte[], int, int)} in place.
+     */
+    public boolean checkSignature(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || data.length - SIGNATURE_SIZE < offset + length) {
+            return false;
+        }
+
+        MacContext context = macContext.get();
+        byte[] digest = context.digest(data, offset, length);
+
+        // constant time comparison
+        int diff = 0;
+        int signatureOffset = offset + length;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            diff |= digest[i] ^ data[signatureOffset + i];
+        }
+        return diff == 0;
+    }
+
+    private static Mac makeMac(SecretKeySpec key) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(MAC_ALGORITHM);
+        mac.init(key);
+        return mac;
+    }
+
+    /**
+     * {@link Mac} objects are not thread safe and are expensive to create, so each thread keeps its own one
+     * along with the buffer for the digest.
+     */
+    private static class MacContext {
+        private final Mac mac;
+        private final byte[] digest;
+
+        MacContext(SecretKeySpec key) {
+            try {
+                mac = makeMac(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(String.format("Can't initialize %s", MAC_ALGORITHM), e);
+            }
+            digest = new byte[mac.getMacLength()];
+        }
+
+        byte[] digest(byte[] data, int offset, int length) {
+            mac.update(data, offset, length);
+            try {
+                mac.doFinal(digest, 0);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(String.format("Can't calculate %s", MAC_ALGORITHM), e);
+            }
+            return digest;
+        }
+    }
 }
@@ -0,0 +1,52 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.switches.DumpRulesRequest;
+import org.openkilda.messaging.model.SwitchId;
+
+import org.junit.Test;
+
+public class ConsumerTest {
+    @Test
+    public void shouldExtractSwitchIdFromCommand() throws Exception {
+        SwitchId switchId = new SwitchId("00:00:00:00:00:00:00:01");
+        String json = MAPPER.writeValueAsString(
+                new CommandMessage(new DumpRulesRequest(switchId), 0, "correlation", null));
+
+        assertEquals(switchId.toString(), Consumer.extractSwitchId(json));
+    }
+
+    @Test
+    public void shouldIgnoreSwitchIdOutsideOfPayload() {
+        String json = "{\"switch_id\": \"00:00:00:00:00:00:00:01\", "
+                + "\"payload\": {\"command\": \"test\", \"nested\": {\"switch_id\": \"00:00:00:00:00:00:00:02\"}}}";
+
+        assertNull(Consumer.extractSwitchId(json));
+    }
+
+    @Test
+    public void shouldNotFailOnMalformedMessage() {
+        assertNull(Consumer.extractSwitchId("{\"payload\": {"));
+        assertNull(Consumer.extractSwitchId("[]"));
+        assertNull(Consumer.extractSwitchId(null));
+    }
+}
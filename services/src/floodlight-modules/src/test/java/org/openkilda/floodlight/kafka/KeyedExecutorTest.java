@@ -0,0 +1,142 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class KeyedExecutorTest {
+    private static final long TIMEOUT = 5;
+
+    private ExecutorService workers;
+
+    @Before
+    public void setUp() {
+        workers = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    public void shouldPreserveOrderPerKey() throws Exception {
+        KeyedExecutor executor = new KeyedExecutor(workers, 1000);
+        List<Integer> first = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> second = Collections.synchronizedList(new ArrayList<>());
+
+        CountDownLatch done = new CountDownLatch(200);
+        for (int i = 0; i < 100; i++) {
+            final int value = i;
+            executor.execute("sw1", () -> {
+                first.add(value);
+                done.countDown();
+            });
+            executor.execute("sw2", () -> {
+                second.add(value);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, (int) first.get(i));
+            assertEquals(i, (int) second.get(i));
+        }
+    }
+
+    @Test
+    public void shouldNotBlockOtherKeysBySlowKey() throws Exception {
+        KeyedExecutor executor = new KeyedExecutor(workers, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute("slow", () -> await(release));
+        executor.execute("slow", () -> { });
+
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute("fast", done::countDown);
+
+        assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(2, (int) executor.getQueueDepth().get("slow"));
+
+        release.countDown();
+    }
+
+    @Test
+    public void shouldBlockWhenKeyQueueIsFull() throws Exception {
+        KeyedExecutor executor = new KeyedExecutor(workers, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute("sw", () -> await(release));
+        executor.execute("sw", () -> { });
+
+        AtomicBoolean submitted = new AtomicBoolean(false);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                executor.execute("sw", done::countDown);
+                submitted.set(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        producer.join(200);
+        assertFalse(submitted.get());
+
+        release.countDown();
+        assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(submitted.get());
+        assertTrue(executor.getQueueDepth().isEmpty() || executor.getQueueDepth().get("sw") <= 1);
+    }
+
+    @Test
+    public void shouldContinueAfterTaskFailure() throws Exception {
+        KeyedExecutor executor = new KeyedExecutor(workers, 10);
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute("sw", () -> {
+            throw new IllegalStateException("test");
+        });
+        executor.execute("sw", done::countDown);
+        executor.execute(null, () -> {
+            throw new IllegalStateException("test");
+        });
+
+        assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -116,4 +116,49 @@ public class PathVerificationPacketSignTest extends PathVerificationPacketInTest
 
         verify(producerService);
     }
+
+    @Test
+    public void testSignPacketLegacyOnly() throws Exception {
+        producerService.sendMessageAndTrack(anyObject(), anyObject());
+        expectLastCall().once();
+        replay(producerService);
+
+        // a speaker that knows only the JWT format doesn't add the binary signed TLV
+        byte[] data = pvs.generateVerificationPacket(sw1, OFPort.of(1)).getData();
+        data[findOuiTlv(data, (byte) 0x04)] = 0x7f;
+        putPacketInPayload(data);
+
+        pvs.handlePacketIn(new OfInput(sw2, ofPacketIn, context));
+        verify(producerService);
+    }
+
+    @Test
+    public void testSignPacketTimestampMismatch() throws PacketParsingException {
+        replay(producerService);
+
+        byte[] data = pvs.generateVerificationPacket(sw1, OFPort.of(1)).getData();
+        // the last byte of the timestamp TLV value
+        data[findOuiTlv(data, (byte) 0x01) + 8] ^= 0x01;
+        putPacketInPayload(data);
+
+        pvs.handlePacketIn(new OfInput(sw2, ofPacketIn, context));
+        verify(producerService);
+    }
+
+    private void putPacketInPayload(byte[] data) throws PacketParsingException {
+        context.getStorage().put(IFloodlightProviderService.CONTEXT_PI_PAYLOAD,
+                new Ethernet().deserialize(data, 0, data.length));
+    }
+
+    /**
+     * Find the organizationally specific TLV with the given subtype, return the offset of the subtype byte.
+     */
+    private static int findOuiTlv(byte[] data, byte subtype) {
+        for (int i = 0; i + 3 < data.length; i++) {
+            if (data[i] == 0x00 && data[i + 1] == 0x26 && data[i + 2] == (byte) 0xe1 && data[i + 3] == subtype) {
+                return i + 3;
+            }
+        }
+        throw new IllegalArgumentException(String.format("There is no TLV with subtype %d", subtype));
+    }
 }
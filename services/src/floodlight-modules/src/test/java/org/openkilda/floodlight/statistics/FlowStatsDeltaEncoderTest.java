@@ -0,0 +1,118 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.stats.FlowStatsDeltaData;
+import org.openkilda.messaging.model.SwitchId;
+
+import org.junit.Test;
+
+public class FlowStatsDeltaEncoderTest {
+    private static final SwitchId SWITCH_ID = new SwitchId("00:00:00:00:00:00:00:01");
+
+    @Test
+    public void shouldSendOnlyChangedCounters() {
+        FlowStatsDeltaEncoder encoder = new FlowStatsDeltaEncoder(10);
+
+        encoder.begin();
+        encoder.add(0, 1L, 10L, 100L);
+        encoder.add(0, 2L, 20L, 200L);
+        FlowStatsDeltaData first = encoder.finish(SWITCH_ID);
+        assertTrue(first.isFull());
+        assertEquals(2, first.size());
+
+        encoder.begin();
+        encoder.add(0, 1L, 10L, 100L);
+        encoder.add(0, 2L, 21L, 210L);
+        FlowStatsDeltaData second = encoder.finish(SWITCH_ID);
+        assertFalse(second.isFull());
+        assertArrayEquals(new long[] {2L}, second.getCookies());
+        assertArrayEquals(new long[] {21L}, second.getPacketCounts());
+        assertArrayEquals(new long[] {210L}, second.getByteCounts());
+
+        encoder.begin();
+        encoder.add(0, 1L, 10L, 100L);
+        encoder.add(0, 2L, 21L, 210L);
+        assertNull(encoder.finish(SWITCH_ID));
+    }
+
+    @Test
+    public void shouldSendFullRefreshPeriodically() {
+        FlowStatsDeltaEncoder encoder = new FlowStatsDeltaEncoder(3);
+
+        for (int dump = 0; dump < 7; dump++) {
+            encoder.begin();
+            encoder.add(0, 1L, 10L, 100L);
+            FlowStatsDeltaData data = encoder.finish(SWITCH_ID);
+            if (dump % 3 == 0) {
+                assertTrue(data.isFull());
+                assertEquals(1, data.size());
+            } else {
+                assertNull(data);
+            }
+        }
+    }
+
+    @Test
+    public void shouldForgetRemovedFlows() {
+        FlowStatsDeltaEncoder encoder = new FlowStatsDeltaEncoder(100);
+
+        encoder.begin();
+        for (long cookie = 0; cookie < 1000; cookie++) {
+            encoder.add(1, cookie, cookie, cookie);
+        }
+        assertEquals(1000, encoder.finish(SWITCH_ID).size());
+        assertEquals(1000, encoder.size());
+
+        encoder.begin();
+        encoder.add(1, 500L, 500L, 500L);
+        assertNull(encoder.finish(SWITCH_ID));
+        assertEquals(1, encoder.size());
+
+        // the flow reappears with the old counters, it must be sent as a new one
+        encoder.begin();
+        encoder.add(1, 500L, 500L, 500L);
+        encoder.add(1, 7L, 7L, 7L);
+        FlowStatsDeltaData data = encoder.finish(SWITCH_ID);
+        assertArrayEquals(new long[] {7L}, data.getCookies());
+        assertEquals(2, encoder.size());
+    }
+
+    @Test
+    public void shouldKeepUnseenFlowsWhileGrowing() {
+        FlowStatsDeltaEncoder encoder = new FlowStatsDeltaEncoder(100);
+
+        encoder.begin();
+        encoder.add(0, 1L, 1L, 1L);
+        encoder.finish(SWITCH_ID);
+
+        // the table grows before the old flow is seen in the dump
+        encoder.begin();
+        for (long cookie = 100; cookie < 200; cookie++) {
+            encoder.add(0, cookie, 1L, 1L);
+        }
+        encoder.add(0, 1L, 1L, 1L);
+        FlowStatsDeltaData data = encoder.finish(SWITCH_ID);
+        assertEquals(100, data.size());
+        assertEquals(101, encoder.size());
+    }
+}
@@ -0,0 +1,99 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.floodlight.statistics.StatsCollectionScheduler.Ticket;
+
+import org.junit.Test;
+
+public class StatsCollectionSchedulerTest {
+    private static final int SLOTS = 60;
+
+    @Test
+    public void shouldSpreadSwitchesAcrossInterval() {
+        StatsCollectionScheduler scheduler = new StatsCollectionScheduler(SLOTS, 1024);
+
+        int[] perSlot = new int[SLOTS];
+        for (long dpid = 1; dpid <= SLOTS * 10; dpid++) {
+            int dueCount = 0;
+            for (long tick = 0; tick < SLOTS; tick++) {
+                if (scheduler.isDue(dpid, tick)) {
+                    dueCount += 1;
+                    perSlot[(int) tick] += 1;
+                }
+            }
+            assertEquals(1, dueCount);
+        }
+
+        for (int count : perSlot) {
+            assertEquals(10, count);
+        }
+    }
+
+    @Test
+    public void shouldSkipSwitchWithPendingReplies() {
+        StatsCollectionScheduler scheduler = new StatsCollectionScheduler(SLOTS, 1024);
+
+        Ticket ticket = scheduler.tryAcquire(1, 0, 2);
+        assertNotNull(ticket);
+        assertNull(scheduler.tryAcquire(1, SLOTS, 2));
+
+        scheduler.release(ticket);
+        assertNull(scheduler.tryAcquire(1, SLOTS, 2));
+        scheduler.release(ticket);
+        assertEquals(0, scheduler.getOutstanding());
+        assertNotNull(scheduler.tryAcquire(1, SLOTS, 2));
+    }
+
+    @Test
+    public void shouldDeferSwitchWhenTooManyRequestsInFlight() {
+        StatsCollectionScheduler scheduler = new StatsCollectionScheduler(SLOTS, 4);
+        long dpid = 2;
+        long tick = scheduler.phaseOf(dpid);
+
+        Ticket first = scheduler.tryAcquire(1, tick, 3);
+        assertNotNull(first);
+        assertNull(scheduler.tryAcquire(dpid, tick, 3));
+        assertTrue(scheduler.isDue(dpid, tick + 1));
+
+        scheduler.release(first);
+        scheduler.release(first);
+        assertNotNull(scheduler.tryAcquire(dpid, tick + 1, 3));
+        assertFalse(scheduler.isDue(dpid, tick + 2));
+        assertEquals(4, scheduler.getOutstanding());
+    }
+
+    @Test
+    public void shouldDropLostReplies() {
+        StatsCollectionScheduler scheduler = new StatsCollectionScheduler(SLOTS, 1024);
+
+        Ticket lost = scheduler.tryAcquire(1, 0, 3);
+        assertNotNull(lost);
+        assertNotNull(scheduler.tryAcquire(1, 2 * SLOTS, 3));
+        assertEquals(3, scheduler.getOutstanding());
+
+        // late reply of the dropped poll must not affect the new one
+        scheduler.release(lost);
+        assertEquals(3, scheduler.getOutstanding());
+        assertEquals(1, scheduler.getPendingSwitches());
+    }
+}
@@ -17,22 +17,27 @@ package org.openkilda.floodlight.switchmanager;
 
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
-import static org.easymock.EasyMock.anyLong;
 import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.mock;
 import static org.easymock.EasyMock.replay;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.beans.HasPropertyWithValue.hasProperty;
 import static org.hamcrest.core.Every.everyItem;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 import static org.openkilda.floodlight.Constants.bandwidth;
 import static org.openkilda.floodlight.Constants.burstSize;
 import static org.openkilda.floodlight.Constants.inputPort;
@@ -46,33 +51,41 @@ import static org.openkilda.floodlight.switchmanager.ISwitchManager.VERIFICATION
 import static org.openkilda.floodlight.switchmanager.ISwitchManager.VERIFICATION_UNICAST_RULE_COOKIE;
 import static org.openkilda.floodlight.test.standard.PushSchemeOutputCommands.ofFactory;
 
+import org.openkilda.floodlight.error.InvalidMeterIdException;
+import org.openkilda.floodlight.error.OfBatchException;
+import org.openkilda.floodlight.error.OfErrorResponseException;
+import org.openkilda.floodlight.error.OfLostConnectionException;
+import org.openkilda.floodlight.error.OfReplyTimeoutException;
+import org.openkilda.floodlight.error.SwitchOperationException;
+import org.openkilda.floodlight.model.OfRequestResponse;
+import org.openkilda.floodlight.test.standard.OutputCommands;
+import org.openkilda.floodlight.test.standard.ReplaceSchemeOutputCommands;
+import org.openkilda.messaging.command.switches.DeleteRulesCriteria;
+import org.openkilda.messaging.payload.flow.OutputVlanType;
+
 import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.SwitchDescription;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.restserver.IRestApiService;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.easymock.Capture;
 import org.easymock.CaptureType;
 import org.easymock.EasyMock;
 import org.junit.Before;
 import org.junit.Test;
-import org.openkilda.floodlight.error.InvalidMeterIdException;
-import org.openkilda.floodlight.error.SwitchOperationException;
-import org.openkilda.floodlight.test.standard.OutputCommands;
-import org.openkilda.floodlight.test.standard.ReplaceSchemeOutputCommands;
-import org.openkilda.messaging.command.switches.DeleteRulesCriteria;
-import org.openkilda.messaging.payload.flow.OutputVlanType;
-
 import org.projectfloodlight.openflow.protocol.OFBarrierReply;
 import org.projectfloodlight.openflow.protocol.OFBarrierRequest;
 import org.projectfloodlight.openflow.protocol.OFFlowMod;
 import org.projectfloodlight.openflow.protocol.OFFlowModCommand;
+import org.projectfloodlight.openflow.protocol.OFFlowModFailedCode;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsReply;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsRequest;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFMeterMod;
 import org.projectfloodlight.openflow.protocol.OFMeterModCommand;
 import org.projectfloodlight.openflow.protocol.match.MatchField;
@@ -81,18 +94,26 @@ import org.projectfloodlight.openflow.types.U64;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 public class SwitchManagerTest {
     private static final OutputCommands scheme = new ReplaceSchemeOutputCommands();
     private static final FloodlightModuleContext context = new FloodlightModuleContext();
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
     private static final long cookie = 123L;
     private static final String cookieHex = "7B";
     private SwitchManager switchManager;
     private IOFSwitchService ofSwitchService;
     private IRestApiService restApiService;
+    private IThreadPoolService threadPoolService;
     private IOFSwitch iofSwitch;
     private SwitchDescription switchDescription;
     private DatapathId dpid;
@@ -101,12 +122,17 @@ public class SwitchManagerTest {
     public void setUp() throws FloodlightModuleException {
         ofSwitchService = createMock(IOFSwitchService.class);
         restApiService = createMock(IRestApiService.class);
+        threadPoolService = createMock(IThreadPoolService.class);
         iofSwitch = createMock(IOFSwitch.class);
         switchDescription = createMock(SwitchDescription.class);
         dpid = createMock(DatapathId.class);
 
         context.addService(IRestApiService.class, restApiService);
         context.addService(IOFSwitchService.class, ofSwitchService);
+        context.addService(IThreadPoolService.class, threadPoolService);
+
+        expect(threadPoolService.getScheduledExecutor()).andStubReturn(scheduler);
+        replay(threadPoolService);
 
         switchManager = new SwitchManager();
         switchManager.init(context);
@@ -277,6 +303,68 @@ public class SwitchManagerTest {
         // TODO
     }
 
+    @Test
+    public void shouldDumpFlowTableWithoutBlocking() throws Exception {
+        // given
+        expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
+
+        SettableFuture<List<OFFlowStatsReply>> statsFuture = SettableFuture.create();
+        expect(iofSwitch.writeStatsRequest(anyObject(OFFlowStatsRequest.class))).andReturn(statsFuture);
+
+        OFFlowStatsEntry entry = mock(OFFlowStatsEntry.class);
+        OFFlowStatsReply reply = mock(OFFlowStatsReply.class);
+        expect(reply.getEntries()).andStubReturn(singletonList(entry));
+
+        replay(ofSwitchService, iofSwitch, entry, reply);
+
+        // when
+        CompletableFuture<List<OFFlowStatsEntry>> result = switchManager.dumpFlowTableAsync(dpid);
+
+        // then
+        assertFalse(result.isDone());
+        statsFuture.set(singletonList(reply));
+        assertEquals(singletonList(entry), result.getNow(null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldFailFlowTableDumpWhenSwitchDoesNotReply() throws Exception {
+        // given
+        expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
+        expect(iofSwitch.writeStatsRequest(anyObject(OFFlowStatsRequest.class)))
+                .andReturn(SettableFuture.<List<OFFlowStatsReply>>create());
+
+        Capture<Runnable> timeout = EasyMock.newCapture();
+        ScheduledFuture<?> timerFuture = createNiceMock(ScheduledFuture.class);
+        ScheduledExecutorService timer = createMock(ScheduledExecutorService.class);
+        expect(timer.schedule(capture(timeout), eq(10L), eq(TimeUnit.SECONDS)))
+                .andReturn((ScheduledFuture) timerFuture);
+        IThreadPoolService timerService = createMock(IThreadPoolService.class);
+        expect(timerService.getScheduledExecutor()).andStubReturn(timer);
+
+        replay(ofSwitchService, iofSwitch, timerFuture, timer, timerService);
+
+        FloodlightModuleContext timerContext = new FloodlightModuleContext();
+        timerContext.addService(IOFSwitchService.class, ofSwitchService);
+        timerContext.addService(IThreadPoolService.class, timerService);
+        switchManager.init(timerContext);
+
+        // when
+        CompletableFuture<List<OFFlowStatsEntry>> result = switchManager.dumpFlowTableAsync(dpid);
+        assertFalse(result.isDone());
+        timeout.getValue().run();
+
+        // then
+        try {
+            result.getNow(null);
+            fail("the dump must fail on timeout");
+        } catch (CompletionException e) {
+            assertThat(e.getCause(), instanceOf(OfReplyTimeoutException.class));
+        }
+    }
+
     @Test
     public void dumpMeters() throws Exception {
         // TODO
@@ -300,6 +388,105 @@ public class SwitchManagerTest {
         switchManager.installMeter(dpid, bandwidth, burstSize, meterId);
     }
 
+    @Test
+    public void shouldInstallBatchWithMetersFirst() throws Exception {
+        // given
+        expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
+        expect(iofSwitch.getSwitchDescription()).andStubReturn(switchDescription);
+        expect(switchDescription.getManufacturerDescription()).andStubReturn("");
+
+        Capture<OFMessage> capture = EasyMock.newCapture(CaptureType.ALL);
+        expect(iofSwitch.write(capture(capture))).andReturn(true).times(2);
+        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class)))
+                .andReturn(Futures.immediateFuture(createMock(OFBarrierReply.class))).times(2);
+
+        replay(ofSwitchService, iofSwitch, switchDescription);
+
+        OFFlowMod flowMod = switchManager.buildIngressFlow(dpid, cookieHex, cookie,
+                inputPort, outputPort, inputVlanId, transitVlanId, OutputVlanType.REPLACE, meterId);
+        OFMeterMod meterMod = switchManager.buildMeter(dpid, bandwidth, burstSize, meterId).get();
+
+        // when
+        List<OfRequestResponse> result = switchManager.installBatch(dpid, Arrays.asList(flowMod, meterMod)).get();
+
+        // then
+        assertEquals(Arrays.asList(meterMod, flowMod), capture.getValues());
+        assertEquals(2, result.size());
+        assertThat(result, everyItem(hasProperty("error", nullValue())));
+    }
+
+    @Test
+    public void shouldMapBatchErrorsByXid() throws Exception {
+        // given
+        expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
+        expect(iofSwitch.getId()).andStubReturn(dpid);
+        expect(iofSwitch.write(anyObject(OFFlowMod.class))).andReturn(true).times(2);
+
+        SettableFuture<OFBarrierReply> barrier = SettableFuture.create();
+        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class))).andReturn(barrier);
+
+        replay(ofSwitchService, iofSwitch);
+
+        OFFlowMod accepted = switchManager.buildTransitFlow(dpid, cookieHex, cookie, inputPort, outputPort,
+                transitVlanId);
+        OFFlowMod rejected = switchManager.buildTransitFlow(dpid, cookieHex, cookie, inputPort, outputPort + 1,
+                transitVlanId);
+        CompletableFuture<List<OfRequestResponse>> result = switchManager.installBatch(
+                dpid, Arrays.asList(accepted, rejected));
+
+        // when
+        switchManager.receive(iofSwitch, ofFactory.errorMsgs().buildFlowModFailedErrorMsg()
+                .setXid(rejected.getXid())
+                .setCode(OFFlowModFailedCode.TABLE_FULL)
+                .build(), null);
+        barrier.set(createMock(OFBarrierReply.class));
+
+        // then
+        try {
+            result.get();
+            fail("Batch with rejected flow-mod must fail");
+        } catch (ExecutionException e) {
+            List<OfRequestResponse> errors = ((OfBatchException) e.getCause()).getErrors();
+            assertEquals(1, errors.size());
+            assertEquals(rejected.getXid(), errors.get(0).getXid());
+            assertThat(errors.get(0).getError(), instanceOf(OfErrorResponseException.class));
+        }
+    }
+
+    @Test
+    public void shouldFailPendingBatchOnSwitchRemoval() throws Exception {
+        // given
+        expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
+        expect(iofSwitch.write(anyObject(OFFlowMod.class))).andReturn(true);
+
+        SettableFuture<OFBarrierReply> barrier = SettableFuture.create();
+        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class))).andReturn(barrier);
+
+        replay(ofSwitchService, iofSwitch);
+
+        OFFlowMod flowMod = switchManager.buildTransitFlow(dpid, cookieHex, cookie, inputPort, outputPort,
+                transitVlanId);
+        CompletableFuture<List<OfRequestResponse>> result = switchManager.installBatch(
+                dpid, singletonList(flowMod));
+
+        // when
+        switchManager.deactivate(dpid);
+        barrier.set(createMock(OFBarrierReply.class));
+
+        // then
+        try {
+            result.get();
+            fail("Batch sent to the removed switch must fail");
+        } catch (ExecutionException e) {
+            List<OfRequestResponse> errors = ((OfBatchException) e.getCause()).getErrors();
+            assertEquals(1, errors.size());
+            assertThat(errors.get(0).getError(), instanceOf(OfLostConnectionException.class));
+        }
+    }
+
     @Test
     public void deleteMeter() throws SwitchOperationException {
         final Capture<OFMeterMod> capture = prepareForMeterTest();
@@ -641,11 +828,8 @@ public class SwitchManagerTest {
     private void mockBarrierRequest() throws InterruptedException, ExecutionException, TimeoutException {
         OFBarrierReply ofBarrierReply = mock(OFBarrierReply.class);
 
-        ListenableFuture<OFBarrierReply> ofBarrierFuture = mock(ListenableFuture.class);
-        expect(ofBarrierFuture.get(anyLong(), anyObject())).andStubReturn(ofBarrierReply);
-        replay(ofBarrierFuture);
-
-        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class))).andReturn(ofBarrierFuture);
+        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class)))
+                .andReturn(Futures.immediateFuture(ofBarrierReply));
     }
 
     private void mockFlowStatsRequest(Long... cookies)
@@ -669,11 +853,8 @@ public class SwitchManagerTest {
         expect(ofFlowStatsReply.getEntries()).andStubReturn(ofFlowStatsEntries);
         replay(ofFlowStatsReply);
 
-        ListenableFuture<List<OFFlowStatsReply>> ofStatsFuture = mock(ListenableFuture.class);
-        expect(ofStatsFuture.get(anyLong(), anyObject())).andStubReturn(singletonList(ofFlowStatsReply));
-        replay(ofStatsFuture);
-
-        expect(iofSwitch.writeStatsRequest(anyObject(OFFlowStatsRequest.class))).andReturn(ofStatsFuture);
+        expect(iofSwitch.writeStatsRequest(anyObject(OFFlowStatsRequest.class)))
+                .andReturn(Futures.immediateFuture(singletonList(ofFlowStatsReply)));
     }
 
     private Capture<OFFlowMod> prepareForInstallTest() {
@@ -0,0 +1,96 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.utils;
+
+import org.openkilda.floodlight.error.CorruptedNetworkDataException;
+import org.openkilda.floodlight.utils.DataSignatureTest.SamplePayload;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures signing and verification of the data put into discovery and ping packets, in the binary and in the
+ * JWT format.
+ * <p/>
+ * It is not a part of the test suite, run it with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataSignatureBenchmark {
+    private final SamplePayload payload = new SamplePayload(0xfffe000000000001L, 1530000000000L);
+
+    private DataSignature signature;
+    private byte[] binary;
+    private byte[] jwt;
+
+    /**
+     * Signs the payload in both formats.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        signature = new DataSignature("secret");
+        binary = signature.sign(payload);
+        jwt = signature.signJwt(payload);
+    }
+
+    @Benchmark
+    public byte[] signBinary() {
+        return signature.sign(payload);
+    }
+
+    @Benchmark
+    public ByteBuffer verifyBinary() throws CorruptedNetworkDataException {
+        return signature.verifyBinary(binary);
+    }
+
+    @Benchmark
+    public byte[] signJwt() {
+        return signature.signJwt(payload);
+    }
+
+    @Benchmark
+    public DecodedJWT verifyJwt() throws CorruptedNetworkDataException {
+        return signature.verify(jwt);
+    }
+
+    /**
+     * Runs the benchmark.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DataSignatureBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,128 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.floodlight.error.CorruptedNetworkDataException;
+import org.openkilda.floodlight.model.ISignPayload;
+
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class DataSignatureTest {
+    private final DataSignature signature = makeSignature("secret");
+
+    @Test
+    public void binaryRoundTrip() throws Exception {
+        byte[] signed = signature.sign(new SamplePayload(0xfffe000000000001L, 1530000000000L));
+
+        assertTrue(signature.isBinary(signed));
+        assertEquals(DataSignature.HEADER_SIZE + SamplePayload.SIZE + DataSignature.SIGNATURE_SIZE, signed.length);
+
+        ByteBuffer body = signature.verifyBinary(signed);
+        assertEquals(SamplePayload.SIZE, body.remaining());
+        assertEquals(0xfffe000000000001L, body.getLong());
+        assertEquals(1530000000000L, body.getLong());
+    }
+
+    @Test(expected = CorruptedNetworkDataException.class)
+    public void binaryTampered() throws Exception {
+        byte[] signed = signature.sign(new SamplePayload(1, 2));
+        signed[DataSignature.HEADER_SIZE] ^= 1;
+
+        signature.verifyBinary(signed);
+    }
+
+    @Test(expected = CorruptedNetworkDataException.class)
+    public void binaryOtherSecret() throws Exception {
+        byte[] signed = makeSignature("secret2").sign(new SamplePayload(1, 2));
+
+        signature.verifyBinary(signed);
+    }
+
+    @Test(expected = CorruptedNetworkDataException.class)
+    public void binaryTruncated() throws Exception {
+        signature.verifyBinary(new byte[]{DataSignature.BINARY_MAGIC, DataSignature.BINARY_VERSION, 0, 0});
+    }
+
+    @Test
+    public void jwtStillAccepted() throws Exception {
+        byte[] signed = signature.signJwt(new SamplePayload(7, 8));
+
+        assertFalse(signature.isBinary(signed));
+        DecodedJWT token = signature.verify(signed);
+        assertEquals(7L, (long) token.getClaim("source").asLong());
+        assertEquals(8L, (long) token.getClaim("time").asLong());
+    }
+
+    @Test
+    public void signatureInPlace() {
+        byte[] data = new byte[64];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        signature.appendSignature(data, 10, 20);
+        assertTrue(signature.checkSignature(data, 10, 20));
+        assertFalse(signature.checkSignature(data, 11, 20));
+        assertFalse(signature.checkSignature(data, 50, 20));
+
+        byte[] copy = data.clone();
+        copy[15] ^= 1;
+        assertFalse(signature.checkSignature(copy, 10, 20));
+    }
+
+    static DataSignature makeSignature(String secret) {
+        try {
+            return new DataSignature(secret);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class SamplePayload implements ISignPayload {
+        static final int SIZE = 2 * Long.BYTES;
+
+        private final long source;
+        private final long time;
+
+        SamplePayload(long source, long time) {
+            this.source = source;
+            this.time = time;
+        }
+
+        @Override
+        public JWTCreator.Builder toSign(JWTCreator.Builder token) {
+            return token.withClaim("source", source).withClaim("time", time);
+        }
+
+        @Override
+        public void toSign(ByteBuffer buffer) {
+            buffer.putLong(source).putLong(time);
+        }
+
+        @Override
+        public int getBinarySize() {
+            return SIZE;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.Utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes and decodes {@link Message} in one of the {@link WireFormat}s.
+ * <p/>
+ * JSON is written as is, so the records stay compatible with the consumers which don't know about the codec and
+ * can be read with the kafka console tools. Binary formats are prefixed by a header: zero byte (JSON text can't
+ * start with it), the header version and the format id. A consumer doesn't need to know what format the producer
+ * of the topic is configured with, the format is detected for each record.
+ */
+public final class MessageCodec {
+    public static final byte MAGIC = 0;
+    public static final byte VERSION = 1;
+    public static final int HEADER_SIZE = 3;
+
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+
+    private MessageCodec() {
+    }
+
+    /**
+     * Encodes the message.
+     *
+     * @param message message to encode
+     * @param format wire format
+     * @return encoded message
+     */
+    public static byte[] encode(Message message, WireFormat format) throws JsonProcessingException {
+        switch (format) {
+            case JSON:
+                return Utils.MAPPER.writeValueAsBytes(message);
+            case SMILE:
+                byte[] body = SMILE_MAPPER.writeValueAsBytes(message);
+                byte[] result = new byte[HEADER_SIZE + body.length];
+                result[0] = MAGIC;
+                result[1] = VERSION;
+                result[2] = format.getId();
+                System.arraycopy(body, 0, result, HEADER_SIZE, body.length);
+                return result;
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported wire format %s", format));
+        }
+    }
+
+    /**
+     * Detects the format of the encoded message.
+     *
+     * @param data encoded message
+     * @return wire format
+     * @throws IOException if the header is broken or has unknown version
+     */
+    public static WireFormat detect(byte[] data) throws IOException {
+        if (data.length == 0 || data[0] != MAGIC) {
+            return WireFormat.JSON;
+        }
+        if (data.length < HEADER_SIZE) {
+            throw new IOException("Message header is truncated");
+        }
+        if (data[1] != VERSION) {
+            throw new IOException(String.format("Unsupported message header version %d", data[1]));
+        }
+        try {
+            return WireFormat.byId(data[2]);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decodes the message in any of the formats.
+     *
+     * @param data encoded message
+     * @return decoded message
+     */
+    public static Message decode(byte[] data) throws IOException {
+        WireFormat format = detect(data);
+        int offset = data.length > 0 && data[0] == MAGIC ? HEADER_SIZE : 0;
+        switch (format) {
+            case JSON:
+                return Utils.MAPPER.readValue(data, offset, data.length - offset, Message.class);
+            case SMILE:
+                return SMILE_MAPPER.readValue(data, offset, data.length - offset, Message.class);
+            default:
+                throw new IOException(String.format("Unsupported wire format %s", format));
+        }
+    }
+
+    /**
+     * Decodes the message read from kafka either as a string (always JSON) or as bytes (any format).
+     *
+     * @param payload record value
+     * @return decoded message
+     */
+    public static Message decode(Object payload) throws IOException {
+        if (payload instanceof byte[]) {
+            return decode((byte[]) payload);
+        }
+        if (payload instanceof String) {
+            return Utils.MAPPER.readValue((String) payload, Message.class);
+        }
+        throw new IOException(String.format("Unsupported message payload type %s",
+                payload == null ? null : payload.getClass().getName()));
+    }
+
+    /**
+     * Renders the encoded message for logging, binary messages are converted to JSON.
+     */
+    public static String describe(byte[] data) {
+        try {
+            if (detect(data) == WireFormat.JSON) {
+                return new String(data, StandardCharsets.UTF_8);
+            }
+            return Utils.MAPPER.writeValueAsString(decode(data));
+        } catch (IOException e) {
+            return String.format("<undecodable message of %d bytes: %s>", data.length, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wire formats the messages are written to kafka topics with. The topics which are not listed use JSON.
+ * <p/>
+ * Only producers need it, consumers detect the format of each record by its header, so a topic can be switched to
+ * another format without restarting its consumers.
+ */
+public class TopicWireFormats implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, WireFormat> formats = new HashMap<>();
+
+    /**
+     * Sets the format of the topic.
+     *
+     * @return this object
+     */
+    public TopicWireFormats set(String topic, WireFormat format) {
+        formats.put(topic, format);
+        return this;
+    }
+
+    public WireFormat get(String topic) {
+        return formats.getOrDefault(topic, WireFormat.JSON);
+    }
+}
@@ -0,0 +1,60 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+/**
+ * Encodings of {@link org.openkilda.messaging.Message} on the wire, see {@link MessageCodec}.
+ */
+public enum WireFormat {
+    /**
+     * Plain JSON text, it is written without the header and is readable by any consumer.
+     */
+    JSON((byte) 0),
+
+    /**
+     * Jackson Smile, the binary form of JSON.
+     */
+    SMILE((byte) 1);
+
+    private final byte id;
+
+    WireFormat(byte id) {
+        this.id = id;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    /**
+     * Finds the format by the id written in the message header.
+     */
+    public static WireFormat byId(byte id) {
+        for (WireFormat format : values()) {
+            if (format.id == id) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unknown wire format id %d", id));
+    }
+
+    /**
+     * Finds the format by its name, the case doesn't matter. Used to read the format from configuration.
+     */
+    public static WireFormat byName(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
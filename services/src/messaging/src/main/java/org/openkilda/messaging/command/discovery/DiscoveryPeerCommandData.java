@@ -0,0 +1,74 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.command.discovery;
+
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+/**
+ * Defines the payload of a Message representing an action on the ISL endpoint, which is sent by the discovery bolt
+ * to the instance of the bolt owning the switch of the endpoint.
+ */
+@Value
+public class DiscoveryPeerCommandData extends CommandData {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Switch id.
+     */
+    @JsonProperty("switch_id")
+    private SwitchId switchId;
+
+    /**
+     * Port number.
+     */
+    @JsonProperty("port_no")
+    private int portNo;
+
+    /**
+     * The action on the endpoint.
+     */
+    @JsonProperty("action")
+    private Action action;
+
+    /**
+     * Instance constructor.
+     *
+     * @param switchId switch id
+     * @param portNo port number
+     * @param action the action on the endpoint
+     */
+    @JsonCreator
+    public DiscoveryPeerCommandData(@JsonProperty("switch_id") final SwitchId switchId,
+                                    @JsonProperty("port_no") final int portNo,
+                                    @JsonProperty("action") final Action action) {
+        this.switchId = switchId;
+        this.portNo = portNo;
+        this.action = action;
+    }
+
+    public enum Action {
+        PORT_UP,
+        DEACTIVATE_LINK
+    }
+}
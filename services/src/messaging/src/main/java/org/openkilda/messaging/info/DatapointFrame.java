@@ -0,0 +1,217 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of OpenTSDB datapoints sharing one timestamp, sent as one record instead of a record per
+ * {@link Datapoint}. Datapoints with the same tags are grouped, so the tags are written once per group.
+ */
+@JsonSerialize
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DatapointFrame extends InfoData {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Time of all datapoints of the frame.
+     */
+    @JsonProperty("time")
+    private long time;
+
+    @JsonProperty("groups")
+    private List<TagGroup> groups;
+
+    @JsonCreator
+    public DatapointFrame(@JsonProperty("time") long time,
+                          @JsonProperty("groups") List<TagGroup> groups) {
+        this.time = time;
+        this.groups = groups;
+    }
+
+    public static Builder builder(long time) {
+        return new Builder(time);
+    }
+
+    /**
+     * Make the frame holding the single datapoint.
+     */
+    public static DatapointFrame of(Datapoint datapoint) {
+        TagGroup group = new TagGroup(datapoint.getTags(),
+                Collections.singletonMap(datapoint.getMetric(), datapoint.getValue()));
+        return new DatapointFrame(datapoint.getTime(), Collections.singletonList(group));
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public List<TagGroup> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Expand the frame into separate datapoints.
+     */
+    public List<Datapoint> toDatapoints() {
+        List<Datapoint> datapoints = new ArrayList<>();
+        for (TagGroup group : groups) {
+            for (Map.Entry<String, Number> entry : group.getValues().entrySet()) {
+                datapoints.add(new Datapoint(entry.getKey(), time, group.getTags(), entry.getValue()));
+            }
+        }
+        return datapoints;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("time", time)
+                .add("groups", groups)
+                .toString();
+    }
+
+    /**
+     * Metric values sharing the same tags.
+     */
+    public static class TagGroup implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @JsonProperty("tags")
+        private Map<String, String> tags;
+
+        /**
+         * Metric name to value.
+         */
+        @JsonProperty("values")
+        private Map<String, Number> values;
+
+        @JsonCreator
+        public TagGroup(@JsonProperty("tags") Map<String, String> tags,
+                        @JsonProperty("values") Map<String, Number> values) {
+            this.tags = tags;
+            this.values = values;
+        }
+
+        public Map<String, String> getTags() {
+            return tags;
+        }
+
+        public Map<String, Number> getValues() {
+            return values;
+        }
+
+        @Override
+        public String toString() {
+            return toStringHelper(this)
+                    .add("tags", tags)
+                    .add("values", values)
+                    .toString();
+        }
+    }
+
+    public static class Builder {
+        private final long time;
+        private final Map<Map<String, String>, Map<String, Number>> groups = new LinkedHashMap<>();
+        private int size = 0;
+
+        Builder(long time) {
+            this.time = time;
+        }
+
+        /**
+         * Add the datapoint to the frame.
+         */
+        public Builder add(String metric, Number value, Map<String, String> tags) {
+            if (groups.computeIfAbsent(tags, key -> new LinkedHashMap<>()).put(metric, value) == null) {
+                size += 1;
+            }
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Build the frame.
+         */
+        public DatapointFrame build() {
+            List<TagGroup> result = new ArrayList<>(groups.size());
+            for (Map.Entry<Map<String, String>, Map<String, Number>> entry : groups.entrySet()) {
+                result.add(new TagGroup(entry.getKey(), entry.getValue()));
+            }
+            return new DatapointFrame(time, result);
+        }
+
+        /**
+         * Build the frames holding at most {@code maxDatapoints} datapoints each. A tag group which doesn't fit
+         * into the current frame is split, so every frame except the last one is full.
+         */
+        public List<DatapointFrame> build(int maxDatapoints) {
+            if (maxDatapoints < 1) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid frame size %d, must be positive", maxDatapoints));
+            }
+            if (size <= maxDatapoints) {
+                return Collections.singletonList(build());
+            }
+
+            List<DatapointFrame> frames = new ArrayList<>(size / maxDatapoints + 1);
+            List<TagGroup> current = new ArrayList<>();
+            int currentSize = 0;
+            for (Map.Entry<Map<String, String>, Map<String, Number>> entry : groups.entrySet()) {
+                Map<String, Number> values = new LinkedHashMap<>();
+                for (Map.Entry<String, Number> value : entry.getValue().entrySet()) {
+                    values.put(value.getKey(), value.getValue());
+                    currentSize += 1;
+                    if (currentSize == maxDatapoints) {
+                        current.add(new TagGroup(entry.getKey(), values));
+                        frames.add(new DatapointFrame(time, current));
+                        values = new LinkedHashMap<>();
+                        current = new ArrayList<>();
+                        currentSize = 0;
+                    }
+                }
+                if (!values.isEmpty()) {
+                    current.add(new TagGroup(entry.getKey(), values));
+                }
+            }
+            if (!current.isEmpty()) {
+                frames.add(new DatapointFrame(time, current));
+            }
+            return frames;
+        }
+    }
+}
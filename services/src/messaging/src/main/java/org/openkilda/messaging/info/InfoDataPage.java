@@ -0,0 +1,66 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of a chunked response: several {@link InfoData} items sent in one {@link ChunkedInfoMessage} instead of a
+ * message per item. The total messages counter of the chunked message counts pages, not items.
+ */
+@JsonSerialize
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InfoDataPage extends InfoData {
+
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("items")
+    private List<InfoData> items;
+
+    @JsonCreator
+    public InfoDataPage(@JsonProperty("items") List<InfoData> items) {
+        this.items = items;
+    }
+
+    public List<InfoData> getItems() {
+        return items;
+    }
+
+    /**
+     * Returns the items carried by the payload of a chunked message, the payload is either a page or a single item.
+     */
+    public static List<InfoData> unpack(InfoData data) {
+        if (data instanceof InfoDataPage) {
+            return ((InfoDataPage) data).getItems();
+        }
+        return Collections.singletonList(data);
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("items", items.size())
+                .toString();
+    }
+}
@@ -0,0 +1,123 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info.stats;
+
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flow stats of one switch in the column layout. Carries only the flows whose counters have changed since the
+ * previous dump, unless {@code full} is set. Counters are absolute values, the same as in {@link FlowStatsEntry}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+        "message_type",
+        "switch_id",
+        "full",
+        "table_ids",
+        "cookies",
+        "packet_counts",
+        "byte_counts"})
+public class FlowStatsDeltaData extends InfoData {
+
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("switch_id")
+    private SwitchId switchId;
+
+    @JsonProperty("full")
+    private boolean full;
+
+    @JsonProperty("table_ids")
+    private int[] tableIds;
+
+    @JsonProperty("cookies")
+    private long[] cookies;
+
+    @JsonProperty("packet_counts")
+    private long[] packetCounts;
+
+    @JsonProperty("byte_counts")
+    private long[] byteCounts;
+
+    @JsonCreator
+    public FlowStatsDeltaData(@JsonProperty("switch_id") SwitchId switchId,
+                              @JsonProperty("full") boolean full,
+                              @JsonProperty("table_ids") int[] tableIds,
+                              @JsonProperty("cookies") long[] cookies,
+                              @JsonProperty("packet_counts") long[] packetCounts,
+                              @JsonProperty("byte_counts") long[] byteCounts) {
+        if (tableIds.length != cookies.length || cookies.length != packetCounts.length
+                || cookies.length != byteCounts.length) {
+            throw new IllegalArgumentException("All flow stats columns must have the same length");
+        }
+        this.switchId = switchId;
+        this.full = full;
+        this.tableIds = tableIds;
+        this.cookies = cookies;
+        this.packetCounts = packetCounts;
+        this.byteCounts = byteCounts;
+    }
+
+    public SwitchId getSwitchId() {
+        return switchId;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public int[] getTableIds() {
+        return tableIds;
+    }
+
+    public long[] getCookies() {
+        return cookies;
+    }
+
+    public long[] getPacketCounts() {
+        return packetCounts;
+    }
+
+    public long[] getByteCounts() {
+        return byteCounts;
+    }
+
+    public int size() {
+        return cookies.length;
+    }
+
+    /**
+     * Expand the columns into the {@link FlowStatsData} row layout.
+     */
+    public FlowStatsData toFlowStatsData() {
+        List<FlowStatsEntry> entries = new ArrayList<>(cookies.length);
+        for (int i = 0; i < cookies.length; i++) {
+            entries.add(new FlowStatsEntry(tableIds[i], cookies[i], packetCounts[i], byteCounts[i]));
+        }
+        List<FlowStatsReply> replies = new ArrayList<>(1);
+        replies.add(new FlowStatsReply(0, entries));
+        return new FlowStatsData(switchId, replies);
+    }
+}
@@ -191,6 +191,13 @@ public class DiscoveryLink implements Serializable {
         timeCounter++;
     }
 
+    /**
+     * Counts several ticks at once.
+     */
+    public void tick(int ticks) {
+        timeCounter += ticks;
+    }
+
     public void resetTickCounter() {
         timeCounter = 0;
     }
@@ -138,6 +138,14 @@ public class Flow implements Serializable {
     @JsonProperty("state")
     private FlowState state;
 
+    /**
+     * Revision of the stored flow, it is increased by every write of the flow into the database. 0 means the
+     * revision is unknown, e.g. the flow is not stored yet. It is not copied by the copy constructor, since a copy is
+     * made to be changed.
+     */
+    @JsonProperty("revision")
+    private long revision;
+
     public Flow() {
     }
 
@@ -356,6 +364,7 @@ public class Flow implements Serializable {
      * - periodicPings
      * - cookie
      * - lastUpdated
+     * - revision
      * - meterId
      * - transitVlan
      * - flowPath
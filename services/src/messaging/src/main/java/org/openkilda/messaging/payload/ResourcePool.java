@@ -18,25 +18,42 @@ package org.openkilda.messaging.payload;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableSet;
 
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Class represents resource allocator/deallocator.
- *
- * TODO: (crimi - 2019.04.17) - why is this class in this package?
- *
- * (crimi - 2019.04.17) - Changing the underlying mechanism here to leverage "max" as the starting
- * point for where to look next.  If the counter is at max, then start at zero.
+ * <p/>
+ * Resources of the [min, max] range are kept in a bitmap, one bit per resource id, and are claimed by
+ * compare-and-set on the bitmap words, so concurrent allocations don't block each other. The search of a free
+ * id starts right after the last allocated one and wraps to the lower bound at the end of the range, it checks
+ * 64 ids per step.
+ * <p/>
+ * Ids out of the range can still be allocated explicitly, they are kept aside.
  */
 public class ResourcePool {
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_BITS = 1 << WORD_SHIFT;
+
+    /**
+     * Resource values pool, bit i stands for the resource id lower + i.
+     */
+    private final AtomicLongArray bitmap;
+    private final AtomicInteger allocated = new AtomicInteger();
+    private final Set<Integer> outOfRange = ConcurrentHashMap.newKeySet();
+
     /**
-     * Resource values pool.
+     * Position in the bitmap to start the search of a free id from.
      */
-    private final Set<Integer> resources = ConcurrentHashMap.newKeySet();
-    private Integer nextId;
-    private Integer lower;
-    private Integer upper;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final int lower;
+    private final int upper;
+    private final int size;
 
     /**
      * Instance constructor.
@@ -45,9 +62,17 @@ public class ResourcePool {
      * @param maxValue maximum resource id value
      */
     public ResourcePool(final Integer minValue, final Integer maxValue) {
-        this.nextId = minValue;
         this.lower = minValue;
         this.upper = maxValue;
+        this.size = Math.max(maxValue - minValue + 1, 0);
+
+        int words = (size + WORD_BITS - 1) >>> WORD_SHIFT;
+        bitmap = new AtomicLongArray(words);
+        // the tail of the last word is out of the range, it is marked as used and never released
+        int tail = size & (WORD_BITS - 1);
+        if (tail != 0) {
+            bitmap.set(words - 1, -1L << tail);
+        }
     }
 
     /**
@@ -56,25 +81,18 @@ public class ResourcePool {
      * @return allocated resource id
      */
     public Integer allocate() {
-        int range = upper - lower;
-        if (resources.size() <= range) {
-            // We are just going to loop through everything until we find a free one. Generally
-            // speaking this could be inefficient .. but we use "nextId" as a start, and that should
-            // have the greatest chance of being available.
-            for (int i = 0; i < range; i++) {
-                if (nextId > upper)
-                    nextId = lower;
-                int next;
-
-                // ensure only one thread executes the post-incremen
-                synchronized (nextId) {
-                    next = nextId++;
-                }
-
-                if (resources.add(next)) {
-                    return next;
-                }
+        int start = nextIndex.get();
+        while (allocated.get() < size) {
+            int index = findFree(start);
+            if (index < 0) {
+                break;
+            }
+            if (claim(index)) {
+                nextIndex.set(index + 1);
+                return lower + index;
             }
+            // somebody took it first, continue from the same place
+            start = index;
         }
         throw new ArrayIndexOutOfBoundsException("Could not allocate resource: pool is full");
     }
@@ -86,12 +104,15 @@ public class ResourcePool {
      * @return allocated resource id
      */
     public Integer allocate(Integer id) {
-        // This is added to ensure that if we are adding one or many IDs, we set nextId to the
-        // largest of the set. This only affects the next call to allocate() without id, and all
-        // it'll do is cause the search to start at this point.
-        if (id > nextId)
-            nextId = id+1;
-        return resources.add(id) ? id : null;
+        if (!isInRange(id)) {
+            return outOfRange.add(id) ? id : null;
+        }
+
+        // This only affects the next call to allocate() without id, the search starts after the largest
+        // explicitly allocated id.
+        int index = id - lower;
+        nextIndex.accumulateAndGet(index + 1, Math::max);
+        return claim(index) ? id : null;
     }
 
     /**
@@ -101,16 +122,96 @@ public class ResourcePool {
      * @return true if specified resource id was previously allocated
      */
     public Integer deallocate(final Integer resourceId) {
-        return resources.remove(resourceId) ? resourceId : null;
+        if (!isInRange(resourceId)) {
+            return outOfRange.remove(resourceId) ? resourceId : null;
+        }
+        return release(resourceId - lower) ? resourceId : null;
     }
 
     /**
      * Returns copy of resource pool.
      *
-     * @return {@link ImmutableSet} of allocated resources id
+     * @return immutable set of allocated resources id
      */
     public Set<Integer> dumpPool() {
-        return ImmutableSet.copyOf(resources);
+        long[] words = new long[bitmap.length()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = bitmap.get(i);
+        }
+        int tail = size & (WORD_BITS - 1);
+        if (tail != 0) {
+            words[words.length - 1] &= ~(-1L << tail);
+        }
+        return new Snapshot(lower, size, words, ImmutableSet.copyOf(outOfRange));
+    }
+
+    /**
+     * Returns the number of allocated resource ids.
+     *
+     * @return number of allocated ids
+     */
+    public int getAllocatedCount() {
+        return allocated.get() + outOfRange.size();
+    }
+
+    private boolean isInRange(int id) {
+        return lower <= id && id <= upper;
+    }
+
+    /**
+     * Finds a free bit, the search goes from the start index to the end of the bitmap and then from the beginning.
+     *
+     * @return index of the free bit or -1 if all bits are set.
+     */
+    private int findFree(int start) {
+        int words = bitmap.length();
+        if (words == 0) {
+            return -1;
+        }
+        if (start < 0 || start >= size) {
+            start = 0;
+        }
+
+        int word = start >>> WORD_SHIFT;
+        long mask = -1L << start;
+        // one more step to look at the bits of the first word below the start
+        for (int step = 0; step <= words; step++) {
+            long free = ~bitmap.get(word) & mask;
+            if (free != 0) {
+                return (word << WORD_SHIFT) + Long.numberOfTrailingZeros(free);
+            }
+            mask = -1L;
+            word = word + 1 == words ? 0 : word + 1;
+        }
+        return -1;
+    }
+
+    private boolean claim(int index) {
+        int word = index >>> WORD_SHIFT;
+        long bit = 1L << index;
+        long current;
+        do {
+            current = bitmap.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+        } while (!bitmap.compareAndSet(word, current, current | bit));
+        allocated.incrementAndGet();
+        return true;
+    }
+
+    private boolean release(int index) {
+        int word = index >>> WORD_SHIFT;
+        long bit = 1L << index;
+        long current;
+        do {
+            current = bitmap.get(word);
+            if ((current & bit) == 0) {
+                return false;
+            }
+        } while (!bitmap.compareAndSet(word, current, current & ~bit));
+        allocated.decrementAndGet();
+        return true;
     }
 
     /**
@@ -119,10 +220,81 @@ public class ResourcePool {
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
-                .add("resources", resources)
-                .add("nextId", nextId)
+                .add("resources", dumpPool())
+                .add("nextId", lower + nextIndex.get())
                 .add("lower", lower)
                 .add("upper", upper)
                 .toString();
     }
+
+    /**
+     * Immutable set over a copy of the bitmap, ids are boxed only when they are read.
+     */
+    private static final class Snapshot extends AbstractSet<Integer> {
+        private final int lower;
+        private final int range;
+        private final long[] words;
+        private final Set<Integer> outOfRange;
+        private final int size;
+
+        Snapshot(int lower, int range, long[] words, Set<Integer> outOfRange) {
+            this.lower = lower;
+            this.range = range;
+            this.words = words;
+            this.outOfRange = outOfRange;
+
+            int count = outOfRange.size();
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            this.size = count;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object value) {
+            if (!(value instanceof Integer)) {
+                return false;
+            }
+            long index = (long) (Integer) value - lower;
+            if (index < 0 || index >= range) {
+                return outOfRange.contains(value);
+            }
+            return (words[(int) (index >>> WORD_SHIFT)] & (1L << index)) != 0;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+                private final Iterator<Integer> outOfRangeIterator = outOfRange.iterator();
+                private int word = 0;
+                private long remaining = words.length > 0 ? words[0] : 0;
+
+                @Override
+                public boolean hasNext() {
+                    while (remaining == 0 && word + 1 < words.length) {
+                        remaining = words[++word];
+                    }
+                    return remaining != 0 || outOfRangeIterator.hasNext();
+                }
+
+                @Override
+                public Integer next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    if (remaining == 0) {
+                        return outOfRangeIterator.next();
+                    }
+                    int bit = Long.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                    return lower + (word << WORD_SHIFT) + bit;
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,216 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.utils;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Hash map with primitive {@code long} keys.
+ * <p/>
+ * Open addressing with linear probing, keys and values are stored in two plain arrays, so lookups neither box the
+ * key nor allocate. Null values are not allowed, null is returned for missing keys. It starts small because many
+ * maps hold a handful of entries. Not thread safe.
+ * <p/>
+ * It is the only primitive keyed table of the services, the sets and caches keyed by cookies and transaction ids are
+ * built on top of it.
+ */
+public class LongObjectHashMap<V> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] keys;
+    private Object[] values;
+    private int size = 0;
+
+    public LongObjectHashMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Get the value of the key or null if there is no such key.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int index = find(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    public boolean containsKey(long key) {
+        return 0 <= find(key);
+    }
+
+    /**
+     * Put the value, return the previous value of the key or null.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+
+        int mask = values.length - 1;
+        int index = slot(key, mask);
+        for (; values[index] != null; index = (index + 1) & mask) {
+            if (keys[index] == key) {
+                V previous = (V) values[index];
+                values[index] = value;
+                return previous;
+            }
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        size += 1;
+        if (values.length < size * 2) {
+            rehash(values.length * 2, entry -> false);
+        }
+        return null;
+    }
+
+    /**
+     * Remove the key, return its value or null.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int index = find(key);
+        if (index < 0) {
+            return null;
+        }
+        V previous = (V) values[index];
+        shiftBack(index);
+        size -= 1;
+        return previous;
+    }
+
+    /**
+     * Remove all entries with the matching values, the table shrinks to fit the remaining ones. The filter is applied
+     * twice to an entry, so it must not have side effects.
+     */
+    @SuppressWarnings("unchecked")
+    public void removeIf(Predicate<? super V> filter) {
+        int remaining = 0;
+        for (Object value : values) {
+            if (value != null && !filter.test((V) value)) {
+                remaining += 1;
+            }
+        }
+        if (remaining < size) {
+            rehash(capacityFor(remaining), filter);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Copy the keys into a new array, the order is not defined.
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        int position = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result[position++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    private int find(long key) {
+        int mask = values.length - 1;
+        for (int index = slot(key, mask); values[index] != null; index = (index + 1) & mask) {
+            if (keys[index] == key) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Fill the hole left by the removed entry with the entries of the same probe chain.
+     */
+    private void shiftBack(int hole) {
+        int mask = values.length - 1;
+        for (int index = (hole + 1) & mask; values[index] != null; index = (index + 1) & mask) {
+            int distance = (index - slot(keys[index], mask)) & mask;
+            if (((index - hole) & mask) <= distance) {
+                keys[hole] = keys[index];
+                values[hole] = values[index];
+                hole = index;
+            }
+        }
+        values[hole] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rehash(int capacity, Predicate<? super V> drop) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            if (drop.test((V) oldValues[i])) {
+                size -= 1;
+                continue;
+            }
+            int index = slot(oldKeys[i], mask);
+            while (values[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = oldKeys[i];
+            values[index] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int slot(long key, int mask) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+}
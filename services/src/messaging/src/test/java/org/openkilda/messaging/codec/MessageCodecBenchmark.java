@@ -0,0 +1,108 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import org.openkilda.messaging.Message;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding of the statistics messages a switch with the given number of flows (ports)
+ * produces every polling interval. The main method logs the encoded sizes before the run.
+ * <p/>
+ * It is not a part of the test suite, run it with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageCodecBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(MessageCodecBenchmark.class);
+
+    @Param({"JSON", "SMILE"})
+    private WireFormat format;
+
+    @Param({"flow", "port"})
+    private String payload;
+
+    @Param({"1000"})
+    private int entries;
+
+    private Message message;
+    private byte[] encoded;
+
+    /**
+     * Builds and encodes the message.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        message = makeMessage(payload, entries);
+        encoded = MessageCodec.encode(message, format);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return MessageCodec.encode(message, format);
+    }
+
+    @Benchmark
+    public Message decode() throws IOException {
+        return MessageCodec.decode(encoded);
+    }
+
+    private static Message makeMessage(String payload, int entries) {
+        return "flow".equals(payload)
+                ? MessageCodecTest.makeFlowStats(entries)
+                : MessageCodecTest.makePortStats(entries);
+    }
+
+    /**
+     * Logs the encoded sizes and runs the benchmark.
+     */
+    public static void main(String[] args) throws IOException, RunnerException {
+        for (String payload : new String[]{"flow", "port"}) {
+            Message message = makeMessage(payload, 1000);
+            for (WireFormat format : WireFormat.values()) {
+                logger.info("{} stats, 1000 entries, {}: {} bytes",
+                        payload, format, MessageCodec.encode(message, format).length);
+            }
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(MessageCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,123 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.FlowStatsEntry;
+import org.openkilda.messaging.info.stats.FlowStatsReply;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.PortStatsEntry;
+import org.openkilda.messaging.info.stats.PortStatsReply;
+import org.openkilda.messaging.model.SwitchId;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class MessageCodecTest {
+    @Test
+    public void roundTrip() throws Exception {
+        for (Message message : new Message[]{makeFlowStats(20), makePortStats(20)}) {
+            for (WireFormat format : WireFormat.values()) {
+                byte[] encoded = MessageCodec.encode(message, format);
+                Assert.assertEquals(format, MessageCodec.detect(encoded));
+
+                Message decoded = MessageCodec.decode(encoded);
+                Assert.assertEquals(Utils.MAPPER.writeValueAsString(message), Utils.MAPPER.writeValueAsString(decoded));
+            }
+        }
+    }
+
+    @Test
+    public void jsonIsWrittenWithoutHeader() throws Exception {
+        Message message = makePortStats(1);
+        byte[] encoded = MessageCodec.encode(message, WireFormat.JSON);
+
+        Assert.assertEquals(Utils.MAPPER.writeValueAsString(message), new String(encoded, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void decodeStringPayload() throws Exception {
+        Message message = makeFlowStats(2);
+        String json = Utils.MAPPER.writeValueAsString(message);
+
+        Message decoded = MessageCodec.decode((Object) json);
+        Assert.assertEquals(json, Utils.MAPPER.writeValueAsString(decoded));
+    }
+
+    @Test
+    public void smileIsSmaller() throws Exception {
+        Message message = makeFlowStats(100);
+        int json = MessageCodec.encode(message, WireFormat.JSON).length;
+        int smile = MessageCodec.encode(message, WireFormat.SMILE).length;
+
+        Assert.assertTrue(String.format("json %d bytes, smile %d bytes", json, smile), smile < json);
+    }
+
+    @Test(expected = IOException.class)
+    public void unknownHeaderVersion() throws Exception {
+        byte[] encoded = MessageCodec.encode(makePortStats(1), WireFormat.SMILE);
+        encoded[1] = MessageCodec.VERSION + 1;
+        MessageCodec.decode(encoded);
+    }
+
+    @Test
+    public void describeBinaryMessage() throws Exception {
+        Message message = makePortStats(1);
+        byte[] encoded = MessageCodec.encode(message, WireFormat.SMILE);
+
+        Assert.assertEquals(Utils.MAPPER.writeValueAsString(message), MessageCodec.describe(encoded));
+    }
+
+    @Test
+    public void topicFormats() {
+        TopicWireFormats formats = new TopicWireFormats()
+                .set("kilda.stats", WireFormat.byName("smile"));
+
+        Assert.assertEquals(WireFormat.SMILE, formats.get("kilda.stats"));
+        Assert.assertEquals(WireFormat.JSON, formats.get("kilda.flow"));
+    }
+
+    static InfoMessage makeFlowStats(int count) {
+        List<FlowStatsEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new FlowStatsEntry(0, 0x4000000000000000L + i, 1000L * i, 64000L * i));
+        }
+        FlowStatsData data = new FlowStatsData(new SwitchId("00:00:00:00:00:00:00:01"),
+                Collections.singletonList(new FlowStatsReply(1, entries)));
+        return new InfoMessage(data, System.currentTimeMillis(), "codec-test", Destination.WFM_STATS);
+    }
+
+    static InfoMessage makePortStats(int count) {
+        List<PortStatsEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new PortStatsEntry(i + 1, 100L * i, 200L * i, 6400L * i, 12800L * i,
+                    0, 0, 0, 0, 0, 0, 0, 0));
+        }
+        PortStatsData data = new PortStatsData(new SwitchId("00:00:00:00:00:00:00:01"),
+                Collections.singletonList(new PortStatsReply(1, entries)));
+        return new InfoMessage(data, System.currentTimeMillis(), "codec-test", Destination.WFM_STATS);
+    }
+}
@@ -0,0 +1,40 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.command.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.openkilda.messaging.command.Constants.switchId;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.command.CommandMessage;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class DiscoverIslBatchCommandDataTest {
+    @Test
+    public void serializeLoop() throws Exception {
+        DiscoverIslBatchCommandData data = new DiscoverIslBatchCommandData(switchId, Arrays.asList(1, 2, 5));
+        CommandMessage origin = new CommandMessage(data, 0, "batch-discovery", Destination.CONTROLLER);
+
+        String json = Utils.MAPPER.writeValueAsString(origin);
+        CommandMessage decoded = Utils.MAPPER.readValue(json, CommandMessage.class);
+
+        assertEquals(data, decoded.getData());
+    }
+}
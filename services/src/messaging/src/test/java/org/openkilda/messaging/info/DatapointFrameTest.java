@@ -0,0 +1,120 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class DatapointFrameTest {
+    private static final long TIME = 1000L;
+
+    @Test
+    public void shouldGroupDatapointsByTags() {
+        Map<String, String> portOne = ImmutableMap.of("switchid", "00000001", "port", "1");
+        Map<String, String> portTwo = ImmutableMap.of("switchid", "00000001", "port", "2");
+
+        DatapointFrame frame = DatapointFrame.builder(TIME)
+                .add("pen.switch.rx-bytes", 10L, portOne)
+                .add("pen.switch.tx-bytes", 20L, ImmutableMap.of("switchid", "00000001", "port", "1"))
+                .add("pen.switch.rx-bytes", 30L, portTwo)
+                .build();
+
+        assertEquals(2, frame.getGroups().size());
+        assertEquals(portOne, frame.getGroups().get(0).getTags());
+        assertEquals(2, frame.getGroups().get(0).getValues().size());
+
+        List<Datapoint> expected = Arrays.asList(
+                new Datapoint("pen.switch.rx-bytes", TIME, portOne, 10L),
+                new Datapoint("pen.switch.tx-bytes", TIME, portOne, 20L),
+                new Datapoint("pen.switch.rx-bytes", TIME, portTwo, 30L));
+        assertEquals(expected, frame.toDatapoints());
+    }
+
+    @Test
+    public void serializeLoop() throws Exception {
+        Map<String, String> tags = ImmutableMap.of("flowid", "flow-1", "direction", "forward");
+        DatapointFrame origin = DatapointFrame.builder(TIME)
+                .add("pen.flow.packets", 15, tags)
+                .add("pen.flow.bytes", 3000, tags)
+                .build();
+
+        InfoData decoded = MAPPER.readValue(MAPPER.writeValueAsString(origin), InfoData.class);
+
+        assertTrue(decoded instanceof DatapointFrame);
+        DatapointFrame frame = (DatapointFrame) decoded;
+        assertEquals(TIME, frame.getTime());
+        assertEquals(origin.toDatapoints(), frame.toDatapoints());
+    }
+
+    @Test
+    public void shouldSplitFrameByDatapointCount() {
+        Map<String, String> portOne = ImmutableMap.of("switchid", "00000001", "port", "1");
+        Map<String, String> portTwo = ImmutableMap.of("switchid", "00000001", "port", "2");
+        DatapointFrame.Builder builder = DatapointFrame.builder(TIME)
+                .add("pen.switch.rx-bytes", 10L, portOne)
+                .add("pen.switch.tx-bytes", 20L, portOne)
+                .add("pen.switch.rx-packets", 30L, portOne)
+                .add("pen.switch.rx-bytes", 40L, portTwo)
+                .add("pen.switch.tx-bytes", 50L, portTwo);
+
+        List<DatapointFrame> frames = builder.build(2);
+
+        assertEquals(3, frames.size());
+        assertEquals(2, frames.get(0).toDatapoints().size());
+        assertEquals(2, frames.get(1).toDatapoints().size());
+        assertEquals(1, frames.get(2).toDatapoints().size());
+        assertEquals(2, frames.get(1).getGroups().size());
+
+        List<Datapoint> datapoints = new ArrayList<>();
+        for (DatapointFrame frame : frames) {
+            assertEquals(TIME, frame.getTime());
+            datapoints.addAll(frame.toDatapoints());
+        }
+        assertEquals(builder.build().toDatapoints(), datapoints);
+    }
+
+    @Test
+    public void shouldNotSplitFrameWithinLimit() {
+        Map<String, String> tags = ImmutableMap.of("switchid", "00000001");
+        List<DatapointFrame> frames = DatapointFrame.builder(TIME)
+                .add("pen.switch.meters", 1L, tags)
+                .add("pen.switch.flows", 2L, tags)
+                .build(2);
+
+        assertEquals(1, frames.size());
+        assertEquals(2, frames.get(0).toDatapoints().size());
+    }
+
+    @Test
+    public void shouldCountDistinctDatapoints() {
+        DatapointFrame.Builder builder = DatapointFrame.builder(TIME);
+        assertTrue(builder.isEmpty());
+
+        Map<String, String> tags = ImmutableMap.of("switchid", "00000001");
+        builder.add("pen.switch.meters", 1L, tags);
+        builder.add("pen.switch.meters", 2L, tags);
+        assertEquals(1, builder.size());
+    }
+}
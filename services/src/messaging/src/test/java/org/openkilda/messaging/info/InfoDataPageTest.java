@@ -0,0 +1,56 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
+import org.openkilda.messaging.model.SwitchId;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class InfoDataPageTest {
+
+    @Test
+    public void serializeLoop() throws Exception {
+        List<InfoData> items = Arrays.asList(
+                new SwitchInfoData(new SwitchId(1L), SwitchState.ACTIVATED, null, null, null, null),
+                new SwitchInfoData(new SwitchId(2L), SwitchState.DEACTIVATED, null, null, null, null));
+        ChunkedInfoMessage origin = new ChunkedInfoMessage(new InfoDataPage(items), 1000L, "request", 0, 1);
+
+        Message decoded = MAPPER.readValue(MAPPER.writeValueAsString(origin), Message.class);
+
+        assertTrue(decoded instanceof ChunkedInfoMessage);
+        ChunkedInfoMessage message = (ChunkedInfoMessage) decoded;
+        assertEquals(1, message.getTotalMessages());
+        assertEquals(items, InfoDataPage.unpack(message.getData()));
+    }
+
+    @Test
+    public void shouldUnpackSingleItem() {
+        InfoData item = new SwitchInfoData(new SwitchId(1L), SwitchState.ACTIVATED, null, null, null, null);
+
+        assertEquals(Collections.singletonList(item), InfoDataPage.unpack(item));
+    }
+}
@@ -0,0 +1,40 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info.discovery;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.model.SwitchId;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class DiscoPacketSendingBatchConfirmationTest {
+    @Test
+    public void serializeLoop() throws Exception {
+        DiscoPacketSendingBatchConfirmation data = new DiscoPacketSendingBatchConfirmation(
+                new SwitchId("ff:01"), Arrays.asList(1, 2, 5));
+        InfoMessage origin = new InfoMessage(data, 0, "batch-discovery");
+
+        String json = Utils.MAPPER.writeValueAsString(origin);
+        InfoMessage decoded = Utils.MAPPER.readValue(json, InfoMessage.class);
+
+        assertEquals(data, decoded.getData());
+    }
+}
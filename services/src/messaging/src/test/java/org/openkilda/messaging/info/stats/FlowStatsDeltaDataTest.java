@@ -0,0 +1,66 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info.stats;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.StringSerializer;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.model.SwitchId;
+
+import org.junit.Test;
+
+public class FlowStatsDeltaDataTest implements StringSerializer {
+    private static final SwitchId SWITCH_ID = new SwitchId("00:00:00:00:00:00:00:01");
+
+    @Test
+    public void serializeLoop() throws Exception {
+        FlowStatsDeltaData origin = new FlowStatsDeltaData(SWITCH_ID, true,
+                new int[] {0, 1}, new long[] {0x4000000000000001L, 2L}, new long[] {10L, 20L}, new long[] {100L, 200L});
+
+        serialize(new InfoMessage(origin, System.currentTimeMillis(), "unit-test-correlation-id"));
+        FlowStatsDeltaData decoded = (FlowStatsDeltaData) ((InfoMessage) deserialize()).getData();
+
+        assertEquals(origin.getSwitchId(), decoded.getSwitchId());
+        assertTrue(decoded.isFull());
+        assertArrayEquals(origin.getTableIds(), decoded.getTableIds());
+        assertArrayEquals(origin.getCookies(), decoded.getCookies());
+        assertArrayEquals(origin.getPacketCounts(), decoded.getPacketCounts());
+        assertArrayEquals(origin.getByteCounts(), decoded.getByteCounts());
+    }
+
+    @Test
+    public void shouldExpandIntoFlowStatsData() {
+        FlowStatsDeltaData delta = new FlowStatsDeltaData(SWITCH_ID, false,
+                new int[] {0}, new long[] {3L}, new long[] {7L}, new long[] {70L});
+
+        FlowStatsData data = delta.toFlowStatsData();
+
+        assertEquals(SWITCH_ID, data.getSwitchId());
+        assertEquals(1, data.getStats().size());
+        FlowStatsEntry entry = data.getStats().get(0).getEntries().get(0);
+        assertEquals(3L, entry.getCookie());
+        assertEquals(7L, entry.getPacketCount());
+        assertEquals(70L, entry.getByteCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMisalignedColumns() {
+        new FlowStatsDeltaData(SWITCH_ID, false, new int[] {0}, new long[] {3L, 4L}, new long[] {7L}, new long[] {70L});
+    }
+}
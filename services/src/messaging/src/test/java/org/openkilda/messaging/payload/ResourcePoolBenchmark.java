@@ -0,0 +1,89 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.payload;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ResourcePool} on the cookie sized range filled with random ids up to the given percent.
+ * Every allocation is followed by the release of the same id, so the fill level doesn't change.
+ * <p/>
+ * It is not a part of the test suite, run it with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourcePoolBenchmark {
+    private static final int MIN_ID = 1;
+    private static final int MAX_ID = 128 * 1024;
+
+    @Param({"10", "90", "99"})
+    private int fillPercent;
+
+    private ResourcePool pool;
+
+    /**
+     * Fills the pool.
+     */
+    @Setup
+    public void setUp() {
+        pool = new ResourcePool(MIN_ID, MAX_ID);
+        Random random = new Random(fillPercent);
+        int target = (int) ((long) MAX_ID * fillPercent / 100);
+        while (pool.getAllocatedCount() < target) {
+            pool.allocate(MIN_ID + random.nextInt(MAX_ID));
+        }
+    }
+
+    /**
+     * Allocates one id and returns it back to the pool.
+     */
+    @Benchmark
+    public Integer allocate() {
+        Integer id = pool.allocate();
+        pool.deallocate(id);
+        return id;
+    }
+
+    @Benchmark
+    public Set<Integer> dumpPool() {
+        return pool.dumpPool();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ResourcePoolBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -16,9 +16,21 @@
 package org.openkilda.messaging.payload;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableSet;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 public class ResourcePoolTest {
     private static final ResourcePool pool = new ResourcePool(1, 5);
 
@@ -68,4 +80,99 @@ public class ResourcePoolTest {
         pool.allocate();
         pool.allocate();
     }
+
+    @Test
+    public void shouldFindFreeIdInLargePool() {
+        ResourcePool pool = new ResourcePool(1, 1000);
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals(i, (int) pool.allocate());
+        }
+        pool.deallocate(70);
+        pool.deallocate(700);
+
+        assertEquals(70, (int) pool.allocate());
+        assertEquals(700, (int) pool.allocate());
+        assertEquals(1000, pool.getAllocatedCount());
+    }
+
+    @Test
+    public void shouldNotAllocateTheSameIdTwice() {
+        ResourcePool pool = new ResourcePool(10, 20);
+
+        assertEquals(15, (int) pool.allocate(15));
+        assertNull(pool.allocate(15));
+        assertEquals(15, (int) pool.deallocate(15));
+        assertNull(pool.deallocate(15));
+    }
+
+    @Test
+    public void shouldKeepIdsOutOfRange() {
+        ResourcePool pool = new ResourcePool(10, 20);
+
+        assertEquals(5, (int) pool.allocate(5));
+        assertEquals(10, (int) pool.allocate());
+
+        Set<Integer> dump = pool.dumpPool();
+        assertEquals(ImmutableSet.of(5, 10), dump);
+        assertTrue(dump.contains(5));
+        assertFalse(dump.contains(11));
+        assertEquals(5, (int) pool.deallocate(5));
+        assertEquals(1, pool.getAllocatedCount());
+    }
+
+    @Test
+    public void shouldKeepIdsJustAboveRange() {
+        ResourcePool pool = new ResourcePool(10, 20);
+
+        assertEquals(21, (int) pool.allocate(21));
+        assertEquals(10, (int) pool.allocate());
+
+        Set<Integer> dump = pool.dumpPool();
+        assertEquals(ImmutableSet.of(10, 21), dump);
+        assertTrue(dump.contains(21));
+        assertTrue(dump.containsAll(ImmutableSet.of(10, 21)));
+        assertFalse(dump.contains(22));
+    }
+
+    @Test
+    public void dumpPoolShouldBeSnapshot() {
+        ResourcePool pool = new ResourcePool(1, 100);
+        pool.allocate(1);
+        pool.allocate(64);
+        pool.allocate(65);
+        pool.allocate(100);
+
+        Set<Integer> dump = pool.dumpPool();
+        pool.allocate(2);
+
+        assertEquals(ImmutableSet.of(1, 64, 65, 100), dump);
+        assertEquals(4, dump.size());
+    }
+
+    @Test
+    public void shouldAllocateUniqueIdsConcurrently() throws Exception {
+        ResourcePool pool = new ResourcePool(1, 10000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Integer>>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                results.add(executor.submit(() -> {
+                    List<Integer> ids = new ArrayList<>();
+                    for (int i = 0; i < 2500; i++) {
+                        ids.add(pool.allocate());
+                    }
+                    return ids;
+                }));
+            }
+
+            Set<Integer> allocated = new HashSet<>();
+            for (Future<List<Integer>> result : results) {
+                allocated.addAll(result.get());
+            }
+            assertEquals(10000, allocated.size());
+            assertEquals(allocated, pool.dumpPool());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,101 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LongObjectHashMapTest {
+
+    @Test
+    public void shouldPutGetAndRemove() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        assertNull(map.put(0L, "zero"));
+        assertNull(map.put(0x4000000000000001L, "forward"));
+        assertEquals("zero", map.put(0L, "ZERO"));
+
+        assertEquals(2, map.size());
+        assertEquals("ZERO", map.get(0L));
+        assertEquals("forward", map.get(0x4000000000000001L));
+        assertNull(map.get(1L));
+
+        assertEquals("ZERO", map.remove(0L));
+        assertFalse(map.containsKey(0L));
+        assertNull(map.remove(0L));
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0x4000000000000001L));
+    }
+
+    @Test
+    public void shouldMatchHashMapOnRandomOperations() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        Map<Long, Long> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200000; i++) {
+            // narrow key range to get collisions and removals of existing keys
+            long key = random.nextInt(5000) | (random.nextBoolean() ? 0x4000000000000000L : 0x2000000000000000L);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), map.remove(key));
+            } else {
+                assertEquals(reference.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+
+        assertEquals(reference.size(), map.size());
+        for (Map.Entry<Long, Long> entry : reference.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void shouldRemoveMatchingValues() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        for (long key = 0; key < 1000; key++) {
+            map.put(key, key);
+        }
+
+        map.removeIf(value -> value % 10 != 0);
+
+        assertEquals(100, map.size());
+        long[] keys = map.keys();
+        Arrays.sort(keys);
+        assertEquals(100, keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i * 10L, keys[i]);
+            assertEquals(Long.valueOf(i * 10L), map.get(keys[i]));
+        }
+        assertNull(map.get(1L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNullValue() {
+        new LongObjectHashMap<String>().put(1L, null);
+    }
+}
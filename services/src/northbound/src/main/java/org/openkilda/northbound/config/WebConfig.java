@@ -20,12 +20,18 @@ import org.openkilda.northbound.utils.ExtraAuthInterceptor;
 import org.openkilda.northbound.utils.RequestCorrelationFilter;
 import org.openkilda.northbound.utils.async.CompletableFutureReturnValueHandler;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
@@ -34,6 +40,7 @@ import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandl
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
 
 /**
@@ -47,6 +54,9 @@ public class WebConfig extends WebMvcConfigurerAdapter {
     @Autowired
     private RequestMappingHandlerAdapter requestMappingHandlerAdapter;
 
+    @Value("${northbound.request.timeout.seconds:30}")
+    private int requestTimeout;
+
     /**
      * Adds instance of {@link CompletableFutureReturnValueHandler} to the list of value handlers and put it on the
      * first place (thus we override default handler for completable future
@@ -62,6 +72,36 @@ public class WebConfig extends WebMvcConfigurerAdapter {
         requestMappingHandlerAdapter.setReturnValueHandlers(defaultHandlers);
     }
 
+    /**
+     * The mapper of JSON responses, it is shared by the message converters and the streamed responses.
+     *
+     * @return mapper instance
+     */
+    @Bean
+    public ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    /**
+     * Makes the JSON message converters use the {@link #objectMapper()}.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2HttpMessageConverter) {
+                ((MappingJackson2HttpMessageConverter) converter).setObjectMapper(objectMapper());
+            }
+        }
+    }
+
+    /**
+     * Sets the async request timeout, the pending requests to kafka expire after the same time.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(TimeUnit.SECONDS.toMillis(requestTimeout));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -21,7 +21,9 @@ import org.openkilda.northbound.dto.BatchResults;
 import org.openkilda.northbound.dto.links.LinkDto;
 import org.openkilda.northbound.dto.links.LinkPropsDto;
 import org.openkilda.northbound.service.LinkService;
+import org.openkilda.northbound.utils.async.JsonArrayEmitter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
@@ -36,6 +38,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -59,6 +62,9 @@ public class LinkController {
     @Autowired
     private LinkService linkService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Get all available links.
      *
@@ -71,6 +77,20 @@ public class LinkController {
         return linkService.getLinks();
     }
 
+    /**
+     * Get all available links, the list is written to the client while links are being received.
+     *
+     * @return list of links.
+     */
+    @ApiOperation(value = "Get all links, streaming them as soon as they are received",
+            response = LinkDto.class, responseContainer = "List")
+    @GetMapping(path = "/links", params = "stream=true")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseBodyEmitter streamLinks() {
+        JsonArrayEmitter emitter = new JsonArrayEmitter(objectMapper);
+        return emitter.bindTo(linkService.streamLinks(emitter::sendItems));
+    }
+
     /**
      * Get link properties from the static link properties table.
      *
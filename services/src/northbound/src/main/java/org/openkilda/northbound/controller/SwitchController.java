@@ -38,7 +38,9 @@ import org.openkilda.northbound.dto.switches.SwitchDto;
 import org.openkilda.northbound.service.SwitchService;
 import org.openkilda.northbound.utils.ExtraAuthRequired;
 import org.openkilda.northbound.utils.RequestCorrelationId;
+import org.openkilda.northbound.utils.async.JsonArrayEmitter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -59,6 +61,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 import java.util.Optional;
@@ -86,6 +89,9 @@ public class SwitchController {
     @Autowired
     private SwitchService switchService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Get all available switches.
      *
@@ -98,6 +104,20 @@ public class SwitchController {
         return switchService.getSwitches();
     }
 
+    /**
+     * Get all available switches, the list is written to the client while switches are being received.
+     *
+     * @return list of switches.
+     */
+    @ApiOperation(value = "Get all available switches, streaming them as soon as they are received",
+            response = SwitchDto.class, responseContainer = "List")
+    @GetMapping(params = "stream=true")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseBodyEmitter streamSwitches() {
+        JsonArrayEmitter emitter = new JsonArrayEmitter(objectMapper);
+        return emitter.bindTo(switchService.streamSwitches(emitter::sendItems));
+    }
+
     /**
      * Get switch rules.
      *
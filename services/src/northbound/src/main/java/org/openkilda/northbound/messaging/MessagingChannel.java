@@ -20,6 +20,7 @@ import org.openkilda.messaging.info.InfoData;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * The main component for sending messages to internal kilda components. All sent operations will be performed
@@ -49,6 +50,23 @@ public interface MessagingChannel {
      */
     CompletableFuture<List<InfoData>> sendAndGetChunked(String topic, Message message);
 
+    /**
+     * Sends the message to the specified topic and passes chunked responses for this request to the consumer as soon
+     * as they arrive, without collecting them. The consumer is never called concurrently, but chunks are not
+     * guaranteed to come in order.
+     * <p/>
+     * The default implementation collects all chunks and passes them to the consumer at once.
+     *
+     * @param topic topic where the message should be sent.
+     * @param message data to be sent.
+     * @param consumer receiver of the chunks.
+     * @return future completed after the last chunk is passed to the consumer.
+     */
+    default CompletableFuture<Void> sendAndStreamChunked(String topic, Message message,
+                                                         Consumer<List<InfoData>> consumer) {
+        return sendAndGetChunked(topic, message).thenAccept(consumer);
+    }
+
     /**
      * Sends the message to the specified topic without waiting for a response.
      *
@@ -15,23 +15,32 @@
 
 package org.openkilda.northbound.messaging.kafka;
 
+import static java.lang.String.format;
+
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoDataPage;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.northbound.messaging.MessageProducer;
 import org.openkilda.northbound.messaging.MessagingChannel;
 import org.openkilda.northbound.messaging.exception.MessageNotSentException;
+import org.openkilda.northbound.messaging.exception.PendingRequestsLimitExceededException;
+import org.openkilda.northbound.utils.LatencyHistogram;
+import org.openkilda.northbound.utils.async.HashedWheelTimer;
 
 import com.google.common.annotations.VisibleForTesting;
-import org.apache.commons.collections4.map.PassiveExpiringMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 import org.springframework.util.concurrent.ListenableFuture;
@@ -44,48 +53,93 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 /**
  * Implementation of {@link MessagingChannel} for kafka.
+ * <p/>
+ * The amount of requests waiting for responses is limited, a request above the limit is rejected before it is sent.
+ * Every pending request has a deadline equal to the HTTP async request timeout, after it the request is completed
+ * with {@link ErrorType#OPERATION_TIMED_OUT} and forgotten, so responses that never arrive can't pile up and the
+ * place of the request is freed as soon as its client got the timeout.
+ * <p/>
+ * Streamed chunks are written to the clients by a separate pool, so a slow client doesn't hold the kafka listener.
+ * A client that falls behind by more than the allowed amount of chunks fails its request. A streamed response may
+ * take longer than any single response, so its deadline is restarted by every received chunk and it expires only if
+ * the chunks stop coming.
  */
 @Component
+@ManagedResource(description = "Northbound requests waiting for responses from kafka")
 public class KafkaMessagingChannel implements MessagingChannel {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaMessagingChannel.class);
 
+    private static final long TIMER_TICK_MILLIS = 100;
+    private static final int TIMER_TICKS_PER_WHEEL = 512;
+
     /**
      * Requests that are in progress of processing.
      */
-    private Map<String, CompletableFuture<InfoData>> pendingRequests = new ConcurrentHashMap<>();
-    private Map<String, CompletableFuture<List<InfoData>>> pendingChunkedRequests = new ConcurrentHashMap<>();
+    private final Map<String, PendingRequest<InfoData>> pendingRequests = new ConcurrentHashMap<>();
+    private final Map<String, ChunkedPendingRequest<?>> pendingChunkedRequests = new ConcurrentHashMap<>();
 
-    /**
-     * Chains of chunked messages, it is filling by messages one by one as soon as the next linked message is received.
-     */
-    private Map<String, List<ChunkedInfoMessage>> messagesChains;
+    private final LatencyHistogram responseLatency = new LatencyHistogram();
+    private final LongAdder rejectedRequests = new LongAdder();
+    private final LongAdder expiredRequests = new LongAdder();
 
-    /**
-     * The storage for received chunked message ids. It is needed to identify whether we have already received specific
-     * chunked message or not in order to do not have duplicates, because current version of kafka do not guarantee
-     * exactly once delivery.
-     */
-    private Map<String, Set<String>> chunkedMessageIdsPerRequest = new HashMap<>();
+    private Semaphore pendingPermits;
+    private HashedWheelTimer timer;
+
+    @Value("${northbound.request.timeout.seconds:30}")
+    private int requestTimeout;
+
+    @Value("${northbound.messages.max.pending:10000}")
+    private int maxPendingRequests;
+
+    @Value("${northbound.streaming.threads:10}")
+    private int streamingThreads;
+
+    @Value("${northbound.streaming.max.queued.chunks:100}")
+    private int maxQueuedChunks;
 
-    @Value("${northbound.messages.expiration.minutes}")
-    private int expiredTime;
+    @Value("${northbound.streaming.chunk.timeout.seconds:30}")
+    private int chunkTimeout;
+
+    private ExecutorService streamingExecutor;
 
     @Autowired
     private MessageProducer messageProducer;
 
     /**
-     * Creates storage for chains of messages.
+     * Creates the pending requests limit, the timer for request deadlines and the pool writing streamed chunks.
      */
     @PostConstruct
     public void setUp() {
-        messagesChains = new PassiveExpiringMap<>(expiredTime, TimeUnit.MINUTES, new HashMap<>());
+        pendingPermits = new Semaphore(maxPendingRequests);
+        timer = new HashedWheelTimer("nb-request-timeouts", TIMER_TICK_MILLIS, TimeUnit.MILLISECONDS,
+                TIMER_TICKS_PER_WHEEL);
+        streamingExecutor = Executors.newFixedThreadPool(streamingThreads,
+                new ThreadFactoryBuilder().setNameFormat("nb-stream-writer-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Stops the timer for request deadlines and the pool writing streamed chunks.
+     */
+    @PreDestroy
+    public void tearDown() {
+        timer.close();
+        streamingExecutor.shutdownNow();
     }
 
     /**
@@ -93,16 +147,8 @@ public class KafkaMessagingChannel implements MessagingChannel {
      */
     @Override
     public CompletableFuture<InfoData> sendAndGet(String topic, Message message) {
-        CompletableFuture<InfoData> future = new CompletableFuture<>();
-        pendingRequests.put(message.getCorrelationId(), future);
-
-        ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
-        futureResult.addCallback(
-                success -> { },
-                error -> future.completeExceptionally(new MessageNotSentException(error.getMessage()))
-        );
-
-        return future.whenComplete((response, error) -> pendingRequests.remove(message.getCorrelationId()));
+        PendingRequest<InfoData> request = register(pendingRequests, new PendingRequest<>(message), requestTimeout);
+        return sendPending(topic, message, request);
     }
 
     /**
@@ -110,24 +156,21 @@ public class KafkaMessagingChannel implements MessagingChannel {
      */
     @Override
     public CompletableFuture<List<InfoData>> sendAndGetChunked(String topic, Message message) {
-        CompletableFuture<List<InfoData>> future = new CompletableFuture<>();
-        pendingChunkedRequests.put(message.getCorrelationId(), future);
-
-        messagesChains.put(message.getCorrelationId(), new ArrayList<>());
-        chunkedMessageIdsPerRequest.put(message.getCorrelationId(), new HashSet<>());
-
-        ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
-        futureResult.addCallback(
-                sentResult -> { },
-                error -> future.completeExceptionally(new MessageNotSentException(error.getMessage()))
-        );
-
-        return future.whenComplete((response, error) -> {
-            pendingChunkedRequests.remove(message.getCorrelationId());
+        CollectingPendingRequest request = new CollectingPendingRequest(message);
+        register(pendingChunkedRequests, request, requestTimeout);
+        return sendPending(topic, message, request);
+    }
 
-            messagesChains.remove(message.getCorrelationId());
-            chunkedMessageIdsPerRequest.remove(message.getCorrelationId());
-        });
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> sendAndStreamChunked(String topic, Message message,
+                                                        Consumer<List<InfoData>> consumer) {
+        StreamingPendingRequest request = new StreamingPendingRequest(message, consumer, streamingExecutor,
+                maxQueuedChunks);
+        register(pendingChunkedRequests, request, chunkTimeout);
+        return sendPending(topic, message, request);
     }
 
     /**
@@ -160,67 +203,113 @@ public class KafkaMessagingChannel implements MessagingChannel {
         } else if (message instanceof InfoMessage) {
             if (isChunkedPendingResponse(message)) {
                 processChunkedMessage((ChunkedInfoMessage) message);
-            } else if (pendingRequests.containsKey(message.getCorrelationId())) {
-                InfoMessage infoMessage = (InfoMessage) message;
-                CompletableFuture<InfoData> request = pendingRequests.remove(message.getCorrelationId());
+            } else {
+                PendingRequest<InfoData> request = pendingRequests.get(message.getCorrelationId());
                 if (request != null) {
-                    request.complete(infoMessage.getData());
+                    complete(request, ((InfoMessage) message).getData());
+                } else {
+                    logger.trace("Received non-pending message");
                 }
-            } else {
-                logger.trace("Received non-pending message");
             }
         }
     }
 
     /**
-     * Performs searching and collecting all chunked messages into one chain if possible.
+     * Reserves a place for the request and starts its deadline.
      */
-    private synchronized void processChunkedMessage(ChunkedInfoMessage received) {
-        String requestId = received.getCorrelationId();
-        Set<String> associatedMessages = chunkedMessageIdsPerRequest.get(requestId);
-        if (!associatedMessages.add(received.getMessageId())) {
-            logger.debug("Skipping chunked message, it is already received: {}", received);
-            return;
+    private <T extends PendingRequest<?>> T register(Map<String, ? super T> requests, T request, int timeout) {
+        if (!pendingPermits.tryAcquire()) {
+            rejectedRequests.increment();
+            throw new PendingRequestsLimitExceededException(
+                    format("Can't send request %s, %d requests are already waiting for responses",
+                            request.correlationId, maxPendingRequests));
         }
 
-        List<ChunkedInfoMessage> chain = messagesChains.get(requestId);
-        if (received.getTotalMessages() != 0) {
-            chain.add(received);
-        }
+        request.onRelease = () -> {
+            // a newer request with the same correlation id must stay registered.
+            requests.remove(request.correlationId, request);
+            request.cancelTimeout();
+            pendingPermits.release();
+        };
+        requests.put(request.correlationId, request);
+        request.restartTimeout(() -> timer.schedule(() -> expire(request), timeout, TimeUnit.SECONDS));
+        // the caller may complete the future itself, e.g. on the HTTP async timeout
+        request.future.whenComplete((response, error) -> request.release());
+        return request;
+    }
 
-        if (chain.size() == received.getTotalMessages()) {
-            completeRequest(requestId, chain);
+    private <T> CompletableFuture<T> sendPending(String topic, Message message, PendingRequest<T> request) {
+        ListenableFuture<SendResult<String, Message>> futureResult;
+        try {
+            futureResult = messageProducer.send(topic, message);
+        } catch (RuntimeException e) {
+            request.fail(new MessageNotSentException(e.getMessage(), e));
+            return request.future;
         }
+
+        futureResult.addCallback(
+                sentResult -> { },
+                error -> request.fail(new MessageNotSentException(error.getMessage()))
+        );
+
+        return request.future;
     }
 
     /**
-     * Completes pending request with received responses.
+     * Performs searching and collecting all chunked messages into one chain if possible.
      */
-    private void completeRequest(String requestId, List<ChunkedInfoMessage> chain) {
-        List<InfoData> response = chain.stream()
-                .map(ChunkedInfoMessage::getData)
-                .collect(Collectors.toList());
-
-        pendingChunkedRequests
-                .get(requestId)
-                .complete(response);
+    private void processChunkedMessage(ChunkedInfoMessage received) {
+        ChunkedPendingRequest<?> request = pendingChunkedRequests.get(received.getCorrelationId());
+        if (request == null) {
+            logger.trace("Received non-pending chunked message");
+            return;
+        }
+
+        if (request.add(received)) {
+            completeChunked(request);
+        } else if (request instanceof StreamingPendingRequest) {
+            request.restartTimeout(() -> timer.schedule(() -> expire(request), chunkTimeout, TimeUnit.SECONDS));
+        }
+    }
+
+    private <T> void completeChunked(ChunkedPendingRequest<T> request) {
+        request.drain().thenAccept(response -> complete(request, response));
+    }
+
+    private <T> void complete(PendingRequest<T> request, T response) {
+        if (request.release()) {
+            responseLatency.record(request.elapsedMillis());
+            request.future.complete(response);
+        }
     }
 
     /**
      * Completes a request with an error response.
      */
-    private synchronized void completeWithError(ErrorMessage error) {
+    private void completeWithError(ErrorMessage error) {
         String correlationId = error.getCorrelationId();
 
-        CompletableFuture request = null;
-        if (pendingRequests.containsKey(correlationId)) {
-            request = pendingRequests.remove(correlationId);
-        } else if (pendingChunkedRequests.containsKey(correlationId)) {
-            request = pendingChunkedRequests.remove(correlationId);
+        PendingRequest<?> request = pendingRequests.get(correlationId);
+        if (request == null) {
+            request = pendingChunkedRequests.get(correlationId);
         }
 
-        if (request != null) {
-            request.completeExceptionally(new MessageException(error));
+        if (request != null && request.release()) {
+            responseLatency.record(request.elapsedMillis());
+            request.future.completeExceptionally(new MessageException(error));
+        }
+    }
+
+    /**
+     * Completes a request which didn't receive a response in time.
+     */
+    private void expire(PendingRequest<?> request) {
+        MessageException error = new MessageException(request.correlationId, System.currentTimeMillis(),
+                ErrorType.OPERATION_TIMED_OUT, "No response received", "Timeout exceeded");
+        if (request.release()) {
+            expiredRequests.increment();
+            logger.warn("Request {} expired without a response", request.correlationId);
+            request.future.completeExceptionally(error);
         }
     }
 
@@ -245,13 +334,269 @@ public class KafkaMessagingChannel implements MessagingChannel {
         return message instanceof ChunkedInfoMessage && pendingChunkedRequests.containsKey(message.getCorrelationId());
     }
 
+    /**
+     * Returns the amount of requests waiting for responses.
+     */
+    @ManagedAttribute(description = "Requests waiting for responses")
+    public int getPendingRequestsCount() {
+        return maxPendingRequests - pendingPermits.availablePermits();
+    }
+
+    /**
+     * Returns the limit of requests waiting for responses.
+     */
+    @ManagedAttribute(description = "Limit of requests waiting for responses")
+    public int getMaxPendingRequests() {
+        return maxPendingRequests;
+    }
+
+    /**
+     * Returns the amount of requests rejected because of the pending requests limit.
+     */
+    @ManagedAttribute(description = "Requests rejected because of the pending requests limit")
+    public long getRejectedRequestsCount() {
+        return rejectedRequests.sum();
+    }
+
+    /**
+     * Returns the amount of requests that didn't receive a response in time.
+     */
+    @ManagedAttribute(description = "Requests expired without a response")
+    public long getExpiredRequestsCount() {
+        return expiredRequests.sum();
+    }
+
+    /**
+     * Returns the amount of received responses.
+     */
+    @ManagedAttribute(description = "Received responses")
+    public long getResponsesCount() {
+        return responseLatency.getCount();
+    }
+
+    /**
+     * Returns the approximated median of the response latency in milliseconds.
+     */
+    @ManagedAttribute(description = "Median response latency, ms")
+    public long getResponseLatencyMedian() {
+        return responseLatency.getPercentile(50);
+    }
+
+    /**
+     * Returns the approximated 99th percentile of the response latency in milliseconds.
+     */
+    @ManagedAttribute(description = "99th percentile of response latency, ms")
+    public long getResponseLatency99thPercentile() {
+        return responseLatency.getPercentile(99);
+    }
+
+    /**
+     * Returns the maximum response latency in milliseconds.
+     */
+    @ManagedAttribute(description = "Maximum response latency, ms")
+    public long getResponseLatencyMax() {
+        return responseLatency.getMax();
+    }
+
+    /**
+     * Returns the amount of responses per latency bucket.
+     */
+    @ManagedAttribute(description = "Responses per latency bucket")
+    public Map<String, Long> getResponseLatencyHistogram() {
+        return responseLatency.getBuckets();
+    }
+
     @VisibleForTesting
     Map<String, CompletableFuture<InfoData>> getPendingRequests() {
-        return new HashMap<>(pendingRequests);
+        Map<String, CompletableFuture<InfoData>> result = new HashMap<>();
+        pendingRequests.forEach((id, request) -> result.put(id, request.future));
+        return result;
     }
 
     @VisibleForTesting
-    Map<String, CompletableFuture<List<InfoData>>> getPendingChunkedRequests() {
-        return new HashMap<>(pendingChunkedRequests);
+    Map<String, CompletableFuture<?>> getPendingChunkedRequests() {
+        Map<String, CompletableFuture<?>> result = new HashMap<>();
+        pendingChunkedRequests.forEach((id, request) -> result.put(id, request.future));
+        return result;
+    }
+
+    /**
+     * A request waiting for its response.
+     */
+    private static class PendingRequest<T> {
+        final String correlationId;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final long startTime = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private HashedWheelTimer.Timeout timeout;
+        Runnable onRelease;
+
+        PendingRequest(Message request) {
+            this.correlationId = request.getCorrelationId();
+        }
+
+        /**
+         * Frees the place of the request, the request is counted and completed only by the first caller, so
+         * everything is accounted before the client sees the result.
+         *
+         * @return true if the request was released by this call.
+         */
+        boolean release() {
+            if (!released.compareAndSet(false, true)) {
+                return false;
+            }
+            onRelease.run();
+            return true;
+        }
+
+        void fail(Throwable error) {
+            if (release()) {
+                future.completeExceptionally(error);
+            }
+        }
+
+        /**
+         * Replaces the deadline of the request, the new one is not started if the request is already released.
+         */
+        synchronized void restartTimeout(Supplier<HashedWheelTimer.Timeout> scheduler) {
+            if (released.get()) {
+                return;
+            }
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            timeout = scheduler.get();
+        }
+
+        synchronized void cancelTimeout() {
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+        long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * A request waiting for a chain of chunked responses. Chunks of different requests are assembled independently,
+     * the lock is held per request.
+     */
+    private abstract static class ChunkedPendingRequest<T> extends PendingRequest<T> {
+        /**
+         * The storage for received chunked message ids. It is needed to identify whether we have already received
+         * specific chunked message or not in order to do not have duplicates, because current version of kafka do not
+         * guarantee exactly once delivery.
+         */
+        private final Set<String> receivedIds = new HashSet<>();
+        private int receivedChunks;
+
+        ChunkedPendingRequest(Message request) {
+            super(request);
+        }
+
+        /**
+         * Accepts the chunk, a chunk may carry a single item or a page of them.
+         *
+         * @return true if the chunk was the last one.
+         */
+        synchronized boolean add(ChunkedInfoMessage received) {
+            if (!receivedIds.add(received.getMessageId())) {
+                logger.debug("Skipping chunked message, it is already received: {}", received);
+                return false;
+            }
+
+            if (received.getTotalMessages() != 0) {
+                receivedChunks++;
+                accept(InfoDataPage.unpack(received.getData()));
+            }
+
+            return receivedChunks == received.getTotalMessages();
+        }
+
+        abstract void accept(List<InfoData> items);
+
+        /**
+         * Returns the response, it is available once all accepted chunks are processed.
+         */
+        abstract CompletableFuture<T> drain();
+    }
+
+    /**
+     * Collects all chunks into one list.
+     */
+    private static final class CollectingPendingRequest extends ChunkedPendingRequest<List<InfoData>> {
+        private final List<InfoData> chain = new ArrayList<>();
+
+        CollectingPendingRequest(Message request) {
+            super(request);
+        }
+
+        @Override
+        void accept(List<InfoData> items) {
+            chain.addAll(items);
+        }
+
+        @Override
+        synchronized CompletableFuture<List<InfoData>> drain() {
+            return CompletableFuture.completedFuture(new ArrayList<>(chain));
+        }
+    }
+
+    /**
+     * Passes chunks to the consumer as they come, nothing is kept after the chunk is passed. The consumer is called
+     * by the executor one chunk after another, the amount of chunks waiting for it is limited.
+     */
+    private static final class StreamingPendingRequest extends ChunkedPendingRequest<Void> {
+        private final Consumer<List<InfoData>> consumer;
+        private final Executor executor;
+        private final int maxQueuedChunks;
+
+        private final AtomicInteger queuedChunks = new AtomicInteger();
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        StreamingPendingRequest(Message request, Consumer<List<InfoData>> consumer, Executor executor,
+                                int maxQueuedChunks) {
+            super(request);
+            this.consumer = consumer;
+            this.executor = executor;
+            this.maxQueuedChunks = maxQueuedChunks;
+        }
+
+        @Override
+        void accept(List<InfoData> items) {
+            if (future.isDone()) {
+                return;
+            }
+
+            if (queuedChunks.incrementAndGet() > maxQueuedChunks) {
+                logger.warn("Client of request {} doesn't keep up with the chunked response", correlationId);
+                fail(new IllegalStateException(
+                        format("More than %d chunks are waiting to be written to the client", maxQueuedChunks)));
+                return;
+            }
+
+            tail = tail.thenRunAsync(() -> pass(items), executor);
+        }
+
+        private void pass(List<InfoData> items) {
+            queuedChunks.decrementAndGet();
+            if (future.isDone()) {
+                return;
+            }
+
+            try {
+                consumer.accept(items);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to pass chunked response of request {} on", correlationId, e);
+                fail(e);
+            }
+        }
+
+        @Override
+        synchronized CompletableFuture<Void> drain() {
+            return tail;
+        }
     }
 }
@@ -22,6 +22,7 @@ import org.openkilda.northbound.dto.links.LinkPropsDto;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface LinkService extends BasicService {
 
@@ -30,6 +31,14 @@ public interface LinkService extends BasicService {
      */
     CompletableFuture<List<LinkDto>> getLinks();
 
+    /**
+     * Returns all links at the controller, passing them to the consumer in chunks as soon as they are received.
+     *
+     * @param consumer receiver of the chunks of links.
+     * @return future completed after the last chunk is passed to the consumer.
+     */
+    CompletableFuture<Void> streamLinks(Consumer<List<LinkDto>> consumer);
+
     /**
      * These results are not related to the ISL links per se .. they are based on any link
      * properties that have been uploaded through setLinkProps.
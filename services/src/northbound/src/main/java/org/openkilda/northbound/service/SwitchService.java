@@ -32,6 +32,7 @@ import org.openkilda.northbound.dto.switches.SwitchDto;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface SwitchService extends BasicService {
 
@@ -41,6 +42,13 @@ public interface SwitchService extends BasicService {
      */
     CompletableFuture<List<SwitchDto>> getSwitches();
 
+    /**
+     * Get all available switches, passing them to the consumer in chunks as soon as they are received.
+     * @param consumer receiver of the chunks of switches.
+     * @return future completed after the last chunk is passed to the consumer.
+     */
+    CompletableFuture<Void> streamSwitches(Consumer<List<SwitchDto>> consumer);
+
     /**
      * Get all rules from the switch. If cookie is specified, then return just that cookie rule.
      *
@@ -49,6 +49,7 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -90,6 +91,19 @@ public class LinkServiceImpl implements LinkService {
                         .collect(Collectors.toList()));
     }
 
+    @Override
+    public CompletableFuture<Void> streamLinks(Consumer<List<LinkDto>> consumer) {
+        final String correlationId = RequestCorrelationId.getId();
+        logger.debug("Stream links request received");
+        CommandMessage request = new CommandMessage(new GetLinksRequest(), System.currentTimeMillis(), correlationId);
+
+        return messagingChannel.sendAndStreamChunked(nbworkerTopic, request,
+                chunk -> consumer.accept(chunk.stream()
+                        .map(IslInfoData.class::cast)
+                        .map(linkMapper::toLinkDto)
+                        .collect(Collectors.toList())));
+    }
+
     @Override
     public CompletableFuture<List<LinkPropsDto>> getLinkProps(SwitchId srcSwitch, Integer srcPort,
                                                               SwitchId dstSwitch, Integer dstPort) {
@@ -68,6 +68,7 @@ import org.springframework.util.CollectionUtils;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -110,6 +111,23 @@ public class SwitchServiceImpl implements SwitchService {
                         .collect(Collectors.toList()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> streamSwitches(Consumer<List<SwitchDto>> consumer) {
+        final String correlationId = RequestCorrelationId.getId();
+        LOGGER.debug("Stream switches request received");
+        CommandMessage request = new CommandMessage(new GetSwitchesRequest(), System.currentTimeMillis(),
+                correlationId);
+
+        return messagingChannel.sendAndStreamChunked(nbworkerTopic, request,
+                chunk -> consumer.accept(chunk.stream()
+                        .map(SwitchInfoData.class::cast)
+                        .map(switchMapper::toSwitchDto)
+                        .collect(Collectors.toList())));
+    }
+
     /**
      * {@inheritDoc}
      */
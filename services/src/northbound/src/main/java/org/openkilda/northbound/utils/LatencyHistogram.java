@@ -0,0 +1,117 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies with fixed millisecond buckets. Memory usage does not depend on the amount of
+ * recorded values, percentiles are approximated by the upper bound of the bucket they fall into.
+ */
+public class LatencyHistogram {
+    private static final long[] BOUNDS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000, 60_000, 300_000};
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS.length + 1);
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a single latency value.
+     *
+     * @param millis the latency in milliseconds.
+     */
+    public void record(long millis) {
+        counts.incrementAndGet(bucketOf(millis));
+        total.increment();
+        max.accumulate(millis);
+    }
+
+    /**
+     * Returns the amount of recorded values.
+     */
+    public long getCount() {
+        return total.sum();
+    }
+
+    /**
+     * Returns the biggest recorded value.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the approximated percentile of recorded values, or 0 if nothing was recorded.
+     *
+     * @param percentile the percentile in the range (0, 100].
+     * @return the upper bound of the bucket containing the percentile, capped by the biggest recorded value.
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = snapshot();
+        long count = 0;
+        for (long value : snapshot) {
+            count += value;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(BOUNDS[i], getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Returns the amount of recorded values per bucket, keyed by the bucket upper bound (e.g. "le_100ms").
+     */
+    public Map<String, Long> getBuckets() {
+        long[] snapshot = snapshot();
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < BOUNDS.length; i++) {
+            buckets.put("le_" + BOUNDS[i] + "ms", snapshot[i]);
+        }
+        buckets.put("inf", snapshot[BOUNDS.length]);
+        return buckets;
+    }
+
+    private long[] snapshot() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    private static int bucketOf(long millis) {
+        for (int i = 0; i < BOUNDS.length; i++) {
+            if (millis <= BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BOUNDS.length;
+    }
+}
@@ -22,6 +22,7 @@ import static org.openkilda.messaging.Utils.DEFAULT_CORRELATION_ID;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageError;
 import org.openkilda.messaging.error.MessageException;
+import org.openkilda.northbound.messaging.exception.PendingRequestsLimitExceededException;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -82,6 +83,27 @@ public class NorthboundExceptionHandler extends ResponseEntityExceptionHandler {
         return super.handleExceptionInternal(exception, error, new HttpHeaders(), status, request);
     }
 
+    /**
+     * Handles PendingRequestsLimitExceededException exception, the client is asked to retry later.
+     *
+     * @param exception the PendingRequestsLimitExceededException instance
+     * @param request   the WebRequest caused exception
+     * @return the ResponseEntity object instance
+     */
+    @ExceptionHandler(PendingRequestsLimitExceededException.class)
+    protected ResponseEntity<Object> handlePendingRequestsLimitExceededException(
+            PendingRequestsLimitExceededException exception, WebRequest request) {
+        String correlationId = Optional.ofNullable(request.getHeader(CORRELATION_ID)).orElse(DEFAULT_CORRELATION_ID);
+        MessageError error = new MessageError(correlationId, System.currentTimeMillis(),
+                ErrorType.INTERNAL_ERROR.toString(), exception.getMessage(), "Too many pending requests");
+
+        logger.warn(format("Error %s caught.", error));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return super.handleExceptionInternal(exception, error, headers, HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,260 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.utils.async;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Timer optimized for a large amount of short-living timeouts which are cancelled much more often than fired, like
+ * per-request deadlines.
+ * <p/>
+ * Timeouts are hashed into the slots of a wheel that is advanced by a single worker thread once per tick, so
+ * scheduling and cancellation are O(1) and never block the caller. The price is precision: a timeout fires within one
+ * tick after its deadline. Only the worker thread touches the wheel, callers hand new and cancelled timeouts over
+ * through lock-free queues.
+ */
+public final class HashedWheelTimer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private final long tickNanos;
+    private final List<Set<Timeout>> wheel;
+    private final int mask;
+    private final long startTime;
+
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    /**
+     * Creates and starts the timer.
+     *
+     * @param name the name of the worker thread.
+     * @param tickDuration the duration between ticks.
+     * @param unit the time unit of the tick duration.
+     * @param ticksPerWheel the size of the wheel, rounded up to a power of two.
+     */
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("ticksPerWheel must be in (0, 2^30]: " + ticksPerWheel);
+        }
+
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        size = Math.max(size, 1);
+        wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            wheel.add(new HashSet<>());
+        }
+        mask = size - 1;
+        tickNanos = unit.toNanos(tickDuration);
+
+        startTime = System.nanoTime();
+        worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Schedules the task to be run once after the given delay. The task is executed by the worker thread, so it must
+     * be short and must not block.
+     *
+     * @param task the task to run.
+     * @param delay the delay before the task is run.
+     * @param unit the time unit of the delay.
+     * @return the handle which can be used to cancel the task.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timer is stopped");
+        }
+
+        long deadline = System.nanoTime() - startTime + unit.toNanos(Math.max(delay, 0));
+        Timeout timeout = new Timeout(task, deadline);
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Returns the number of timeouts that are neither fired nor cancelled yet.
+     */
+    public int getPendingTimeouts() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the worker thread, scheduled timeouts are dropped without being run.
+     */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            if (!awaitNextTick()) {
+                break;
+            }
+
+            purgeCancelled();
+            transferScheduled();
+            expire(wheel.get((int) (tick & mask)), System.nanoTime() - startTime);
+            tick++;
+        }
+    }
+
+    private boolean awaitNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        long sleep = deadline - (System.nanoTime() - startTime);
+        if (sleep <= 0) {
+            return true;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(sleep);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void purgeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.slot != null) {
+                timeout.slot.remove(timeout);
+                timeout.slot = null;
+            }
+        }
+    }
+
+    private void transferScheduled() {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state.get() != Timeout.PENDING) {
+                continue;
+            }
+
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) >> Integer.bitCount(mask);
+            Set<Timeout> slot = wheel.get((int) (Math.max(calculated, tick) & mask));
+            slot.add(timeout);
+            timeout.slot = slot;
+        }
+    }
+
+    private void expire(Set<Timeout> slot, long now) {
+        Iterator<Timeout> iterator = slot.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                continue;
+            }
+            if (timeout.deadline > now) {
+                continue;
+            }
+
+            iterator.remove();
+            timeout.slot = null;
+            timeout.expire();
+        }
+    }
+
+    /**
+     * Handle of a task scheduled in the {@link HashedWheelTimer}.
+     */
+    public final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private final Runnable task;
+        private final long deadline;
+
+        // accessed by the worker thread only
+        private long remainingRounds;
+        private Set<Timeout> slot;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task if it is not run yet.
+         *
+         * @return true if the task was cancelled by this call.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+
+            pending.decrementAndGet();
+            cancelled.add(this);
+            return true;
+        }
+
+        /**
+         * Returns whether the task has been run.
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        /**
+         * Returns whether the task has been cancelled.
+         */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) {
+                return;
+            }
+
+            pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.error("Timeout task failed", e);
+            }
+        }
+    }
+}
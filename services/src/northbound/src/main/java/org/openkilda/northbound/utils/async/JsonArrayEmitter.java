@@ -0,0 +1,110 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.utils.async;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Writes a JSON array to the client part by part using servlet async output, so a big list is neither collected
+ * nor serialized as a whole. The client receives the same document as for a list returned at once.
+ * <p/>
+ * If the source fails after the first part is written the status can't be changed anymore, the client gets an
+ * unterminated array.
+ * <p/>
+ * The response is not limited by the async request timeout, a long list would be cut by it. The source is expected
+ * to fail when it stalls.
+ */
+public class JsonArrayEmitter extends ResponseBodyEmitter {
+    private static final long NO_TIMEOUT = 0;
+
+    private final ObjectMapper mapper;
+
+    private boolean started;
+
+    /**
+     * Creates the emitter writing the items with the mapper of the application, so they look the same as in the
+     * responses which are not streamed.
+     */
+    public JsonArrayEmitter(ObjectMapper mapper) {
+        super(NO_TIMEOUT);
+        this.mapper = mapper;
+    }
+
+    /**
+     * Writes the items as the next part of the array.
+     *
+     * @param items the items to write.
+     * @throws UncheckedIOException if the items can't be serialized or written to the client.
+     */
+    public synchronized void sendItems(Collection<?> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        try {
+            ByteArrayOutputStream part = new ByteArrayOutputStream();
+            for (Object item : items) {
+                part.write(started ? ',' : '[');
+                started = true;
+                mapper.writeValue(part, item);
+            }
+            send(part.toByteArray(), MediaType.APPLICATION_JSON_UTF8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the array and completes the response.
+     */
+    public synchronized void finish() {
+        try {
+            send((started ? "]" : "[]").getBytes(StandardCharsets.UTF_8), MediaType.APPLICATION_JSON_UTF8);
+            complete();
+        } catch (IOException e) {
+            completeWithError(e);
+        }
+    }
+
+    /**
+     * Finishes the response when the source future completes, or completes it with the error of the source.
+     *
+     * @param source the future completed when all items are sent.
+     * @return this emitter.
+     */
+    public JsonArrayEmitter bindTo(CompletableFuture<?> source) {
+        source.whenComplete((result, error) -> {
+            if (error == null) {
+                finish();
+            } else if (error instanceof CompletionException && error.getCause() != null) {
+                completeWithError(error.getCause());
+            } else {
+                completeWithError(error);
+            }
+        });
+        return this;
+    }
+}
@@ -26,9 +26,11 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import org.openkilda.northbound.dto.switches.SwitchDto;
 import org.openkilda.northbound.utils.RequestCorrelationFilter;
 
 import org.junit.Before;
@@ -101,6 +103,28 @@ public class SwitchControllerTest extends NorthboundBaseTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void shouldStreamSwitchesAsJsonArray() throws Exception {
+        MvcResult listed = mockMvc.perform(asyncDispatch(mockMvc.perform(get("/switches")
+                .header(CORRELATION_ID, testCorrelationId()))
+                .andReturn()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        MvcResult streamed = mockMvc.perform(get("/switches")
+                .param("stream", "true")
+                .header(CORRELATION_ID, testCorrelationId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String body = streamed.getResponse().getContentAsString();
+        assertEquals(listed.getResponse().getContentAsString(), body);
+        SwitchDto[] switches = MAPPER.readValue(body, SwitchDto[].class);
+        assertEquals(1, switches.length);
+        assertEquals(TestMessageMock.SWITCH_ID.toString(), switches[0].getSwitchId());
+    }
+
     private static String testCorrelationId() {
         return UUID.randomUUID().toString();
     }
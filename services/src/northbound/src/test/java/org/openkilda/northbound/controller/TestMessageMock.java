@@ -42,6 +42,7 @@ import org.openkilda.messaging.info.switches.SwitchRulesResponse;
 import org.openkilda.messaging.model.BidirectionalFlow;
 import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.messaging.nbtopology.request.GetSwitchesRequest;
 import org.openkilda.messaging.payload.flow.FlowEndpointPayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowPathPayload;
@@ -129,6 +130,8 @@ public class TestMessageMock implements MessagingChannel {
     public CompletableFuture<List<InfoData>> sendAndGetChunked(String topic, Message message) {
         if (((CommandMessage) message).getData() instanceof FlowsDumpRequest) {
             return CompletableFuture.completedFuture(Collections.singletonList(FLOW_RESPONSE));
+        } else if (((CommandMessage) message).getData() instanceof GetSwitchesRequest) {
+            return CompletableFuture.completedFuture(Collections.singletonList(SWITCH_INFO_DATA));
         } else {
             return null;
         }
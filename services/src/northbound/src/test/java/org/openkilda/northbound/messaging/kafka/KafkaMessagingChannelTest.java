@@ -15,16 +15,21 @@
 
 package org.openkilda.northbound.messaging.kafka;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoDataPage;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.info.event.SwitchState;
@@ -32,6 +37,8 @@ import org.openkilda.messaging.model.SwitchId;
 import org.openkilda.northbound.config.KafkaConfig;
 import org.openkilda.northbound.messaging.MessageProducer;
 import org.openkilda.northbound.messaging.MessagingChannel;
+import org.openkilda.northbound.messaging.exception.MessageNotSentException;
+import org.openkilda.northbound.messaging.exception.PendingRequestsLimitExceededException;
 
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.Before;
@@ -48,14 +55,18 @@ import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.util.concurrent.SettableListenableFuture;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -70,10 +81,14 @@ public class KafkaMessagingChannelTest {
     private static final String MAIN_TOPIC = "topic";
     private static final String CHUNKED_TOPIC = "chunked";
     private static final String BROKEN_TOPIC = "broken";
+    private static final String CLOSED_TOPIC = "closed";
 
     @Autowired
     private KafkaMessagingChannel messagingChannel;
 
+    @Autowired
+    private MessageProducer messageProducer;
+
     @Rule
     public ExpectedException thrown = ExpectedException.none();
 
@@ -241,6 +256,237 @@ public class KafkaMessagingChannelTest {
         assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
     }
 
+    @Test
+    public void shouldCollectPagedChunks() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        int pages = 10;
+        int pageSize = 100;
+        preparePagedResponses(requestId, timestamp, pages, pageSize);
+
+        CompletableFuture<List<InfoData>> future =
+                messagingChannel.sendAndGetChunked(CHUNKED_TOPIC, new Message(timestamp, requestId));
+        prepareResponses(CHUNKED_TOPIC);
+
+        List<InfoData> result = future.get(10, TimeUnit.SECONDS);
+        assertEquals(pages * pageSize, result.size());
+        assertEquals(pages * pageSize, new HashSet<>(result).size());
+    }
+
+    @Test
+    public void shouldStreamChunksAsTheyArrive() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        preparePagedResponses(requestId, timestamp, 2, 3);
+        List<ChunkedInfoMessage> chunks = new ArrayList<>();
+        CHUNKED_RESPONSES.forEach(response -> chunks.add((ChunkedInfoMessage) response));
+
+        List<List<InfoData>> received = new ArrayList<>();
+        final CompletableFuture<Void> future =
+                messagingChannel.sendAndStreamChunked(CHUNKED_TOPIC, new Message(timestamp, requestId), received::add);
+
+        messagingChannel.onResponse(chunks.get(0));
+        assertFalse(future.isDone());
+
+        // duplicated delivery must not be passed twice
+        messagingChannel.onResponse(chunks.get(0));
+        messagingChannel.onResponse(chunks.get(1));
+
+        future.get(1, TimeUnit.SECONDS);
+        assertEquals(2, received.size());
+        assertEquals(3, received.get(0).size());
+        assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
+    }
+
+    @Test
+    public void shouldCompleteStreamExceptionallyIfConsumerFails() throws Exception {
+        thrown.expect(ExecutionException.class);
+
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        preparePagedResponses(requestId, timestamp, 2, 3);
+
+        CompletableFuture<Void> future = messagingChannel.sendAndStreamChunked(CHUNKED_TOPIC,
+                new Message(timestamp, requestId), chunk -> {
+                    throw new IllegalStateException("Client has gone");
+                });
+        prepareResponses(CHUNKED_TOPIC);
+
+        future.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shouldRejectRequestIfPendingRequestsLimitIsReached() throws Exception {
+        KafkaMessagingChannel channel = createChannel(1, 15);
+        try {
+            long timestamp = System.currentTimeMillis();
+            final CompletableFuture<InfoData> pending = channel.sendAndGet(MAIN_TOPIC, new Message(timestamp, "first"));
+            assertEquals(1, channel.getPendingRequestsCount());
+
+            try {
+                channel.sendAndGet(MAIN_TOPIC, new Message(timestamp, "second"));
+                throw new AssertionError("Request above the limit must be rejected");
+            } catch (PendingRequestsLimitExceededException e) {
+                assertEquals(1, channel.getRejectedRequestsCount());
+            }
+
+            channel.onResponse(new InfoMessage(null, timestamp, "first"));
+            assertNull(pending.get(1, TimeUnit.SECONDS));
+            assertEquals(0, channel.getPendingRequestsCount());
+            assertEquals(1, channel.getResponsesCount());
+
+            channel.sendAndGet(MAIN_TOPIC, new Message(timestamp, "second"));
+            assertEquals(1, channel.getPendingRequestsCount());
+        } finally {
+            channel.tearDown();
+        }
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyIfNoResponseReceivedInTime() throws Exception {
+        KafkaMessagingChannel channel = createChannel(10, 0);
+        try {
+            Message request = new Message(System.currentTimeMillis(), UUID.randomUUID().toString());
+            CompletableFuture<List<InfoData>> response = channel.sendAndGetChunked(CHUNKED_TOPIC, request);
+
+            try {
+                response.get(5, TimeUnit.SECONDS);
+                throw new AssertionError("Request without a response must expire");
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(MessageException.class));
+                assertEquals(ErrorType.OPERATION_TIMED_OUT, ((MessageException) e.getCause()).getErrorType());
+            }
+
+            assertEquals(1, channel.getExpiredRequestsCount());
+            assertEquals(0, channel.getPendingRequestsCount());
+            assertTrue(channel.getPendingChunkedRequests().isEmpty());
+        } finally {
+            channel.tearDown();
+        }
+    }
+
+    @Test
+    public void shouldReleasePlaceIfRequestCanNotBeSent() throws Exception {
+        KafkaMessagingChannel channel = createChannel(1, 15);
+        try {
+            long timestamp = System.currentTimeMillis();
+            CompletableFuture<InfoData> failed = channel.sendAndGet(CLOSED_TOPIC, new Message(timestamp, "first"));
+            try {
+                failed.get(1, TimeUnit.SECONDS);
+                throw new AssertionError("Request which can't be sent must fail");
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(MessageNotSentException.class));
+            }
+            assertEquals(0, channel.getPendingRequestsCount());
+
+            channel.sendAndGet(MAIN_TOPIC, new Message(timestamp, "second"));
+            assertEquals(1, channel.getPendingRequestsCount());
+        } finally {
+            channel.tearDown();
+        }
+    }
+
+    @Test
+    public void shouldNotHoldResponsesWhileStreamingClientIsSlow() throws Exception {
+        KafkaMessagingChannel channel = createChannel(10, 15);
+        try {
+            long timestamp = System.currentTimeMillis();
+            CountDownLatch clientReady = new CountDownLatch(1);
+            List<InfoData> received = new ArrayList<>();
+            CompletableFuture<Void> future = channel.sendAndStreamChunked(MAIN_TOPIC, new Message(timestamp, "slow"),
+                    chunk -> {
+                        awaitUninterruptibly(clientReady);
+                        received.addAll(chunk);
+                    });
+
+            for (int i = 0; i < 3; i++) {
+                InfoData item = new SwitchInfoData(new SwitchId(i), SwitchState.ACTIVATED, null, null, null, null);
+                channel.onResponse(new ChunkedInfoMessage(new InfoDataPage(Collections.singletonList(item)),
+                        timestamp, "slow", i, 3));
+            }
+            assertFalse(future.isDone());
+
+            clientReady.countDown();
+            future.get(1, TimeUnit.SECONDS);
+            assertEquals(3, received.size());
+        } finally {
+            channel.tearDown();
+        }
+    }
+
+    @Test
+    public void shouldFailStreamingRequestIfClientFallsBehind() throws Exception {
+        KafkaMessagingChannel channel = createChannel(10, 15);
+        ReflectionTestUtils.setField(channel, "maxQueuedChunks", 1);
+        CountDownLatch clientReady = new CountDownLatch(1);
+        try {
+            long timestamp = System.currentTimeMillis();
+            CompletableFuture<Void> future = channel.sendAndStreamChunked(MAIN_TOPIC, new Message(timestamp, "slow"),
+                    chunk -> awaitUninterruptibly(clientReady));
+
+            for (int i = 0; i < 3; i++) {
+                InfoData item = new SwitchInfoData(new SwitchId(i), SwitchState.ACTIVATED, null, null, null, null);
+                channel.onResponse(new ChunkedInfoMessage(new InfoDataPage(Collections.singletonList(item)),
+                        timestamp, "slow", i, 3));
+            }
+
+            try {
+                future.get(1, TimeUnit.SECONDS);
+                throw new AssertionError("Request of the client falling behind must fail");
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+            }
+            assertEquals(0, channel.getPendingRequestsCount());
+        } finally {
+            clientReady.countDown();
+            channel.tearDown();
+        }
+    }
+
+    @Test
+    public void shouldRestartStreamingDeadlineOnEveryChunk() throws Exception {
+        KafkaMessagingChannel channel = createChannel(10, 1);
+        try {
+            long timestamp = System.currentTimeMillis();
+            List<InfoData> received = new ArrayList<>();
+            CompletableFuture<Void> future = channel.sendAndStreamChunked(MAIN_TOPIC, new Message(timestamp, "long"),
+                    received::addAll);
+
+            // the whole stream takes longer than the timeout, but chunks keep coming
+            for (int i = 0; i < 3; i++) {
+                InfoData item = new SwitchInfoData(new SwitchId(i), SwitchState.ACTIVATED, null, null, null, null);
+                channel.onResponse(new ChunkedInfoMessage(new InfoDataPage(Collections.singletonList(item)),
+                        timestamp, "long", i, 4));
+                TimeUnit.MILLISECONDS.sleep(600);
+            }
+            assertFalse(future.isDone());
+
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                throw new AssertionError("Stream must expire when chunks stop coming");
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(MessageException.class));
+                assertEquals(ErrorType.OPERATION_TIMED_OUT, ((MessageException) e.getCause()).getErrorType());
+            }
+            assertEquals(3, received.size());
+            assertEquals(0, channel.getPendingRequestsCount());
+        } finally {
+            channel.tearDown();
+        }
+    }
+
+    private KafkaMessagingChannel createChannel(int maxPendingRequests, int requestTimeout) {
+        KafkaMessagingChannel channel = new KafkaMessagingChannel();
+        ReflectionTestUtils.setField(channel, "messageProducer", messageProducer);
+        ReflectionTestUtils.setField(channel, "maxPendingRequests", maxPendingRequests);
+        ReflectionTestUtils.setField(channel, "requestTimeout", requestTimeout);
+        ReflectionTestUtils.setField(channel, "streamingThreads", 2);
+        ReflectionTestUtils.setField(channel, "maxQueuedChunks", 100);
+        ReflectionTestUtils.setField(channel, "chunkTimeout", requestTimeout);
+        channel.setUp();
+        return channel;
+    }
+
     /**
      * Creates chunk of responses started from requestId, with predefined size.
      */
@@ -252,6 +498,20 @@ public class KafkaMessagingChannelTest {
         }
     }
 
+    /**
+     * Creates pages of responses for requestId, each page carries several items.
+     */
+    private void preparePagedResponses(String requestId, long timestamp, int pages, int pageSize) {
+        for (int i = 0; i < pages; i++) {
+            List<InfoData> items = new ArrayList<>();
+            for (int j = 0; j < pageSize; j++) {
+                items.add(new SwitchInfoData(new SwitchId(i * pageSize + j), SwitchState.ACTIVATED, null, null, null,
+                        null));
+            }
+            CHUNKED_RESPONSES.add(new ChunkedInfoMessage(new InfoDataPage(items), timestamp, requestId, i, pages));
+        }
+    }
+
     @TestConfiguration
     @Import(KafkaConfig.class)
     @PropertySource({"classpath:northbound.properties"})
@@ -276,6 +536,11 @@ public class KafkaMessagingChannelTest {
 
         @Override
         public ListenableFuture<SendResult<String, Message>> send(String topic, Message message) {
+            if (CLOSED_TOPIC.equals(topic)) {
+                // simulation of the producer failing before the message is queued.
+                throw new IllegalStateException("Producer is closed");
+            }
+
             SettableListenableFuture<SendResult<String, Message>> future = new SettableListenableFuture<>();
             ProducerRecord<String, Message> record = new ProducerRecord<>(topic, message);
 
@@ -290,6 +555,14 @@ public class KafkaMessagingChannelTest {
 
     }
 
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void prepareResponses(String topic) {
         if (CHUNKED_TOPIC.equals(topic)) {
             // emulate receiving chunked messages.
@@ -60,6 +60,7 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -111,6 +112,23 @@ public class LinkServiceTest {
         assertEquals(1, (int) path.getPortNo());
     }
 
+    @Test
+    public void shouldStreamLinks() {
+        String correlationId = "links-stream";
+        IslInfoData islInfoData = new IslInfoData(
+                Collections.singletonList(new PathNode(new SwitchId(1L), 1, 0)),
+                IslChangeType.DISCOVERED);
+
+        messageExchanger.mockChunkedResponse(correlationId, Collections.singletonList(islInfoData));
+        RequestCorrelationId.create(correlationId);
+
+        List<LinkDto> result = new ArrayList<>();
+        linkService.streamLinks(result::addAll).join();
+
+        assertEquals(1, result.size());
+        assertEquals(LinkStatus.DISCOVERED, result.get(0).getState());
+    }
+
     @Test
     public void shouldGetEmptyPropsList() {
         final String correlationId = "empty-link-props";
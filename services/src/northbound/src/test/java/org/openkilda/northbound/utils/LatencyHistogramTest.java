@@ -0,0 +1,59 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void shouldReturnZeroIfNothingRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void shouldApproximatePercentilesByBucketBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.record(3);
+        }
+        histogram.record(150);
+        histogram.record(700);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(5, histogram.getPercentile(50));
+        assertEquals(200, histogram.getPercentile(99));
+        assertEquals(700, histogram.getPercentile(100));
+        assertEquals(700, histogram.getMax());
+    }
+
+    @Test
+    public void shouldCountValuesAboveLastBound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_000);
+
+        Map<String, Long> buckets = histogram.getBuckets();
+        assertEquals(Long.valueOf(1), buckets.get("inf"));
+        assertEquals(1_000_000, histogram.getPercentile(50));
+    }
+}
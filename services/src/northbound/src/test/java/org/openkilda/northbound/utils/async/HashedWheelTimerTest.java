@@ -0,0 +1,97 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.utils.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.northbound.utils.async.HashedWheelTimer.Timeout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HashedWheelTimerTest {
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setUp() {
+        timer = new HashedWheelTimer("test-timer", 10, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @After
+    public void tearDown() {
+        timer.close();
+    }
+
+    @Test
+    public void shouldRunTaskAfterDelay() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        Timeout timeout = timer.schedule(fired::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(1, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+        assertTrue(timeout.isExpired());
+        assertEquals(0, timer.getPendingTimeouts());
+    }
+
+    @Test
+    public void shouldRunTaskScheduledBeyondOneWheelRotation() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        // the wheel spans 80ms, so the timeout has to survive several rotations
+        timer.schedule(fired::countDown, 250, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(1, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 250);
+    }
+
+    @Test
+    public void shouldNotRunCancelledTask() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch fired = new CountDownLatch(1);
+
+        Timeout cancelled = timer.schedule(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        timer.schedule(fired::countDown, 60, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+
+        assertTrue(fired.await(1, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+        assertEquals(0, timer.getPendingTimeouts());
+    }
+
+    @Test
+    public void shouldNotCancelExpiredTask() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+
+        Timeout timeout = timer.schedule(fired::countDown, 0, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(1, TimeUnit.SECONDS));
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isExpired());
+    }
+}
@@ -0,0 +1,383 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.algo;
+
+import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.SimpleIsl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Finds the cheapest path between two switches with a binary heap Dijkstra over {@link IndexedNetwork}.
+ * <p/>
+ * It is a replacement of {@link SimpleGetShortestPath} and returns paths of the same cost: the path may
+ * contain at most {@code allowedDepth + 1} ISLs, the same limit {@link SimpleGetShortestPath} applies.
+ * Search state is kept in primitive arrays indexed by the switch, the path is restored from the parent
+ * pointers, so nothing is allocated per visited ISL.
+ * <p/>
+ * Algorithm Notes:
+ * 1. run Dijkstra ordered by (cost, hops), so among equal cost paths the shortest one is chosen.
+ * 2. if the found path doesn't fit into the depth limit (or the network has negative costs), search again
+ *    with hop bounded Bellman-Ford: cost[k][v] = min(cost[k - 1][u] + cost(u, v)), k = 1..maxHops.
+ */
+public class DijkstraShortestPath {
+
+    private static final Logger logger = LoggerFactory.getLogger(DijkstraShortestPath.class);
+
+    private static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final IndexedNetwork network;
+    private final int start;
+    private final int end;
+    private final int maxHops;
+
+    public DijkstraShortestPath(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int allowedDepth) {
+        this(new IndexedNetwork(network), srcDpid, dstDpid, allowedDepth);
+    }
+
+    public DijkstraShortestPath(IndexedNetwork network, SwitchId srcDpid, SwitchId dstDpid, int allowedDepth) {
+        this.network = network;
+        this.start = network.indexOf(srcDpid);
+        this.end = network.indexOf(dstDpid);
+        this.maxHops = allowedDepth + 1;
+        if (start < 0) {
+            logger.warn("SOURCE node doesn't exist. It isn't in the AVAILABLE network: {}", srcDpid);
+        }
+        if (end < 0) {
+            logger.warn("DESTINATION node doesn't exist. It isn't in the AVAILABLE network: {}", dstDpid);
+        }
+    }
+
+    /**
+     * Finds the cheapest path from start to end (srcDpid to dstDpid).
+     *
+     * @return An ordered list that represents the path from start to end, or an empty list
+     */
+    public LinkedList<SimpleIsl> getPath() {
+        return toIsls(findPath());
+    }
+
+    /**
+     * Same as {@link #getPath()}, but if the hint path exists and is as cheap as the best path, the hint is
+     * returned. Calling it with the forward path gives the symmetric reverse path whenever it is possible.
+     *
+     * @param hint The path to use as a starting point. It can be in reverse order (we'll reverse it)
+     * @return An ordered list that represents the path from start to end.
+     */
+    public LinkedList<SimpleIsl> getPath(List<SimpleIsl> hint) {
+        Path best = findPath();
+        if (best != null && hint != null && !hint.isEmpty()) {
+            Path confirmed = confirmIsls(hint);
+            if (confirmed != null && confirmed.cost <= best.cost) {
+                logger.debug("getPath w/ Hint: the hint path is the best one for {}->{}",
+                        network.getSwitchId(start), network.getSwitchId(end));
+                return toIsls(confirmed);
+            }
+        }
+        return toIsls(best);
+    }
+
+    private Path findPath() {
+        if (start < 0 || end < 0 || start == end) {
+            return null;
+        }
+        return findPath(network, start, end, maxHops, null, null);
+    }
+
+    /**
+     * Finds the cheapest path which doesn't go through excluded switches and ISLs.
+     *
+     * @param network the network to search in.
+     * @param start index of the source switch.
+     * @param end index of the destination switch.
+     * @param maxHops max number of ISLs in the path.
+     * @param excludedSwitches switches the path must not go through, indexed by the switch, may be null.
+     * @param excludedIsls ISLs the path must not use, indexed by the ISL, may be null.
+     * @return found path or null.
+     */
+    static Path findPath(IndexedNetwork network, int start, int end, int maxHops,
+                         boolean[] excludedSwitches, boolean[] excludedIsls) {
+        Path path = network.negativeCost
+                ? null : dijkstra(network, start, end, excludedSwitches, excludedIsls);
+        if (path == null || path.edges.length > maxHops) {
+            path = boundedBellmanFord(network, start, end, maxHops, excludedSwitches, excludedIsls);
+        }
+        return path;
+    }
+
+    private static boolean isExcluded(IndexedNetwork network, int edge, boolean[] excludedSwitches,
+                                      boolean[] excludedIsls) {
+        return (excludedIsls != null && excludedIsls[edge])
+                || (excludedSwitches != null && excludedSwitches[network.targets[edge]]);
+    }
+
+    private static Path dijkstra(IndexedNetwork network, int start, int end,
+                                 boolean[] excludedSwitches, boolean[] excludedIsls) {
+        int size = network.getSwitchCount();
+        long[] cost = new long[size];
+        int[] hops = new int[size];
+        int[] parent = new int[size];
+        Arrays.fill(cost, UNREACHABLE);
+        Arrays.fill(parent, -1);
+
+        MinHeap heap = new MinHeap(size, cost, hops);
+        cost[start] = 0;
+        heap.push(start);
+
+        while (!heap.isEmpty()) {
+            int current = heap.pop();
+            if (current == end) {
+                return restore(network, end, parent, cost[end], hops[end]);
+            }
+
+            for (int edge = network.offsets[current]; edge < network.offsets[current + 1]; edge++) {
+                if (isExcluded(network, edge, excludedSwitches, excludedIsls)) {
+                    continue;
+                }
+                int next = network.targets[edge];
+                long nextCost = cost[current] + network.costs[edge];
+                int nextHops = hops[current] + 1;
+                if (nextCost < cost[next] || (nextCost == cost[next] && nextHops < hops[next])) {
+                    cost[next] = nextCost;
+                    hops[next] = nextHops;
+                    parent[next] = edge;
+                    heap.pushOrUpdate(next);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Path restore(IndexedNetwork network, int end, int[] parent, long cost, int hops) {
+        int[] edges = new int[hops];
+        int current = end;
+        for (int i = hops - 1; i >= 0; i--) {
+            edges[i] = parent[current];
+            current = network.sources[edges[i]];
+        }
+        return new Path(cost, edges);
+    }
+
+    private static Path boundedBellmanFord(IndexedNetwork network, int start, int end, int maxHops,
+                                           boolean[] excludedSwitches, boolean[] excludedIsls) {
+        int size = network.getSwitchCount();
+        long[] previous = new long[size];
+        long[] current = new long[size];
+        int[][] parents = new int[maxHops + 1][];
+        Arrays.fill(previous, UNREACHABLE);
+        previous[start] = 0;
+
+        long bestCost = UNREACHABLE;
+        int bestHops = -1;
+        for (int k = 1; k <= maxHops; k++) {
+            Arrays.fill(current, UNREACHABLE);
+            int[] parent = new int[size];
+            boolean reached = false;
+            for (int u = 0; u < size; u++) {
+                // the path ends on the destination, there is no need to go through it
+                if (previous[u] == UNREACHABLE || u == end) {
+                    continue;
+                }
+                for (int edge = network.offsets[u]; edge < network.offsets[u + 1]; edge++) {
+                    if (isExcluded(network, edge, excludedSwitches, excludedIsls)) {
+                        continue;
+                    }
+                    int v = network.targets[edge];
+                    long candidate = previous[u] + network.costs[edge];
+                    if (candidate < current[v]) {
+                        current[v] = candidate;
+                        parent[v] = edge;
+                        reached = true;
+                    }
+                }
+            }
+            parents[k] = parent;
+            if (current[end] < bestCost) {
+                bestCost = current[end];
+                bestHops = k;
+            }
+            if (!reached) {
+                break;
+            }
+
+            long[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        if (bestHops < 0) {
+            return null;
+        }
+        int[] edges = new int[bestHops];
+        int vertex = end;
+        for (int k = bestHops; k > 0; k--) {
+            edges[k - 1] = parents[k][vertex];
+            vertex = network.sources[edges[k - 1]];
+        }
+        return new Path(bestCost, edges);
+    }
+
+    /**
+     * This helper function is used with getPath(hint) to confirm the hint path exists.
+     */
+    private Path confirmIsls(List<SimpleIsl> hint) {
+        int from = network.indexOf(hint.get(0).getSrcDpid());
+        int to = network.indexOf(hint.get(hint.size() - 1).getDstDpid());
+        boolean reversed = from == end && to == start;
+        if (!reversed && (from != start || to != end)) {
+            return null;
+        }
+        if (hint.size() > maxHops) {
+            return null;
+        }
+
+        int[] edges = new int[hint.size()];
+        long cost = 0;
+        for (int i = 0; i < hint.size(); i++) {
+            SimpleIsl isl = reversed ? hint.get(hint.size() - 1 - i) : hint.get(i);
+            int edge = reversed
+                    ? network.findIsl(isl.getDstDpid(), isl.getDstPort(), isl.getSrcDpid(), isl.getSrcPort())
+                    : network.findIsl(isl.getSrcDpid(), isl.getSrcPort(), isl.getDstDpid(), isl.getDstPort());
+            if (edge < 0) {
+                logger.info("getPath w/ Hint: the hint path DOES NOT EXIST for {}->{}, will use the best path",
+                        network.getSwitchId(start), network.getSwitchId(end));
+                return null;
+            }
+            edges[i] = edge;
+            cost += network.costs[edge];
+        }
+        return new Path(cost, edges);
+    }
+
+    private LinkedList<SimpleIsl> toIsls(Path path) {
+        return path != null ? path.toIsls(network) : new LinkedList<>();
+    }
+
+    /**
+     * Path found by the search: ISL indexes of {@link IndexedNetwork} from source to destination.
+     */
+    static final class Path {
+        final long cost;
+        final int[] edges;
+
+        Path(long cost, int[] edges) {
+            this.cost = cost;
+            this.edges = edges;
+        }
+
+        LinkedList<SimpleIsl> toIsls(IndexedNetwork network) {
+            LinkedList<SimpleIsl> result = new LinkedList<>();
+            for (int edge : edges) {
+                result.add(network.isls[edge]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Binary min heap of switch indexes ordered by (cost, hops), supports update of the queued switch.
+     */
+    private static final class MinHeap {
+        private final int[] heap;
+        private final int[] positions;
+        private final long[] cost;
+        private final int[] hops;
+        private int size;
+
+        MinHeap(int capacity, long[] cost, int[] hops) {
+            this.heap = new int[capacity];
+            this.positions = new int[capacity];
+            this.cost = cost;
+            this.hops = hops;
+            Arrays.fill(positions, -1);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int vertex) {
+            heap[size] = vertex;
+            positions[vertex] = size;
+            siftUp(size++);
+        }
+
+        void pushOrUpdate(int vertex) {
+            if (positions[vertex] < 0) {
+                push(vertex);
+            } else {
+                siftUp(positions[vertex]);
+            }
+        }
+
+        int pop() {
+            int top = heap[0];
+            positions[top] = -1;
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                positions[heap[0]] = 0;
+                siftDown(0);
+            }
+            return top;
+        }
+
+        private void siftUp(int position) {
+            int vertex = heap[position];
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (!less(vertex, heap[parent])) {
+                    break;
+                }
+                move(heap[parent], position);
+                position = parent;
+            }
+            move(vertex, position);
+        }
+
+        private void siftDown(int position) {
+            int vertex = heap[position];
+            int half = size >>> 1;
+            while (position < half) {
+                int child = 2 * position + 1;
+                if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!less(heap[child], vertex)) {
+                    break;
+                }
+                move(heap[child], position);
+                position = child;
+            }
+            move(vertex, position);
+        }
+
+        private void move(int vertex, int position) {
+            heap[position] = vertex;
+            positions[vertex] = position;
+        }
+
+        private boolean less(int left, int right) {
+            return cost[left] < cost[right] || (cost[left] == cost[right] && hops[left] < hops[right]);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.algo;
+
+import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.SimpleIsl;
+import org.openkilda.pce.model.SimpleSwitch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact read-only copy of an {@link AvailableNetwork} used by the path search.
+ * <p/>
+ * Switches are numbered from 0. The outbound ISLs of the switch {@code i} occupy positions
+ * {@code offsets[i]} to {@code offsets[i + 1] - 1} of the ISL arrays (compressed sparse row layout),
+ * so the search only walks primitive arrays. The same instance can be shared by any number of searches
+ * over the same network, e.g. forward and reverse path of a flow.
+ */
+public final class IndexedNetwork {
+    private final Map<SwitchId, Integer> indexes = new HashMap<>();
+    private final SwitchId[] switches;
+
+    final int[] offsets;
+    final int[] sources;
+    final int[] targets;
+    final int[] costs;
+    final SimpleIsl[] isls;
+    final boolean negativeCost;
+
+    /**
+     * Builds the index from the current state of the network. Later changes of the network are not
+     * reflected in the index.
+     *
+     * @param network the network to index.
+     */
+    public IndexedNetwork(AvailableNetwork network) {
+        Map<SwitchId, SimpleSwitch> networkSwitches = network.getSwitches();
+
+        // A switch without outbound ISLs is known to the network only as a destination of other ISLs.
+        List<SwitchId> ids = new ArrayList<>();
+        int islCount = 0;
+        for (SimpleSwitch sw : networkSwitches.values()) {
+            register(sw.dpid, ids);
+            for (Set<SimpleIsl> neighbourIsls : sw.outbound.values()) {
+                for (SimpleIsl isl : neighbourIsls) {
+                    register(isl.getDstDpid(), ids);
+                    islCount++;
+                }
+            }
+        }
+
+        switches = ids.toArray(new SwitchId[ids.size()]);
+        offsets = new int[switches.length + 1];
+        sources = new int[islCount];
+        targets = new int[islCount];
+        costs = new int[islCount];
+        isls = new SimpleIsl[islCount];
+
+        int position = 0;
+        boolean negative = false;
+        for (int i = 0; i < switches.length; i++) {
+            offsets[i] = position;
+            SimpleSwitch sw = networkSwitches.get(switches[i]);
+            if (sw == null) {
+                continue;
+            }
+            for (Set<SimpleIsl> neighbourIsls : sw.outbound.values()) {
+                for (SimpleIsl isl : neighbourIsls) {
+                    sources[position] = i;
+                    targets[position] = indexes.get(isl.getDstDpid());
+                    costs[position] = isl.getCost();
+                    isls[position] = isl;
+                    negative |= isl.getCost() < 0;
+                    position++;
+                }
+            }
+        }
+        offsets[switches.length] = position;
+        negativeCost = negative;
+    }
+
+    private void register(SwitchId dpid, List<SwitchId> ids) {
+        if (!indexes.containsKey(dpid)) {
+            indexes.put(dpid, ids.size());
+            ids.add(dpid);
+        }
+    }
+
+    /**
+     * Gets the index of the switch.
+     *
+     * @param dpid the switch id.
+     * @return index of the switch or -1 if the switch is not a part of the network.
+     */
+    public int indexOf(SwitchId dpid) {
+        Integer index = indexes.get(dpid);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Builds the path in the opposite direction, it goes through the same ISLs as the original one.
+     *
+     * @param path the original path.
+     * @return the reverse path or an empty list if any of the reverse ISLs is not a part of the network.
+     */
+    public LinkedList<SimpleIsl> mirror(List<SimpleIsl> path) {
+        LinkedList<SimpleIsl> result = new LinkedList<>();
+        for (SimpleIsl isl : path) {
+            int edge = findIsl(isl.getDstDpid(), isl.getDstPort(), isl.getSrcDpid(), isl.getSrcPort());
+            if (edge < 0) {
+                return new LinkedList<>();
+            }
+            result.addFirst(isls[edge]);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the index of the ISL.
+     *
+     * @return index of the ISL or -1 if it is not a part of the network.
+     */
+    int findIsl(SwitchId srcDpid, int srcPort, SwitchId dstDpid, int dstPort) {
+        int src = indexOf(srcDpid);
+        if (src < 0) {
+            return -1;
+        }
+        for (int edge = offsets[src]; edge < offsets[src + 1]; edge++) {
+            SimpleIsl isl = isls[edge];
+            if (isl.getSrcPort() == srcPort && isl.getDstPort() == dstPort && isl.getDstDpid().equals(dstDpid)) {
+                return edge;
+            }
+        }
+        return -1;
+    }
+
+    public SwitchId getSwitchId(int index) {
+        return switches[index];
+    }
+
+    public int getSwitchCount() {
+        return switches.length;
+    }
+
+    public int getIslCount() {
+        return isls.length;
+    }
+}
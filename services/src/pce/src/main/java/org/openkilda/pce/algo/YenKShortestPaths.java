@@ -0,0 +1,164 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.algo;
+
+import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.pce.algo.DijkstraShortestPath.Path;
+import org.openkilda.pce.model.SimpleIsl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Finds up to K cheapest loop-free paths between two switches (Yen's algorithm).
+ * <p/>
+ * Algorithm Notes:
+ * 1. the first path is the cheapest one, found by {@link DijkstraShortestPath}.
+ * 2. each next path deviates from one of the found paths at some switch (the spur switch): the part before
+ *    the spur switch (root) is kept, the rest is the cheapest path from the spur switch which doesn't go
+ *    through the root switches and doesn't use the ISLs the already found paths with the same root leave
+ *    the spur switch by.
+ * 3. the cheapest of these candidates becomes the next path.
+ * <p/>
+ * Paths are limited by the depth the same way as in {@link DijkstraShortestPath}.
+ */
+public class YenKShortestPaths {
+
+    private static final Logger logger = LoggerFactory.getLogger(YenKShortestPaths.class);
+
+    private final IndexedNetwork network;
+    private final int start;
+    private final int end;
+    private final int maxHops;
+
+    public YenKShortestPaths(IndexedNetwork network, SwitchId srcDpid, SwitchId dstDpid, int allowedDepth) {
+        this.network = network;
+        this.start = network.indexOf(srcDpid);
+        this.end = network.indexOf(dstDpid);
+        this.maxHops = allowedDepth + 1;
+    }
+
+    /**
+     * Finds the paths.
+     *
+     * @param count max number of paths to find.
+     * @return paths ordered by cost, the first one is the same as {@link DijkstraShortestPath#getPath()} gives.
+     */
+    public List<LinkedList<SimpleIsl>> getPaths(int count) {
+        List<LinkedList<SimpleIsl>> result = new ArrayList<>();
+        if (start < 0 || end < 0 || start == end || count < 1) {
+            return result;
+        }
+
+        List<Path> found = new ArrayList<>();
+        Path first = DijkstraShortestPath.findPath(network, start, end, maxHops, null, null);
+        if (first == null) {
+            return result;
+        }
+        found.add(first);
+
+        PriorityQueue<Path> candidates = new PriorityQueue<>(
+                Comparator.comparingLong((Path path) -> path.cost).thenComparingInt(path -> path.edges.length));
+        Set<List<Integer>> known = new HashSet<>();
+        known.add(toKey(first.edges));
+
+        while (found.size() < count) {
+            Path previous = found.get(found.size() - 1);
+            for (int i = 0; i < previous.edges.length; i++) {
+                Path candidate = deviate(found, previous, i);
+                if (candidate != null && known.add(toKey(candidate.edges))) {
+                    candidates.add(candidate);
+                }
+            }
+
+            Path next = candidates.poll();
+            if (next == null) {
+                break;
+            }
+            found.add(next);
+        }
+        logger.debug("Found {} of {} requested paths {}->{}", found.size(), count,
+                network.getSwitchId(start), network.getSwitchId(end));
+
+        for (Path path : found) {
+            result.add(path.toIsls(network));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the cheapest path which has the same first {@code spurIndex} ISLs as the previous path.
+     */
+    private Path deviate(List<Path> found, Path previous, int spurIndex) {
+        int[] root = Arrays.copyOf(previous.edges, spurIndex);
+        int spur = network.sources[previous.edges[spurIndex]];
+
+        boolean[] excludedIsls = new boolean[network.getIslCount()];
+        for (Path path : found) {
+            if (path.edges.length > spurIndex && Arrays.equals(root, Arrays.copyOf(path.edges, spurIndex))) {
+                excludedIsls[path.edges[spurIndex]] = true;
+            }
+        }
+
+        boolean[] excludedSwitches = new boolean[network.getSwitchCount()];
+        long rootCost = 0;
+        for (int edge : root) {
+            excludedSwitches[network.sources[edge]] = true;
+            rootCost += network.costs[edge];
+        }
+
+        Path spurPath = DijkstraShortestPath.findPath(network, spur, end, maxHops - spurIndex,
+                excludedSwitches, excludedIsls);
+        if (spurPath == null) {
+            return null;
+        }
+
+        int[] edges = Arrays.copyOf(root, root.length + spurPath.edges.length);
+        System.arraycopy(spurPath.edges, 0, edges, root.length, spurPath.edges.length);
+        if (!isLoopFree(edges)) {
+            return null;
+        }
+        return new Path(rootCost + spurPath.cost, edges);
+    }
+
+    private boolean isLoopFree(int[] edges) {
+        Set<Integer> visited = new HashSet<>();
+        visited.add(start);
+        for (int edge : edges) {
+            if (!visited.add(network.targets[edge])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Integer> toKey(int[] edges) {
+        List<Integer> key = new ArrayList<>(edges.length);
+        for (int edge : edges) {
+            key.add(edge);
+        }
+        return key;
+    }
+}
@@ -56,7 +56,7 @@ public class FlowAdapter {
                 dbRecord.get("bandwidth").asLong(),
                 readBoolean(dbRecord, "ignore_bandwidth", false),
                 readBoolean(dbRecord, "periodic_pings", false),
-                dbRecord.get("cookie").asLong(),
+                readLong(dbRecord, "cookie", 0L),
                 dbRecord.get("description").asString(),
                 dbRecord.get("last_updated").asString(),
                 new SwitchId(dbRecord.get("src_switch").asString()),
@@ -69,12 +69,25 @@ public class FlowAdapter {
                 dbRecord.get("transit_vlan").asInt(),
                 path, FlowState.CACHED
         );
+
+        Value revision = dbRecord.get("revision");
+        if (!revision.isNull()) {
+            flow.setRevision(revision.asLong());
+        }
     }
 
     public Flow getFlow() {
         return flow;
     }
 
+    private long readLong(Record dbRecord, String fieldName, long defaultValue) {
+        Value field = dbRecord.get(fieldName);
+        if (field.isNull()) {
+            return defaultValue;
+        }
+        return field.asLong();
+    }
+
     private boolean readBoolean(Record dbRecord, String fieldName, boolean defaultValue) {
         Value field = dbRecord.get(fieldName);
         if (field.isNull()) {
@@ -38,6 +38,8 @@ import java.util.LinkedList;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -60,6 +62,21 @@ public class FlowCache extends Cache {
      */
     private final Map<String, FlowPair<Flow, Flow>> flowPool = new ConcurrentHashMap<>();
 
+    /**
+     * Ids of the flows going through the switch port (either direction), ISLs are looked up by the source port.
+     */
+    private final Map<PathNode, Set<String>> flowsByPathNode = new ConcurrentHashMap<>();
+
+    /**
+     * Ids of the flows going through the switch, one-switch flows included.
+     */
+    private final Map<SwitchId, Set<String>> flowsBySwitch = new ConcurrentHashMap<>();
+
+    /**
+     * Ids of the flows starting or ending on the switch.
+     */
+    private final Map<SwitchId, Set<String>> flowsByEndpoint = new ConcurrentHashMap<>();
+
     /**
      * Fills cache.
      *
@@ -75,6 +92,9 @@ public class FlowCache extends Cache {
      */
     public void clear() {
         flowPool.clear();
+        flowsByPathNode.clear();
+        flowsBySwitch.clear();
+        flowsByEndpoint.clear();
         resourceCache.clear();
     }
 
@@ -85,7 +105,7 @@ public class FlowCache extends Cache {
      * @return previous flow
      */
     public FlowPair<Flow, Flow> putFlow(FlowPair<Flow, Flow> flow) {
-        return flowPool.put(flow.getLeft().getFlowId(), flow);
+        return storeFlow(flow.getLeft().getFlowId(), flow);
     }
 
     /**
@@ -95,7 +115,7 @@ public class FlowCache extends Cache {
      * @return removed flow
      */
     public FlowPair<Flow, Flow> removeFlow(String flowId) {
-        return flowPool.remove(flowId);
+        return dropFlow(flowId);
     }
 
     /**
@@ -127,12 +147,7 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<FlowPair<Flow, Flow>> getActiveFlowsWithAffectedPath(SwitchId switchId) {
-        return flowPool.values().stream().filter(flow ->
-                flow.getLeft().getFlowPath().getPath().stream()
-                        .anyMatch(node -> node.getSwitchId().equals(switchId))
-                        || flow.getRight().getFlowPath().getPath().stream()
-                        .anyMatch(node -> node.getSwitchId().equals(switchId))
-                        || isOneSwitchFlow(flow) && flow.getLeft().getSourceSwitch().equals(switchId))
+        return lookup(flowsBySwitch, switchId)
                 .filter(flow -> flow.getLeft().getState().isActiveOrCached())
                 .collect(Collectors.toSet());
     }
@@ -144,9 +159,7 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<FlowPair<Flow, Flow>> getActiveFlowsWithAffectedPath(IslInfoData islData) {
-        return flowPool.values().stream()
-                .filter(flow -> flow.getLeft().getFlowPath().getPath().contains(islData.getPath().get(0))
-                        || flow.getRight().getFlowPath().getPath().contains(islData.getPath().get(0)))
+        return lookup(flowsByPathNode, makeNodeKey(islData.getPath().get(0)))
                 .filter(flow -> flow.getLeft().getState().isActiveOrCached())
                 .collect(Collectors.toSet());
     }
@@ -159,9 +172,7 @@ public class FlowCache extends Cache {
      */
     public Set<FlowPair<Flow, Flow>> getActiveFlowsWithAffectedPath(PortInfoData portData) {
         PathNode node = new PathNode(portData.getSwitchId(), portData.getPortNo(), 0);
-        return flowPool.values().stream()
-                .filter(flow -> flow.getLeft().getFlowPath().getPath().contains(node)
-                        || flow.getRight().getFlowPath().getPath().contains(node))
+        return lookup(flowsByPathNode, node)
                 .filter(flow -> flow.getLeft().getState().isActiveOrCached())
                 .collect(Collectors.toSet());
     }
@@ -173,12 +184,7 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<FlowPair<Flow, Flow>> getFlowsWithAffectedPath(SwitchId switchId) {
-        return flowPool.values().stream().filter(flow ->
-                flow.getLeft().getFlowPath().getPath().stream()
-                        .anyMatch(node -> node.getSwitchId().equals(switchId))
-                        || flow.getRight().getFlowPath().getPath().stream()
-                        .anyMatch(node -> node.getSwitchId().equals(switchId))
-                        || isOneSwitchFlow(flow) && flow.getLeft().getSourceSwitch().equals(switchId))
+        return lookup(flowsBySwitch, switchId)
                 .collect(Collectors.toSet());
     }
 
@@ -189,9 +195,7 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<FlowPair<Flow, Flow>> getFlowsWithAffectedPath(IslInfoData islData) {
-        return flowPool.values().stream()
-                .filter(flow -> flow.getLeft().getFlowPath().getPath().contains(islData.getPath().get(0))
-                        || flow.getRight().getFlowPath().getPath().contains(islData.getPath().get(0)))
+        return lookup(flowsByPathNode, makeNodeKey(islData.getPath().get(0)))
                 .collect(Collectors.toSet());
     }
 
@@ -203,9 +207,7 @@ public class FlowCache extends Cache {
      */
     public Set<FlowPair<Flow, Flow>> getFlowsWithAffectedPath(PortInfoData portData) {
         PathNode node = new PathNode(portData.getSwitchId(), portData.getPortNo(), 0);
-        return flowPool.values().stream().filter(flow ->
-                flow.getLeft().getFlowPath().getPath().contains(node)
-                        || flow.getRight().getFlowPath().getPath().contains(node))
+        return lookup(flowsByPathNode, node)
                 .collect(Collectors.toSet());
     }
 
@@ -218,7 +220,7 @@ public class FlowCache extends Cache {
     public Map<String, String> getFlowsWithAffectedEndpoint(SwitchId switchId) {
         Map<String, String> response = new HashMap<>();
 
-        for (FlowPair<Flow, Flow> flow : flowPool.values()) {
+        for (FlowPair<Flow, Flow> flow : lookup(flowsByEndpoint, switchId).collect(Collectors.toList())) {
             SwitchId endpoint = getFlowLinkedEndpoint(flow, switchId);
             if (endpoint != null) {
                 response.put(flow.getLeft().getFlowId(), endpoint.toString());
@@ -277,7 +279,7 @@ public class FlowCache extends Cache {
 
         FlowPair<Flow, Flow> newFlow = buildFlow(flow, path);
         resourceCache.allocateFlow(newFlow);
-        flowPool.put(flowId, newFlow);
+        storeFlow(flowId, newFlow);
 
         return newFlow;
     }
@@ -291,7 +293,7 @@ public class FlowCache extends Cache {
     public FlowPair<Flow, Flow> deleteFlow(String flowId) {
         logger.debug("Delete {} flow", flowId);
 
-        FlowPair<Flow, Flow> flow = flowPool.remove(flowId);
+        FlowPair<Flow, Flow> flow = dropFlow(flowId);
         if (flow == null) {
             throw new CacheException(ErrorType.NOT_FOUND, "Can not delete flow",
                     String.format("Flow %s not found", flowId));
@@ -313,7 +315,7 @@ public class FlowCache extends Cache {
         String flowId = flow.getFlowId();
         logger.debug("Update {} flow with {} parameters", flowId, flow);
 
-        FlowPair<Flow, Flow> oldFlow = flowPool.remove(flowId);
+        FlowPair<Flow, Flow> oldFlow = dropFlow(flowId);
         if (oldFlow == null) {
             throw new CacheException(ErrorType.NOT_FOUND, "Can not update flow",
                     String.format("Flow %s not found", flowId));
@@ -325,9 +327,9 @@ public class FlowCache extends Cache {
             resourceCache.deallocateFlow(oldFlow);
 
             resourceCache.allocateFlow(newFlow);
-            flowPool.put(flowId, newFlow);
+            storeFlow(flowId, newFlow);
         } catch (Throwable e) {
-            flowPool.put(flowId, oldFlow);
+            storeFlow(flowId, oldFlow);
             throw e;
         }
 
@@ -344,6 +346,15 @@ public class FlowCache extends Cache {
         return new HashSet<>(flowPool.values());
     }
 
+    /**
+     * Gets ids of all flows in the sorted order, cheaper than {@link #dumpFlows()} if the flows are not needed.
+     *
+     * @return all flow ids
+     */
+    public SortedSet<String> getFlowIds() {
+        return new TreeSet<>(flowPool.keySet());
+    }
+
     /**
      * Returns intersection between two paths.
      *
@@ -489,7 +500,7 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<Flow> getFlowsForEndpoint(SwitchId switchId, int port) {
-        return flowPool.values().stream()
+        return lookup(flowsByEndpoint, switchId)
                 .flatMap(pair -> Stream.of(pair.getLeft(), pair.getRight()))
                 .filter(flow -> flow.getSourceSwitch().equals(switchId) && flow.getSourcePort() == port
                         || flow.getDestinationSwitch().equals(switchId) && flow.getDestinationPort() == port)
@@ -509,7 +520,7 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<Flow> getFlowsForEndpoint(SwitchId switchId, int port, int vlan) {
-        return flowPool.values().stream()
+        return lookup(flowsByEndpoint, switchId)
                 .flatMap(pair -> Stream.of(pair.getLeft(), pair.getRight()))
                 .filter(flow -> flow.getSourceSwitch().equals(switchId) && flow.getSourcePort() == port
                         && (flow.getSourceVlan() == vlan || flow.getSourceVlan() == 0)
@@ -523,7 +534,7 @@ public class FlowCache extends Cache {
      * Gets flow pairs which have source or destination is on the switch.
      */
     public Set<FlowPair<Flow, Flow>> getIngressAndEgressFlows(SwitchId switchId) {
-        return flowPool.values().stream()
+        return lookup(flowsByEndpoint, switchId)
                 .filter(flowPair -> Objects.nonNull(getFlowLinkedEndpoint(flowPair, switchId)))
                 .collect(Collectors.toSet());
     }
@@ -541,6 +552,77 @@ public class FlowCache extends Cache {
         return resourceCache.getAllMeterIds();
     }
 
+    /**
+     * Puts the flow to the pool and updates the indexes.
+     */
+    private FlowPair<Flow, Flow> storeFlow(String flowId, FlowPair<Flow, Flow> flow) {
+        FlowPair<Flow, Flow> previous = flowPool.put(flowId, flow);
+        if (previous != null) {
+            updateIndexes(flowId, previous, false);
+        }
+        updateIndexes(flowId, flow, true);
+        return previous;
+    }
+
+    /**
+     * Removes the flow from the pool and the indexes.
+     */
+    private FlowPair<Flow, Flow> dropFlow(String flowId) {
+        FlowPair<Flow, Flow> flow = flowPool.remove(flowId);
+        if (flow != null) {
+            updateIndexes(flowId, flow, false);
+        }
+        return flow;
+    }
+
+    private void updateIndexes(String flowId, FlowPair<Flow, Flow> flow, boolean add) {
+        for (Flow direction : new Flow[]{flow.getLeft(), flow.getRight()}) {
+            if (direction == null) {
+                continue;
+            }
+            if (direction.getFlowPath() != null && direction.getFlowPath().getPath() != null) {
+                for (PathNode node : direction.getFlowPath().getPath()) {
+                    updateIndex(flowsByPathNode, makeNodeKey(node), flowId, add);
+                    updateIndex(flowsBySwitch, node.getSwitchId(), flowId, add);
+                }
+            }
+            updateIndex(flowsByEndpoint, direction.getSourceSwitch(), flowId, add);
+            updateIndex(flowsByEndpoint, direction.getDestinationSwitch(), flowId, add);
+        }
+        if (flow.getLeft() != null && flow.getRight() != null && isOneSwitchFlow(flow)) {
+            updateIndex(flowsBySwitch, flow.getLeft().getSourceSwitch(), flowId, add);
+        }
+    }
+
+    private static <K> void updateIndex(Map<K, Set<String>> index, K key, String flowId, boolean add) {
+        if (key == null) {
+            return;
+        }
+        if (add) {
+            index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(flowId);
+        } else {
+            index.computeIfPresent(key, (k, flows) -> flows.remove(flowId) && flows.isEmpty() ? null : flows);
+        }
+    }
+
+    private <K> Stream<FlowPair<Flow, Flow>> lookup(Map<K, Set<String>> index, K key) {
+        // flows without the key are not indexed, see updateIndex
+        if (key == null) {
+            return Stream.empty();
+        }
+        Set<String> flowIds = index.get(key);
+        if (flowIds == null) {
+            return Stream.empty();
+        }
+        return flowIds.stream()
+                .map(flowPool::get)
+                .filter(Objects::nonNull);
+    }
+
+    private static PathNode makeNodeKey(PathNode node) {
+        return new PathNode(node.getSwitchId(), node.getPortNo(), 0);
+    }
+
     /**
      * {@inheritDoc}
      */
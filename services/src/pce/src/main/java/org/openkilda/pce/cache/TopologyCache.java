@@ -0,0 +1,302 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.cache;
+
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.pce.model.TopologySnapshot;
+import org.openkilda.pce.model.TopologySnapshot.Link;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Long-lived topology used by path computation. It is loaded once and then kept up to date by switch
+ * and ISL events, so each path request filters it in memory instead of reading the whole network from
+ * the database.
+ * <p/>
+ * Updates are copy-on-write: every change publishes a new {@link TopologySnapshot} with an increased
+ * version, readers never block and always see a consistent view.
+ */
+public class TopologyCache extends Cache {
+    private static final Logger logger = LoggerFactory.getLogger(TopologyCache.class);
+
+    /**
+     * Max age of the loaded snapshot in milliseconds, after that it should be reloaded from the storage.
+     * The bandwidth changes made outside of this instance are picked up from ISL events, on reload and by
+     * {@link #refreshAvailableBandwidth(Collection)}.
+     */
+    private final long maxAge;
+
+    private volatile TopologySnapshot snapshot = TopologySnapshot.EMPTY;
+
+    /**
+     * Content of the latest snapshot. These collections are never modified after publishing, any change
+     * is made on a copy.
+     */
+    private Set<SwitchId> switches = new HashSet<>();
+    private Map<String, Link> links = new HashMap<>();
+
+    /**
+     * Discovered links which are kept out of path computation until their cost is read from the storage.
+     * The cost isn't a part of the ISL event, and the TE penalizes the cost of a link which went down, so a
+     * link coming back must not be used with a guessed cost.
+     */
+    private final Map<String, Link> pendingLinks = new HashMap<>();
+
+    /**
+     * Costs of the links removed on failure. Used for a link discovered again if the storage has no cost
+     * for it (yet).
+     */
+    private final Map<String, Integer> retainedCosts = new HashMap<>();
+
+    public TopologyCache(long maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Gets current snapshot of the topology.
+     *
+     * @return the latest published snapshot.
+     */
+    public TopologySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Checks whether the topology should be (re)loaded from the storage.
+     *
+     * @return true if nothing was loaded yet or loaded data is too old.
+     */
+    public boolean isReloadRequired() {
+        TopologySnapshot current = snapshot;
+        return current.getLoadTime() == 0L || System.currentTimeMillis() - current.getLoadTime() > maxAge;
+    }
+
+    /**
+     * Replaces the whole topology with provided switches and links.
+     *
+     * @param activeSwitches switches in the active state.
+     * @param links active links.
+     */
+    public synchronized void load(Collection<SwitchId> activeSwitches, Collection<Link> links) {
+        Map<String, Link> linksMap = new HashMap<>();
+        for (Link link : links) {
+            linksMap.put(link.getKey(), link);
+        }
+        switches = new HashSet<>(activeSwitches);
+        this.links = linksMap;
+        pendingLinks.keySet().removeAll(linksMap.keySet());
+        retainedCosts.keySet().removeAll(linksMap.keySet());
+        snapshot = new TopologySnapshot(snapshot.getVersion() + 1, System.currentTimeMillis(), switches, linksMap);
+        logger.info("Topology cache loaded: {}", snapshot);
+    }
+
+    /**
+     * Applies switch state change.
+     *
+     * @param sw the switch info data.
+     */
+    public synchronized void handleSwitchEvent(SwitchInfoData sw) {
+        boolean active;
+        switch (sw.getState()) {
+            case ADDED:
+            case ACTIVATED:
+                active = true;
+                break;
+            case REMOVED:
+            case DEACTIVATED:
+                active = false;
+                break;
+            default:
+                return;
+        }
+
+        if (switches.contains(sw.getSwitchId()) == active) {
+            return;
+        }
+
+        Set<SwitchId> updated = new HashSet<>(switches);
+        if (active) {
+            updated.add(sw.getSwitchId());
+        } else {
+            updated.remove(sw.getSwitchId());
+        }
+        publish(updated, links);
+    }
+
+    /**
+     * Applies ISL state change. Discovered ISL keeps the cost tracked by the cache and takes the available
+     * bandwidth from the event, failed ISL is removed. An ISL unknown to the cache becomes pending until its cost
+     * is resolved by {@link #resolvePendingLinks(Map)}.
+     *
+     * @param isl the ISL info data.
+     */
+    public synchronized void handleIslEvent(IslInfoData isl) {
+        if (isl.getPath() == null || isl.getPath().size() != 2 || isl.isSelfLooped()) {
+            return;
+        }
+
+        Map<String, Link> updated;
+        switch (isl.getState()) {
+            case DISCOVERED:
+                PathNode src = isl.getPath().get(0);
+                PathNode dst = isl.getPath().get(1);
+                Link current = links.get(isl.getId());
+                if (current == null) {
+                    pendingLinks.put(isl.getId(), new Link(src.getSwitchId(), dst.getSwitchId(),
+                            src.getPortNo(), dst.getPortNo(), retainedCosts.getOrDefault(isl.getId(), 0),
+                            (int) isl.getLatency(), isl.getAvailableBandwidth()));
+                    return;
+                }
+                Link link = new Link(src.getSwitchId(), dst.getSwitchId(), src.getPortNo(), dst.getPortNo(),
+                        current.getCost(), (int) isl.getLatency(), isl.getAvailableBandwidth());
+                if (link.equals(current)) {
+                    return;
+                }
+                updated = new HashMap<>(links);
+                updated.put(link.getKey(), link);
+                break;
+
+            case FAILED:
+            case MOVED:
+                pendingLinks.remove(isl.getId());
+                current = links.get(isl.getId());
+                if (current == null) {
+                    return;
+                }
+                retainedCosts.put(isl.getId(), current.getCost());
+                updated = new HashMap<>(links);
+                updated.remove(isl.getId());
+                break;
+
+            default:
+                return;
+        }
+        publish(switches, updated);
+    }
+
+    /**
+     * Gets the discovered links waiting for their cost.
+     *
+     * @return copy of the pending links.
+     */
+    public synchronized Collection<Link> getPendingLinks() {
+        return new ArrayList<>(pendingLinks.values());
+    }
+
+    /**
+     * Adds the pending links with the costs read from the storage. A link missing in the storage gets
+     * the cost it had before the failure, if it was known to the cache, otherwise it stays pending.
+     *
+     * @param costs link costs by the link key.
+     */
+    public synchronized void resolvePendingLinks(Map<String, Integer> costs) {
+        Map<String, Link> updated = null;
+        Iterator<Link> iterator = pendingLinks.values().iterator();
+        while (iterator.hasNext()) {
+            Link link = iterator.next();
+            Integer cost = costs.getOrDefault(link.getKey(), retainedCosts.get(link.getKey()));
+            if (cost == null) {
+                continue;
+            }
+            if (updated == null) {
+                updated = new HashMap<>(links);
+            }
+            updated.put(link.getKey(), link.withCost(cost));
+            retainedCosts.remove(link.getKey());
+            iterator.remove();
+        }
+
+        if (updated != null) {
+            publish(switches, updated);
+        }
+    }
+
+    /**
+     * Adjusts the available bandwidth of all links the path goes through.
+     *
+     * @param path the flow path.
+     * @param delta the amount of bandwidth to add (positive) or to take (negative).
+     */
+    public synchronized void updateAvailableBandwidth(PathInfoData path, long delta) {
+        if (path == null || path.getPath() == null || delta == 0) {
+            return;
+        }
+
+        Map<String, Link> updated = null;
+        List<PathNode> nodes = path.getPath();
+        for (int i = 0; i + 1 < nodes.size(); i += 2) {
+            PathNode src = nodes.get(i);
+            String key = TopologySnapshot.makeLinkKey(src.getSwitchId(), src.getPortNo());
+            Link link = links.get(key);
+            if (link == null) {
+                continue;
+            }
+            if (updated == null) {
+                updated = new HashMap<>(links);
+            }
+            updated.put(key, link.withAvailableBandwidth(link.getAvailableBandwidth() + delta));
+        }
+
+        if (updated != null) {
+            publish(switches, updated);
+        }
+    }
+
+    /**
+     * Replaces the available bandwidth of the known links with the values read from the storage. The storage
+     * is shared by all instances, so it has the bandwidth taken by the flows of other instances.
+     *
+     * @param stored the links read from the storage, only the available bandwidth is taken from them.
+     */
+    public synchronized void refreshAvailableBandwidth(Collection<Link> stored) {
+        Map<String, Link> updated = null;
+        for (Link link : stored) {
+            Link current = links.get(link.getKey());
+            if (current == null || current.getAvailableBandwidth() == link.getAvailableBandwidth()) {
+                continue;
+            }
+            if (updated == null) {
+                updated = new HashMap<>(links);
+            }
+            updated.put(link.getKey(), current.withAvailableBandwidth(link.getAvailableBandwidth()));
+        }
+
+        if (updated != null) {
+            publish(switches, updated);
+        }
+    }
+
+    private void publish(Set<SwitchId> switches, Map<String, Link> links) {
+        this.switches = switches;
+        this.links = links;
+        snapshot = new TopologySnapshot(snapshot.getVersion() + 1, snapshot.getLoadTime(), switches, links);
+        logger.debug("Topology cache updated: {}", snapshot);
+    }
+}
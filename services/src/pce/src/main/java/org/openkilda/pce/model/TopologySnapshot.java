@@ -0,0 +1,129 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.model;
+
+import org.openkilda.messaging.model.SwitchId;
+
+import lombok.Value;
+import org.neo4j.driver.v1.Driver;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, versioned view of the network used for path computation. A snapshot is never modified once
+ * published, so any number of path computations can read it concurrently without locking.
+ * <p/>
+ * Links are kept regardless of the available bandwidth; the bandwidth filter is applied per request
+ * by {@link #makeAvailableNetwork(Driver, boolean, long)}.
+ */
+public final class TopologySnapshot {
+    public static final TopologySnapshot EMPTY = new TopologySnapshot(
+            0L, 0L, Collections.emptySet(), Collections.emptyMap());
+
+    private final long version;
+    private final long loadTime;
+    private final Set<SwitchId> activeSwitches;
+    private final Map<String, Link> links;
+
+    public TopologySnapshot(long version, long loadTime, Set<SwitchId> activeSwitches, Map<String, Link> links) {
+        this.version = version;
+        this.loadTime = loadTime;
+        this.activeSwitches = Collections.unmodifiableSet(activeSwitches);
+        this.links = Collections.unmodifiableMap(links);
+    }
+
+    /**
+     * Builds a new {@link AvailableNetwork} instance from the links of this snapshot. Only active links
+     * between active switches are included.
+     *
+     * @param driver the driver passed to the network, used by DB backed operations on it.
+     * @param ignoreBandwidth defines whether bandwidth of links should be ignored.
+     * @param requestedBandwidth links in path should have enough amount of available bandwidth.
+     * @return built network.
+     */
+    public AvailableNetwork makeAvailableNetwork(Driver driver, boolean ignoreBandwidth, long requestedBandwidth) {
+        AvailableNetwork network = new AvailableNetwork(driver);
+        for (Link link : links.values()) {
+            if (!activeSwitches.contains(link.getSrcSwitch()) || !activeSwitches.contains(link.getDstSwitch())) {
+                continue;
+            }
+            if (!ignoreBandwidth && link.getAvailableBandwidth() < requestedBandwidth) {
+                continue;
+            }
+            network.addLink(link.getSrcSwitch(), link.getDstSwitch(), link.getSrcPort(), link.getDstPort(),
+                    link.getCost(), link.getLatency());
+        }
+        return network;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getLoadTime() {
+        return loadTime;
+    }
+
+    public Set<SwitchId> getActiveSwitches() {
+        return activeSwitches;
+    }
+
+    public Map<String, Link> getLinks() {
+        return links;
+    }
+
+    /**
+     * Builds the key used to identify the link in the snapshot, it has the same format as
+     * {@link org.openkilda.messaging.info.event.IslInfoData#getId()}.
+     */
+    public static String makeLinkKey(SwitchId srcSwitch, int srcPort) {
+        return String.format("%s_%d", srcSwitch, srcPort);
+    }
+
+    @Override
+    public String toString() {
+        return "TopologySnapshot{version=" + version + ", switches=" + activeSwitches.size()
+                + ", links=" + links.size() + "}";
+    }
+
+    /**
+     * The active link in the snapshot with the properties which are required for path computation.
+     */
+    @Value
+    public static class Link {
+        private final SwitchId srcSwitch;
+        private final SwitchId dstSwitch;
+        private final int srcPort;
+        private final int dstPort;
+        private final int cost;
+        private final int latency;
+        private final long availableBandwidth;
+
+        public String getKey() {
+            return makeLinkKey(srcSwitch, srcPort);
+        }
+
+        public Link withAvailableBandwidth(long bandwidth) {
+            return new Link(srcSwitch, dstSwitch, srcPort, dstPort, cost, latency, bandwidth);
+        }
+
+        public Link withCost(int cost) {
+            return new Link(srcSwitch, dstSwitch, srcPort, dstPort, cost, latency, availableBandwidth);
+        }
+    }
+}
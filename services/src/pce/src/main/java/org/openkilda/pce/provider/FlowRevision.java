@@ -0,0 +1,66 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.provider;
+
+import java.io.Serializable;
+
+/**
+ * Flow id and the revision of the stored flow, used to find the flows changed since they were cached.
+ */
+public final class FlowRevision implements Serializable {
+    /**
+     * The revision of the flow which halves are stored with different or unknown revisions.
+     */
+    public static final long UNKNOWN = 0;
+
+    private final String flowId;
+    private final long revision;
+
+    public FlowRevision(String flowId, long revision) {
+        this.flowId = flowId;
+        this.revision = revision;
+    }
+
+    /**
+     * Revision of the flow made of two halves, {@link #UNKNOWN} if the revision of any of them is unknown.
+     */
+    public static long combine(long first, long second) {
+        if (first == UNKNOWN || second == UNKNOWN) {
+            return UNKNOWN;
+        }
+        return Math.max(first, second);
+    }
+
+    public String getFlowId() {
+        return flowId;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Whether the flow is known to be unchanged since the {@code cachedRevision} was read.
+     */
+    public boolean isSameAs(long cachedRevision) {
+        return revision != UNKNOWN && revision == cachedRevision;
+    }
+
+    @Override
+    public String toString() {
+        return flowId + "@" + revision;
+    }
+}
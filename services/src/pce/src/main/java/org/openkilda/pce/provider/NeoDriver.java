@@ -27,10 +27,14 @@ import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.model.FlowPair;
 import org.openkilda.messaging.model.SwitchId;
 import org.openkilda.pce.RecoverableException;
-import org.openkilda.pce.algo.SimpleGetShortestPath;
+import org.openkilda.pce.algo.DijkstraShortestPath;
+import org.openkilda.pce.algo.IndexedNetwork;
+import org.openkilda.pce.algo.YenKShortestPaths;
 import org.openkilda.pce.api.FlowAdapter;
+import org.openkilda.pce.cache.TopologyCache;
 import org.openkilda.pce.model.AvailableNetwork;
 import org.openkilda.pce.model.SimpleIsl;
+import org.openkilda.pce.model.TopologySnapshot;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.neo4j.driver.v1.AccessMode;
@@ -43,23 +47,67 @@ import org.neo4j.driver.v1.Values;
 import org.neo4j.driver.v1.exceptions.ClientException;
 import org.neo4j.driver.v1.exceptions.TransientException;
 import org.neo4j.driver.v1.types.Entity;
+import org.neo4j.driver.v1.types.Relationship;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @SuppressWarnings("squid:S1192")
 public class NeoDriver implements PathComputer {
     private static final Logger logger = LoggerFactory.getLogger(NeoDriver.class);
 
+    /**
+     * Max depth of the path search, see {@link DijkstraShortestPath}.
+     */
+    private static final int ALLOWED_DEPTH = 35;
+
+    /**
+     * The flow fields {@link FlowAdapter} reads from a record.
+     */
+    private static final String FLOW_FIELDS = ""
+            + "RETURN f.flowid as flowid,\n"
+            + "       f.bandwidth as bandwidth,\n"
+            + "       f.ignore_bandwidth as ignore_bandwidth,\n"
+            + "       f.periodic_pings as periodic_pings,\n"
+            + "       f.cookie as cookie,\n"
+            + "       f.description as description,\n"
+            + "       f.last_updated as last_updated,\n"
+            + "       f.src_switch as src_switch,\n"
+            + "       f.dst_switch as dst_switch,\n"
+            + "       f.src_port as src_port,\n"
+            + "       f.dst_port as dst_port,\n"
+            + "       f.src_vlan as src_vlan,\n"
+            + "       f.dst_vlan as dst_vlan,\n"
+            + "       f.flowpath as path,\n"
+            + "       f.meter_id as meter_id,\n"
+            + "       f.transit_vlan as transit_vlan,\n"
+            + "       f.revision as revision";
+
     private final Driver driver;
 
+    /**
+     * In-memory topology used instead of reading the network from the database for every request.
+     */
+    private final TopologyCache topologyCache;
+
     public NeoDriver(Driver driver) {
+        this(driver, null);
+    }
+
+    public NeoDriver(Driver driver, TopologyCache topologyCache) {
         this.driver = driver;
+        this.topologyCache = topologyCache;
     }
 
     /**
@@ -68,7 +116,7 @@ public class NeoDriver implements PathComputer {
     @Override
     public FlowPair<PathInfoData, PathInfoData> getPath(Flow flow, Strategy strategy)
             throws UnroutablePathException, RecoverableException {
-        AvailableNetwork network = new AvailableNetwork(driver, flow.isIgnoreBandwidth(), flow.getBandwidth());
+        AvailableNetwork network = getAvailableNetwork(flow.isIgnoreBandwidth(), flow.getBandwidth());
         return getPath(flow, network, strategy);
     }
 
@@ -78,42 +126,200 @@ public class NeoDriver implements PathComputer {
     @Override
     public FlowPair<PathInfoData, PathInfoData> getPath(Flow flow, AvailableNetwork network, Strategy strategy)
             throws UnroutablePathException, RecoverableException {
+        if (flow.isOneSwitchFlow()) {
+            logger.info("No path computation for one-switch flow");
+            return toFlowPath(new LinkedList<>(), new LinkedList<>());
+        }
 
-        long latency = 0L;
-        List<PathNode> forwardNodes = new LinkedList<>();
-        List<PathNode> reverseNodes = new LinkedList<>();
+        // FIXME(surabujin): Need to catch and trace exact exception thrown in recoverable places.
+        try {
+            Pair<LinkedList<SimpleIsl>, LinkedList<SimpleIsl>> biPath = getPathFromNetwork(flow, network, strategy);
+            if (biPath.getLeft().size() == 0 || biPath.getRight().size() == 0) {
+                throw new UnroutablePathException(flow);
+            }
+            return toFlowPath(biPath.getLeft(), biPath.getRight());
+        } catch (TransientException e) {
+            throw new RecoverableException("TransientError from neo4j", e);
+        } catch (ClientException e) {
+            throw new RecoverableException("ClientException from neo4j", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FlowPair<PathInfoData, PathInfoData>> getKPaths(Flow flow, AvailableNetwork network, int count) {
+        List<FlowPair<PathInfoData, PathInfoData>> result = new ArrayList<>();
+        if (flow.isOneSwitchFlow()) {
+            result.add(toFlowPath(new LinkedList<>(), new LinkedList<>()));
+            return result;
+        }
+
+        network.removeSelfLoops().reduceByCost();
+        IndexedNetwork indexedNetwork = new IndexedNetwork(network);
+        YenKShortestPaths paths = new YenKShortestPaths(indexedNetwork,
+                flow.getSourceSwitch(), flow.getDestinationSwitch(), ALLOWED_DEPTH);
+        return toFlowPaths(indexedNetwork, paths.getPaths(count));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The topology is read once for the whole batch. Flows are routed one by one starting from the largest
+     * bandwidth, each found path takes its bandwidth from the batch copy of the topology, so the following
+     * flows don't get the same ISLs if they can't fit there together.
+     */
+    @Override
+    public Map<String, FlowPair<PathInfoData, PathInfoData>> getPaths(Collection<FlowPair<Flow, Flow>> flows)
+            throws RecoverableException {
+        TopologyCache batchTopology = new TopologyCache(Long.MAX_VALUE);
+        try {
+            if (topologyCache == null) {
+                loadTopology(batchTopology);
+            } else {
+                refreshTopology(topologyCache);
+                TopologySnapshot snapshot = topologyCache.getSnapshot();
+                batchTopology.load(snapshot.getActiveSwitches(), snapshot.getLinks().values());
+            }
+        } catch (TransientException e) {
+            throw new RecoverableException("TransientError from neo4j", e);
+        } catch (ClientException e) {
+            throw new RecoverableException("ClientException from neo4j", e);
+        }
 
-        if (!flow.isOneSwitchFlow()) {
+        List<FlowPair<Flow, Flow>> ordered = new ArrayList<>(flows);
+        ordered.sort(Comparator.comparingLong((FlowPair<Flow, Flow> flow) -> flow.getLeft().getBandwidth())
+                .reversed());
+
+        Map<String, FlowPair<PathInfoData, PathInfoData>> result = new HashMap<>();
+        for (FlowPair<Flow, Flow> flow : ordered) {
+            Flow forward = flow.getLeft();
+            // the bandwidth the flow occupies now is available for its new path
+            updateBandwidth(batchTopology, flow, 1L);
+            AvailableNetwork network = batchTopology.getSnapshot().makeAvailableNetwork(driver,
+                    forward.isIgnoreBandwidth(), forward.getBandwidth());
             try {
-                Pair<LinkedList<SimpleIsl>, LinkedList<SimpleIsl>> biPath = getPathFromNetwork(flow, network, strategy);
-                if (biPath.getLeft().size() == 0 || biPath.getRight().size() == 0) {
-                    throw new UnroutablePathException(flow);
+                FlowPair<PathInfoData, PathInfoData> path = getPath(forward, network, Strategy.COST);
+                result.put(forward.getFlowId(), path);
+                if (!forward.isIgnoreBandwidth()) {
+                    batchTopology.updateAvailableBandwidth(path.getLeft(), -forward.getBandwidth());
+                    batchTopology.updateAvailableBandwidth(path.getRight(), -forward.getBandwidth());
                 }
+            } catch (UnroutablePathException e) {
+                logger.debug("There is no path for the flow {} in the batch", forward.getFlowId());
+                updateBandwidth(batchTopology, flow, -1L);
+            }
+        }
+        logger.info("Found paths for {} of {} flows", result.size(), ordered.size());
+        return result;
+    }
 
-                int seqId = 0;
-                LinkedList<SimpleIsl> forwardIsl = biPath.getLeft();
-                for (SimpleIsl isl : forwardIsl) {
-                    latency += isl.getLatency();
-                    forwardNodes.add(new PathNode(isl.getSrcDpid(), isl.getSrcPort(),
-                            seqId++, (long) isl.getLatency()));
-                    forwardNodes.add(new PathNode(isl.getDstDpid(), isl.getDstPort(), seqId++, 0L));
-                }
+    private void updateBandwidth(TopologyCache topology, FlowPair<Flow, Flow> flow, long sign) {
+        for (Flow direction : new Flow[]{flow.getLeft(), flow.getRight()}) {
+            if (direction != null && !direction.isIgnoreBandwidth()) {
+                topology.updateAvailableBandwidth(direction.getFlowPath(), sign * direction.getBandwidth());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The available bandwidth of the path ISLs read from the database is also put into the topology cache, so
+     * the following requests don't get the same ISLs. The bandwidth the flow already occupies on an ISL counts
+     * as available, as it does for the flow update.
+     */
+    @Override
+    public boolean confirmBandwidth(Flow flow, FlowPair<PathInfoData, PathInfoData> path)
+            throws RecoverableException {
+        if (flow.isIgnoreBandwidth()) {
+            return true;
+        }
+
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (PathInfoData direction : new PathInfoData[]{path.getLeft(), path.getRight()}) {
+            List<PathNode> nodes = direction.getPath();
+            for (int i = 0; i + 1 < nodes.size(); i += 2) {
+                Map<String, Object> key = new HashMap<>();
+                key.put("src_switch", nodes.get(i).getSwitchId().toString());
+                key.put("src_port", nodes.get(i).getPortNo());
+                keys.add(key);
+            }
+        }
+        if (keys.isEmpty()) {
+            return true;
+        }
 
-                seqId = 0;
-                LinkedList<SimpleIsl> reverseIsl = biPath.getRight();
-                for (SimpleIsl isl : reverseIsl) {
-                    reverseNodes.add(new PathNode(isl.getSrcDpid(), isl.getSrcPort(),
-                            seqId++, (long) isl.getLatency()));
-                    reverseNodes.add(new PathNode(isl.getDstDpid(), isl.getDstPort(), seqId++, 0L));
+        String query = "UNWIND $keys AS key "
+                + "MATCH (src:switch)-[link:isl]->(dst:switch) "
+                + "WHERE link.src_switch = key.src_switch AND link.src_port = key.src_port "
+                + "OPTIONAL MATCH (src)-[fs:flow_segment {flowid: $flow_id, ignore_bandwidth: false}]->(dst) "
+                + "WHERE fs.src_port = link.src_port AND fs.dst_port = link.dst_port "
+                + "RETURN link, sum(fs.bandwidth) AS occupied";
+
+        logger.debug("Executing query for confirming the bandwidth of {} links: {}", keys.size(), query);
+        try (Session session = driver.session(AccessMode.READ)) {
+            List<TopologySnapshot.Link> links = new ArrayList<>();
+            boolean confirmed = true;
+            for (Record record : session.run(query,
+                    Values.parameters("keys", keys, "flow_id", flow.getFlowId())).list()) {
+                TopologySnapshot.Link link = toSnapshotLink(record.get("link").asRelationship());
+                links.add(link);
+                if (link.getAvailableBandwidth() + record.get("occupied").asLong() < flow.getBandwidth()) {
+                    logger.info("Link {} has not enough bandwidth for the flow {}", link.getKey(), flow.getFlowId());
+                    confirmed = false;
                 }
-                // FIXME(surabujin): Need to catch and trace exact exception thrown in recoverable places.
-            } catch (TransientException e) {
-                throw new RecoverableException("TransientError from neo4j", e);
-            } catch (ClientException e) {
-                throw new RecoverableException("ClientException from neo4j", e);
             }
-        } else {
-            logger.info("No path computation for one-switch flow");
+
+            if (topologyCache != null) {
+                topologyCache.refreshAvailableBandwidth(links);
+            }
+            // an ISL missing in the database is gone
+            return confirmed && links.size() == keys.size();
+        } catch (TransientException e) {
+            throw new RecoverableException("TransientError from neo4j", e);
+        } catch (ClientException e) {
+            throw new RecoverableException("ClientException from neo4j", e);
+        }
+    }
+
+    /**
+     * Pairs each forward path with the reverse one going over the same ISLs, the path is skipped if some of
+     * the reverse ISLs is not available.
+     */
+    private List<FlowPair<PathInfoData, PathInfoData>> toFlowPaths(IndexedNetwork network,
+                                                                   List<LinkedList<SimpleIsl>> forwardPaths) {
+        List<FlowPair<PathInfoData, PathInfoData>> result = new ArrayList<>();
+        for (LinkedList<SimpleIsl> forwardPath : forwardPaths) {
+            LinkedList<SimpleIsl> reversePath = network.mirror(forwardPath);
+            if (reversePath.isEmpty()) {
+                logger.debug("Skip path without the reverse path: {}", forwardPath);
+                continue;
+            }
+            result.add(toFlowPath(forwardPath, reversePath));
+        }
+        return result;
+    }
+
+    private FlowPair<PathInfoData, PathInfoData> toFlowPath(List<SimpleIsl> forwardIsl, List<SimpleIsl> reverseIsl) {
+        long latency = 0L;
+        List<PathNode> forwardNodes = new LinkedList<>();
+        List<PathNode> reverseNodes = new LinkedList<>();
+
+        int seqId = 0;
+        for (SimpleIsl isl : forwardIsl) {
+            latency += isl.getLatency();
+            forwardNodes.add(new PathNode(isl.getSrcDpid(), isl.getSrcPort(),
+                    seqId++, (long) isl.getLatency()));
+            forwardNodes.add(new PathNode(isl.getDstDpid(), isl.getDstPort(), seqId++, 0L));
+        }
+
+        seqId = 0;
+        for (SimpleIsl isl : reverseIsl) {
+            reverseNodes.add(new PathNode(isl.getSrcDpid(), isl.getSrcPort(),
+                    seqId++, (long) isl.getLatency()));
+            reverseNodes.add(new PathNode(isl.getDstDpid(), isl.getDstPort(), seqId++, 0L));
         }
 
         return new FlowPair<>(new PathInfoData(latency, forwardNodes), new PathInfoData(latency, reverseNodes));
@@ -128,16 +334,14 @@ public class NeoDriver implements PathComputer {
         switch (strategy) {
             default:
                 network.removeSelfLoops().reduceByCost();
-                SimpleGetShortestPath forward = new SimpleGetShortestPath(network,
-                        flow.getSourceSwitch(), flow.getDestinationSwitch(), 35);
-                SimpleGetShortestPath reverse = new SimpleGetShortestPath(network,
-                        flow.getDestinationSwitch(), flow.getSourceSwitch(), 35);
+                IndexedNetwork indexedNetwork = new IndexedNetwork(network);
+                DijkstraShortestPath forward = new DijkstraShortestPath(indexedNetwork,
+                        flow.getSourceSwitch(), flow.getDestinationSwitch(), ALLOWED_DEPTH);
+                DijkstraShortestPath reverse = new DijkstraShortestPath(indexedNetwork,
+                        flow.getDestinationSwitch(), flow.getSourceSwitch(), ALLOWED_DEPTH);
 
                 LinkedList<SimpleIsl> forwardPath = forward.getPath();
                 LinkedList<SimpleIsl> reversePath = reverse.getPath(forwardPath);
-                //(crimi) - getPath with hint works .. you can use the next line to troubleshoot if
-                // concerned about how hit is working
-                //LinkedList<SimpleIsl> rPath = reverse.getPath();
                 return Pair.of(forwardPath, reversePath);
         }
     }
@@ -159,7 +363,8 @@ public class NeoDriver implements PathComputer {
         try (Session session = driver.session(AccessMode.READ)) {
             StatementResult result = session.run(subject);
 
-            for (Record record : result.list()) {
+            while (result.hasNext()) {
+                Record record = result.next();
                 flows.add(new FlowInfo()
                         .setFlowId(record.get("flow_id").asString())
                         .setSrcSwitchId(record.get("src_switch").asString())
@@ -184,42 +389,108 @@ public class NeoDriver implements PathComputer {
         return loadFlows(where, parameters);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * All flows are read by one query.
+     */
+    @Override
+    public List<Flow> getFlows(Collection<String> flowIds) {
+        String where = "WHERE f.flowid IN $flow_ids ";
+        Value parameters = Values.parameters("flow_ids", new ArrayList<>(flowIds));
+        return loadFlows(where, parameters);
+    }
+
     @Override
     public List<Flow> getAllFlows() {
         String noWhere = " ";
         return loadFlows(noWhere, null);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * All flows are read by one ordered query, so the flow relationships are scanned and sorted once. The records
+     * are taken from the result as they arrive and decoded by pages, the result is never listed as a whole.
+     * A flow record without a cookie is passed on with the cookie 0, see {@link FlowAdapter}.
+     */
+    @Override
+    public void streamFlows(int pageSize, boolean parallelDecode, Consumer<Flow> consumer) {
+        String q = ""
+                + "MATCH (:switch)-[f:flow]->(:switch)\n"
+                + FLOW_FIELDS + "\n"
+                + "ORDER BY flowid, cookie";
+
+        logger.debug("Executing streamFlows Query: {}", q);
+
+        int total = 0;
+        try (Session session = driver.session(AccessMode.READ)) {
+            StatementResult result = session.run(q);
+            List<Record> page = new ArrayList<>(pageSize);
+            while (result.hasNext()) {
+                page.add(result.next());
+                if (page.size() < pageSize && result.hasNext()) {
+                    continue;
+                }
+
+                Stream<Record> records = parallelDecode ? page.parallelStream() : page.stream();
+                List<Flow> flows = records
+                        .map(record -> new FlowAdapter(record).getFlow())
+                        .collect(Collectors.toList());
+                flows.forEach(consumer);
+
+                total += page.size();
+                page.clear();
+            }
+        }
+        logger.debug("Streamed {} flow records", total);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void streamFlowRevisions(Consumer<FlowRevision> consumer) {
+        String q = ""
+                + "MATCH (:switch)-[f:flow]->(:switch)\n"
+                + "WITH f.flowid as flowid, count(f) as halves,\n"
+                + "     min(coalesce(f.revision, 0)) as min_revision, max(coalesce(f.revision, 0)) as max_revision\n"
+                + "RETURN flowid, halves, min_revision, max_revision\n"
+                + "ORDER BY flowid";
+
+        logger.debug("Executing streamFlowRevisions Query: {}", q);
+
+        int total = 0;
+        try (Session session = driver.session(AccessMode.READ)) {
+            StatementResult result = session.run(q);
+            while (result.hasNext()) {
+                Record record = result.next();
+                long revision = FlowRevision.UNKNOWN;
+                if (record.get("halves").asLong() == 2) {
+                    revision = FlowRevision.combine(
+                            record.get("min_revision").asLong(), record.get("max_revision").asLong());
+                }
+                consumer.accept(new FlowRevision(record.get("flowid").asString(), revision));
+                total += 1;
+            }
+        }
+        logger.debug("Streamed {} flow revisions", total);
+    }
 
     private List<Flow> loadFlows(String whereClause, Value parameters) {
         // FIXME(surabujin): remove cypher(graphQL) injection breach
         String q = ""
                 + "MATCH (:switch)-[f:flow]->(:switch)"
                 + "\n" + whereClause + "\n"
-                + "RETURN f.flowid as flowid,\n"
-                + "       f.bandwidth as bandwidth,\n"
-                + "       f.ignore_bandwidth as ignore_bandwidth,\n"
-                + "       f.periodic_pings as periodic_pings,\n"
-                + "       f.cookie as cookie,\n"
-                + "       f.description as description,\n"
-                + "       f.last_updated as last_updated,\n"
-                + "       f.src_switch as src_switch,\n"
-                + "       f.dst_switch as dst_switch,\n"
-                + "       f.src_port as src_port,\n"
-                + "       f.dst_port as dst_port,\n"
-                + "       f.src_vlan as src_vlan,\n"
-                + "       f.dst_vlan as dst_vlan,\n"
-                + "       f.flowpath as path,\n"
-                + "       f.meter_id as meter_id,\n"
-                + "       f.transit_vlan as transit_vlan";
+                + FLOW_FIELDS;
 
         logger.debug("Executing getFlows Query: {}", q);
 
         try (Session session = driver.session(AccessMode.READ)) {
             StatementResult queryResults = session.run(q, parameters);
             List<Flow> results = new ArrayList<>();
-            for (Record record : queryResults.list()) {
-                FlowAdapter adapter = new FlowAdapter(record);
+            while (queryResults.hasNext()) {
+                FlowAdapter adapter = new FlowAdapter(queryResults.next());
                 results.add(adapter.getFlow());
             }
             return results;
@@ -328,6 +599,88 @@ public class NeoDriver implements PathComputer {
 
     @Override
     public AvailableNetwork getAvailableNetwork(boolean ignoreBandwidth, long requestedBandwidth) {
-        return new AvailableNetwork(driver, ignoreBandwidth, requestedBandwidth);
+        if (topologyCache == null) {
+            return new AvailableNetwork(driver, ignoreBandwidth, requestedBandwidth);
+        }
+
+        refreshTopology(topologyCache);
+        return topologyCache.getSnapshot().makeAvailableNetwork(driver, ignoreBandwidth, requestedBandwidth);
+    }
+
+    /**
+     * Reloads the topology cache if it is too old, otherwise reads the costs of the links discovered since
+     * the last load.
+     */
+    private void refreshTopology(TopologyCache target) {
+        if (target.isReloadRequired()) {
+            loadTopology(target);
+            return;
+        }
+
+        Collection<TopologySnapshot.Link> pending = target.getPendingLinks();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> keys = pending.stream()
+                .map(link -> {
+                    Map<String, Object> key = new HashMap<>();
+                    key.put("src_switch", link.getSrcSwitch().toString());
+                    key.put("src_port", link.getSrcPort());
+                    return key;
+                })
+                .collect(Collectors.toList());
+        String query = "UNWIND $keys AS key "
+                + "MATCH (:switch)-[link:isl]->(:switch) "
+                + "WHERE link.src_switch = key.src_switch AND link.src_port = key.src_port "
+                + "RETURN link";
+
+        logger.debug("Executing query for {} pending links of the topology cache: {}", keys.size(), query);
+        try (Session session = driver.session(AccessMode.READ)) {
+            Map<String, Integer> costs = session.run(query, Values.parameters("keys", keys)).list()
+                    .stream()
+                    .map(record -> toSnapshotLink(record.get("link").asRelationship()))
+                    .collect(Collectors.toMap(TopologySnapshot.Link::getKey, TopologySnapshot.Link::getCost,
+                            (first, second) -> first));
+            target.resolvePendingLinks(costs);
+        }
+    }
+
+    /**
+     * Reads all active switches and links from the database into the topology cache.
+     */
+    private void loadTopology(TopologyCache target) {
+        String switchesQuery = "MATCH (sw:switch) WHERE sw.state = 'active' AND sw.name IS NOT NULL "
+                + "RETURN sw.name as name";
+        String linksQuery = "MATCH (src:switch)-[link:isl]->(dst:switch) "
+                + " WHERE link.status = 'active' "
+                + " RETURN link";
+
+        logger.debug("Executing query for loading the topology cache: {}", linksQuery);
+        try (Session session = driver.session(AccessMode.READ)) {
+            List<SwitchId> switches = session.run(switchesQuery).list()
+                    .stream()
+                    .map(record -> new SwitchId(record.get("name").asString()))
+                    .collect(Collectors.toList());
+
+            List<TopologySnapshot.Link> links = session.run(linksQuery).list()
+                    .stream()
+                    .map(record -> record.get("link").asRelationship())
+                    .map(this::toSnapshotLink)
+                    .collect(Collectors.toList());
+
+            target.load(switches, links);
+        }
+    }
+
+    private TopologySnapshot.Link toSnapshotLink(Relationship isl) {
+        return new TopologySnapshot.Link(
+                new SwitchId(isl.get("src_switch").asString()),
+                new SwitchId(isl.get("dst_switch").asString()),
+                safeAsInt(isl.get("src_port")),
+                safeAsInt(isl.get("dst_port")),
+                safeAsInt(isl.get("cost")),
+                safeAsInt(isl.get("latency")),
+                safeAsInt(isl.get("available_bandwidth")));
     }
 }
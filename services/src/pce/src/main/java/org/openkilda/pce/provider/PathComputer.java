@@ -26,14 +26,25 @@ import org.openkilda.pce.model.AvailableNetwork;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 /**
  * PathComputation interface represent operations on flow path.
  */
 public interface PathComputer extends Serializable {
 
+    /**
+     * Default number of flow records decoded at once by {@link #streamFlows(Consumer)}.
+     */
+    int FLOW_PAGE_SIZE = 1000;
+
     /**
      * The Strategy is used for getting a Path - ie what filters to apply.
      * In reality, to provide flexibility, this should most likely be one or more strings.
@@ -71,6 +82,62 @@ public interface PathComputer extends Serializable {
     FlowPair<PathInfoData, PathInfoData> getPath(Flow flow, Strategy strategy)
             throws UnroutablePathException, RecoverableException;
 
+    /**
+     * Gets new paths for a batch of existing flows, e.g. for flows affected by the same network failure.
+     * The bandwidth currently occupied by each flow is considered available for its new path.
+     *
+     * @param flows the flows to route.
+     * @return paths by flow id, flows without a path are absent.
+     */
+    default Map<String, FlowPair<PathInfoData, PathInfoData>> getPaths(Collection<FlowPair<Flow, Flow>> flows)
+            throws RecoverableException {
+        Map<String, FlowPair<PathInfoData, PathInfoData>> result = new HashMap<>();
+        for (FlowPair<Flow, Flow> flow : flows) {
+            Flow forward = flow.getLeft();
+            AvailableNetwork network = getAvailableNetwork(forward.isIgnoreBandwidth(), forward.getBandwidth());
+            network.addIslsOccupiedByFlow(forward.getFlowId(), forward.isIgnoreBandwidth(), forward.getBandwidth());
+            try {
+                result.put(forward.getFlowId(), getPath(forward, network, Strategy.COST));
+            } catch (UnroutablePathException e) {
+                // the flow is just left without a path
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks that the ISLs of the found path still have enough available bandwidth for the flow in the storage.
+     * The path is found in the topology known to this instance, it may miss the bandwidth taken by other
+     * instances since then.
+     *
+     * @param flow the flow the path is found for.
+     * @param path the found path.
+     * @return true if the path can be used for the flow.
+     */
+    default boolean confirmBandwidth(Flow flow, FlowPair<PathInfoData, PathInfoData> path)
+            throws RecoverableException {
+        return true;
+    }
+
+    /**
+     * Gets up to {@code count} cheapest loop-free paths for the flow in preloaded network topology. The paths
+     * after the first one are alternates that can be used without the new computation if the first one fails.
+     * The default implementation gives only the cheapest path.
+     *
+     * @param flow {@link Flow} instances
+     * @param network prepared network where searching will be performed.
+     * @param count max number of paths.
+     * @return paths ordered by cost, empty list if there is no path.
+     */
+    default List<FlowPair<PathInfoData, PathInfoData>> getKPaths(Flow flow, AvailableNetwork network, int count)
+            throws RecoverableException {
+        try {
+            return Collections.singletonList(getPath(flow, network, Strategy.COST));
+        } catch (UnroutablePathException e) {
+            return Collections.emptyList();
+        }
+    }
+
     /**
      * Interact with the PathComputer to get the FlowInfo for all flows.
      *
@@ -90,6 +157,52 @@ public interface PathComputer extends Serializable {
         return new ArrayList<>();
     }
 
+    /**
+     * Read all flows page by page and pass them to the consumer, so the whole flow set is never kept in memory
+     * at once.
+     *
+     * @param consumer receives the flows, both halves of a flow are passed one after another.
+     */
+    default void streamFlows(Consumer<Flow> consumer) {
+        streamFlows(FLOW_PAGE_SIZE, false, consumer);
+    }
+
+    /**
+     * Read all flows page by page and pass them to the consumer.
+     * <p/>
+     * The consumer is always called from the calling thread in the order of flow id, only the decoding of the
+     * records of a page is done in parallel if requested.
+     *
+     * @param pageSize the number of flow records to decode at once.
+     * @param parallelDecode whether to decode the records of a page in parallel.
+     * @param consumer receives the flows, both halves of a flow are passed one after another.
+     */
+    default void streamFlows(int pageSize, boolean parallelDecode, Consumer<Flow> consumer) {
+        getAllFlows().forEach(consumer);
+    }
+
+    /**
+     * Read the revisions of all flows and pass them to the consumer in the order of flow id.
+     * <p/>
+     * Only the flow id and the revision are read, so it is much cheaper than reading the flows. The revision is
+     * {@link FlowRevision#UNKNOWN} if the flow doesn't have exactly two halves or any of them has no revision.
+     *
+     * @param consumer receives the revisions.
+     */
+    default void streamFlowRevisions(Consumer<FlowRevision> consumer) {
+        Map<String, List<Flow>> halves = new TreeMap<>();
+        for (Flow flow : getAllFlows()) {
+            halves.computeIfAbsent(flow.getFlowId(), id -> new ArrayList<>()).add(flow);
+        }
+        for (Map.Entry<String, List<Flow>> entry : halves.entrySet()) {
+            List<Flow> flows = entry.getValue();
+            long revision = flows.size() == 2
+                    ? FlowRevision.combine(flows.get(0).getRevision(), flows.get(1).getRevision())
+                    : FlowRevision.UNKNOWN;
+            consumer.accept(new FlowRevision(entry.getKey(), revision));
+        }
+    }
+
     /**
      * Read a single flow from Neo4j and convert to our common representation {@link Flow}.
      * In reality, a single flow will typically be bi-directional, so just represent as a list.
@@ -105,6 +218,20 @@ public interface PathComputer extends Serializable {
         return new ArrayList<>();
     }
 
+    /**
+     * Read the flows (forward and reverse) with the given ids at once.
+     *
+     * @param flowIds ids of the flows to read.
+     * @return the halves of the flows which exist, in no particular order.
+     */
+    default List<Flow> getFlows(Collection<String> flowIds) {
+        List<Flow> result = new ArrayList<>();
+        for (String flowId : flowIds) {
+            result.addAll(getFlows(flowId));
+        }
+        return result;
+    }
+
     default List<SwitchInfoData> getSwitches() {
         return new ArrayList<>();
     }
@@ -15,6 +15,8 @@
 
 package org.openkilda.pce.provider;
 
+import org.openkilda.pce.cache.TopologyCache;
+
 public class PathComputerAuth extends AuthNeo4j {
 
     public PathComputerAuth(String host, String login, String password) {
@@ -24,4 +26,8 @@ public class PathComputerAuth extends AuthNeo4j {
     public PathComputer getPathComputer() {
         return new NeoDriver(getDriver());
     }
+
+    public PathComputer getPathComputer(TopologyCache topologyCache) {
+        return new NeoDriver(getDriver(), topologyCache);
+    }
 }
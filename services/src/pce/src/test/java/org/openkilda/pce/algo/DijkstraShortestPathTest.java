@@ -0,0 +1,145 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.algo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.SimpleIsl;
+
+import org.junit.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+public class DijkstraShortestPathTest {
+    private static final SwitchId SWITCH_A = new SwitchId("00:00:00:00:00:00:00:0a");
+    private static final SwitchId SWITCH_B = new SwitchId("00:00:00:00:00:00:00:0b");
+
+    @Test
+    public void sameCostAsSimpleGetShortestPath() {
+        AvailableNetwork network = new SimpleGetShortestPathTest().buildNetwork1();
+        network.removeSelfLoops().reduceByCost();
+        IndexedNetwork indexedNetwork = new IndexedNetwork(network);
+
+        for (int src = 0; src < indexedNetwork.getSwitchCount(); src++) {
+            for (int dst = 0; dst < indexedNetwork.getSwitchCount(); dst++) {
+                assertSameCost(network, indexedNetwork,
+                        indexedNetwork.getSwitchId(src), indexedNetwork.getSwitchId(dst), 35);
+            }
+        }
+    }
+
+    @Test
+    public void sameCostAsSimpleGetShortestPathOnRandomNetworks() {
+        Random random = new Random(42);
+        for (int attempt = 0; attempt < 20; attempt++) {
+            AvailableNetwork network = buildRandomNetwork(random, 15, 40);
+            network.removeSelfLoops().reduceByCost();
+            IndexedNetwork indexedNetwork = new IndexedNetwork(network);
+
+            for (int i = 0; i < 10; i++) {
+                assertSameCost(network, indexedNetwork, makeSwitchId(random.nextInt(15)),
+                        makeSwitchId(random.nextInt(15)), 35);
+            }
+        }
+    }
+
+    @Test
+    public void depthLimit() {
+        // cheap chain of 5 ISLs and expensive direct ISL
+        AvailableNetwork network = new AvailableNetwork(null);
+        for (int i = 0; i < 5; i++) {
+            network.addLink(makeSwitchId(i), makeSwitchId(i + 1), 1, 2, 1, 0);
+            network.addLink(makeSwitchId(i + 1), makeSwitchId(i), 2, 1, 1, 0);
+        }
+        network.addLink(makeSwitchId(0), makeSwitchId(5), 3, 3, 100, 0);
+        network.addLink(makeSwitchId(5), makeSwitchId(0), 3, 3, 100, 0);
+
+        assertEquals(5, new DijkstraShortestPath(network, makeSwitchId(0), makeSwitchId(5), 4).getPath().size());
+
+        // the depth limit allows allowedDepth + 1 ISLs, same as SimpleGetShortestPath
+        List<SimpleIsl> path = new DijkstraShortestPath(network, makeSwitchId(0), makeSwitchId(5), 3).getPath();
+        assertEquals(1, path.size());
+        assertEquals(new SimpleGetShortestPath(network, makeSwitchId(0), makeSwitchId(5), 3).getPath(), path);
+    }
+
+    @Test
+    public void hintIsUsedWhenItIsAsCheapAsTheBestPath() {
+        AvailableNetwork network = new AvailableNetwork(null);
+        network.addLink(SWITCH_A, SWITCH_B, 1, 1, 10, 0);
+        network.addLink(SWITCH_B, SWITCH_A, 1, 1, 10, 0);
+        network.addLink(SWITCH_A, SWITCH_B, 2, 2, 10, 0);
+        network.addLink(SWITCH_B, SWITCH_A, 2, 2, 10, 0);
+
+        LinkedList<SimpleIsl> forward = new LinkedList<>();
+        forward.add(new SimpleIsl(SWITCH_A, SWITCH_B, 2, 2, 10, 0));
+        for (int i = 0; i < 10; i++) {
+            LinkedList<SimpleIsl> reverse = new DijkstraShortestPath(network, SWITCH_B, SWITCH_A, 35)
+                    .getPath(forward);
+            assertEquals(1, reverse.size());
+            assertEquals(2, reverse.get(0).getSrcPort());
+        }
+    }
+
+    @Test
+    public void noPath() {
+        AvailableNetwork network = new AvailableNetwork(null);
+        network.addLink(SWITCH_A, SWITCH_B, 1, 1, 10, 0);
+
+        assertTrue(new DijkstraShortestPath(network, SWITCH_B, SWITCH_A, 35).getPath().isEmpty());
+        assertTrue(new DijkstraShortestPath(network, SWITCH_A, makeSwitchId(1), 35).getPath().isEmpty());
+    }
+
+    private void assertSameCost(AvailableNetwork network, IndexedNetwork indexedNetwork, SwitchId src,
+                                SwitchId dst, int allowedDepth) {
+        List<SimpleIsl> expected = new SimpleGetShortestPath(network, src, dst, allowedDepth).getPath();
+        List<SimpleIsl> actual = new DijkstraShortestPath(indexedNetwork, src, dst, allowedDepth).getPath();
+
+        assertEquals(String.format("Path %s -> %s", src, dst), expected.isEmpty(), actual.isEmpty());
+        assertEquals(String.format("Cost of path %s -> %s", src, dst), getCost(expected), getCost(actual));
+        if (!actual.isEmpty()) {
+            assertEquals(src, actual.get(0).getSrcDpid());
+            assertEquals(dst, actual.get(actual.size() - 1).getDstDpid());
+            for (int i = 1; i < actual.size(); i++) {
+                assertEquals(actual.get(i - 1).getDstDpid(), actual.get(i).getSrcDpid());
+            }
+        }
+    }
+
+    private static int getCost(List<SimpleIsl> path) {
+        return path.stream().mapToInt(SimpleIsl::getCost).sum();
+    }
+
+    static AvailableNetwork buildRandomNetwork(Random random, int switches, int links) {
+        AvailableNetwork network = new AvailableNetwork(null);
+        for (int i = 0; i < links; i++) {
+            int src = random.nextInt(switches);
+            int dst = random.nextInt(switches);
+            int cost = 1 + random.nextInt(100);
+            network.addLink(makeSwitchId(src), makeSwitchId(dst), i, i, cost, 0);
+            network.addLink(makeSwitchId(dst), makeSwitchId(src), i, i, cost, 0);
+        }
+        return network;
+    }
+
+    static SwitchId makeSwitchId(int index) {
+        return new SwitchId(index + 1);
+    }
+}
@@ -0,0 +1,107 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.algo;
+
+import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.SimpleIsl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link SimpleGetShortestPath} and {@link DijkstraShortestPath} on synthetic topologies: a ring
+ * of switches with random chords, 4 bidirectional ISLs per switch on average.
+ * <p/>
+ * It is not a part of the test suite, run it with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShortestPathBenchmark {
+    private static final int ALLOWED_DEPTH = 35;
+
+    @Param({"1000", "5000", "10000"})
+    private int switches;
+
+    private AvailableNetwork network;
+    private IndexedNetwork indexedNetwork;
+    private SwitchId src;
+    private SwitchId dst;
+
+    /**
+     * Builds the topology.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(switches);
+        network = new AvailableNetwork(null);
+        for (int i = 0; i < switches; i++) {
+            addBidirectionalLink(i, (i + 1) % switches, 1, 10 + random.nextInt(90));
+            addBidirectionalLink(i, random.nextInt(switches), 2, 10 + random.nextInt(90));
+        }
+        network.removeSelfLoops().reduceByCost();
+        indexedNetwork = new IndexedNetwork(network);
+
+        src = DijkstraShortestPathTest.makeSwitchId(0);
+        dst = DijkstraShortestPathTest.makeSwitchId(switches / 2);
+    }
+
+    private void addBidirectionalLink(int src, int dst, int port, int cost) {
+        SwitchId srcDpid = DijkstraShortestPathTest.makeSwitchId(src);
+        SwitchId dstDpid = DijkstraShortestPathTest.makeSwitchId(dst);
+        network.addLink(srcDpid, dstDpid, port, port + 2, cost, 0);
+        network.addLink(dstDpid, srcDpid, port + 2, port, cost, 0);
+    }
+
+    @Benchmark
+    public LinkedList<SimpleIsl> simpleGetShortestPath() {
+        return new SimpleGetShortestPath(network, src, dst, ALLOWED_DEPTH).getPath();
+    }
+
+    @Benchmark
+    public LinkedList<SimpleIsl> dijkstraShortestPath() {
+        return new DijkstraShortestPath(indexedNetwork, src, dst, ALLOWED_DEPTH).getPath();
+    }
+
+    @Benchmark
+    public LinkedList<SimpleIsl> dijkstraShortestPathWithIndexing() {
+        return new DijkstraShortestPath(network, src, dst, ALLOWED_DEPTH).getPath();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ShortestPathBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,132 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.algo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.openkilda.pce.algo.DijkstraShortestPathTest.makeSwitchId;
+
+import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.SimpleIsl;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class YenKShortestPathsTest {
+
+    @Test
+    public void getPaths() {
+        // C=0, D=1, E=2, F=3, G=4, H=5
+        AvailableNetwork network = new AvailableNetwork(null);
+        addLink(network, 0, 1, 3);
+        addLink(network, 0, 2, 2);
+        addLink(network, 1, 3, 4);
+        addLink(network, 2, 1, 1);
+        addLink(network, 2, 3, 2);
+        addLink(network, 2, 4, 3);
+        addLink(network, 3, 4, 2);
+        addLink(network, 3, 5, 1);
+        addLink(network, 4, 5, 2);
+
+        List<LinkedList<SimpleIsl>> paths = new YenKShortestPaths(new IndexedNetwork(network),
+                makeSwitchId(0), makeSwitchId(5), 35).getPaths(3);
+
+        assertEquals(3, paths.size());
+        assertEquals(5, getCost(paths.get(0)));
+        assertEquals(7, getCost(paths.get(1)));
+        assertEquals(8, getCost(paths.get(2)));
+    }
+
+    @Test
+    public void sameCostsAsAllSimplePaths() {
+        Random random = new Random(7);
+        for (int attempt = 0; attempt < 20; attempt++) {
+            AvailableNetwork network = DijkstraShortestPathTest.buildRandomNetwork(random, 8, 14);
+            network.removeSelfLoops().reduceByCost();
+            IndexedNetwork indexedNetwork = new IndexedNetwork(network);
+
+            SwitchId src = makeSwitchId(random.nextInt(8));
+            SwitchId dst = makeSwitchId(random.nextInt(8));
+            List<LinkedList<SimpleIsl>> paths = new YenKShortestPaths(indexedNetwork, src, dst, 35).getPaths(5);
+
+            List<Integer> expected = new ArrayList<>();
+            if (!src.equals(dst)) {
+                collectPathCosts(network, src, dst, new HashSet<>(), 0, expected);
+            }
+            expected = expected.stream().sorted().limit(5).collect(Collectors.toList());
+
+            assertEquals(expected, paths.stream().map(YenKShortestPathsTest::getCost).collect(Collectors.toList()));
+            for (LinkedList<SimpleIsl> path : paths) {
+                Set<SwitchId> visited = new HashSet<>();
+                visited.add(src);
+                for (SimpleIsl isl : path) {
+                    assertTrue("Path has a loop: " + path, visited.add(isl.getDstDpid()));
+                }
+                assertEquals(dst, path.getLast().getDstDpid());
+            }
+        }
+    }
+
+    @Test
+    public void depthLimit() {
+        AvailableNetwork network = new AvailableNetwork(null);
+        addLink(network, 0, 1, 1);
+        addLink(network, 1, 2, 1);
+        addLink(network, 2, 3, 1);
+        addLink(network, 0, 3, 10);
+
+        List<LinkedList<SimpleIsl>> paths = new YenKShortestPaths(new IndexedNetwork(network),
+                makeSwitchId(0), makeSwitchId(3), 1).getPaths(5);
+
+        assertEquals(1, paths.size());
+        assertEquals(10, getCost(paths.get(0)));
+    }
+
+    private static void collectPathCosts(AvailableNetwork network, SwitchId current, SwitchId dst,
+                                         Set<SwitchId> visited, int cost, List<Integer> costs) {
+        if (current.equals(dst)) {
+            costs.add(cost);
+            return;
+        }
+        visited.add(current);
+        if (network.getSimpleSwitch(current) != null) {
+            for (Set<SimpleIsl> isls : network.getSimpleSwitch(current).outbound.values()) {
+                for (SimpleIsl isl : isls) {
+                    if (!visited.contains(isl.getDstDpid())) {
+                        collectPathCosts(network, isl.getDstDpid(), dst, visited, cost + isl.getCost(), costs);
+                    }
+                }
+            }
+        }
+        visited.remove(current);
+    }
+
+    private static void addLink(AvailableNetwork network, int src, int dst, int cost) {
+        network.addLink(makeSwitchId(src), makeSwitchId(dst), dst + 1, src + 1, cost, 0);
+    }
+
+    private static int getCost(List<SimpleIsl> path) {
+        return path.stream().mapToInt(SimpleIsl::getCost).sum();
+    }
+}
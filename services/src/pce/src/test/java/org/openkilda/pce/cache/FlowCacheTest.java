@@ -352,6 +352,34 @@ public class FlowCacheTest {
         assertEquals(new HashSet<>(Arrays.asList(first, second)), affected);
     }
 
+    @Test
+    public void getFlowsWithAffectedPathAfterUpdateAndDelete() throws Exception {
+        flowCache.createFlow(firstFlow, computer.getPath(firstFlow, defaultStrategy));
+
+        FlowPair<Flow, Flow> updated =
+                flowCache.updateFlow(firstFlow, computer.getPath(secondFlow, defaultStrategy));
+        assertEquals(Collections.emptySet(), flowCache.getFlowsWithAffectedPath(NetworkTopologyConstants.isl12));
+        assertEquals(Collections.emptySet(),
+                flowCache.getFlowsWithAffectedPath(NetworkTopologyConstants.sw1.getSwitchId()));
+        assertEquals(Collections.singleton(updated),
+                flowCache.getFlowsWithAffectedPath(NetworkTopologyConstants.isl53));
+        assertEquals(Collections.singleton(updated.getLeft().getFlowId()),
+                flowCache.getFlowsWithAffectedEndpoint(new SwitchId("ff:01")).keySet());
+
+        flowCache.deleteFlow(firstFlow.getFlowId());
+        assertEquals(Collections.emptySet(), flowCache.getFlowsWithAffectedPath(NetworkTopologyConstants.isl53));
+        assertEquals(Collections.emptySet(),
+                flowCache.getFlowsWithAffectedPath(NetworkTopologyConstants.sw3.getSwitchId()));
+        assertEquals(Collections.emptySet(), flowCache.getFlowsForEndpoint(new SwitchId("ff:01"), 11));
+    }
+
+    @Test
+    public void getFlowsForEndpointWithoutSwitch() throws Exception {
+        flowCache.createFlow(firstFlow, computer.getPath(firstFlow, defaultStrategy));
+
+        assertEquals(Collections.emptySet(), flowCache.getFlowsForEndpoint(null, 11));
+    }
+
     @Test
     public void getFlowsForUpState() throws Exception {
         Map<String, String> affected;
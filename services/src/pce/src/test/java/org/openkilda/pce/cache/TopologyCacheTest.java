@@ -0,0 +1,189 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
+import org.openkilda.pce.NetworkTopologyConstants;
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.TopologySnapshot;
+import org.openkilda.pce.model.TopologySnapshot.Link;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TopologyCacheTest {
+    private final TopologyCache topologyCache = new TopologyCache(60_000L);
+
+    @Before
+    public void setUp() {
+        topologyCache.load(
+                Arrays.asList(NetworkTopologyConstants.sw1.getSwitchId(), NetworkTopologyConstants.sw2.getSwitchId(),
+                        NetworkTopologyConstants.sw3.getSwitchId()),
+                Arrays.asList(makeLink(NetworkTopologyConstants.isl12, 100L),
+                        makeLink(NetworkTopologyConstants.isl21, 100L),
+                        makeLink(NetworkTopologyConstants.isl23, 10L)));
+    }
+
+    @Test
+    public void reloadRequired() {
+        assertTrue(new TopologyCache(60_000L).isReloadRequired());
+        assertFalse(topologyCache.isReloadRequired());
+    }
+
+    @Test
+    public void filterByBandwidth() {
+        TopologySnapshot snapshot = topologyCache.getSnapshot();
+
+        AvailableNetwork network = snapshot.makeAvailableNetwork(null, false, 50L);
+        assertEquals(2, (int) network.getCounts().get("ISLS"));
+
+        network = snapshot.makeAvailableNetwork(null, true, 50L);
+        assertEquals(3, (int) network.getCounts().get("ISLS"));
+    }
+
+    @Test
+    public void islFailure() {
+        TopologySnapshot before = topologyCache.getSnapshot();
+
+        IslInfoData failed = new IslInfoData(NetworkTopologyConstants.isl23);
+        failed.setState(IslChangeType.FAILED);
+        topologyCache.handleIslEvent(failed);
+
+        TopologySnapshot after = topologyCache.getSnapshot();
+        assertNotSame(before, after);
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(3, before.getLinks().size());
+        assertEquals(2, after.getLinks().size());
+    }
+
+    @Test
+    public void islDiscoveryTakesBandwidthFromEvent() {
+        topologyCache.handleIslEvent(NetworkTopologyConstants.isl12);
+
+        Link link = topologyCache.getSnapshot().getLinks().get(NetworkTopologyConstants.isl12.getId());
+        assertEquals(NetworkTopologyConstants.isl12.getAvailableBandwidth(), link.getAvailableBandwidth());
+    }
+
+    @Test
+    public void bandwidthTakenByOtherCacheIsNotAllocatedTwice() {
+        TopologyCache other = new TopologyCache(60_000L);
+        TopologySnapshot loaded = topologyCache.getSnapshot();
+        other.load(loaded.getActiveSwitches(), loaded.getLinks().values());
+
+        PathInfoData path = new PathInfoData(0L, NetworkTopologyConstants.isl12.getPath());
+        topologyCache.updateAvailableBandwidth(path, -60L);
+        assertEquals(2, (int) other.getSnapshot().makeAvailableNetwork(null, false, 60L).getCounts().get("ISLS"));
+
+        // the storage has the bandwidth taken through the first cache
+        other.refreshAvailableBandwidth(topologyCache.getSnapshot().getLinks().values());
+
+        Link link = other.getSnapshot().getLinks().get(NetworkTopologyConstants.isl12.getId());
+        assertEquals(40L, link.getAvailableBandwidth());
+        assertEquals(1, (int) other.getSnapshot().makeAvailableNetwork(null, false, 60L).getCounts().get("ISLS"));
+    }
+
+    @Test
+    public void flappedIslKeepsCost() {
+        IslInfoData failed = new IslInfoData(NetworkTopologyConstants.isl23);
+        failed.setState(IslChangeType.FAILED);
+        topologyCache.handleIslEvent(failed);
+        topologyCache.handleIslEvent(NetworkTopologyConstants.isl23);
+
+        assertFalse(topologyCache.getSnapshot().getLinks().containsKey(NetworkTopologyConstants.isl23.getId()));
+        assertEquals(1, topologyCache.getPendingLinks().size());
+
+        topologyCache.resolvePendingLinks(Collections.emptyMap());
+
+        Link link = topologyCache.getSnapshot().getLinks().get(NetworkTopologyConstants.isl23.getId());
+        assertEquals(1, link.getCost());
+        assertTrue(topologyCache.getPendingLinks().isEmpty());
+    }
+
+    @Test
+    public void rediscoveredIslTakesCostFromStorage() {
+        IslInfoData failed = new IslInfoData(NetworkTopologyConstants.isl23);
+        failed.setState(IslChangeType.FAILED);
+        topologyCache.handleIslEvent(failed);
+        topologyCache.handleIslEvent(NetworkTopologyConstants.isl23);
+
+        topologyCache.resolvePendingLinks(Collections.singletonMap(NetworkTopologyConstants.isl23.getId(), 10001));
+
+        Link link = topologyCache.getSnapshot().getLinks().get(NetworkTopologyConstants.isl23.getId());
+        assertEquals(10001, link.getCost());
+    }
+
+    @Test
+    public void newIslWithUnknownCostStaysPending() {
+        topologyCache.handleIslEvent(NetworkTopologyConstants.isl32);
+        TopologySnapshot before = topologyCache.getSnapshot();
+
+        topologyCache.resolvePendingLinks(Collections.emptyMap());
+
+        assertSame(before, topologyCache.getSnapshot());
+        assertFalse(before.getLinks().containsKey(NetworkTopologyConstants.isl32.getId()));
+        assertEquals(1, topologyCache.getPendingLinks().size());
+    }
+
+    @Test
+    public void switchDeactivation() {
+        SwitchInfoData sw = new SwitchInfoData(NetworkTopologyConstants.sw3.getSwitchId(), SwitchState.DEACTIVATED,
+                "", "", "", "");
+        topologyCache.handleSwitchEvent(sw);
+
+        AvailableNetwork network = topologyCache.getSnapshot().makeAvailableNetwork(null, true, 0L);
+        assertEquals(2, (int) network.getCounts().get("ISLS"));
+    }
+
+    @Test
+    public void unchangedStateDoesNotPublishSnapshot() {
+        TopologySnapshot before = topologyCache.getSnapshot();
+        topologyCache.handleSwitchEvent(NetworkTopologyConstants.sw1);
+
+        assertSame(before, topologyCache.getSnapshot());
+    }
+
+    @Test
+    public void updateAvailableBandwidth() {
+        PathInfoData path = new PathInfoData(0L, NetworkTopologyConstants.isl12.getPath());
+        topologyCache.updateAvailableBandwidth(path, -60L);
+
+        TopologySnapshot snapshot = topologyCache.getSnapshot();
+        assertEquals(40L, snapshot.getLinks().get(NetworkTopologyConstants.isl12.getId()).getAvailableBandwidth());
+        assertEquals(1, (int) snapshot.makeAvailableNetwork(null, false, 50L).getCounts().get("ISLS"));
+
+        topologyCache.updateAvailableBandwidth(new PathInfoData(0L, Collections.emptyList()), -60L);
+        assertSame(snapshot, topologyCache.getSnapshot());
+    }
+
+    private static Link makeLink(IslInfoData isl, long bandwidth) {
+        return new Link(isl.getPath().get(0).getSwitchId(), isl.getPath().get(1).getSwitchId(),
+                isl.getPath().get(0).getPortNo(), isl.getPath().get(1).getPortNo(), 1, (int) isl.getLatency(),
+                bandwidth);
+    }
+}
@@ -17,10 +17,15 @@ package org.openkilda.pce.provider;
 
 import org.openkilda.messaging.info.event.IslChangeType;
 import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.info.event.SwitchState;
 import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.FlowPair;
 import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.pce.cache.TopologyCache;
+import org.openkilda.pce.model.TopologySnapshot;
 
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -39,8 +44,12 @@ import org.neo4j.io.fs.FileUtils;
 import org.neo4j.kernel.configuration.BoltConnector;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class NeoDriverTest {
 
@@ -104,6 +113,154 @@ public class NeoDriverTest {
     }
 
 
+    @Test
+    public void streamFlows() {
+        List<Node> switches = new ArrayList<>();
+        try (Transaction tx = graphDb.beginTx()) {
+            Node node1 = graphDb.createNode(Label.label("switch"));
+            node1.setProperty("name", "00:01");
+            Node node2 = graphDb.createNode(Label.label("switch"));
+            node2.setProperty("name", "00:02");
+            switches.add(node1);
+            switches.add(node2);
+            // both halves of 7 flows, created out of order
+            for (int i = 6; i >= 0; i--) {
+                createFlow(node1, node2, "stream-" + i, 0x4000000000000000L + i);
+                createFlow(node2, node1, "stream-" + i, 0x2000000000000000L + i);
+            }
+            // a flow half without the cookie is streamed too
+            createFlow(node1, node2, "stream-7", 0).removeProperty("cookie");
+            createFlow(node2, node1, "stream-7", 0x2000000000000007L);
+            tx.success();
+        }
+
+        try {
+            for (boolean parallel : new boolean[]{false, true}) {
+                List<Flow> flows = new ArrayList<>();
+                target.streamFlows(3, parallel, flow -> {
+                    if (flow.getFlowId().startsWith("stream-")) {
+                        flows.add(flow);
+                    }
+                });
+
+                Assert.assertEquals(16, flows.size());
+                for (int i = 0; i < 8; i++) {
+                    Flow reverse = flows.get(i * 2);
+                    Flow forward = flows.get(i * 2 + 1);
+                    Assert.assertEquals("stream-" + i, reverse.getFlowId());
+                    Assert.assertEquals("stream-" + i, forward.getFlowId());
+                    Assert.assertEquals(0x2000000000000000L + i, reverse.getCookie());
+                    Assert.assertEquals(i < 7 ? 0x4000000000000000L + i : 0L, forward.getCookie());
+                }
+            }
+        } finally {
+            try (Transaction tx = graphDb.beginTx()) {
+                for (Node node : switches) {
+                    node.getRelationships().forEach(Relationship::delete);
+                    node.delete();
+                }
+                tx.success();
+            }
+        }
+    }
+
+    @Test
+    public void getFlowsByIds() {
+        List<Node> switches = new ArrayList<>();
+        try (Transaction tx = graphDb.beginTx()) {
+            Node node1 = graphDb.createNode(Label.label("switch"));
+            node1.setProperty("name", "00:01");
+            Node node2 = graphDb.createNode(Label.label("switch"));
+            node2.setProperty("name", "00:02");
+            switches.add(node1);
+            switches.add(node2);
+            for (int i = 0; i < 3; i++) {
+                createFlow(node1, node2, "ids-" + i, 0x4000000000000000L + i);
+                createFlow(node2, node1, "ids-" + i, 0x2000000000000000L + i);
+            }
+            tx.success();
+        }
+
+        try {
+            List<Flow> flows = target.getFlows(Arrays.asList("ids-0", "ids-2", "ids-missing"));
+
+            Assert.assertEquals(4, flows.size());
+            Assert.assertEquals(new HashSet<>(Arrays.asList("ids-0", "ids-2")),
+                    flows.stream().map(Flow::getFlowId).collect(Collectors.toSet()));
+        } finally {
+            try (Transaction tx = graphDb.beginTx()) {
+                for (Node node : switches) {
+                    node.getRelationships().forEach(Relationship::delete);
+                    node.delete();
+                }
+                tx.success();
+            }
+        }
+    }
+
+    @Test
+    public void streamFlowRevisions() {
+        List<Node> switches = new ArrayList<>();
+        try (Transaction tx = graphDb.beginTx()) {
+            Node node1 = graphDb.createNode(Label.label("switch"));
+            node1.setProperty("name", "00:01");
+            Node node2 = graphDb.createNode(Label.label("switch"));
+            node2.setProperty("name", "00:02");
+            switches.add(node1);
+            switches.add(node2);
+            createFlow(node1, node2, "rev-c", 0x4000000000000003L).setProperty("revision", 9L);
+            createFlow(node1, node2, "rev-b", 0x4000000000000002L).setProperty("revision", 3L);
+            createFlow(node2, node1, "rev-b", 0x2000000000000002L);
+            createFlow(node1, node2, "rev-a", 0x4000000000000001L).setProperty("revision", 5L);
+            createFlow(node2, node1, "rev-a", 0x2000000000000001L).setProperty("revision", 7L);
+            tx.success();
+        }
+
+        try {
+            List<FlowRevision> revisions = new ArrayList<>();
+            target.streamFlowRevisions(revision -> {
+                if (revision.getFlowId().startsWith("rev-")) {
+                    revisions.add(revision);
+                }
+            });
+
+            Assert.assertEquals("[rev-a@7, rev-b@0, rev-c@0]", revisions.toString());
+
+            for (Flow flow : target.getFlows("rev-a")) {
+                long expected = flow.getCookie() == 0x4000000000000001L ? 5L : 7L;
+                Assert.assertEquals(expected, flow.getRevision());
+            }
+            Assert.assertEquals(FlowRevision.UNKNOWN, target.getFlows("rev-b").stream()
+                    .mapToLong(Flow::getRevision).min().getAsLong());
+        } finally {
+            try (Transaction tx = graphDb.beginTx()) {
+                for (Node node : switches) {
+                    node.getRelationships().forEach(Relationship::delete);
+                    node.delete();
+                }
+                tx.success();
+            }
+        }
+    }
+
+    private static Relationship createFlow(Node src, Node dst, String flowId, long cookie) {
+        Relationship rel = src.createRelationshipTo(dst, RelationshipType.withName("flow"));
+        rel.setProperty("flowid", flowId);
+        rel.setProperty("cookie", cookie);
+        rel.setProperty("meter_id", 1);
+        rel.setProperty("transit_vlan", 1);
+        rel.setProperty("src_switch", src.getProperty("name"));
+        rel.setProperty("dst_switch", dst.getProperty("name"));
+        rel.setProperty("src_port", 1);
+        rel.setProperty("dst_port", 2);
+        rel.setProperty("src_vlan", 5);
+        rel.setProperty("dst_vlan", 5);
+        rel.setProperty("bandwidth", 100);
+        rel.setProperty("description", "description");
+        rel.setProperty("last_updated", "last_updated");
+        return rel;
+    }
+
     @Test
     public void getAllIsl() {
         try (Transaction tx = graphDb.beginTx()) {
@@ -199,6 +356,116 @@ public class NeoDriverTest {
         Assert.assertEquals(expectedSwitchId, result.get().getSwitchId());
     }
 
+    @Test
+    public void rediscoveredIslTakesCostFromDatabase() {
+        try (Transaction tx = graphDb.beginTx()) {
+            Node node1 = graphDb.createNode(Label.label("switch"));
+            node1.setProperty("name", "00:00:00:00:00:00:0a:01");
+            node1.setProperty("state", "active");
+            Node node2 = graphDb.createNode(Label.label("switch"));
+            node2.setProperty("name", "00:00:00:00:00:00:0a:02");
+            node2.setProperty("state", "active");
+            Relationship rel = node1.createRelationshipTo(node2, RelationshipType.withName("isl"));
+            rel.setProperty("src_switch", "00:00:00:00:00:00:0a:01");
+            rel.setProperty("src_port", 1);
+            rel.setProperty("dst_switch", "00:00:00:00:00:00:0a:02");
+            rel.setProperty("dst_port", 2);
+            rel.setProperty("cost", 10005);
+            rel.setProperty("latency", 10);
+            rel.setProperty("available_bandwidth", 500);
+            rel.setProperty("status", "inactive");
+
+            tx.success();
+        }
+        TopologyCache topologyCache = new TopologyCache(60_000L);
+        NeoDriver driver = new NeoDriver(GraphDatabase.driver("bolt://localhost:7878",
+                AuthTokens.basic("neo4j", "neo4j")), topologyCache);
+        driver.getAvailableNetwork(true, 0L);
+
+        IslInfoData isl = new IslInfoData(10L, Arrays.asList(
+                new PathNode(new SwitchId("00:00:00:00:00:00:0a:01"), 1, 0),
+                new PathNode(new SwitchId("00:00:00:00:00:00:0a:02"), 2, 1)),
+                500L, IslChangeType.DISCOVERED, 500L);
+        topologyCache.handleIslEvent(isl);
+        driver.getAvailableNetwork(true, 0L);
+
+        TopologySnapshot.Link link = topologyCache.getSnapshot().getLinks().get(isl.getId());
+        Assert.assertNotNull(link);
+        Assert.assertEquals(10005, link.getCost());
+    }
+
+    @Test
+    public void bandwidthTakenThroughOtherCacheIsConfirmedAgainstDatabase() throws Exception {
+        Relationship forward;
+        Relationship reverse;
+        try (Transaction tx = graphDb.beginTx()) {
+            Node node1 = graphDb.createNode(Label.label("switch"));
+            node1.setProperty("name", "00:00:00:00:00:00:0b:01");
+            node1.setProperty("state", "active");
+            Node node2 = graphDb.createNode(Label.label("switch"));
+            node2.setProperty("name", "00:00:00:00:00:00:0b:02");
+            node2.setProperty("state", "active");
+            forward = createIsl(node1, node2, 1, 2);
+            reverse = createIsl(node2, node1, 2, 1);
+            tx.success();
+        }
+        try {
+            NeoDriver first = new NeoDriver(GraphDatabase.driver("bolt://localhost:7878",
+                    AuthTokens.basic("neo4j", "neo4j")), new TopologyCache(60_000L));
+            TopologyCache secondCache = new TopologyCache(60_000L);
+            NeoDriver second = new NeoDriver(GraphDatabase.driver("bolt://localhost:7878",
+                    AuthTokens.basic("neo4j", "neo4j")), secondCache);
+            Flow firstFlow = new Flow("f-0b-1", 600, false, "", new SwitchId("00:00:00:00:00:00:0b:01"), 10, 0,
+                    new SwitchId("00:00:00:00:00:00:0b:02"), 10, 0);
+            Flow secondFlow = new Flow("f-0b-2", 600, false, "", new SwitchId("00:00:00:00:00:00:0b:01"), 11, 0,
+                    new SwitchId("00:00:00:00:00:00:0b:02"), 11, 0);
+
+            FlowPair<PathInfoData, PathInfoData> firstPath = first.getPath(firstFlow, PathComputer.Strategy.COST);
+            FlowPair<PathInfoData, PathInfoData> secondPath = second.getPath(secondFlow, PathComputer.Strategy.COST);
+            Assert.assertEquals(firstPath.getLeft().getPath(), secondPath.getLeft().getPath());
+            Assert.assertTrue(first.confirmBandwidth(firstFlow, firstPath));
+
+            // the first flow is stored
+            try (Transaction tx = graphDb.beginTx()) {
+                for (Relationship isl : new Relationship[]{forward, reverse}) {
+                    Relationship segment = isl.getStartNode().createRelationshipTo(isl.getEndNode(),
+                            RelationshipType.withName("flow_segment"));
+                    segment.setProperty("flowid", "f-0b-1");
+                    segment.setProperty("src_port", isl.getProperty("src_port"));
+                    segment.setProperty("dst_port", isl.getProperty("dst_port"));
+                    segment.setProperty("bandwidth", 600);
+                    segment.setProperty("ignore_bandwidth", false);
+                    isl.setProperty("available_bandwidth", 400);
+                }
+                tx.success();
+            }
+
+            Assert.assertFalse(second.confirmBandwidth(secondFlow, secondPath));
+            Assert.assertEquals(400L, secondCache.getSnapshot().getLinks()
+                    .get("00:00:00:00:00:00:0b:01_1").getAvailableBandwidth());
+            Assert.assertTrue(first.confirmBandwidth(firstFlow, firstPath));
+        } finally {
+            try (Transaction tx = graphDb.beginTx()) {
+                graphDb.execute("MATCH (sw:switch) WHERE sw.name STARTS WITH '00:00:00:00:00:00:0b:' "
+                        + "DETACH DELETE sw");
+                tx.success();
+            }
+        }
+    }
+
+    private static Relationship createIsl(Node src, Node dst, int srcPort, int dstPort) {
+        Relationship isl = src.createRelationshipTo(dst, RelationshipType.withName("isl"));
+        isl.setProperty("src_switch", src.getProperty("name"));
+        isl.setProperty("src_port", srcPort);
+        isl.setProperty("dst_switch", dst.getProperty("name"));
+        isl.setProperty("dst_port", dstPort);
+        isl.setProperty("cost", 1);
+        isl.setProperty("latency", 10);
+        isl.setProperty("available_bandwidth", 1000);
+        isl.setProperty("status", "active");
+        return isl;
+    }
+
     @Test
     public void getSwitchByIdNotFound() {
         SwitchId expectedSwitchId = new SwitchId("00:00:00:00:00:00:00:01");
@@ -48,8 +48,10 @@ import org.neo4j.kernel.configuration.BoltConnector;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The primary goals of this test package are to emulate the Acceptance Tests in the ATDD module. Those tests can be
@@ -564,6 +566,77 @@ public class PathComputerTest {
         nd.getPath(flow, network, Strategy.COST);
     }
 
+    @Test
+    public void getPathsForBatchShouldShareBandwidthBetweenFlows() throws Exception {
+        createDiamond("active", "active", 10, 20);
+
+        List<FlowPair<Flow, Flow>> flows = Arrays.asList(
+                makeBatchFlow("flow-600", 600, new SwitchId("00:01"), new SwitchId("00:04"), null, null),
+                makeBatchFlow("flow-700", 700, new SwitchId("00:01"), new SwitchId("00:04"), null, null),
+                makeBatchFlow("flow-500", 500, new SwitchId("00:01"), new SwitchId("00:04"), null, null));
+        Map<String, FlowPair<PathInfoData, PathInfoData>> paths = nd.getPaths(flows);
+
+        // the largest flow gets the cheapest path, the next one doesn't fit there and the last one doesn't fit at all
+        Assert.assertEquals(2, paths.size());
+        Assert.assertEquals(new SwitchId("00:02"), paths.get("flow-700").getLeft().getPath().get(1).getSwitchId());
+        Assert.assertEquals(new SwitchId("00:03"), paths.get("flow-600").getLeft().getPath().get(1).getSwitchId());
+        Assert.assertFalse(paths.containsKey("flow-500"));
+    }
+
+    @Test
+    public void getPathsForBatchShouldReuseBandwidthOfTheFlow() throws Exception {
+        int flowBandwidth = 1000;
+        String flowId = "flow-A1:01-A1:03";
+        createLinearTopoWithFlowSegments(10, "A1:", 1, 0L, flowId, flowBandwidth);
+
+        PathInfoData forwardPath = new PathInfoData(0L, Arrays.asList(
+                new PathNode(new SwitchId("A1:01"), 5, 0), new PathNode(new SwitchId("A1:02"), 5, 1),
+                new PathNode(new SwitchId("A1:02"), 6, 2), new PathNode(new SwitchId("A1:03"), 6, 3)));
+        PathInfoData reversePath = new PathInfoData(0L, Arrays.asList(
+                new PathNode(new SwitchId("A1:03"), 6, 0), new PathNode(new SwitchId("A1:02"), 6, 1),
+                new PathNode(new SwitchId("A1:02"), 5, 2), new PathNode(new SwitchId("A1:01"), 5, 3)));
+        FlowPair<Flow, Flow> flow = makeBatchFlow(flowId, flowBandwidth, new SwitchId("A1:01"), new SwitchId("A1:03"),
+                forwardPath, reversePath);
+
+        Map<String, FlowPair<PathInfoData, PathInfoData>> paths = nd.getPaths(Collections.singletonList(flow));
+
+        Assert.assertEquals(4, paths.get(flowId).getLeft().getPath().size());
+        Assert.assertEquals(4, paths.get(flowId).getRight().getPath().size());
+    }
+
+    @Test
+    public void getKPathsShouldOrderPathsByCost() {
+        createDiamond("active", "active", 10, 20, "0A:", 1);
+        Flow flow = new Flow();
+        flow.setSourceSwitch(new SwitchId("0A:01"));
+        flow.setDestinationSwitch(new SwitchId("0A:04"));
+        flow.setBandwidth(100);
+
+        AvailableNetwork network = nd.getAvailableNetwork(false, 100);
+        List<FlowPair<PathInfoData, PathInfoData>> paths = nd.getKPaths(flow, network, 3);
+
+        Assert.assertEquals(2, paths.size());
+        Assert.assertEquals(new SwitchId("0A:02"), paths.get(0).getLeft().getPath().get(1).getSwitchId());
+        Assert.assertEquals(new SwitchId("0A:03"), paths.get(1).getLeft().getPath().get(1).getSwitchId());
+        Assert.assertEquals(new SwitchId("0A:02"), paths.get(0).getRight().getPath().get(1).getSwitchId());
+    }
+
+    private FlowPair<Flow, Flow> makeBatchFlow(String flowId, long bandwidth, SwitchId srcSwitch, SwitchId dstSwitch,
+                                               PathInfoData forwardPath, PathInfoData reversePath) {
+        Flow forward = new Flow();
+        forward.setFlowId(flowId);
+        forward.setBandwidth(bandwidth);
+        forward.setSourceSwitch(srcSwitch);
+        forward.setDestinationSwitch(dstSwitch);
+        forward.setFlowPath(forwardPath);
+
+        Flow reverse = new Flow(forward);
+        reverse.setSourceSwitch(forward.getDestinationSwitch());
+        reverse.setDestinationSwitch(forward.getSourceSwitch());
+        reverse.setFlowPath(reversePath);
+        return new FlowPair<>(forward, reverse);
+    }
+
     private void createLinearTopoWithFlowSegments(int cost, String switchStart, int startIndex, long linkBw,
                                                   String flowId, long flowBandwidth) {
         try (Transaction tx = graphDb.beginTx()) {
@@ -190,10 +190,17 @@ def merge_flow_relationship(flow, tx):
         " f.transit_vlan = $transit_vlan, "
         " f.description = $description, "
         " f.last_updated = $last_updated, "
-        " f.flowpath = $flowpath"
+        " f.flowpath = $flowpath, "
+        # the revision assigned by the flow topology is kept in its flow cache,
+        # revision grows with every write, even if the clock goes back
+        " f.revision = CASE WHEN $revision > coalesce(f.revision, 0) "
+        "   THEN $revision "
+        "   WHEN coalesce(f.revision, 0) < timestamp() "
+        "   THEN timestamp() ELSE f.revision + 1 END"
     )
 
     p = model.dash_to_underscore(flow)
+    p.setdefault('revision', 0)
     # FIXME(surabujin): do we really want to keep this time representation?
     # FIXME(surabujin): format datetime as '1532609693'(don 't match with
     #                   format used in PCE/resource cache)
@@ -19,6 +19,7 @@ import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.flow.InstallEgressFlow;
@@ -76,6 +77,9 @@ public class CommandBolt extends BaseRichBolt {
             if (data instanceof DiscoverIslCommandData) {
                 switchCommand = Commands.DO_DISCOVER_ISL_COMMAND;
                 sw = ((DiscoverIslCommandData) data).getSwitchId();
+            } else if (data instanceof DiscoverIslBatchCommandData) {
+                switchCommand = Commands.DO_DISCOVER_ISL_COMMAND;
+                sw = ((DiscoverIslBatchCommandData) data).getSwitchId();
             } else if (data instanceof DiscoverPathCommandData) {
                 switchCommand = Commands.DO_DISCOVER_PATH_COMMAND;
                 sw = ((DiscoverPathCommandData) data).getSrcSwitchId();
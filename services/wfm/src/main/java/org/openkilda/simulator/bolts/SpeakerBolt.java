@@ -17,6 +17,7 @@ package org.openkilda.simulator.bolts;
 
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslChangeType;
@@ -323,7 +324,14 @@ public class SpeakerBolt extends BaseRichBolt {
 
         CommandData data = (CommandData) tuple.getValueByField(TupleFields.DATA.name());
         if (command.equals(Commands.DO_DISCOVER_ISL_COMMAND.name())) {
-            discoverIsl(tuple, (DiscoverIslCommandData) data);
+            if (data instanceof DiscoverIslBatchCommandData) {
+                DiscoverIslBatchCommandData batch = (DiscoverIslBatchCommandData) data;
+                for (Integer port : batch.getPortNumbers()) {
+                    discoverIsl(tuple, new DiscoverIslCommandData(batch.getSwitchId(), port));
+                }
+            } else {
+                discoverIsl(tuple, (DiscoverIslCommandData) data);
+            }
         } else {
             logger.error("Unknown switch command: {}".format(command));
             return;
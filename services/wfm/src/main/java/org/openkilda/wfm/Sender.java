@@ -50,6 +50,12 @@ public class Sender implements ISender {
         send(StreamType.WFM_REROUTE.toString(), message);
     }
 
+    @Override
+    public void sendInfoToWfmUpdate(InfoData data, String correlationId) throws JsonProcessingException {
+        Message message = new InfoMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
+        send(StreamType.WFM_UPDATE.toString(), message);
+    }
+
     @Override
     public void sendCommandToWfmReroute(String flowId, String correlationId) {
         outputCollector.emit(StreamType.WFM_REROUTE.toString(), tuple, new Values(flowId, correlationId));
@@ -25,15 +25,19 @@ import org.apache.commons.collections4.map.PassiveExpiringMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -68,6 +72,19 @@ public class DiscoveryManager {
 
     private final Map<SwitchId, Set<DiscoveryLink>> linksBySwitch;
 
+    /**
+     * Index of the links of {@link #linksBySwitch} by the source endpoint.
+     */
+    private final Map<NetworkEndpoint, Schedule> linksByEndpoint = new HashMap<>();
+
+    /**
+     * Timing wheel of the links, the slot of a tick holds the links which need to be checked on this tick (and
+     * possibly the links of the later rounds of the wheel). Links which are not allowed to be discovered are not in
+     * the wheel.
+     */
+    private final List<List<Schedule>> wheel;
+    private long currentTick = 0;
+
     /**
      * We need to have some kind of "history" of deactivated links in order to recognize if a link is moved
      * to another endpoint.
@@ -90,6 +107,20 @@ public class DiscoveryManager {
         this.maxAttempts = maxAttempts;
         this.linksBySwitch = linksBySwitch;
         this.removedFromDiscovery = new PassiveExpiringMap<>(minutesKeepRemovedIsl, TimeUnit.MINUTES, new HashMap<>());
+
+        // the wheel is longer than the check interval, so usually a slot keeps the links of one round
+        int wheelSize = Integer.highestOneBit(Math.max(islHealthCheckInterval, 1)) * 2;
+        wheel = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        for (Collection<DiscoveryLink> links : linksBySwitch.values()) {
+            for (DiscoveryLink link : links) {
+                Schedule schedule = new Schedule(link, currentTick);
+                linksByEndpoint.put(link.getSource(), schedule);
+                reschedule(schedule);
+            }
+        }
     }
 
     /**
@@ -104,65 +135,40 @@ public class DiscoveryManager {
      * 1) if the node is an ISL (isFoundIsl) .. and is UP .. keep checking
      * 2) if the node is not an ISL (ie !isFoundIsl), then check less frequently
      * 3) if the node is an ISL .. and is DOWN .. keep checking
+     *
+     * <p>Only the links which are due on this tick are checked: the links which wait for the check interval
+     * are skipped until it is over, the ticks are counted on the link when it is checked or changed by an event.
+     * The links with unacknowledged or lost disco packets are checked on every tick.
      */
     public Plan makeDiscoveryPlan() {
         Plan result = new Plan();
         int unsentDiscoPackets = 0;
 
-        List<DiscoveryLink> links = linksBySwitch.values()
-                .stream()
-                .flatMap(Set::stream)
-                .collect(Collectors.toList());
-
-        for (DiscoveryLink link : links) {
-            if (!link.isNewAttemptAllowed()) {
-                logger.trace("Disco packet from {} is not sent due to exceeded limit of consecutive failures: {}",
-                        link.getSource(), link.getConsecutiveFailure());
-                continue;
+        long tick = ++currentTick;
+        List<Schedule> slot = wheel.get(slotIndex(tick));
+        List<Schedule> due = new ArrayList<>();
+        slot.removeIf(schedule -> {
+            if (schedule.dueTick == tick) {
+                due.add(schedule);
+                return true;
             }
+            // keep the links of the later rounds, drop rescheduled and removed ones
+            return schedule.dueTick < tick || slotIndex(schedule.dueTick) != slotIndex(tick);
+        });
 
-            /*
-             * If we get a response from FL, we clear the attempts. Otherwise, no response, and
-             * number of attempts grows.
-             *
-             * Further, consecutivefailures = attempts - failure limit (we wait until attempt limit before increasing)
-             */
-            NetworkEndpoint node = link.getSource();
-            if (link.isAckAttemptsLimitExceeded(islConsecutiveFailureLimit)) {
-                // We've attempted to get the health multiple times, with no response.
-                // Time to mark it as a failure and send a failure notice ** if ** it was an ISL.
-                if (!link.getState().isInactive() && link.getConsecutiveFailure() == 0) {
-                    // It is a discovery failure if it was previously a success.
-                    result.discoveryFailure.add(node);
-                    logger.info("ISL IS DOWN (NO RESPONSE): {}", link);
-                }
-                // Increment Failure = 1 after isAttemptsLimitExceeded failure, then increases every attempt.
-                logger.trace("No response to the disco packet from {}", link.getSource());
-                link.fail();
-                // NB: this node can be in both discoveryFailure and needDiscovery
+        for (Schedule schedule : due) {
+            if (schedule.dueTick != tick) {
+                // the link is moved away and back to this tick, so it is in the slot twice
+                continue;
             }
-
-            if (link.isAttemptsLimitExceeded(islConsecutiveFailureLimit) && link.getState().isActive()) {
-                logger.info("Speaker doesn't send disco packet for {}", link);
+            DiscoveryLink link = schedule.link;
+            // the ticks before this one only increased the time counter of the link
+            link.tick((int) (tick - 1 - schedule.syncedTick));
+            schedule.syncedTick = tick;
+            if (checkLink(link, result)) {
                 unsentDiscoPackets++;
             }
-
-            link.tick();
-            /*
-             * If you get here, the following are true:
-             *  - it isn't in some filter
-             *  - it hasn't reached failure limit (forlorn)
-             *  - it is either time to send discovery or not
-             *  - NB: we'll keep trying to send discovery, even if we don't get a response.
-             */
-            if (link.timeToCheck()) {
-                link.incAttempts();
-                link.resetTickCounter();
-                result.needDiscovery.add(node);
-
-                logger.trace("Added to discovery plan: {}", link);
-            }
-
+            reschedule(schedule);
         }
 
         if (unsentDiscoPackets > 0) {
@@ -172,6 +178,63 @@ public class DiscoveryManager {
         return result;
     }
 
+    /**
+     * Checks the link on the tick, the same way for all links.
+     *
+     * @return true if the speaker doesn't send the disco packets of the active link.
+     */
+    private boolean checkLink(DiscoveryLink link, Plan result) {
+        if (!link.isNewAttemptAllowed()) {
+            logger.trace("Disco packet from {} is not sent due to exceeded limit of consecutive failures: {}",
+                    link.getSource(), link.getConsecutiveFailure());
+            return false;
+        }
+
+        /*
+         * If we get a response from FL, we clear the attempts. Otherwise, no response, and
+         * number of attempts grows.
+         *
+         * Further, consecutivefailures = attempts - failure limit (we wait until attempt limit before increasing)
+         */
+        NetworkEndpoint node = link.getSource();
+        if (link.isAckAttemptsLimitExceeded(islConsecutiveFailureLimit)) {
+            // We've attempted to get the health multiple times, with no response.
+            // Time to mark it as a failure and send a failure notice ** if ** it was an ISL.
+            if (!link.getState().isInactive() && link.getConsecutiveFailure() == 0) {
+                // It is a discovery failure if it was previously a success.
+                result.discoveryFailure.add(node);
+                logger.info("ISL IS DOWN (NO RESPONSE): {}", link);
+            }
+            // Increment Failure = 1 after isAttemptsLimitExceeded failure, then increases every attempt.
+            logger.trace("No response to the disco packet from {}", link.getSource());
+            link.fail();
+            // NB: this node can be in both discoveryFailure and needDiscovery
+        }
+
+        boolean isUnsent = false;
+        if (link.isAttemptsLimitExceeded(islConsecutiveFailureLimit) && link.getState().isActive()) {
+            logger.info("Speaker doesn't send disco packet for {}", link);
+            isUnsent = true;
+        }
+
+        link.tick();
+        /*
+         * If you get here, the following are true:
+         *  - it isn't in some filter
+         *  - it hasn't reached failure limit (forlorn)
+         *  - it is either time to send discovery or not
+         *  - NB: we'll keep trying to send discovery, even if we don't get a response.
+         */
+        if (link.timeToCheck()) {
+            link.incAttempts();
+            link.resetTickCounter();
+            result.needDiscovery.add(node);
+
+            logger.trace("Added to discovery plan: {}", link);
+        }
+        return isUnsent;
+    }
+
     /**
      * ISL Discovery Event.
      *
@@ -186,6 +249,7 @@ public class DiscoveryManager {
             logger.warn("Ignore \"AVAIL\" request for {}: node not found", node);
         } else {
             DiscoveryLink link = matchedLink.get();
+            final Schedule schedule = sync(link);
             if (!link.getState().isActive() || link.isDestinationChanged(dstSwitch, dstPort)) {
                 // we've found newly discovered or moved/replugged isl
                 link.activate(new NetworkEndpoint(dstSwitch, dstPort));
@@ -203,6 +267,7 @@ public class DiscoveryManager {
             link.success();
             link.clearConsecutiveFailure();
             // If one of the logs above wasn't reachd, don't log anything .. ISL was up and is still up
+            reschedule(schedule);
         }
 
         if (stateChanged) {
@@ -229,6 +294,7 @@ public class DiscoveryManager {
             logger.warn("Ignoring \"FAILED\" request. There is no link found from {}", endpoint);
         } else {
             DiscoveryLink link = matchedLink.get();
+            final Schedule schedule = sync(link);
             if (!link.getState().isInactive() && link.getConsecutiveFailure() == 0) {
                 // This is the first failure for an ISL. That is a state change.
                 // IF this isn't an ISL and we receive a failure, that isn't a state change.
@@ -237,6 +303,7 @@ public class DiscoveryManager {
             }
             link.renew();
             link.fail();
+            reschedule(schedule);
         }
         return stateChanged;
     }
@@ -248,7 +315,7 @@ public class DiscoveryManager {
      */
     public void handleSentDiscoPacket(NetworkEndpoint endpoint) {
         findBySourceEndpoint(endpoint)
-                .ifPresent(DiscoveryLink::incAcknowledgedAttempts);
+                .ifPresent(link -> update(link, DiscoveryLink::incAcknowledgedAttempts));
 
         logger.debug("Received acknowledge of sending disco from {}", endpoint);
     }
@@ -275,7 +342,7 @@ public class DiscoveryManager {
                     switchId);
             subjectList.stream()
                 .filter(link -> link.getState().isActive())
-                .forEach(DiscoveryLink::resetState);
+                .forEach(link -> update(link, DiscoveryLink::resetState));
         }
     }
 
@@ -291,7 +358,7 @@ public class DiscoveryManager {
             // TODO: we should probably separate "port up" from "do discovery". ATM, one would call
             //          this function just to get the "do discovery" functionality.
             logger.info("Port UP on existing NetworkEndpoint {};  clear failures and isl status", link);
-            link.resetState();
+            update(link, DiscoveryLink::resetState);
         } else {
             logger.info("Port UP on new NetworkEndpoint: {}", link.getSource());
         }
@@ -315,6 +382,9 @@ public class DiscoveryManager {
                 this.islHealthCheckInterval, this.maxAttempts);
         linksBySwitch.computeIfAbsent(node.getDatapath(), key -> new HashSet<>())
                 .add(link);
+        Schedule schedule = new Schedule(link, currentTick);
+        linksByEndpoint.put(node, schedule);
+        reschedule(schedule);
 
         logger.info("The link has been registered for discovery: {}", link);
 
@@ -355,11 +425,8 @@ public class DiscoveryManager {
      */
     @VisibleForTesting
     Optional<DiscoveryLink> findBySourceEndpoint(NetworkEndpoint endpoint) {
-        Set<DiscoveryLink> links = linksBySwitch.getOrDefault(endpoint.getDatapath(), Collections.emptySet());
-
-        return links.stream()
-                .filter(link -> endpoint.equals(link.getSource()))
-                .findFirst();
+        return Optional.ofNullable(linksByEndpoint.get(endpoint))
+                .map(schedule -> schedule.link);
     }
 
     /**
@@ -372,6 +439,7 @@ public class DiscoveryManager {
         if (endpoint.getPortNumber() == 0) {
             Set<DiscoveryLink> links = linksBySwitch.remove(endpoint.getDatapath());
             if (!CollectionUtils.isEmpty(links)) {
+                links.forEach(link -> unschedule(link.getSource()));
                 Map<NetworkEndpoint, DiscoveryLink> removedLinks = links.stream()
                         .collect(Collectors.toMap(DiscoveryLink::getSource, Function.identity()));
                 removedFromDiscovery.putAll(removedLinks);
@@ -381,12 +449,15 @@ public class DiscoveryManager {
         } else {
             Set<DiscoveryLink> links = linksBySwitch.get(endpoint.getDatapath());
 
-            Optional<DiscoveryLink> matchedLink = links.stream()
-                    .filter(discoveryLink -> endpoint.equals(discoveryLink.getSource()))
-                    .findFirst();
+            Optional<DiscoveryLink> matchedLink = findBySourceEndpoint(endpoint);
 
             matchedLink.ifPresent(link -> {
-                links.remove(link);
+                // the hash code of the link depends on its destination, which can be changed after the link is
+                // added into the set, so the set is rebuilt without the link
+                linksBySwitch.put(endpoint.getDatapath(), links.stream()
+                        .filter(entry -> entry != link)
+                        .collect(Collectors.toCollection(HashSet::new)));
+                unschedule(endpoint);
                 removedFromDiscovery.put(endpoint, link);
 
                 logger.info("The link has been removed from discovery: {}", link);
@@ -433,7 +504,7 @@ public class DiscoveryManager {
         DiscoveryLink link = findBySourceEndpoint(endpoint)
                 .orElseGet(() -> removedFromDiscovery.remove(endpoint));
         if (link != null) {
-            link.deactivate();
+            update(link, DiscoveryLink::deactivate);
 
             logger.info("The link has been deactivated: {}", link);
         }
@@ -452,6 +523,86 @@ public class DiscoveryManager {
         return link.isPresent() && link.get().isNewAttemptAllowed();
     }
 
+    /**
+     * Counts the ticks skipped by the wheel on the link, it must be done before the link is changed.
+     *
+     * @return the schedule of the link or null if the link is not in discovery.
+     */
+    private Schedule sync(DiscoveryLink link) {
+        Schedule schedule = linksByEndpoint.get(link.getSource());
+        if (schedule == null || schedule.link != link) {
+            return null;
+        }
+        if (schedule.dueTick != Schedule.DORMANT) {
+            link.tick((int) (currentTick - schedule.syncedTick));
+        }
+        schedule.syncedTick = currentTick;
+        return schedule;
+    }
+
+    private void update(DiscoveryLink link, Consumer<DiscoveryLink> change) {
+        Schedule schedule = sync(link);
+        change.accept(link);
+        reschedule(schedule);
+    }
+
+    /**
+     * Puts the link into the slot of the tick it has to be checked on.
+     */
+    private void reschedule(Schedule schedule) {
+        if (schedule == null) {
+            return;
+        }
+
+        DiscoveryLink link = schedule.link;
+        long dueTick;
+        if (!link.isNewAttemptAllowed()) {
+            dueTick = Schedule.DORMANT;
+        } else if (link.isAckAttemptsLimitExceeded(islConsecutiveFailureLimit)
+                || (link.isAttemptsLimitExceeded(islConsecutiveFailureLimit) && link.getState().isActive())) {
+            dueTick = schedule.syncedTick + 1;
+        } else {
+            dueTick = schedule.syncedTick + Math.max(1, link.getCheckInterval() - link.getTimeCounter());
+        }
+
+        if (dueTick != schedule.dueTick) {
+            schedule.dueTick = dueTick;
+            if (dueTick != Schedule.DORMANT) {
+                wheel.get(slotIndex(dueTick)).add(schedule);
+            }
+        }
+    }
+
+    private void unschedule(NetworkEndpoint endpoint) {
+        Schedule schedule = linksByEndpoint.remove(endpoint);
+        if (schedule != null) {
+            schedule.dueTick = Schedule.DORMANT;
+        }
+    }
+
+    private int slotIndex(long tick) {
+        return (int) (tick & (wheel.size() - 1));
+    }
+
+    /**
+     * The place of the link in the timing wheel.
+     */
+    private static final class Schedule {
+        static final long DORMANT = -1;
+
+        final DiscoveryLink link;
+        /**
+         * The tick the time counter of the link is up to date with.
+         */
+        long syncedTick;
+        long dueTick = DORMANT;
+
+        Schedule(DiscoveryLink link, long syncedTick) {
+            this.link = link;
+            this.syncedTick = syncedTick;
+        }
+    }
+
     public final class Plan {
         public final List<NetworkEndpoint> needDiscovery;
         public final List<NetworkEndpoint> discoveryFailure;
@@ -460,5 +611,18 @@ public class DiscoveryManager {
             this.needDiscovery = new LinkedList<>();
             this.discoveryFailure = new LinkedList<>();
         }
+
+        /**
+         * Groups the endpoints which need discovery by switch, so one discovery command can be sent per switch.
+         *
+         * @return endpoints by switch, in the order of the first appearance of the switch in the plan.
+         */
+        public Map<SwitchId, List<NetworkEndpoint>> groupNeedDiscoveryBySwitch() {
+            Map<SwitchId, List<NetworkEndpoint>> result = new LinkedHashMap<>();
+            for (NetworkEndpoint node : needDiscovery) {
+                result.computeIfAbsent(node.getDatapath(), key -> new ArrayList<>()).add(node);
+            }
+            return result;
+        }
     }
 }
@@ -46,11 +46,11 @@ public abstract class KafkaDecoder extends AbstractBolt {
         getOutput().emit(input, output);
     }
 
-    private String pullPayload(Tuple input) throws PipelineException {
+    protected String pullPayload(Tuple input) throws PipelineException {
         return pullValue(input, KafkaRecordTranslator.FIELD_ID_PAYLOAD, String.class);
     }
 
-    private Message decode(String json) throws JsonDecodeException {
+    protected Message decode(String json) throws JsonDecodeException {
         Message value;
 
         try {
@@ -0,0 +1,189 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.state;
+
+import org.apache.storm.state.DefaultStateSerializer;
+import org.apache.storm.state.KeyValueState;
+import org.apache.storm.state.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * {@link KeyValueState} kept in memory and checkpointed into a file of the local disk.
+ * <p/>
+ * {@link #prepareCommit(long)} writes the snapshot of the whole state into the pending file, {@link #commit(long)}
+ * replaces the committed file by it and {@link #rollback()} reads the committed file back. Values are stored as is,
+ * so mutable values changed in place are snapshotted as they are at the moment of the prepare. The pending file
+ * survives the restart of the worker, so the commit of the prepared transaction can be finished after it.
+ */
+public class LocalFileKeyValueState<K, V> implements KeyValueState<K, V> {
+    private static final Logger logger = LoggerFactory.getLogger(LocalFileKeyValueState.class);
+
+    private static final long NO_TXID = -1;
+
+    private final Path committedFile;
+    private final Path pendingFile;
+    private final Serializer<HashMap<K, V>> serializer = new DefaultStateSerializer<>();
+
+    private HashMap<K, V> state = new HashMap<>();
+    private long preparedTxid = NO_TXID;
+
+    /**
+     * Creates the state stored in the {@code directory} and loads its last committed snapshot.
+     */
+    public LocalFileKeyValueState(Path directory, String namespace) {
+        String name = namespace.replaceAll("[^A-Za-z0-9._-]", "_");
+        committedFile = directory.resolve(name + ".state");
+        pendingFile = directory.resolve(name + ".pending");
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        load();
+    }
+
+    @Override
+    public void put(K key, V value) {
+        state.put(key, value);
+    }
+
+    @Override
+    public V get(K key) {
+        return state.get(key);
+    }
+
+    @Override
+    public V get(K key, V defaultValue) {
+        return state.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public V delete(K key) {
+        return state.remove(key);
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return state.entrySet().iterator();
+    }
+
+    @Override
+    public void prepareCommit(long txid) {
+        write(pendingFile, txid);
+        preparedTxid = txid;
+    }
+
+    @Override
+    public void commit(long txid) {
+        long pendingTxid = readTxid(pendingFile);
+        if (pendingTxid != txid) {
+            // already committed before the restart or never prepared
+            logger.debug("No pending snapshot of {} for txid {} (pending: {})", committedFile, txid, pendingTxid);
+            return;
+        }
+
+        move(pendingFile, committedFile);
+        if (preparedTxid != txid) {
+            // prepared by the previous instance of the worker
+            load();
+        }
+        preparedTxid = NO_TXID;
+    }
+
+    @Override
+    public void commit() {
+        write(pendingFile, NO_TXID);
+        move(pendingFile, committedFile);
+        preparedTxid = NO_TXID;
+    }
+
+    @Override
+    public void rollback() {
+        try {
+            Files.deleteIfExists(pendingFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        preparedTxid = NO_TXID;
+        load();
+    }
+
+    @Override
+    public String toString() {
+        return "LocalFileKeyValueState{file=" + committedFile + ", size=" + state.size() + "}";
+    }
+
+    private void load() {
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(committedFile))) {
+            input.readLong();
+            byte[] body = new byte[input.readInt()];
+            input.readFully(body);
+            state = serializer.deserialize(body);
+            logger.info("Restored {} keys from {}", state.size(), committedFile);
+        } catch (NoSuchFileException e) {
+            state = new HashMap<>();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(Path target, long txid) {
+        byte[] body = serializer.serialize(state);
+        try (OutputStream stream = Files.newOutputStream(target);
+                DataOutputStream output = new DataOutputStream(stream)) {
+            output.writeLong(txid);
+            output.writeInt(body.length);
+            output.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long readTxid(Path source) {
+        try (InputStream stream = Files.newInputStream(source);
+                DataInputStream input = new DataInputStream(stream)) {
+            return input.readLong();
+        } catch (NoSuchFileException e) {
+            return NO_TXID;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void move(Path source, Path target) {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.state;
+
+import org.apache.storm.Config;
+import org.apache.storm.state.State;
+import org.apache.storm.state.StateProvider;
+import org.apache.storm.task.TopologyContext;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Provides {@link LocalFileKeyValueState} to the stateful bolts of the topology.
+ * <p/>
+ * The directory for the state files must be set in {@link Config#TOPOLOGY_STATE_PROVIDER_CONFIG}. The states of
+ * each topology are kept in the subdirectory named after the topology, so the topologies sharing the directory
+ * don't overwrite each other's states. The topology name is used rather than the topology id, because the id
+ * changes with every submit and the state must survive the restart of the topology. The state lives on the disk of
+ * the worker host, so it survives the restart only if the tasks are scheduled to the same hosts.
+ */
+public class LocalFileKeyValueStateProvider implements StateProvider {
+    @Override
+    public State newState(String namespace, Map stormConf, TopologyContext context) {
+        return new LocalFileKeyValueState<>(getDirectory(stormConf, context), namespace);
+    }
+
+    static Path getDirectory(Map stormConf, TopologyContext context) {
+        Object directory = stormConf.get(Config.TOPOLOGY_STATE_PROVIDER_CONFIG);
+        if (directory == null || directory.toString().isEmpty()) {
+            throw new IllegalStateException(String.format(
+                    "The directory of the local file state is not configured (%s)",
+                    Config.TOPOLOGY_STATE_PROVIDER_CONFIG));
+        }
+
+        Object topology = stormConf.get(Config.TOPOLOGY_NAME);
+        if (topology == null) {
+            topology = context.getStormId();
+        }
+        return Paths.get(directory.toString(), topology.toString().replaceAll("[^A-Za-z0-9._-]", "_"));
+    }
+}
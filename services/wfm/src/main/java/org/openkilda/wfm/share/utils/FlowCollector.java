@@ -81,4 +81,8 @@ public class FlowCollector {
 
         return new BidirectionalFlow(forward, reverse);
     }
+
+    public boolean isComplete() {
+        return forward != null && reverse != null;
+    }
 }
@@ -0,0 +1,77 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import org.openkilda.messaging.utils.LongObjectHashMap;
+
+import java.io.Serializable;
+
+/**
+ * Hash set of primitive {@code long} values.
+ * <p/>
+ * A view of {@link LongObjectHashMap} with a shared marker value, so the values are neither boxed nor wrapped into
+ * entries. It starts small because most sets hold a handful of values. Not thread safe.
+ */
+public class LongHashSet implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final LongObjectHashMap<Boolean> values;
+
+    public LongHashSet() {
+        values = new LongObjectHashMap<>();
+    }
+
+    public LongHashSet(int expectedSize) {
+        values = new LongObjectHashMap<>(expectedSize);
+    }
+
+    public boolean contains(long value) {
+        return values.containsKey(value);
+    }
+
+    /**
+     * Add the value, return false if it is already in the set.
+     */
+    public boolean add(long value) {
+        return values.put(value, Boolean.TRUE) == null;
+    }
+
+    /**
+     * Remove the value, return false if it is not in the set.
+     */
+    public boolean remove(long value) {
+        return values.remove(value) != null;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    public void clear() {
+        values.clear();
+    }
+
+    /**
+     * Copy the values into a new array, the order is not defined.
+     */
+    public long[] toArray() {
+        return values.keys();
+    }
+}
@@ -16,11 +16,9 @@
 package org.openkilda.wfm.share.utils;
 
 import org.openkilda.messaging.model.BidirectionalFlow;
-import org.openkilda.messaging.model.Flow;
 import org.openkilda.pce.provider.PathComputer;
 
 import lombok.Getter;
-import org.neo4j.cypher.InvalidArgumentException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public class PathComputerFlowFetcher {
     private static final Logger log = LoggerFactory.getLogger(PathComputerFlowFetcher.class);
@@ -36,33 +35,40 @@ public class PathComputerFlowFetcher {
     private final Collection<BidirectionalFlow> flows = new ArrayList<>();
 
     public PathComputerFlowFetcher(PathComputer pathComputer) {
-        for (FlowCollector collector : fetchFlows(pathComputer)) {
+        fetch(pathComputer, flows::add);
+    }
+
+    /**
+     * Streams flows out of the path computer and passes each flow pair to the consumer as soon as both halves
+     * are read. Only incomplete pairs are kept in memory, and as the halves of a flow come one after another
+     * there are few of them at any moment.
+     */
+    public static void fetch(PathComputer pathComputer, Consumer<BidirectionalFlow> consumer) {
+        Map<String, FlowCollector> incomplete = new HashMap<>();
+        pathComputer.streamFlows(flow -> {
+            FlowCollector pair = incomplete.computeIfAbsent(flow.getFlowId(), flowId -> new FlowCollector());
             try {
-                flows.add(collector.make());
-            } catch (InvalidArgumentException e) {
-                log.error(
-                        "Invalid flow pairing {}: {}",
-                        collector.anyDefined().getFlowId(),
-                        e.toString());
+                pair.add(flow);
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid half-flow {}: {}", flow.getFlowId(), e.toString());
+                return;
             }
-        }
-    }
 
-    private Collection<FlowCollector> fetchFlows(PathComputer pathComputer) {
-        Map<String, FlowCollector> flowPairsMap = new HashMap<>();
-        for (Flow flow : pathComputer.getAllFlows()) {
-            if (!flowPairsMap.containsKey(flow.getFlowId())) {
-                flowPairsMap.put(flow.getFlowId(), new FlowCollector());
+            if (pair.isComplete()) {
+                incomplete.remove(flow.getFlowId());
+                consumer.accept(pair.make());
             }
+        });
 
-            FlowCollector pair = flowPairsMap.get(flow.getFlowId());
+        for (FlowCollector collector : incomplete.values()) {
             try {
-                pair.add(flow);
+                consumer.accept(collector.make());
             } catch (IllegalArgumentException e) {
-                log.error("Invalid half-flow {}: {}", flow.getFlowId(), e.toString());
+                log.error(
+                        "Invalid flow pairing {}: {}",
+                        collector.anyDefined().getFlowId(),
+                        e.toString());
             }
         }
-
-        return flowPairsMap.values();
     }
 }
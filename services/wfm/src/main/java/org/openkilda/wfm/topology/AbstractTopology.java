@@ -32,6 +32,8 @@ import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.storm.Config;
 import org.apache.storm.LocalCluster;
@@ -209,6 +211,21 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
         return new KafkaSpout<>(config);
     }
 
+    /**
+     * Creates Kafka spout which passes record values as raw bytes, for topics which can carry messages in a
+     * binary wire format (see {@link org.openkilda.messaging.codec.MessageCodec}).
+     *
+     * @param topic Kafka topic
+     * @return {@link KafkaSpout}
+     */
+    protected KafkaSpout<String, byte[]> createBinaryKafkaSpout(String topic, String spoutId) {
+        KafkaSpoutConfig<String, byte[]> config = makeKafkaSpoutConfigBuilder(
+                spoutId, topic, ByteArrayDeserializer.class)
+                .build();
+
+        return new KafkaSpout<>(config);
+    }
+
     /**
      * Creates Kafka bolt.
      *
@@ -246,8 +263,13 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
     }
 
     protected KafkaSpoutConfig.Builder<String, String> makeKafkaSpoutConfigBuilder(String spoutId, String topic) {
+        return makeKafkaSpoutConfigBuilder(spoutId, topic, StringDeserializer.class);
+    }
+
+    protected <V> KafkaSpoutConfig.Builder<String, V> makeKafkaSpoutConfigBuilder(
+            String spoutId, String topic, Class<? extends Deserializer<V>> valueDeserializer) {
         return new KafkaSpoutConfig.Builder<>(
-                kafkaConfig.getHosts(), StringDeserializer.class, StringDeserializer.class,
+                kafkaConfig.getHosts(), StringDeserializer.class, valueDeserializer,
                 new CustomNamedSubscription(topic))
 
                 .setGroupId(makeKafkaGroupName(spoutId))
@@ -22,7 +22,7 @@ import org.openkilda.wfm.topology.cache.transport.CacheTopology;
  */
 public enum StreamType {
     /**
-     * State update.
+     * Network state update.
      */
     WFM_UPDATE,
 
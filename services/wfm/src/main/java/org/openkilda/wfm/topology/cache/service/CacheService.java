@@ -26,7 +26,6 @@ import org.openkilda.messaging.info.event.NetworkTopologyChange;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.info.flow.FlowInfoData;
-import org.openkilda.messaging.model.BidirectionalFlow;
 import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.model.FlowPair;
 import org.openkilda.messaging.model.SwitchId;
@@ -72,13 +71,11 @@ public class CacheService {
 
     private void initFlowCache(PathComputer pathComputer) {
         logger.info("Flow Cache: Initializing");
-        PathComputerFlowFetcher flowFetcher = new PathComputerFlowFetcher(pathComputer);
-
-        for (BidirectionalFlow bidirectionalFlow : flowFetcher.getFlows()) {
+        PathComputerFlowFetcher.fetch(pathComputer, bidirectionalFlow -> {
             FlowPair<Flow, Flow> flowPair = new FlowPair<>(
                     bidirectionalFlow.getForward(), bidirectionalFlow.getReverse());
             flowCache.pushFlow(flowPair);
-        }
+        });
         logger.info("Flow Cache: Initialized");
     }
 
@@ -119,8 +116,10 @@ public class CacheService {
      * @param sw the switch info data
      * @param sender the sender
      * @param correlationId the correlation id
+     * @throws JsonProcessingException if sending message can't be serialized as json
      */
-    public void handleSwitchEvent(SwitchInfoData sw, ISender sender, String correlationId) {
+    public void handleSwitchEvent(SwitchInfoData sw, ISender sender, String correlationId)
+            throws JsonProcessingException {
         logger.debug("State update switch {} message {}", sw.getSwitchId(), sw.getState());
         Set<FlowPair<Flow, Flow>> affectedFlows;
 
@@ -129,6 +128,7 @@ public class CacheService {
             case ADDED:
             case ACTIVATED:
                 onSwitchUp(sw);
+                sender.sendInfoToWfmUpdate(sw, correlationId);
                 break;
 
             case REMOVED:
@@ -136,6 +136,7 @@ public class CacheService {
                 if (networkCache.cacheContainsSwitch(sw.getSwitchId())) {
                     networkCache.updateSwitch(sw);
                 }
+                sender.sendInfoToWfmUpdate(sw, correlationId);
 
                 // (crimi - 2018.04.17) - eliminating taking action on Switch down events ..
                 // primarily because floodlight can regularly drop a connection to the switch (or
@@ -166,20 +167,26 @@ public class CacheService {
      * @param isl the ISL info data
      * @param sender the sender
      * @param correlationId the correlation id
+     * @throws JsonProcessingException if sending message can't be serialized as json
      */
-    public void handleIslEvent(IslInfoData isl, ISender sender, String correlationId) {
+    public void handleIslEvent(IslInfoData isl, ISender sender, String correlationId)
+            throws JsonProcessingException {
         logger.debug("State update isl {} message cached {}", isl.getId(), isl.getState());
         Set<FlowPair<Flow, Flow>> affectedFlows;
 
         switch (isl.getState()) {
             case DISCOVERED:
                 if (networkCache.cacheContainsIsl(isl.getId())) {
-                    networkCache.updateIsl(isl);
+                    IslInfoData previous = networkCache.updateIsl(isl);
+                    if (previous.getLatency() != isl.getLatency()) {
+                        sender.sendInfoToWfmUpdate(isl, correlationId);
+                    }
                 } else {
                     if (isl.isSelfLooped()) {
                         logger.warn("Skipped self-looped ISL: {}", isl);
                     } else {
                         networkCache.createIsl(isl);
+                        sender.sendInfoToWfmUpdate(isl, correlationId);
                     }
                 }
                 break;
@@ -191,6 +198,7 @@ public class CacheService {
                 } catch (CacheException exception) {
                     logger.warn("{}:{}", exception.getErrorMessage(), exception.getErrorDescription());
                 }
+                sender.sendInfoToWfmUpdate(isl, correlationId);
 
                 affectedFlows = flowCache.getActiveFlowsWithAffectedPath(isl);
                 String reason = String.format("isl %s FAILED", isl.getId());
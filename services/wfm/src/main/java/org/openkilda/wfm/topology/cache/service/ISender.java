@@ -25,5 +25,7 @@ public interface ISender {
 
     void sendInfoToWfmReroute(InfoData data, String correlationId) throws JsonProcessingException;
 
+    void sendInfoToWfmUpdate(InfoData data, String correlationId) throws JsonProcessingException;
+
     void sendCommandToWfmReroute(String flowId, String correlationId);
 }
@@ -213,6 +213,7 @@ public class CacheBolt
     public void declareOutputFields(OutputFieldsDeclarer output) {
         output.declareStream(StreamType.TPE.toString(), AbstractTopology.fieldMessage);
         output.declareStream(StreamType.WFM_REROUTE.toString(), new Fields(FLOW_ID_FIELD, CORRELATION_ID_FIELD));
+        output.declareStream(StreamType.WFM_UPDATE.toString(), AbstractTopology.fieldMessage);
         output.declareStream(StreamType.OFE.toString(), AbstractTopology.fieldMessage);
         // FIXME(dbogun): use proper tuple format
         output.declareStream(STREAM_ID_CTRL, AbstractTopology.fieldMessage);
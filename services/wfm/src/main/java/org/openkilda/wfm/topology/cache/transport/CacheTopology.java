@@ -112,12 +112,13 @@ public class CacheTopology extends AbstractTopology<CacheTopologyConfig> {
                 .shuffleGrouping(BOLT_ID_REROUTE_THROTTLING);
 
         /*
-         * Sends requests for ISL to OFE topology.
+         * Sends requests for ISL to OFE topology and network updates to `flow` topology.
          */
         // FIXME(surabjin): 2 kafka bold with same topic (see previous bolt)
         KafkaBolt ofeKafkaBolt = createKafkaBolt(topologyConfig.getKafkaFlowTopic());
         builder.setBolt(BOLT_ID_OFE, ofeKafkaBolt, parallelism)
-                .shuffleGrouping(BOLT_ID_CACHE, StreamType.OFE.toString());
+                .shuffleGrouping(BOLT_ID_CACHE, StreamType.OFE.toString())
+                .shuffleGrouping(BOLT_ID_CACHE, StreamType.WFM_UPDATE.toString());
 
         createCtrlBranch(builder, ctrlTargets);
         return builder.createTopology();
@@ -0,0 +1,117 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.event;
+
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.BaseMessage;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoveryPeerCommandData;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.DiscoPacketSendingBatchConfirmation;
+import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
+import org.openkilda.messaging.info.discovery.NetworkDumpPortData;
+import org.openkilda.messaging.info.discovery.NetworkDumpSwitchData;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.topology.AbstractTopology;
+
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+
+import java.io.IOException;
+
+/**
+ * Extracts the switch id from the speaker's events, so {@link OfeLinkBolt} can be partitioned by switch.
+ * <p/>
+ * Events of a switch go to the default stream with the switch id in a separate field. Events without a switch
+ * (heart beats, network dump markers) go to the {@link #STREAM_BROADCAST_ID} stream, every {@link OfeLinkBolt}
+ * instance needs them. The peer commands of {@link OfeLinkBolt} come back through the same topic and are routed to the
+ * owner of the switch like the events. The original JSON is passed along as the first field.
+ */
+public class DiscoveryRouterBolt extends AbstractBolt {
+    public static final String FIELD_ID_SWITCH_ID = "switch_id";
+    public static final Fields STREAM_FIELDS = new Fields(AbstractTopology.MESSAGE_FIELD, FIELD_ID_SWITCH_ID);
+
+    public static final String STREAM_BROADCAST_ID = "broadcast";
+    public static final Fields STREAM_BROADCAST_FIELDS = AbstractTopology.fieldMessage;
+
+    @Override
+    protected void handleInput(Tuple input) {
+        String json = input.getString(0);
+
+        BaseMessage message;
+        try {
+            message = MAPPER.readValue(json, BaseMessage.class);
+        } catch (IOException e) {
+            log.error("Unknown Message type={}", json);
+            return;
+        }
+
+        SwitchId switchId = null;
+        if (message instanceof InfoMessage) {
+            switchId = extractSwitchId(((InfoMessage) message).getData());
+        } else if (message instanceof CommandMessage
+                && ((CommandMessage) message).getData() instanceof DiscoveryPeerCommandData) {
+            switchId = ((DiscoveryPeerCommandData) ((CommandMessage) message).getData()).getSwitchId();
+        }
+
+        if (switchId != null) {
+            getOutput().emit(input, new Values(json, switchId.toString()));
+        } else {
+            getOutput().emit(STREAM_BROADCAST_ID, input, new Values(json));
+        }
+    }
+
+    /**
+     * Returns the switch the event belongs to, the ISL event belongs to the switch which has sent the discovery
+     * packet.
+     */
+    static SwitchId extractSwitchId(InfoData data) {
+        SwitchId switchId = null;
+        if (data instanceof SwitchInfoData) {
+            switchId = ((SwitchInfoData) data).getSwitchId();
+        } else if (data instanceof PortInfoData) {
+            switchId = ((PortInfoData) data).getSwitchId();
+        } else if (data instanceof IslInfoData) {
+            IslInfoData isl = (IslInfoData) data;
+            if (isl.getPath() != null && !isl.getPath().isEmpty()) {
+                switchId = isl.getPath().get(0).getSwitchId();
+            }
+        } else if (data instanceof DiscoPacketSendingConfirmation) {
+            switchId = ((DiscoPacketSendingConfirmation) data).getEndpoint().getDatapath();
+        } else if (data instanceof DiscoPacketSendingBatchConfirmation) {
+            switchId = ((DiscoPacketSendingBatchConfirmation) data).getSwitchId();
+        } else if (data instanceof NetworkDumpSwitchData) {
+            switchId = ((NetworkDumpSwitchData) data).getSwitchId();
+        } else if (data instanceof NetworkDumpPortData) {
+            switchId = ((NetworkDumpPortData) data).getSwitchId();
+        }
+        return switchId;
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer declarer) {
+        declarer.declare(STREAM_FIELDS);
+        declarer.declareStream(STREAM_BROADCAST_ID, STREAM_BROADCAST_FIELDS);
+    }
+}
@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.event;
 import org.openkilda.wfm.topology.AbstractTopologyConfig;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.IgnoreKey;
 import com.sabre.oss.conf4j.annotation.Key;
 
@@ -63,5 +64,9 @@ public interface OFEventWfmTopologyConfig extends AbstractTopologyConfig {
 
         @Key("dump-request-timeout-seconds")
         int getDiscoveryDumpRequestTimeout();
+
+        @Key("state.dir")
+        @Default("")
+        String getStateDirectory();
     }
 }
@@ -18,12 +18,15 @@ package org.openkilda.wfm.topology.event;
 import org.openkilda.wfm.CtrlBoltRef;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.error.StreamNameCollisionException;
+import org.openkilda.wfm.share.state.LocalFileKeyValueStateProvider;
 import org.openkilda.wfm.topology.AbstractTopology;
 
 import com.google.common.annotations.VisibleForTesting;
+import org.apache.storm.Config;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.topology.BoltDeclarer;
 import org.apache.storm.topology.TopologyBuilder;
+import org.apache.storm.tuple.Fields;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,10 +56,12 @@ public class OfEventWfmTopology extends AbstractTopology<OFEventWfmTopologyConfi
 
     @VisibleForTesting
     public static final String DISCO_SPOUT_ID = "disco-spout";
+    private static final String DISCO_ROUTER_BOLT_ID = DiscoveryRouterBolt.class.getSimpleName();
     private static final String DISCO_BOLT_ID = OfeLinkBolt.class.getSimpleName();
     private static final String TOPO_ENG_BOLT_ID = "topo.eng-bolt";
     private static final String SPEAKER_BOLT_ID = "speaker-bolt";
     private static final String SPEAKER_DISCO_BOLT_ID = "speaker.disco-bolt";
+    private static final String DISCO_PEER_BOLT_ID = "topo.disco-bolt";
 
     public OfEventWfmTopology(LaunchEnvironment env) {
         super(env, OFEventWfmTopologyConfig.class);
@@ -78,22 +83,25 @@ public class OfEventWfmTopology extends AbstractTopology<OFEventWfmTopologyConfi
         TopologyBuilder builder = new TopologyBuilder();
 
         builder.setSpout(DISCO_SPOUT_ID, createKafkaSpout(kafkaTopoDiscoTopic, DISCO_SPOUT_ID));
+        builder.setBolt(DISCO_ROUTER_BOLT_ID, new DiscoveryRouterBolt(), topologyConfig.getParallelism())
+                .shuffleGrouping(DISCO_SPOUT_ID);
 
-        // TODO: resolve the comments below; are there any state issues?
-        // NB: with shuffleGrouping, we can't maintain state .. would need to parse first
-        //      just to pull out switchID.
-        // (crimi) - not sure I agree here .. state can be maintained, albeit distributed.
-        //
         builder.setBolt(TOPO_ENG_BOLT_ID, createKafkaBolt(kafkaTopoEngTopic),
                 topologyConfig.getParallelism()).shuffleGrouping(DISCO_BOLT_ID, OfeLinkBolt.TOPO_ENG_STREAM);
         builder.setBolt(SPEAKER_BOLT_ID, createKafkaBolt(topologyConfig.getKafkaSpeakerTopic()),
                 topologyConfig.getParallelism()).shuffleGrouping(DISCO_BOLT_ID, OfeLinkBolt.SPEAKER_STREAM);
         builder.setBolt(SPEAKER_DISCO_BOLT_ID, createKafkaBolt(topologyConfig.getKafkaSpeakerDiscoTopic()),
                 topologyConfig.getParallelism()).shuffleGrouping(DISCO_BOLT_ID, OfeLinkBolt.SPEAKER_DISCO_STREAM);
+        // the peer commands go back through the discovery topic, a stateful bolt can't consume its own stream
+        builder.setBolt(DISCO_PEER_BOLT_ID, createKafkaBolt(kafkaTopoDiscoTopic),
+                topologyConfig.getParallelism()).shuffleGrouping(DISCO_BOLT_ID, OfeLinkBolt.DISCO_STREAM);
 
         OfeLinkBolt ofeLinkBolt = new OfeLinkBolt(topologyConfig);
+        // the discovery state is partitioned by switch
+        Fields switchIdField = new Fields(DiscoveryRouterBolt.FIELD_ID_SWITCH_ID);
         BoltDeclarer bd = builder.setBolt(DISCO_BOLT_ID, ofeLinkBolt, topologyConfig.getParallelism())
-                .shuffleGrouping(DISCO_SPOUT_ID);
+                .fieldsGrouping(DISCO_ROUTER_BOLT_ID, switchIdField)
+                .allGrouping(DISCO_ROUTER_BOLT_ID, DiscoveryRouterBolt.STREAM_BROADCAST_ID);
 
         List<CtrlBoltRef> ctrlTargets = new ArrayList<>();
         // TODO: verify this ctrlTarget after refactoring.
@@ -102,6 +110,20 @@ public class OfEventWfmTopology extends AbstractTopology<OFEventWfmTopologyConfi
         return builder.createTopology();
     }
 
+    /**
+     * Keep the discovery state in the local file store, so the topology can be restarted without the network dump.
+     */
+    @Override
+    protected Config makeStormConfig() {
+        Config config = super.makeStormConfig();
+        config.put(Config.TOPOLOGY_STATE_PROVIDER, LocalFileKeyValueStateProvider.class.getName());
+        String stateDirectory = topologyConfig.getDiscoveryConfig().getStateDirectory();
+        if (!stateDirectory.isEmpty()) {
+            config.put(Config.TOPOLOGY_STATE_PROVIDER_CONFIG, stateDirectory);
+        }
+        return config;
+    }
+
     /*
      * Progress Tracker - Phase 2: Speaker / TPE Integration; Cache Coherency Checks; Flapping
      * (1) ◊ - Interact with Speaker (network element is / isn't there)
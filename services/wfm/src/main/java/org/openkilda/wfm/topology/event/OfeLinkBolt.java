@@ -24,12 +24,14 @@ import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.HeartBeat;
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.CommandMessage;
-import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
+import org.openkilda.messaging.command.discovery.DiscoveryPeerCommandData;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
 import org.openkilda.messaging.ctrl.AbstractDumpState;
 import org.openkilda.messaging.ctrl.state.OFELinkBoltState;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.DiscoPacketSendingBatchConfirmation;
 import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
 import org.openkilda.messaging.info.discovery.NetworkDumpBeginMarker;
 import org.openkilda.messaging.info.discovery.NetworkDumpEndMarker;
@@ -74,7 +76,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -96,6 +100,16 @@ import java.util.stream.Collectors;
  * For update code in Storm, we need to kill and load the new topology, and bolt loses all internal state. For restore
  * data in bolt we send a message to FL and wait till callback message with network data arrive. We don't process common
  * messages and mark it as fail before that. UML Diagram is here https://github.com/telstra/open-kilda/issues/213 \
+ *
+ * <p>Partitioning:
+ * The bolt is partitioned by switch id (see {@link DiscoveryRouterBolt}), each instance tracks the links of its own
+ * switches only. Actions on the links of other switches are sent as {@link DiscoveryPeerCommandData} through the
+ * discovery topic (see {@link #DISCO_STREAM}), so the router delivers them to the instance which owns the switch. They
+ * are not sent to the bolt directly, because a stateful bolt can't be an input of itself.
+ *
+ * <p>Only the first instance of the bolt requests the network dump, the rest of the instances sync on the dump it
+ * started. The state restored from the state backend is kept, but the bolt still syncs with the network dump, the
+ * network could change while the topology was down.
  */
 public class OfeLinkBolt
         extends AbstractTickStatefulBolt<KeyValueState<String, Object>>
@@ -106,11 +120,11 @@ public class OfeLinkBolt
     private static final String STREAM_ID_CTRL = "ctrl";
     @VisibleForTesting
     static final String STATE_ID_DISCOVERY = "discovery-manager";
+    private static final String STATE_ID_TASKS = "tasks";
     static final String TOPO_ENG_STREAM = "topo.eng";
     static final String SPEAKER_DISCO_STREAM = "speaker.disco";
     static final String SPEAKER_STREAM = "speaker";
-
-    private final String islDiscoveryTopic;
+    static final String DISCO_STREAM = "disco";
 
     private final int islHealthCheckInterval;
     private final int islHealthCheckTimeout;
@@ -123,9 +137,11 @@ public class OfeLinkBolt
 
     private DummyIIslFilter islFilter;
     private DiscoveryManager discovery;
+    private KeyValueState<String, Object> discoveryState;
     private Map<SwitchId, Set<DiscoveryLink>> linksBySwitch;
 
     private String dumpRequestCorrelationId = null;
+    private long syncStartedAt;
     private float dumpRequestTimeout;
     private Timer dumpRequestTimer;
     @VisibleForTesting
@@ -149,8 +165,6 @@ public class OfeLinkBolt
 
         watchDogInterval = discoveryConfig.getDiscoverySpeakerFailureTimeout();
         dumpRequestTimeout = discoveryConfig.getDiscoveryDumpRequestTimeout();
-
-        islDiscoveryTopic = config.getKafkaSpeakerDiscoTopic();
     }
 
     @Override
@@ -165,15 +179,25 @@ public class OfeLinkBolt
     @SuppressWarnings("unchecked")
     public void initState(KeyValueState<String, Object> state) {
         watchDog = new WatchDog(watchDogInterval);
+        discoveryState = state;
 
         // NB: First time the worker is created this will be null
-        // TODO: what happens to state as workers go up or down
+        // The switches are spread over the tasks by their number, the state of another number of tasks is useless.
         Object payload = state.get(STATE_ID_DISCOVERY);
+        int tasks = getTasksCount();
+        if (payload != null && !Objects.equals(tasks, state.get(STATE_ID_TASKS, tasks))) {
+            logger.warn("Drop discovery state saved by {} tasks, current number of tasks is {}",
+                    state.get(STATE_ID_TASKS), tasks);
+            payload = null;
+        }
         if (payload == null) {
             payload = linksBySwitch = new HashMap<>();
-            state.put(islDiscoveryTopic, payload);
+            state.put(STATE_ID_DISCOVERY, payload);
+            state.put(STATE_ID_TASKS, tasks);
         } else {
             linksBySwitch = (Map<SwitchId, Set<DiscoveryLink>>) payload;
+            logger.info("Discovery state of {} switches is restored, sync it with the network dump",
+                    linksBySwitch.size());
         }
 
         // DiscoveryManager counts failures as failed attempts,
@@ -199,8 +223,14 @@ public class OfeLinkBolt
 
         switch (state) {
             case NEED_SYNC:
-                dumpRequestCorrelationId = correlationId;
-                sendNetworkRequest(tuple, correlationId);
+                syncStartedAt = System.currentTimeMillis();
+                if (isDumpRequester()) {
+                    dumpRequestCorrelationId = correlationId;
+                    sendNetworkRequest(tuple, correlationId);
+                } else {
+                    // the first instance requests the dump, this one syncs on its begin marker
+                    dumpRequestCorrelationId = null;
+                }
                 enableDumpRequestTimer();
                 stateTransition(State.WAIT_SYNC);
                 break;
@@ -209,6 +239,8 @@ public class OfeLinkBolt
             case SYNC_IN_PROGRESS:
                 if (dumpRequestTimer.isExpiredResetOnTrue()) {
                     logger.error("Did not get network dump, send one more dump request");
+                    syncStartedAt = System.currentTimeMillis();
+                    stateTransition(State.WAIT_SYNC);
                     dumpRequestCorrelationId = correlationId;
                     sendNetworkRequest(tuple, correlationId);
                 }
@@ -254,10 +286,10 @@ public class OfeLinkBolt
     private void processDiscoveryPlan(Tuple tuple, String correlationId) {
         DiscoveryManager.Plan discoveryPlan = discovery.makeDiscoveryPlan();
         try {
-            for (NetworkEndpoint node : discoveryPlan.needDiscovery) {
-                String msgCorrelationId = format("%s-%s:%s", correlationId,
-                        node.getSwitchDpId(), node.getPortId());
-                sendDiscoveryMessage(tuple, node, msgCorrelationId);
+            for (Map.Entry<SwitchId, List<NetworkEndpoint>> entry
+                    : discoveryPlan.groupNeedDiscoveryBySwitch().entrySet()) {
+                String msgCorrelationId = format("%s-%s", correlationId, entry.getKey());
+                sendDiscoveryMessage(tuple, entry.getKey(), entry.getValue(), msgCorrelationId);
             }
 
             for (NetworkEndpoint node : discoveryPlan.discoveryFailure) {
@@ -275,10 +307,14 @@ public class OfeLinkBolt
     }
 
     /**
-     * Helper method for sending an ISL Discovery Message.
+     * Helper method for sending an ISL Discovery Message for all ports of the switch which need discovery.
      */
-    private void sendDiscoveryMessage(Tuple tuple, NetworkEndpoint node, String correlationId) throws IOException {
-        DiscoverIslCommandData data = new DiscoverIslCommandData(node.getDatapath(), node.getPortNumber());
+    private void sendDiscoveryMessage(Tuple tuple, SwitchId switchId, List<NetworkEndpoint> nodes,
+                                      String correlationId) throws IOException {
+        List<Integer> ports = nodes.stream()
+                .map(NetworkEndpoint::getPortNumber)
+                .collect(Collectors.toList());
+        DiscoverIslBatchCommandData data = new DiscoverIslBatchCommandData(switchId, ports);
         CommandMessage message = new CommandMessage(data, System.currentTimeMillis(),
                 correlationId, Destination.CONTROLLER);
         logger.debug("LINK: Send ISL discovery command: {}", message);
@@ -308,7 +344,6 @@ public class OfeLinkBolt
         BaseMessage message;
         try {
             message = MAPPER.readValue(json, BaseMessage.class);
-            watchDog.reset();
         } catch (IOException e) {
             collector.ack(tuple);
             logger.error("Unknown Message type={}", json);
@@ -316,9 +351,14 @@ public class OfeLinkBolt
         }
 
         try {
-            if (message instanceof InfoMessage) {
+            if (message instanceof CommandMessage) {
+                // the peer commands are sent by the bolt itself, they don't tell anything about the speaker
+                handleCommand((CommandMessage) message);
+            } else if (message instanceof InfoMessage) {
+                watchDog.reset();
                 dispatch(tuple, (InfoMessage) message);
             } else if (message instanceof HeartBeat) {
+                watchDog.reset();
                 logger.debug("Got speaker's heart beat");
                 stateTransition(State.NEED_SYNC, State.OFFLINE);
             }
@@ -352,13 +392,28 @@ public class OfeLinkBolt
     }
 
     private void dispatchNeedSync(Tuple tuple, InfoMessage infoMessage) {
-        logger.warn("Bolt internal state is out of sync with FL, skip tuple");
+        if (!isDumpRequester() && infoMessage.getData() instanceof NetworkDumpBeginMarker) {
+            // the dump requested by the first instance could begin before the tick of this one
+            syncStartedAt = System.currentTimeMillis();
+            dumpRequestCorrelationId = null;
+            enableDumpRequestTimer();
+            stateTransition(State.WAIT_SYNC);
+            dispatchWaitSync(tuple, infoMessage);
+        } else {
+            logger.warn("Bolt internal state is out of sync with FL, skip tuple");
+        }
     }
 
     private void dispatchWaitSync(Tuple tuple, InfoMessage infoMessage) {
         InfoData data = infoMessage.getData();
         if (data instanceof NetworkDumpBeginMarker) {
-            if (dumpRequestCorrelationId.equals(infoMessage.getCorrelationId())) {
+            if (dumpRequestCorrelationId == null && isFreshDump(infoMessage)) {
+                logger.info("Sync on the network dump {} requested by another instance of the bolt",
+                        infoMessage.getCorrelationId());
+                dumpRequestCorrelationId = infoMessage.getCorrelationId();
+                enableDumpRequestTimer();
+                stateTransition(State.SYNC_IN_PROGRESS);
+            } else if (Objects.equals(dumpRequestCorrelationId, infoMessage.getCorrelationId())) {
                 logger.info("Got response on network sync request, start processing network events");
                 enableDumpRequestTimer();
                 stateTransition(State.SYNC_IN_PROGRESS);
@@ -385,8 +440,15 @@ public class OfeLinkBolt
             discovery.registerPort(portData.getSwitchId(), portData.getPortNo());
 
         } else if (data instanceof NetworkDumpEndMarker) {
-            logger.info("End of network sync stream received");
-            stateTransition(State.MAIN);
+            if (Objects.equals(dumpRequestCorrelationId, infoMessage.getCorrelationId())) {
+                logger.info("End of network sync stream received");
+                stateTransition(State.MAIN);
+            } else {
+                logger.debug("Skip the end of network dump {}, wait for {}",
+                        infoMessage.getCorrelationId(), dumpRequestCorrelationId);
+            }
+        } else if (data instanceof NetworkDumpBeginMarker) {
+            logger.debug("Skip the begin of network dump {}", infoMessage.getCorrelationId());
         } else {
             reportInvalidEvent(data);
         }
@@ -410,11 +472,35 @@ public class OfeLinkBolt
             handleIslEvent(tuple, (IslInfoData) data, infoMessage.getCorrelationId());
         } else if (data instanceof DiscoPacketSendingConfirmation) {
             handleSentDiscoPacket((DiscoPacketSendingConfirmation) data);
+        } else if (data instanceof DiscoPacketSendingBatchConfirmation) {
+            handleSentDiscoPackets((DiscoPacketSendingBatchConfirmation) data);
+        } else if (data instanceof NetworkDumpPortData) {
+            // network dump requested by another instance of the bolt
+            NetworkDumpPortData portData = (NetworkDumpPortData) data;
+            discovery.registerPort(portData.getSwitchId(), portData.getPortNo());
+        } else if (data instanceof NetworkDumpSwitchData
+                || data instanceof NetworkDumpBeginMarker || data instanceof NetworkDumpEndMarker) {
+            logger.debug("Skip network dump event {}", data);
         } else {
             reportInvalidEvent(data);
         }
     }
 
+    /**
+     * The first instance of the bolt requests the network dump, the rest of the instances use the same dump.
+     */
+    private boolean isDumpRequester() {
+        return context == null || context.getThisTaskIndex() == 0;
+    }
+
+    /**
+     * The dump started before the instance needed the sync could be stale (e.g. read again from the topic after the
+     * restart), don't sync on it.
+     */
+    private boolean isFreshDump(InfoMessage beginMarker) {
+        return beginMarker.getTimestamp() >= syncStartedAt - (long) (dumpRequestTimeout * 1000);
+    }
+
     private void stateTransition(State switchTo) {
         logger.info("State transition to {} (current {})", switchTo, state);
         state = switchTo;
@@ -513,8 +599,9 @@ public class OfeLinkBolt
             stateChanged = discovery.handleDiscovered(srcSwitch, srcPort, dstSwitch, dstPort);
             // If the state has changed, and since we've discovered one end of an ISL, let's make
             // sure we can test the other side as well.
-            if (stateChanged && !discovery.isInDiscoveryPlan(dstSwitch, dstPort)) {
-                discovery.handlePortUp(dstSwitch, dstPort);
+            if (stateChanged) {
+                sendPeerCommand(tuple, DiscoveryPeerCommandData.Action.PORT_UP, dstSwitch, dstPort,
+                        correlationId);
             }
         } else {
             // TODO: Should this be a warning? Evaluate whether any other state needs to be handled
@@ -563,7 +650,8 @@ public class OfeLinkBolt
         logger.info("Link is moved from {}_{} - {}_{} to endpoint {}_{}", srcSwitch, srcPort,
                 dstEndpoint.getSwitchDpId(), dstEndpoint.getPortId(), dstSwitch, dstPort);
         // deactivate reverse link
-        discovery.deactivateLinkFromEndpoint(dstEndpoint);
+        sendPeerCommand(tuple, DiscoveryPeerCommandData.Action.DEACTIVATE_LINK, dstEndpoint.getDatapath(),
+                dstEndpoint.getPortNumber(), correlationId);
 
         PathNode srcNode = new PathNode(srcSwitch, srcPort, 0);
         PathNode dstNode = new PathNode(dstEndpoint.getSwitchDpId(), dstEndpoint.getPortId(), 1);
@@ -579,11 +667,67 @@ public class OfeLinkBolt
         passToTopologyEngine(tuple, message);
     }
 
+    /**
+     * Pass the action on the link of the switch to the bolt instance which owns the switch.
+     */
+    private void sendPeerCommand(Tuple tuple, DiscoveryPeerCommandData.Action action, SwitchId switchId, int port,
+                                 String correlationId) {
+        CommandMessage message = new CommandMessage(new DiscoveryPeerCommandData(switchId, port, action),
+                System.currentTimeMillis(), correlationId, Destination.WFM_OF_DISCOVERY);
+        try {
+            collector.emit(DISCO_STREAM, tuple, new Values(PAYLOAD, Utils.MAPPER.writeValueAsString(message)));
+        } catch (JsonProcessingException e) {
+            logger.error("Could not serialize peer command {}", message, e);
+        }
+    }
+
+    private void handleCommand(CommandMessage message) {
+        if (message.getData() instanceof DiscoveryPeerCommandData) {
+            handlePeerCommand((DiscoveryPeerCommandData) message.getData());
+        } else {
+            logger.debug("Skip command {}", message);
+        }
+    }
+
+    private void handlePeerCommand(DiscoveryPeerCommandData command) {
+        SwitchId switchId = command.getSwitchId();
+        int port = command.getPortNo();
+        logger.debug("Peer command {} for {}_{}", command.getAction(), switchId, port);
+
+        switch (command.getAction()) {
+            case PORT_UP:
+                // since we've discovered one end of an ISL, let's make sure we can test the other side as well.
+                if (!discovery.isInDiscoveryPlan(switchId, port)) {
+                    discovery.handlePortUp(switchId, port);
+                }
+                break;
+            case DEACTIVATE_LINK:
+                discovery.deactivateLinkFromEndpoint(new NetworkEndpoint(switchId, port));
+                break;
+            default:
+                logger.error("Unsupported peer command {}", command.getAction());
+        }
+    }
+
+    private int getTasksCount() {
+        if (context == null || context.getThisComponentId() == null) {
+            return 0;
+        }
+        return context.getComponentTasks(context.getThisComponentId()).size();
+    }
+
     private void handleSentDiscoPacket(DiscoPacketSendingConfirmation confirmation) {
         logger.debug("Discovery packet is sent from {}", confirmation);
         discovery.handleSentDiscoPacket(confirmation.getEndpoint());
     }
 
+    private void handleSentDiscoPackets(DiscoPacketSendingBatchConfirmation confirmation) {
+        logger.debug("Discovery packets are sent from {}", confirmation);
+        for (Integer port : confirmation.getPortNumbers()) {
+            discovery.handleSentDiscoPacket(new NetworkEndpoint(confirmation.getSwitchId(), port));
+        }
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         Fields fields = new Fields(FieldNameBasedTupleToKafkaMapper.BOLT_KEY,
@@ -591,6 +735,7 @@ public class OfeLinkBolt
         declarer.declareStream(SPEAKER_STREAM, fields);
         declarer.declareStream(SPEAKER_DISCO_STREAM, fields);
         declarer.declareStream(TOPO_ENG_STREAM, fields);
+        declarer.declareStream(DISCO_STREAM, fields);
         // FIXME(dbogun): use proper tuple format
         declarer.declareStream(STREAM_ID_CTRL, AbstractTopology.fieldMessage);
     }
@@ -613,7 +758,9 @@ public class OfeLinkBolt
     @Override
     public void clearState() {
         logger.info("ClearState request has been received.");
-        initState(new InMemoryKeyValueState<>());
+        KeyValueState<String, Object> state = discoveryState != null ? discoveryState : new InMemoryKeyValueState<>();
+        state.delete(STATE_ID_DISCOVERY);
+        initState(state);
     }
 
     @Override
@@ -25,19 +25,14 @@ public enum ComponentType {
     NETWORK_CACHE_SPOUT,
 
     /**
-     * Northbound kafka spout. Receives Northbound requests.
+     * Flow kafka spout. Receives Northbound requests, Topology Engine and OpenFlow Speaker responses.
      */
-    NORTHBOUND_KAFKA_SPOUT,
+    FLOW_KAFKA_SPOUT,
 
     /**
-     * Topology Engine kafka spout. Receives Topology Engine responses.
+     * Router bolt. Decodes messages from the flow kafka spout and routes them to the bolts handling them.
      */
-    TOPOLOGY_ENGINE_KAFKA_SPOUT,
-
-    /**
-     * OpenFlow Speaker kafka spout. Receives OpenFlow Speaker responses.
-     */
-    SPEAKER_KAFKA_SPOUT,
+    ROUTER_BOLT,
 
     /**
      * Northbound kafka bolt. Sends Northbound responses.
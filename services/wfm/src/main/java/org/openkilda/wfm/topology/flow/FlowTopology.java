@@ -25,11 +25,13 @@ import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.flow.bolts.CrudBolt;
 import org.openkilda.wfm.topology.flow.bolts.ErrorBolt;
 import org.openkilda.wfm.topology.flow.bolts.NorthboundReplyBolt;
+import org.openkilda.wfm.topology.flow.bolts.RouterBolt;
 import org.openkilda.wfm.topology.flow.bolts.SpeakerBolt;
 import org.openkilda.wfm.topology.flow.bolts.SplitterBolt;
 import org.openkilda.wfm.topology.flow.bolts.TopologyEngineBolt;
 import org.openkilda.wfm.topology.flow.bolts.TransactionBolt;
 
+import org.apache.storm.Config;
 import org.apache.storm.generated.ComponentObject;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.bolt.KafkaBolt;
@@ -90,21 +92,27 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
         //         createKafkaSpout(config.getKafkaFlowTopic(), ComponentType.LCM_SPOUT.toString()), 1);
         // builder.setBolt(
         //         ComponentType.LCM_FLOW_SYNC_BOLT.toString(),
-        //         new LcmFlowCacheSyncBolt(ComponentType.NORTHBOUND_KAFKA_SPOUT.toString()),
+        //         new LcmFlowCacheSyncBolt(ComponentType.FLOW_KAFKA_SPOUT.toString()),
         //         1)
-        //         .shuffleGrouping(ComponentType.NORTHBOUND_KAFKA_SPOUT.toString(), LcmKafkaSpout.STREAM_ID_LCM)
+        //         .shuffleGrouping(ComponentType.FLOW_KAFKA_SPOUT.toString(), LcmKafkaSpout.STREAM_ID_LCM)
         //         .shuffleGrouping(ComponentType.LCM_SPOUT.toString());
 
         /*
-         * Spout receives all Northbound requests.
+         * Spout receives all Northbound requests, Topology Engine and Speaker responses.
          */
 
         KafkaSpoutConfig<String, String> kafkaSpoutConfig = makeKafkaSpoutConfigBuilder(
-                ComponentType.NORTHBOUND_KAFKA_SPOUT.toString(), topologyConfig.getKafkaFlowTopic()).build();
+                ComponentType.FLOW_KAFKA_SPOUT.toString(), topologyConfig.getKafkaFlowTopic()).build();
         // (crimi) - commenting out LcmKafkaSpout here due to dying worker
         //kafkaSpout = new LcmKafkaSpout<>(kafkaSpoutConfig);
         KafkaSpout<String, String> kafkaSpout = new KafkaSpout<>(kafkaSpoutConfig);
-        builder.setSpout(ComponentType.NORTHBOUND_KAFKA_SPOUT.toString(), kafkaSpout, parallelism);
+        builder.setSpout(ComponentType.FLOW_KAFKA_SPOUT.toString(), kafkaSpout, parallelism);
+
+        /*
+         * Bolt decodes every message once and routes it to the bolt interested in it.
+         */
+        builder.setBolt(ComponentType.ROUTER_BOLT.toString(), new RouterBolt(), parallelism)
+                .localOrShuffleGrouping(ComponentType.FLOW_KAFKA_SPOUT.toString());
 
         /*
          * Bolt splits requests on streams.
@@ -112,13 +120,13 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
          */
         SplitterBolt splitterBolt = new SplitterBolt();
         builder.setBolt(ComponentType.SPLITTER_BOLT.toString(), splitterBolt, parallelism)
-                .shuffleGrouping(ComponentType.NORTHBOUND_KAFKA_SPOUT.toString());
+                .localOrShuffleGrouping(ComponentType.ROUTER_BOLT.toString(), RouterBolt.STREAM_SPLITTER_ID);
 
         /*
          * Bolt handles flow CRUD operations.
          * It groups requests by flow-id.
          */
-        CrudBolt crudBolt = new CrudBolt(pathComputerAuth);
+        CrudBolt crudBolt = new CrudBolt(pathComputerAuth, topologyConfig.getPceTopologyMaxAge());
         ComponentObject.serialized_java(org.apache.storm.utils.Utils.javaSerialize(pathComputerAuth));
 
         BoltDeclarer boltSetup = builder.setBolt(ComponentType.CRUD_BOLT.toString(), crudBolt, parallelism)
@@ -134,6 +142,8 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
                 // TODO: this CACHE_SYNC shouldn't be fields-grouping - there is no field - it should be all - but
                 // tackle during multi instance testing
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.CACHE_SYNC.toString(), fieldFlowId)
+                // every instance keeps own copy of the topology used for path computation
+                .allGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.NETWORK_UPDATE.toString())
                 .fieldsGrouping(ComponentType.TRANSACTION_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId)
                 .fieldsGrouping(ComponentType.SPEAKER_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId)
                 .fieldsGrouping(
@@ -153,20 +163,12 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
                 .shuffleGrouping(ComponentType.CRUD_BOLT.toString(), StreamType.STATUS.toString())
                 .shuffleGrouping(ComponentType.CRUD_BOLT.toString(), StreamType.CACHE_SYNC.toString());
 
-        /*
-         * Spout receives Topology Engine response
-         */
-        // FIXME(surabujin): can be replaced with NORTHBOUND_KAFKA_SPOUT (same topic)
-        KafkaSpout topologyKafkaSpout = createKafkaSpout(
-                topologyConfig.getKafkaFlowTopic(), ComponentType.TOPOLOGY_ENGINE_KAFKA_SPOUT.toString());
-        builder.setSpout(ComponentType.TOPOLOGY_ENGINE_KAFKA_SPOUT.toString(), topologyKafkaSpout, parallelism);
-
         /*
          * Bolt processes Topology Engine responses, groups by flow-id field
          */
         TopologyEngineBolt topologyEngineBolt = new TopologyEngineBolt();
         builder.setBolt(ComponentType.TOPOLOGY_ENGINE_BOLT.toString(), topologyEngineBolt, parallelism)
-                .shuffleGrouping(ComponentType.TOPOLOGY_ENGINE_KAFKA_SPOUT.toString());
+                .localOrShuffleGrouping(ComponentType.ROUTER_BOLT.toString(), RouterBolt.STREAM_TOPOLOGY_ENGINE_ID);
 
         /*
          * Bolt sends Speaker requests
@@ -176,32 +178,24 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
                 .shuffleGrouping(ComponentType.TRANSACTION_BOLT.toString(), StreamType.CREATE.toString())
                 .shuffleGrouping(ComponentType.TRANSACTION_BOLT.toString(), StreamType.DELETE.toString());
 
-        /*
-         * Spout receives Speaker responses
-         */
-        // FIXME(surabujin): can be replaced with NORTHBOUND_KAFKA_SPOUT (same topic)
-        KafkaSpout speakerKafkaSpout = createKafkaSpout(
-                topologyConfig.getKafkaFlowTopic(), ComponentType.SPEAKER_KAFKA_SPOUT.toString());
-        builder.setSpout(ComponentType.SPEAKER_KAFKA_SPOUT.toString(), speakerKafkaSpout, parallelism);
-
         /*
          * Bolt processes Speaker responses, groups by flow-id field
          */
         SpeakerBolt speakerBolt = new SpeakerBolt();
         builder.setBolt(ComponentType.SPEAKER_BOLT.toString(), speakerBolt, parallelism)
-                .shuffleGrouping(ComponentType.SPEAKER_KAFKA_SPOUT.toString());
+                .localOrShuffleGrouping(ComponentType.ROUTER_BOLT.toString(), RouterBolt.STREAM_SPEAKER_ID);
 
         /*
-         * Transaction bolt.
+         * Transaction bolt, groups by flow-id field, so the flow is timed out on all its switches at once.
          */
-        TransactionBolt transactionBolt = new TransactionBolt();
+        TransactionBolt transactionBolt = new TransactionBolt(topologyConfig.getTransactionTimeout());
         boltSetup = builder.setBolt(ComponentType.TRANSACTION_BOLT.toString(), transactionBolt, parallelism)
                 .fieldsGrouping(
-                        ComponentType.TOPOLOGY_ENGINE_BOLT.toString(), StreamType.CREATE.toString(), fieldSwitchId)
+                        ComponentType.TOPOLOGY_ENGINE_BOLT.toString(), StreamType.CREATE.toString(), fieldFlowId)
                 .fieldsGrouping(
-                        ComponentType.TOPOLOGY_ENGINE_BOLT.toString(), StreamType.DELETE.toString(), fieldSwitchId)
-                .fieldsGrouping(ComponentType.SPEAKER_BOLT.toString(), StreamType.CREATE.toString(), fieldSwitchId)
-                .fieldsGrouping(ComponentType.SPEAKER_BOLT.toString(), StreamType.DELETE.toString(), fieldSwitchId);
+                        ComponentType.TOPOLOGY_ENGINE_BOLT.toString(), StreamType.DELETE.toString(), fieldFlowId)
+                .fieldsGrouping(ComponentType.SPEAKER_BOLT.toString(), StreamType.CREATE.toString(), fieldFlowId)
+                .fieldsGrouping(ComponentType.SPEAKER_BOLT.toString(), StreamType.DELETE.toString(), fieldFlowId);
         ctrlTargets.add(new CtrlBoltRef(ComponentType.TRANSACTION_BOLT.toString(), transactionBolt, boltSetup));
 
         /*
@@ -236,6 +230,21 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
         return builder.createTopology();
     }
 
+    /**
+     * Checkpoint the transactions of {@link TransactionBolt} with the configured state provider, so the flow rules
+     * installs in progress survive the restart of the worker.
+     */
+    @Override
+    protected Config makeStormConfig() {
+        Config config = super.makeStormConfig();
+        config.put(Config.TOPOLOGY_STATE_PROVIDER, topologyConfig.getStateProvider());
+        String providerConfig = topologyConfig.getStateProviderConfig();
+        if (!providerConfig.isEmpty()) {
+            config.put(Config.TOPOLOGY_STATE_PROVIDER_CONFIG, providerConfig);
+        }
+        return config;
+    }
+
     /**
      * Topology entry point.
      */
@@ -15,14 +15,36 @@
 
 package org.openkilda.wfm.topology.flow;
 
+import org.openkilda.wfm.config.SecondsToMilisConverter;
 import org.openkilda.wfm.topology.AbstractTopologyConfig;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Converter;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
 
 @Configuration
 public interface FlowTopologyConfig extends AbstractTopologyConfig {
 
+    @Key("pce.topology.max-age")
+    @Default("300")
+    @Converter(SecondsToMilisConverter.class)
+    int getPceTopologyMaxAge();
+
+    @Key("flow.transaction.timeout")
+    @Default("60")
+    @Converter(SecondsToMilisConverter.class)
+    int getTransactionTimeout();
+
+    @Key("flow.state.provider")
+    @Default("org.openkilda.wfm.share.state.LocalFileKeyValueStateProvider")
+    String getStateProvider();
+
+    @Key("flow.state.provider.config")
+    @Default("")
+    String getStateProviderConfig();
+
     default String getKafkaFlowTopic() {
         return getKafkaTopics().getFlowTopic();
     }
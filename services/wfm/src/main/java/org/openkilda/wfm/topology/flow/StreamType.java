@@ -69,6 +69,11 @@ public enum StreamType {
      */
     CACHE_SYNC,
 
+    /**
+     * Switch and ISL state updates.
+     */
+    NETWORK_UPDATE,
+
     /**
      * Flow command response.
      */
@@ -39,9 +39,12 @@ import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
+import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.discovery.NetworkInfoData;
+import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.info.flow.FlowCacheSyncResponse;
 import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowOperation;
@@ -59,11 +62,11 @@ import org.openkilda.messaging.payload.flow.FlowState;
 import org.openkilda.pce.RecoverableException;
 import org.openkilda.pce.cache.FlowCache;
 import org.openkilda.pce.cache.ResourceCache;
+import org.openkilda.pce.cache.TopologyCache;
 import org.openkilda.pce.model.AvailableNetwork;
 import org.openkilda.pce.provider.Auth;
-import org.openkilda.pce.provider.FlowInfo;
+import org.openkilda.pce.provider.FlowRevision;
 import org.openkilda.pce.provider.PathComputer;
-import org.openkilda.pce.provider.PathComputer.Strategy;
 import org.openkilda.pce.provider.PathComputerAuth;
 import org.openkilda.pce.provider.UnroutablePathException;
 import org.openkilda.wfm.ctrl.CtrlAction;
@@ -80,7 +83,11 @@ import org.openkilda.wfm.topology.flow.validation.SwitchValidationException;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import org.apache.storm.Config;
+import org.apache.storm.Constants;
 import org.apache.storm.state.InMemoryKeyValueState;
+import org.apache.storm.state.KeyValueState;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
@@ -92,18 +99,21 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedSet;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 
 public class CrudBolt
-        extends BaseStatefulBolt<InMemoryKeyValueState<String, FlowCache>>
+        extends BaseStatefulBolt<KeyValueState<String, FlowCache>>
         implements ICtrlBolt {
 
     public static final String STREAM_ID_CTRL = "ctrl";
@@ -114,9 +124,25 @@ public class CrudBolt
     private static final Logger logger = LoggerFactory.getLogger(CrudBolt.class);
 
     /**
-     * Flow cache key.
+     * Max number of reroute requests handled by one path computation.
      */
-    private static final String FLOW_CACHE = "flow";
+    private static final int MAX_REROUTE_BATCH_SIZE = 100;
+
+    /**
+     * Max time the reroute request waits for the batch, in seconds.
+     */
+    private static final int REROUTE_BATCH_DELAY = 1;
+
+    /**
+     * Max number of paths computed at once for one request, the next path is used if the previous one is not
+     * confirmed by the storage.
+     */
+    private static final int PATH_ALTERNATES = 3;
+
+    /**
+     * Max number of path computations for one request when none of the found paths is confirmed by the storage.
+     */
+    private static final int PATH_CONFIRM_ATTEMPTS = 2;
 
     /**
      * Path computation instance.
@@ -125,9 +151,14 @@ public class CrudBolt
     private final PathComputerAuth pathComputerAuth;
 
     /**
-     * Flows state.
+     * Max age of the topology used for path computation, in milliseconds.
      */
-    private InMemoryKeyValueState<String, FlowCache> caches;
+    private final long topologyMaxAge;
+
+    /**
+     * Network topology used for path computation, kept up to date by switch and ISL events.
+     */
+    private TopologyCache topologyCache;
 
     private TopologyContext context;
     private OutputCollector outputCollector;
@@ -139,29 +170,49 @@ public class CrudBolt
 
     private FlowValidator flowValidator;
 
+    /**
+     * Reroute requests waiting for the batch path computation.
+     */
+    private List<Tuple> pendingReroutes;
+
+    /**
+     * Ids of the flows with pending reroute requests, other requests for these flows must wait for the batch.
+     */
+    private Set<String> pendingRerouteFlowIds;
+
+    /**
+     * Paths found by the batch path computation, null value means there is no path for the flow.
+     */
+    private Map<String, FlowPair<PathInfoData, PathInfoData>> reroutePaths;
+
     /**
      * Instance constructor.
      *
      * @param pathComputerAuth {@link Auth} instance
      */
     public CrudBolt(PathComputerAuth pathComputerAuth) {
+        this(pathComputerAuth, 0L);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param pathComputerAuth {@link Auth} instance
+     * @param topologyMaxAge max age of the topology used for path computation, in milliseconds
+     */
+    public CrudBolt(PathComputerAuth pathComputerAuth, long topologyMaxAge) {
         this.pathComputerAuth = pathComputerAuth;
+        this.topologyMaxAge = topologyMaxAge;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void initState(InMemoryKeyValueState<String, FlowCache> state) {
-        this.caches = state;
-
-        // TODO - do we have to use InMemoryKeyValue, or is there some other InMemory option?
-        //  The reason for the qestion .. we are only putting in one object.
-        flowCache = state.get(FLOW_CACHE);
-        if (flowCache == null) {
-            flowCache = new FlowCache();
-            this.caches.put(FLOW_CACHE, flowCache);
-        }
+    public void initState(KeyValueState<String, FlowCache> state) {
+        // The state provider is set for the whole topology, but the flow cache is loaded from the database here and
+        // isn't worth checkpointing, so it is not put into the state.
+        flowCache = new FlowCache();
         initFlowCache();
 
         flowValidator = new FlowValidator(flowCache, pathComputerAuth.getPathComputer());
@@ -191,7 +242,22 @@ public class CrudBolt
         this.context = topologyContext;
         this.outputCollector = outputCollector;
 
-        pathComputer = pathComputerAuth.getPathComputer();
+        topologyCache = new TopologyCache(topologyMaxAge);
+        pathComputer = pathComputerAuth.getPathComputer(topologyCache);
+
+        pendingReroutes = new ArrayList<>();
+        pendingRerouteFlowIds = new HashSet<>();
+        reroutePaths = new HashMap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        Config conf = new Config();
+        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, REROUTE_BATCH_DELAY);
+        return conf;
     }
 
     /**
@@ -199,11 +265,100 @@ public class CrudBolt
      */
     @Override
     public void execute(Tuple tuple) {
+        if (isTickTuple(tuple)) {
+            flushReroutes();
+            outputCollector.ack(tuple);
+            return;
+        }
 
         if (CtrlAction.boltHandlerEntrance(this, tuple)) {
             return;
         }
 
+        if (isStream(tuple, ComponentType.SPLITTER_BOLT, StreamType.REROUTE)) {
+            pendingReroutes.add(tuple);
+            pendingRerouteFlowIds.add(tuple.getStringByField(Utils.FLOW_ID));
+            if (pendingReroutes.size() >= MAX_REROUTE_BATCH_SIZE) {
+                flushReroutes();
+            }
+            return;
+        }
+
+        if (isOrderedAfterPendingReroutes(tuple)) {
+            flushReroutes();
+        }
+        handleTuple(tuple);
+    }
+
+    /**
+     * Checks whether the request must not overtake the pending reroutes. Requests for other flows don't depend on
+     * them and are handled right away, so the reroutes of a failure are batched even under a steady request flow.
+     */
+    private boolean isOrderedAfterPendingReroutes(Tuple tuple) {
+        if (pendingReroutes.isEmpty()) {
+            return false;
+        }
+        // the whole cache is replaced by the flow sync
+        if (ComponentType.LCM_FLOW_SYNC_BOLT.toString().equals(tuple.getSourceComponent())
+                || isStream(tuple, ComponentType.SPLITTER_BOLT, StreamType.CACHE_SYNC)) {
+            return true;
+        }
+        return pendingRerouteFlowIds.contains(tuple.getStringByField(Utils.FLOW_ID));
+    }
+
+    private boolean isTickTuple(Tuple tuple) {
+        return Constants.SYSTEM_COMPONENT_ID.equals(tuple.getSourceComponent())
+                && Constants.SYSTEM_TICK_STREAM_ID.equals(tuple.getSourceStreamId());
+    }
+
+    private boolean isStream(Tuple tuple, ComponentType component, StreamType stream) {
+        return component.toString().equals(tuple.getSourceComponent())
+                && stream.toString().equals(tuple.getSourceStreamId());
+    }
+
+    /**
+     * Handles the pending reroute requests. The paths for all rerouted flows are computed at once, so the flows
+     * affected by the same failure share the available bandwidth instead of competing for the same ISLs.
+     */
+    private void flushReroutes() {
+        if (pendingReroutes.isEmpty()) {
+            return;
+        }
+        List<Tuple> batch = pendingReroutes;
+        pendingReroutes = new ArrayList<>();
+        pendingRerouteFlowIds.clear();
+
+        Map<String, FlowPair<Flow, Flow>> flows = new HashMap<>();
+        for (Tuple tuple : batch) {
+            Message message = (Message) tuple.getValueByField(AbstractTopology.MESSAGE_FIELD);
+            if (message instanceof CommandMessage
+                    && ((CommandMessage) message).getData() instanceof FlowRerouteRequest) {
+                FlowRerouteRequest request = (FlowRerouteRequest) ((CommandMessage) message).getData();
+                if (request.getOperation() == UPDATE && flowCache.cacheContainsFlow(request.getFlowId())) {
+                    flows.put(request.getFlowId(), flowCache.getFlow(request.getFlowId()));
+                }
+            }
+        }
+
+        if (!flows.isEmpty()) {
+            try {
+                Map<String, FlowPair<PathInfoData, PathInfoData>> paths = pathComputer.getPaths(flows.values());
+                for (String flowId : flows.keySet()) {
+                    reroutePaths.put(flowId, paths.get(flowId));
+                }
+                logger.info("Computed paths for {} rerouted flows", flows.size());
+            } catch (RecoverableException e) {
+                logger.error("Could not compute paths for {} rerouted flows at once", flows.size(), e);
+            }
+        }
+
+        for (Tuple tuple : batch) {
+            handleTuple(tuple);
+        }
+        reroutePaths.clear();
+    }
+
+    private void handleTuple(Tuple tuple) {
         ComponentType componentId = ComponentType.valueOf(tuple.getSourceComponent());
         String correlationId = Utils.DEFAULT_CORRELATION_ID;
 
@@ -257,6 +412,9 @@ public class CrudBolt
                         case DUMP:
                             handleDumpRequest(cmsg, tuple);
                             break;
+                        case NETWORK_UPDATE:
+                            handleNetworkUpdate(imsg);
+                            break;
                         default:
 
                             logger.debug("Unexpected stream: component={}, stream={}", componentId, streamId);
@@ -350,7 +508,8 @@ public class CrudBolt
     private void handleCacheSyncRequest(CommandMessage message, Tuple tuple) {
         logger.debug("CACHE SYNCE: {}", message);
 
-        // NB: This is going to be a "bulky" operation - get all flows from DB, and synchronize with the cache.
+        // NB: Only the revisions of the flows are read from DB, the flow is read and compared with the cache
+        // only if its revision differs from the cached one (or is unknown). Such flows are read in pages.
 
         List<String> droppedFlows = new ArrayList<>();
         List<String> addedFlows = new ArrayList<>();
@@ -358,73 +517,41 @@ public class CrudBolt
         List<String> modifiedFlowIds = new ArrayList<>();
         List<String> unchangedFlows = new ArrayList<>();
 
-        List<FlowInfo> flowInfos = pathComputer.getFlowInfo();
+        SortedSet<String> cachedFlowIds = flowCache.getFlowIds();
+        Map<String, FlowRevision> mismatchedFlows = new LinkedHashMap<>();
+        pathComputer.streamFlowRevisions(stored -> {
+            String flowid = stored.getFlowId();
+            if (!cachedFlowIds.remove(flowid)) {
+                // TODO: need to get the flow from the DB and add it properly
+                addedFlows.add(flowid);
+                return;
+            }
 
-        // Instead of determining left/right .. store based on flowid_& cookie
-        HashMap<String, FlowInfo> flowToInfo = new HashMap<>();
-        for (FlowInfo fi : flowInfos) {
-            flowToInfo.put(fi.getFlowId() + fi.getCookie(), fi);
-        }
+            FlowPair<Flow, Flow> fc = flowCache.getFlow(flowid);
+            if (stored.isSameAs(FlowRevision.combine(fc.left.getRevision(), fc.right.getRevision()))) {
+                unchangedFlows.add(flowid);
+            } else {
+                mismatchedFlows.put(flowid, stored);
+            }
+        });
 
-        // We first look at comparing what is in the DB to what is in the Cache
-        for (FlowInfo fi : flowInfos) {
-            String flowid = fi.getFlowId();
-            if (flowCache.cacheContainsFlow(flowid)) {
-                // TODO: better, more holistic comparison
-                // TODO: if the flow is modified, then just leverage drop / add primitives.
-                // TODO: Ensure that the DB is always the source of truth - cache and db ops part of transaction.
-                // Need to compare both sides
+        List<String> mismatchedFlowIds = new ArrayList<>(mismatchedFlows.keySet());
+        for (List<String> page : Lists.partition(mismatchedFlowIds, PathComputer.FLOW_PAGE_SIZE)) {
+            Map<String, List<Flow>> storedFlows = pathComputer.getFlows(page).stream()
+                    .collect(Collectors.groupingBy(Flow::getFlowId));
+            for (String flowid : page) {
                 FlowPair<Flow, Flow> fc = flowCache.getFlow(flowid);
-
-                final int count = modifiedFlowChanges.size();
-                if (fi.getCookie() != fc.left.getCookie() && fi.getCookie() != fc.right.getCookie()) {
-                    modifiedFlowChanges
-                            .add("cookie: " + flowid + ":" + fi.getCookie() + ":" + fc.left.getCookie() + ":" + fc.right
-                                    .getCookie());
-                }
-                if (fi.getMeterId() != fc.left.getMeterId() && fi.getMeterId() != fc.right.getMeterId()) {
-                    modifiedFlowChanges
-                            .add("meter: " + flowid + ":" + fi.getMeterId() + ":" + fc.left.getMeterId() + ":"
-                                    + fc.right.getMeterId());
-                }
-                if (fi.getTransitVlanId() != fc.left.getTransitVlan() && fi.getTransitVlanId() != fc.right
-                        .getTransitVlan()) {
-                    modifiedFlowChanges
-                            .add("transit: " + flowid + ":" + fi.getTransitVlanId() + ":" + fc.left.getTransitVlan()
-                                    + ":" + fc.right.getTransitVlan());
-                }
-                if (!fi.getSrcSwitchId().equals(fc.left.getSourceSwitch()) && !fi.getSrcSwitchId()
-                        .equals(fc.right.getSourceSwitch())) {
-                    modifiedFlowChanges
-                            .add("switch: " + flowid + "|" + fi.getSrcSwitchId() + "|" + fc.left.getSourceSwitch() + "|"
-                                    + fc.right.getSourceSwitch());
-                }
-
-                if (count == modifiedFlowChanges.size()) {
+                List<Flow> stored = storedFlows.getOrDefault(flowid, Collections.emptyList());
+                if (compareWithStoredFlow(fc, mismatchedFlows.get(flowid), stored, modifiedFlowChanges)) {
                     unchangedFlows.add(flowid);
                 } else {
                     modifiedFlowIds.add(flowid);
                 }
-            } else {
-                // TODO: need to get the flow from the DB and add it properly
-                addedFlows.add(flowid);
-
             }
         }
 
-        // Now we see if the cache holds things not in the DB
-        for (FlowPair<Flow, Flow> flow : flowCache.dumpFlows()) {
-            String key = flow.left.getFlowId() + flow.left.getCookie();
-            // compare the left .. if it is in, then check the right .. o/w remove it (no need to check right
-            if (!flowToInfo.containsKey(key)) {
-                droppedFlows.add(flow.left.getFlowId());
-            } else {
-                key = flow.right.getFlowId() + flow.right.getCookie();
-                if (!flowToInfo.containsKey(key)) {
-                    droppedFlows.add(flow.right.getFlowId());
-                }
-            }
-        }
+        // Now the cache holds only the flows which are not in the DB
+        droppedFlows.addAll(cachedFlowIds);
 
         FlowCacheSyncRequest request = (FlowCacheSyncRequest) message.getData();
         if (request.getSynchronizeCache() == SynchronizeCacheAction.SYNCHRONIZE_CACHE) {
@@ -440,6 +567,46 @@ public class CrudBolt
         outputCollector.emit(StreamType.RESPONSE.toString(), tuple, northbound);
     }
 
+    /**
+     * Compare the cached flow with the flow stored in DB, describe the differences in {@code changes}. The cached
+     * flow takes the revision of the stored one if they are equal, so it is not compared on the next sync.
+     *
+     * @return true if there are no differences
+     */
+    private boolean compareWithStoredFlow(FlowPair<Flow, Flow> fc, FlowRevision stored, List<Flow> storedFlows,
+                                          List<String> changes) {
+        // TODO: better, more holistic comparison
+        // TODO: Ensure that the DB is always the source of truth - cache and db ops part of transaction.
+        String flowid = stored.getFlowId();
+        final int count = changes.size();
+        for (Flow fi : storedFlows) {
+            if (fi.getCookie() != fc.left.getCookie() && fi.getCookie() != fc.right.getCookie()) {
+                changes.add("cookie: " + flowid + ":" + fi.getCookie() + ":" + fc.left.getCookie() + ":"
+                        + fc.right.getCookie());
+            }
+            if (fi.getMeterId() != fc.left.getMeterId() && fi.getMeterId() != fc.right.getMeterId()) {
+                changes.add("meter: " + flowid + ":" + fi.getMeterId() + ":" + fc.left.getMeterId() + ":"
+                        + fc.right.getMeterId());
+            }
+            if (fi.getTransitVlan() != fc.left.getTransitVlan() && fi.getTransitVlan() != fc.right.getTransitVlan()) {
+                changes.add("transit: " + flowid + ":" + fi.getTransitVlan() + ":" + fc.left.getTransitVlan()
+                        + ":" + fc.right.getTransitVlan());
+            }
+            if (!fi.getSourceSwitch().equals(fc.left.getSourceSwitch())
+                    && !fi.getSourceSwitch().equals(fc.right.getSourceSwitch())) {
+                changes.add("switch: " + flowid + "|" + fi.getSourceSwitch() + "|" + fc.left.getSourceSwitch() + "|"
+                        + fc.right.getSourceSwitch());
+            }
+        }
+
+        if (count != changes.size()) {
+            return false;
+        }
+        fc.left.setRevision(stored.getRevision());
+        fc.right.setRevision(stored.getRevision());
+        return true;
+    }
+
     /**
      * Synchronize the cache, propagate updates further (i.e. emit FlowOperation.CACHE)
      */
@@ -563,6 +730,7 @@ public class CrudBolt
 
     private void handleDeleteRequest(String flowId, CommandMessage message, Tuple tuple) throws IOException {
         FlowPair<Flow, Flow> flow = flowCache.deleteFlow(flowId);
+        updateTopologyBandwidth(flow, 1L);
 
         logger.info("Deleted flow: {}", flowId);
 
@@ -584,7 +752,7 @@ public class CrudBolt
         try {
             flowValidator.validate(requestedFlow);
 
-            path = pathComputer.getPath(requestedFlow, Strategy.COST);
+            path = computePath(requestedFlow, false);
             logger.info("Creating flow {}. Found path: {}, correlationId: {}", requestedFlow.getFlowId(), path,
                     message.getCorrelationId());
         } catch (FlowValidationException e) {
@@ -600,6 +768,8 @@ public class CrudBolt
         }
 
         FlowPair<Flow, Flow> flow = flowCache.createFlow(requestedFlow, path);
+        assignRevision(flow, null);
+        updateTopologyBandwidth(flow, -1L);
         logger.info("Created flow: {}, correlationId: {}", flow, message.getCorrelationId());
 
         FlowInfoData data = new FlowInfoData(requestedFlow.getFlowId(), flow, FlowOperation.CREATE,
@@ -627,11 +797,7 @@ public class CrudBolt
                 try {
                     logger.warn("Origin flow {} path: {} correlationId {}", flowId, flowForward.getFlowPath(),
                             correlationId);
-                    AvailableNetwork network = pathComputer.getAvailableNetwork(flowForward.isIgnoreBandwidth(),
-                            flowForward.getBandwidth());
-                    network.addIslsOccupiedByFlow(flowId, flowForward.isIgnoreBandwidth(), flowForward.getBandwidth());
-                    FlowPair<PathInfoData, PathInfoData> path =
-                            pathComputer.getPath(flow.getLeft(), network, Strategy.COST);
+                    FlowPair<PathInfoData, PathInfoData> path = getReroutePath(flowForward);
                     logger.warn("Potential New Path for flow {} with LEFT path: {}, RIGHT path: {} correlationId {}",
                             flowId, path.getLeft(), path.getRight(), correlationId);
                     boolean isFoundNewPath = (
@@ -644,7 +810,11 @@ public class CrudBolt
                         flow.getLeft().setState(FlowState.DOWN);
                         flow.getRight().setState(FlowState.DOWN);
 
+                        FlowPair<Flow, Flow> origin = flow;
                         flow = flowCache.updateFlow(flow.getLeft(), path);
+                        assignRevision(flow, origin);
+                        updateTopologyBandwidth(origin, 1L);
+                        updateTopologyBandwidth(flow, -1L);
                         logger.warn("Rerouted flow with new path: {}, correlationId {}", flow, correlationId);
 
                         FlowInfoData data = new FlowInfoData(flowId, flow, UPDATE, correlationId);
@@ -689,6 +859,58 @@ public class CrudBolt
         }
     }
 
+    /**
+     * Gets the path found for the flow by the batch path computation or computes it for the single flow.
+     */
+    private FlowPair<PathInfoData, PathInfoData> getReroutePath(Flow flow)
+            throws UnroutablePathException, RecoverableException {
+        if (reroutePaths.containsKey(flow.getFlowId())) {
+            FlowPair<PathInfoData, PathInfoData> path = reroutePaths.remove(flow.getFlowId());
+            if (path == null) {
+                throw new UnroutablePathException(flow);
+            }
+            if (pathComputer.confirmBandwidth(flow, path)) {
+                return path;
+            }
+            logger.info("Path found for the flow {} in the batch is not confirmed", flow.getFlowId());
+        }
+
+        return computePath(flow, true);
+    }
+
+    /**
+     * Computes the cheapest paths for the flow in the topology known to this bolt and takes the first one which
+     * bandwidth is confirmed by the storage, the bandwidth may be taken by the flows of other bolt instances.
+     * The paths are computed again if none is confirmed, the topology has the confirmed bandwidth by then.
+     *
+     * @param flow the flow.
+     * @param reuseOwnIsls whether the ISLs occupied by the flow are available for it regardless of bandwidth.
+     * @return the confirmed path.
+     */
+    private FlowPair<PathInfoData, PathInfoData> computePath(Flow flow, boolean reuseOwnIsls)
+            throws UnroutablePathException, RecoverableException {
+        for (int attempt = 1; attempt <= PATH_CONFIRM_ATTEMPTS; attempt++) {
+            AvailableNetwork network = pathComputer.getAvailableNetwork(flow.isIgnoreBandwidth(),
+                    flow.getBandwidth());
+            if (reuseOwnIsls) {
+                network.addIslsOccupiedByFlow(flow.getFlowId(), flow.isIgnoreBandwidth(), flow.getBandwidth());
+            }
+            List<FlowPair<PathInfoData, PathInfoData>> paths = pathComputer.getKPaths(flow, network,
+                    PATH_ALTERNATES);
+            if (paths.isEmpty()) {
+                break;
+            }
+            for (FlowPair<PathInfoData, PathInfoData> path : paths) {
+                if (pathComputer.confirmBandwidth(flow, path)) {
+                    return path;
+                }
+            }
+            logger.info("None of {} paths for the flow {} is confirmed, attempt {} of {}", paths.size(),
+                    flow.getFlowId(), attempt, PATH_CONFIRM_ATTEMPTS);
+        }
+        throw new UnroutablePathException(flow);
+    }
+
     private void handleUpdateRequest(CommandMessage message, Tuple tuple) throws IOException, RecoverableException {
         Flow requestedFlow = ((FlowUpdateRequest) message.getData()).getPayload();
         String correlationId = message.getCorrelationId();
@@ -698,11 +920,7 @@ public class CrudBolt
         try {
             flowValidator.validate(requestedFlow);
 
-            AvailableNetwork network = pathComputer.getAvailableNetwork(requestedFlow.isIgnoreBandwidth(),
-                    requestedFlow.getBandwidth());
-            network.addIslsOccupiedByFlow(requestedFlow.getFlowId(),
-                    requestedFlow.isIgnoreBandwidth(), requestedFlow.getBandwidth());
-            path = pathComputer.getPath(requestedFlow, network, Strategy.COST);
+            path = computePath(requestedFlow, true);
             logger.info("Updated flow path: {}, correlationId {}", path, correlationId);
 
         } catch (FlowValidationException e) {
@@ -716,7 +934,12 @@ public class CrudBolt
                     ErrorType.NOT_FOUND, errorType, "Path was not found");
         }
 
+        FlowPair<Flow, Flow> origin = flowCache.cacheContainsFlow(requestedFlow.getFlowId())
+                ? flowCache.getFlow(requestedFlow.getFlowId()) : null;
         FlowPair<Flow, Flow> flow = flowCache.updateFlow(requestedFlow, path);
+        assignRevision(flow, origin);
+        updateTopologyBandwidth(origin, 1L);
+        updateTopologyBandwidth(flow, -1L);
         logger.info("Updated flow: {}, correlationId {}", flow, correlationId);
 
         FlowInfoData data = new FlowInfoData(requestedFlow.getFlowId(), flow, UPDATE,
@@ -730,6 +953,51 @@ public class CrudBolt
         outputCollector.emit(StreamType.RESPONSE.toString(), tuple, northbound);
     }
 
+    private void handleNetworkUpdate(InfoMessage message) {
+        InfoData data = message.getData();
+        if (data instanceof SwitchInfoData) {
+            topologyCache.handleSwitchEvent((SwitchInfoData) data);
+        } else if (data instanceof IslInfoData) {
+            topologyCache.handleIslEvent((IslInfoData) data);
+        } else {
+            logger.warn("Unexpected network update: {}", data);
+        }
+    }
+
+    /**
+     * Assigns the revision to the flow written to the database. The topology engine stores the flow with it, so
+     * the cached flow has the revision of the stored one and is not read on the cache sync.
+     *
+     * @param flow the cached flow.
+     * @param origin the flow before the change, the new revision is greater than its one.
+     */
+    private void assignRevision(FlowPair<Flow, Flow> flow, @Nullable FlowPair<Flow, Flow> origin) {
+        long revision = System.currentTimeMillis();
+        if (origin != null) {
+            revision = Math.max(revision,
+                    Math.max(origin.getLeft().getRevision(), origin.getRight().getRevision()) + 1);
+        }
+        flow.getLeft().setRevision(revision);
+        flow.getRight().setRevision(revision);
+    }
+
+    /**
+     * Applies the bandwidth used by the flow to the topology used for path computation.
+     *
+     * @param flow the flow, nothing is changed for null.
+     * @param sign -1 when the flow takes the bandwidth, 1 when it releases.
+     */
+    private void updateTopologyBandwidth(@Nullable FlowPair<Flow, Flow> flow, long sign) {
+        if (flow == null) {
+            return;
+        }
+        for (Flow direction : new Flow[]{flow.getLeft(), flow.getRight()}) {
+            if (direction != null && !direction.isIgnoreBandwidth()) {
+                topologyCache.updateAvailableBandwidth(direction.getFlowPath(), sign * direction.getBandwidth());
+            }
+        }
+    }
+
     private void handleDumpRequest(CommandMessage message, Tuple tuple) {
         List<BidirectionalFlow> flows = flowCache.dumpFlows().stream()
                 .map(BidirectionalFlow::new)
@@ -847,13 +1115,11 @@ public class CrudBolt
     }
 
     private void initFlowCache() {
-        PathComputerFlowFetcher flowFetcher = new PathComputerFlowFetcher(pathComputer);
-
-        for (BidirectionalFlow bidirectionalFlow : flowFetcher.getFlows()) {
+        PathComputerFlowFetcher.fetch(pathComputer, bidirectionalFlow -> {
             FlowPair<Flow, Flow> flowPair = new FlowPair<>(
                     bidirectionalFlow.getForward(), bidirectionalFlow.getReverse());
             flowCache.pushFlow(flowPair);
-        }
+        });
     }
 
     @Override
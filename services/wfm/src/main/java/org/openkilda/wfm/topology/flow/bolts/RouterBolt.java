@@ -0,0 +1,105 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.bolts;
+
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.flow.BaseInstallFlow;
+import org.openkilda.messaging.command.flow.RemoveFlow;
+import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.topology.AbstractTopology;
+
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+
+import java.io.IOException;
+
+/**
+ * Decodes messages from the flow topic once and routes them to the bolt which is interested in them.
+ * <p/>
+ * Northbound requests and network updates go to {@link #STREAM_SPLITTER_ID}, flow rules produced by the path
+ * computation and its errors go to {@link #STREAM_TOPOLOGY_ENGINE_ID}, speaker responses go to
+ * {@link #STREAM_SPEAKER_ID}. Every stream carries the decoded {@link Message} in the single
+ * {@link AbstractTopology#MESSAGE_FIELD} field. Undecodable messages and messages nobody is subscribed to are
+ * dropped here.
+ */
+public class RouterBolt extends AbstractBolt {
+    public static final String STREAM_SPLITTER_ID = "splitter";
+    public static final String STREAM_TOPOLOGY_ENGINE_ID = "topology-engine";
+    public static final String STREAM_SPEAKER_ID = "speaker";
+
+    @Override
+    protected void handleInput(Tuple input) {
+        String json = input.getString(0);
+
+        Message message;
+        try {
+            message = MAPPER.readValue(json, Message.class);
+        } catch (IOException e) {
+            log.error("Could not deserialize message={}", json, e);
+            return;
+        }
+
+        String stream = route(message);
+        if (stream != null) {
+            getOutput().emit(stream, input, new Values(message));
+        } else {
+            log.debug("Skip message without consumer: {}", json);
+        }
+    }
+
+    /**
+     * Returns the stream the message must be sent to, or null if no bolt handles it.
+     */
+    static String route(Message message) {
+        Destination destination = message.getDestination();
+        if (Destination.WFM_TRANSACTION.equals(destination)) {
+            return STREAM_SPEAKER_ID;
+        }
+        if (!Destination.WFM.equals(destination)) {
+            return null;
+        }
+
+        if (message instanceof ErrorMessage) {
+            return STREAM_TOPOLOGY_ENGINE_ID;
+        }
+        if (message instanceof CommandMessage) {
+            CommandData data = ((CommandMessage) message).getData();
+            if (data instanceof BaseInstallFlow || data instanceof RemoveFlow) {
+                return STREAM_TOPOLOGY_ENGINE_ID;
+            }
+            return STREAM_SPLITTER_ID;
+        }
+        if (message instanceof InfoMessage) {
+            return STREAM_SPLITTER_ID;
+        }
+        return null;
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer declarer) {
+        declarer.declareStream(STREAM_SPLITTER_ID, AbstractTopology.fieldMessage);
+        declarer.declareStream(STREAM_TOPOLOGY_ENGINE_ID, AbstractTopology.fieldMessage);
+        declarer.declareStream(STREAM_SPEAKER_ID, AbstractTopology.fieldMessage);
+    }
+}
@@ -39,7 +39,6 @@ import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -61,18 +60,12 @@ public class SpeakerBolt extends BaseRichBolt {
      */
     @Override
     public void execute(Tuple tuple) {
-        String request = tuple.getString(0);
+        Message message = (Message) tuple.getValueByField(FlowTopology.MESSAGE_FIELD);
         Values values = null;
 
         try {
-
-            Message message = MAPPER.readValue(request, Message.class);
             logger.debug("Request tuple={}", tuple);
 
-            if (!Destination.WFM_TRANSACTION.equals(message.getDestination())) {
-                return;
-            }
-
             if (message instanceof CommandMessage) {
 
                 CommandData data = ((CommandMessage) message).getData();
@@ -84,7 +77,7 @@ public class SpeakerBolt extends BaseRichBolt {
 
                     logger.debug("Flow install message: {}={}, switch-id={}, {}={}, {}={}, message={}",
                             Utils.CORRELATION_ID, message.getCorrelationId(), switchId,
-                            Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId, request);
+                            Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId, message);
 
                     message.setDestination(Destination.TOPOLOGY_ENGINE);
                     values = new Values(MAPPER.writeValueAsString(message), switchId, flowId, transactionId);
@@ -99,7 +92,7 @@ public class SpeakerBolt extends BaseRichBolt {
 
                     logger.debug("Flow remove message: {}={}, switch-id={}, {}={}, {}={}, message={}",
                             Utils.CORRELATION_ID, message.getCorrelationId(), switchId,
-                            Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId, request);
+                            Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId, message);
 
                     message.setDestination(Destination.TOPOLOGY_ENGINE);
                     values = new Values(MAPPER.writeValueAsString(message), switchId, flowId, transactionId);
@@ -107,7 +100,7 @@ public class SpeakerBolt extends BaseRichBolt {
 
                 } else {
                     logger.debug("Skip undefined command message: {}={}, message={}",
-                            Utils.CORRELATION_ID, message.getCorrelationId(), request);
+                            Utils.CORRELATION_ID, message.getCorrelationId(), message);
                 }
             } else if (message instanceof ErrorMessage) {
                 String flowId = ((ErrorMessage) message).getData().getErrorDescription();
@@ -116,23 +109,21 @@ public class SpeakerBolt extends BaseRichBolt {
                 // TODO: Should add debug message if receiving ErrorMessage.
                 if (flowId != null) {
                     logger.error("Flow error message: {}={}, {}={}, message={}",
-                            Utils.CORRELATION_ID, message.getCorrelationId(), Utils.FLOW_ID, flowId, request);
+                            Utils.CORRELATION_ID, message.getCorrelationId(), Utils.FLOW_ID, flowId, message);
 
                     values = new Values(flowId, status);
                     outputCollector.emit(StreamType.STATUS.toString(), tuple, values);
                 } else {
                     logger.debug("Skip error message without flow-id: {}={}, message={}",
-                            Utils.CORRELATION_ID, message.getCorrelationId(), request);
+                            Utils.CORRELATION_ID, message.getCorrelationId(), message);
                 }
 
             } else {
                 // TODO: should this be a warn or error? Probably, after refactored / specific
                 // topics
                 logger.debug("Skip undefined message: {}={}, message={}",
-                        Utils.CORRELATION_ID, message.getCorrelationId(), request);
+                        Utils.CORRELATION_ID, message.getCorrelationId(), message);
             }
-        } catch (IOException exception) {
-            logger.error("\n\nCould not deserialize message={}", request, exception);
         } catch (Exception e) {
             logger.error(String.format("Unhandled exception in %s", getClass().getName()), e);
         } finally {
@@ -15,9 +15,6 @@
 
 package org.openkilda.wfm.topology.flow.bolts;
 
-import static org.openkilda.messaging.Utils.MAPPER;
-
-import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.CommandData;
@@ -31,6 +28,8 @@ import org.openkilda.messaging.command.flow.FlowUpdateRequest;
 import org.openkilda.messaging.command.flow.FlowsDumpRequest;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowOperation;
 import org.openkilda.wfm.topology.flow.FlowTopology;
@@ -48,7 +47,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Map;
 
 /**
- * Northbound Request Bolt. Handles northbound requests.
+ * Northbound Request Bolt. Handles northbound requests and network updates routed by {@link RouterBolt}.
  */
 public class SplitterBolt extends BaseRichBolt {
     /**
@@ -61,50 +60,15 @@ public class SplitterBolt extends BaseRichBolt {
      */
     private OutputCollector outputCollector;
 
-    /**
-     * Parse incoming message. Return null on parse failure.
-     */
-    private Message tryMessage(String json) {
-        Message result = null;
-        try {
-            result = MAPPER.readValue(json, Message.class);
-        } catch (Exception e) {
-            /* do nothing */
-        }
-        return result;
-    }
-
     /**
      * {@inheritDoc}
      */
     @Override
     public void execute(Tuple tuple) {
-        String request = tuple.getString(0);
-        Values values = new Values(request);
+        Message message = (Message) tuple.getValueByField(FlowTopology.MESSAGE_FIELD);
+        Values values = new Values(message);
 
         try {
-            Message message = tryMessage(request);
-            if (message == null
-                    || !Destination.WFM.equals(message.getDestination())
-                    || !(message instanceof CommandMessage || message instanceof InfoMessage)) {
-                /*
-                 * Due to refactoring the kafka topics, it appears more messages are coming to the splitter than
-                 * originally desinged for.
-                 *
-                 * TODO(crimi): Fix the cause of excess messages coming to the splitter.
-                 */
-                // String message = String.format("Could not deserialize message: %s", request);
-                // logger.error("{}", message, exception);
-                //
-                // ErrorMessage errorMessage = new ErrorMessage(
-                //        new ErrorData(ErrorType.REQUEST_INVALID, message, exception.getMessage()),
-                //        System.currentTimeMillis(), Utils.SYSTEM_CORRELATION_ID, Destination.NORTHBOUND);
-                //
-                // values = new Values(errorMessage, ErrorType.INTERNAL_ERROR);
-                // outputCollector.emit(StreamType.ERROR.toString(), tuple, values);
-                return;
-            }
-
             logger.debug("Request tuple={}", tuple);
 
             /*
@@ -130,6 +94,10 @@ public class SplitterBolt extends BaseRichBolt {
                         logger.warn("Skip undefined FlowInfoData Operation {}: {}={}",
                                 fid.getOperation(), Utils.CORRELATION_ID, message.getCorrelationId());
                     }
+                } else if (data instanceof SwitchInfoData || data instanceof IslInfoData) {
+                    values = new Values(message, null);
+                    logger.debug("Network update message: values={}", values);
+                    outputCollector.emit(StreamType.NETWORK_UPDATE.toString(), tuple, values);
                 } else {
                     logger.warn("Skip undefined InfoMessage: {}={}", Utils.CORRELATION_ID, message.getCorrelationId());
                 }
@@ -220,6 +188,7 @@ public class SplitterBolt extends BaseRichBolt {
         outputFieldsDeclarer.declareStream(StreamType.UNPUSH.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.CACHE_SYNC.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.REROUTE.toString(), FlowTopology.fieldsMessageFlowId);
+        outputFieldsDeclarer.declareStream(StreamType.NETWORK_UPDATE.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.ERROR.toString(), FlowTopology.fieldsMessageErrorType);
     }
 
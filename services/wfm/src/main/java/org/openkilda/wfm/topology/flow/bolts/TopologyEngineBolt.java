@@ -25,7 +25,6 @@ import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.BaseInstallFlow;
 import org.openkilda.messaging.command.flow.RemoveFlow;
 import org.openkilda.messaging.error.ErrorMessage;
-import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.model.SwitchId;
 import org.openkilda.wfm.topology.flow.FlowTopology;
 import org.openkilda.wfm.topology.flow.StreamType;
@@ -39,7 +38,6 @@ import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.Map;
 import java.util.UUID;
 
@@ -62,14 +60,10 @@ public class TopologyEngineBolt extends BaseRichBolt {
      */
     @Override
     public void execute(Tuple tuple) {
-        String request = tuple.getString(0);
+        Message message = (Message) tuple.getValueByField(FlowTopology.MESSAGE_FIELD);
         Values values = null;
 
         try {
-            Message message = MAPPER.readValue(request, Message.class);
-            if (!Destination.WFM.equals(message.getDestination())) {
-                return;
-            }
             logger.debug("Request tuple={}", tuple);
 
             if (message instanceof CommandMessage) {
@@ -84,7 +78,7 @@ public class TopologyEngineBolt extends BaseRichBolt {
 
                     logger.debug("Flow install message: {}={}, switch-id={}, {}={}, {}={}, message={}",
                             Utils.CORRELATION_ID, message.getCorrelationId(), switchId,
-                            Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId, request);
+                            Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId, message);
 
                     // FIXME(surabujin): send here and in TE
                     message.setDestination(Destination.CONTROLLER);
@@ -100,7 +94,7 @@ public class TopologyEngineBolt extends BaseRichBolt {
 
                     logger.debug("Flow remove message: {}={}, switch-id={}, {}={}, {}={}, message={}",
                             Utils.CORRELATION_ID, message.getCorrelationId(), switchId,
-                            Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId, request);
+                            Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId, message);
 
                     message.setDestination(Destination.CONTROLLER);
                     values = new Values(MAPPER.writeValueAsString(message), switchId, flowId, transactionId);
@@ -108,31 +102,21 @@ public class TopologyEngineBolt extends BaseRichBolt {
 
                 } else {
                     logger.debug("Skip undefined command message: {}={}, message={}",
-                            Utils.CORRELATION_ID, message.getCorrelationId(), request);
+                            Utils.CORRELATION_ID, message.getCorrelationId(), message);
                 }
-            } else if (message instanceof InfoMessage) {
-                values = new Values(message);
-
-                logger.debug("Flow response message: {}={}, message={}",
-                        Utils.CORRELATION_ID, message.getCorrelationId(), request);
-
-                outputCollector.emit(StreamType.RESPONSE.toString(), tuple, values);
-
             } else if (message instanceof ErrorMessage) {
                 String flowId = ((ErrorMessage) message).getData().getErrorDescription();
 
                 logger.error("Flow error message: {}={}, {}={}, message={}",
-                        Utils.CORRELATION_ID, message.getCorrelationId(), Utils.FLOW_ID, flowId, request);
+                        Utils.CORRELATION_ID, message.getCorrelationId(), Utils.FLOW_ID, flowId, message);
 
                 values = new Values(message, flowId);
                 outputCollector.emit(StreamType.STATUS.toString(), tuple, values);
 
             } else {
                 logger.debug("Skip undefined message: {}={}, message={}",
-                        Utils.CORRELATION_ID, message.getCorrelationId(), request);
+                        Utils.CORRELATION_ID, message.getCorrelationId(), message);
             }
-        } catch (IOException exception) {
-            logger.error("Could not deserialize message={}", request, exception);
         } catch (Exception e) {
             logger.error(String.format("Unhandled exception in %s", getClass().getName()), e);
         } finally {
@@ -156,10 +140,6 @@ public class TopologyEngineBolt extends BaseRichBolt {
                 StreamType.DELETE.toString(),
                 FlowTopology.fieldsMessageSwitchIdFlowIdTransactionId
         );
-        outputFieldsDeclarer.declareStream(
-                StreamType.RESPONSE.toString(),
-                FlowTopology.fieldMessage
-        );
         outputFieldsDeclarer.declareStream(
                 StreamType.STATUS.toString(),
                 FlowTopology.fieldsMessageFlowId
@@ -26,22 +26,26 @@ import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.flow.ComponentType;
 import org.openkilda.wfm.topology.flow.FlowTopology;
 import org.openkilda.wfm.topology.flow.StreamType;
+import org.openkilda.wfm.topology.flow.model.SwitchTransactions;
 
-import org.apache.storm.shade.org.eclipse.jetty.util.ConcurrentHashSet;
-import org.apache.storm.state.InMemoryKeyValueState;
+import org.apache.storm.Config;
+import org.apache.storm.state.KeyValueState;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseStatefulBolt;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.TupleUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Transaction Bolt. Tracks OpenFlow Speaker commands transactions.
@@ -50,9 +54,14 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p/>
  * 1. The TOPOLOGY_ENGINE_BOLT should send the flow rules first, otherwise the SPEAKER_BOLT logic won't have anything to
  * clear.
+ * <p/>
+ * 2. The transactions are kept in the checkpointed state, so the installs in progress survive the restart of the
+ * worker. The flow whose transactions on a switch are not confirmed within the transaction timeout is reported as
+ * DOWN and its transactions on all switches are forgotten, so the late confirmation from another switch doesn't report
+ * it UP. The bolt is partitioned by flow id, all transactions of the flow are kept by one instance.
  */
 public class TransactionBolt
-        extends BaseStatefulBolt<InMemoryKeyValueState<SwitchId, Map<String, Set<Long>>>>
+        extends BaseStatefulBolt<KeyValueState<SwitchId, SwitchTransactions>>
         implements ICtrlBolt {
     /**
      * The logger.
@@ -61,19 +70,39 @@ public class TransactionBolt
 
     public static final String STREAM_ID_CTRL = "ctrl";
 
+    /**
+     * How often the expired transactions are looked for.
+     */
+    private static final int EXPIRE_CHECK_PERIOD_SECONDS = 1;
+
+    private final long transactionTimeout;
+
     /**
      * Transaction ids state.
-     * <p/>
-     * FIXME(surabujin) in memory status lead to disaster when system restarts during any transition
      */
-    private InMemoryKeyValueState<SwitchId, Map<String, Set<Long>>> transactions;
+    private KeyValueState<SwitchId, SwitchTransactions> transactions;
 
     private TopologyContext context;
     private OutputCollector outputCollector;
 
+    /**
+     * Creates the bolt.
+     *
+     * @param transactionTimeout how long (in milliseconds) the flow rules can wait for the speaker confirmation
+     */
+    public TransactionBolt(long transactionTimeout) {
+        this.transactionTimeout = transactionTimeout;
+    }
+
     @Override
     public void execute(Tuple tuple) {
 
+        if (TupleUtils.isTick(tuple)) {
+            expireTransactions(tuple);
+            outputCollector.ack(tuple);
+            return;
+        }
+
         if (CtrlAction.boltHandlerEntrance(this, tuple)) {
             return;
         }
@@ -86,8 +115,7 @@ public class TransactionBolt
         SwitchId switchId = (SwitchId) tuple.getValueByField(FlowTopology.SWITCH_ID_FIELD);
         String flowId = (String) tuple.getValueByField(Utils.FLOW_ID);
         Object message = tuple.getValueByField(FlowTopology.MESSAGE_FIELD);
-        Map<String, Set<Long>> flowTransactions;
-        Set<Long> flowTransactionIds;
+        SwitchTransactions switchTransactions;
         Values values = null;
 
         try {
@@ -99,22 +127,17 @@ public class TransactionBolt
                     logger.info("Transaction from TopologyEngine: switch-id={}, {}={}, {}={}",
                             switchId, Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId);
 
-                    flowTransactions = transactions.get(switchId);
-                    if (flowTransactions == null) {
-                        flowTransactions = new ConcurrentHashMap<>();
-                        transactions.put(switchId, flowTransactions);
-                    }
-
-                    flowTransactionIds = flowTransactions.get(flowId);
-                    if (flowTransactionIds == null) {
-                        flowTransactionIds = new ConcurrentHashSet<>();
-                        flowTransactions.put(flowId, flowTransactionIds);
+                    switchTransactions = transactions.get(switchId);
+                    if (switchTransactions == null) {
+                        switchTransactions = new SwitchTransactions();
                     }
 
-                    if (!flowTransactionIds.add(transactionId)) {
+                    long expireAt = System.currentTimeMillis() + transactionTimeout;
+                    if (!switchTransactions.add(flowId, transactionId, expireAt)) {
                         throw new RuntimeException(
                                 String.format("Transaction adding failure: id %d already exists", transactionId));
                     }
+                    transactions.put(switchId, switchTransactions);
 
                     logger.info("Set status {}: switch-id={}, {}={}, {}={}", FlowState.IN_PROGRESS,
                             switchId, Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId);
@@ -131,43 +154,41 @@ public class TransactionBolt
                     logger.info("Transaction from Speaker: switch-id={}, {}={}, {}={}",
                             switchId, Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId);
 
-                    flowTransactions = transactions.get(switchId);
-                    if (flowTransactions != null) {
-
-                        flowTransactionIds = flowTransactions.get(flowId);
-                        if (flowTransactionIds != null) {
-
-                            if (flowTransactionIds.remove(transactionId)) {
-
-                                if (flowTransactionIds.isEmpty()) {
-                                    //
-                                    // All transactions have been removed .. the Flow
-                                    // can now be considered "UP"
-                                    //
-                                    logger.info(
-                                            "Flow transaction completed for one switch "
-                                                    + "(switch: {}, flow: {}, stream: {})", switchId, flowId, streamId);
-
-                                    values = new Values(flowId, FlowState.UP);
-                                    outputCollector.emit(StreamType.STATUS.toString(), tuple, values);
-
-                                    flowTransactions.remove(flowId);
-                                } else {
-                                    logger.debug("Transaction {} not empty yet, count = {}",
-                                            transactionId, flowTransactionIds.size()
-                                    );
-                                }
-                            } else {
-                                logger.warn("Transaction removing: transaction id not found");
-                            }
-                        } else {
+                    switchTransactions = transactions.get(switchId);
+                    if (switchTransactions == null) {
+                        logger.warn("Transaction removing failure: switch id not found");
+                        break;
+                    }
+
+                    switch (switchTransactions.remove(flowId, transactionId)) {
+                        case COMPLETED:
+                            //
+                            // All transactions have been removed .. the Flow
+                            // can now be considered "UP"
+                            //
+                            logger.info(
+                                    "Flow transaction completed for one switch "
+                                            + "(switch: {}, flow: {}, stream: {})", switchId, flowId, streamId);
+
+                            values = new Values(flowId, FlowState.UP);
+                            outputCollector.emit(StreamType.STATUS.toString(), tuple, values);
+                            break;
+                        case PENDING:
+                            logger.debug("Transaction {} not empty yet, count = {}",
+                                    transactionId, switchTransactions.count(flowId));
+                            break;
+                        case UNKNOWN_TRANSACTION:
+                            logger.warn("Transaction removing: transaction id not found");
+                            break;
+                        default:
                             logger.warn("Transaction removing failure: flow id not found");
-                        }
-                        if (flowTransactions.isEmpty()) {
-                            transactions.delete(switchId);
-                        }
+                            break;
+                    }
+
+                    if (switchTransactions.isEmpty()) {
+                        transactions.delete(switchId);
                     } else {
-                        logger.warn("Transaction removing failure: switch id not found");
+                        transactions.put(switchId, switchTransactions);
                     }
                     break;
 
@@ -193,14 +214,59 @@ public class TransactionBolt
         logger.trace("States after: {}", transactions);
     }
 
+    /**
+     * Reports as DOWN and forgets the flows which rules are not confirmed by the speaker in time.
+     */
+    private void expireTransactions(Tuple tick) {
+        long now = System.currentTimeMillis();
+        Set<String> expired = new HashSet<>();
+        for (Map.Entry<SwitchId, SwitchTransactions> entry : transactions) {
+            for (String flowId : entry.getValue().expire(now)) {
+                if (expired.add(flowId)) {
+                    logger.warn("Set status {}: transaction timeout, switch-id={}, {}={}",
+                            FlowState.DOWN, entry.getKey(), Utils.FLOW_ID, flowId);
+                    outputCollector.emit(StreamType.STATUS.toString(), tick, new Values(flowId, FlowState.DOWN));
+                }
+            }
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        // the flow is DOWN, the rules confirmed on the other switches must not report it UP
+        List<SwitchId> emptySwitches = new ArrayList<>();
+        for (Map.Entry<SwitchId, SwitchTransactions> entry : transactions) {
+            SwitchTransactions switchTransactions = entry.getValue();
+            expired.forEach(switchTransactions::drop);
+            if (switchTransactions.isEmpty()) {
+                emptySwitches.add(entry.getKey());
+            } else {
+                transactions.put(entry.getKey(), switchTransactions);
+            }
+        }
+        for (SwitchId switchId : emptySwitches) {
+            transactions.delete(switchId);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public void initState(InMemoryKeyValueState<SwitchId, Map<String, Set<Long>>> state) {
+    public void initState(KeyValueState<SwitchId, SwitchTransactions> state) {
         transactions = state;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, EXPIRE_CHECK_PERIOD_SECONDS);
+        return conf;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -225,8 +291,8 @@ public class TransactionBolt
     @Override
     public AbstractDumpState dumpState() {
         Map<SwitchId, Map<String, Set<Long>>> dump = new HashMap<>();
-        for (Map.Entry<SwitchId, Map<String, Set<Long>>> item : transactions) {
-            dump.put(item.getKey(), item.getValue());
+        for (Map.Entry<SwitchId, SwitchTransactions> item : transactions) {
+            dump.put(item.getKey(), item.getValue().dump());
         }
         return new TransactionBoltState(dump);
     }
@@ -0,0 +1,144 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.model;
+
+import org.openkilda.wfm.share.utils.LongHashSet;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Outstanding speaker transactions of one switch, grouped by flow.
+ * <p/>
+ * Flow ids are interned, so a flow installed on several switches is kept once, transaction ids are held in a
+ * {@link LongHashSet}. Every flow has a deadline which is moved forward by each new transaction, the flow whose
+ * transactions are not confirmed until the deadline is dropped by {@link #expire(long)}. Not thread safe.
+ */
+public class SwitchTransactions implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final Interner<String> FLOW_IDS = Interners.newWeakInterner();
+
+    private final HashMap<String, FlowTransactions> flows = new HashMap<>();
+
+    /**
+     * Register the transaction of the flow, return false if it is already registered.
+     */
+    public boolean add(String flowId, long transactionId, long expireAt) {
+        FlowTransactions transactions = flows.get(flowId);
+        if (transactions == null) {
+            transactions = new FlowTransactions();
+            flows.put(FLOW_IDS.intern(flowId), transactions);
+        }
+        transactions.expireAt = Math.max(transactions.expireAt, expireAt);
+        return transactions.ids.add(transactionId);
+    }
+
+    /**
+     * Remove the confirmed transaction of the flow, the flow is forgotten when its last transaction is removed.
+     */
+    public RemoveResult remove(String flowId, long transactionId) {
+        FlowTransactions transactions = flows.get(flowId);
+        if (transactions == null) {
+            return RemoveResult.UNKNOWN_FLOW;
+        }
+        if (!transactions.ids.remove(transactionId)) {
+            return RemoveResult.UNKNOWN_TRANSACTION;
+        }
+        if (!transactions.ids.isEmpty()) {
+            return RemoveResult.PENDING;
+        }
+        flows.remove(flowId);
+        return RemoveResult.COMPLETED;
+    }
+
+    /**
+     * Number of outstanding transactions of the flow.
+     */
+    public int count(String flowId) {
+        FlowTransactions transactions = flows.get(flowId);
+        return transactions == null ? 0 : transactions.ids.size();
+    }
+
+    /**
+     * Drop the flows which deadline is reached, return their ids.
+     */
+    public List<String> expire(long now) {
+        List<String> expired = new ArrayList<>();
+        for (Iterator<Map.Entry<String, FlowTransactions>> it = flows.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, FlowTransactions> entry = it.next();
+            if (entry.getValue().expireAt <= now) {
+                expired.add(entry.getKey());
+                it.remove();
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Forget all transactions of the flow, return false if the flow is unknown.
+     */
+    public boolean drop(String flowId) {
+        return flows.remove(flowId) != null;
+    }
+
+    public boolean isEmpty() {
+        return flows.isEmpty();
+    }
+
+    /**
+     * Copy the transactions into plain collections, used to dump the state.
+     */
+    public Map<String, Set<Long>> dump() {
+        Map<String, Set<Long>> result = new HashMap<>();
+        for (Map.Entry<String, FlowTransactions> entry : flows.entrySet()) {
+            Set<Long> ids = new HashSet<>();
+            for (long id : entry.getValue().ids.toArray()) {
+                ids.add(id);
+            }
+            result.put(entry.getKey(), ids);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return dump().toString();
+    }
+
+    public enum RemoveResult {
+        UNKNOWN_FLOW,
+        UNKNOWN_TRANSACTION,
+        PENDING,
+        COMPLETED
+    }
+
+    private static class FlowTransactions implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final LongHashSet ids = new LongHashSet();
+        private long expireAt = 0;
+    }
+}
@@ -43,7 +43,8 @@ import org.slf4j.LoggerFactory;
  *  <p>kilda.topo.nb-spout: reads data from kafka.
  *  router-bolt: detects what kind of request is send, defines the stream.
  *  neo-bolt: performs operation with the database.
- *  response-splitter-bolt: split response into small chunks, because kafka has limited size of messages.
+ *  response-splitter-bolt: split response into pages of several records, because kafka has limited size of
+ *  messages.
  *  nb-kafka-bolt: sends responses back to kafka to northbound topic.
  */
 public class NbWorkerTopology extends AbstractTopology<NbWorkerTopologyConfig> {
@@ -93,7 +94,7 @@ public class NbWorkerTopology extends AbstractTopology<NbWorkerTopologyConfig> {
         tb.setBolt(FLOWS_BOLT_NAME, flowsBolt, parallelism)
                 .shuffleGrouping(ROUTER_BOLT_NAME, StreamType.FLOW.toString());
 
-        ResponseSplitterBolt splitterBolt = new ResponseSplitterBolt();
+        ResponseSplitterBolt splitterBolt = new ResponseSplitterBolt(topologyConfig.getResponseChunkSize());
         tb.setBolt(SPLITTER_BOLT_NAME, splitterBolt, parallelism)
                 .shuffleGrouping(SWITCHES_BOLT_NAME)
                 .shuffleGrouping(LINKS_BOLT_NAME)
@@ -106,6 +107,9 @@ public class NbWorkerTopology extends AbstractTopology<NbWorkerTopologyConfig> {
         return tb.createTopology();
     }
 
+    /**
+     * Topology entry point.
+     */
     public static void main(String[] args) {
         try {
             LaunchEnvironment env = new LaunchEnvironment(args);
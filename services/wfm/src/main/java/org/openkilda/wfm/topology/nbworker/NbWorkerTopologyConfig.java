@@ -18,10 +18,16 @@ package org.openkilda.wfm.topology.nbworker;
 import org.openkilda.wfm.topology.AbstractTopologyConfig;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
 
 @Configuration
 public interface NbWorkerTopologyConfig extends AbstractTopologyConfig {
 
+    @Key("nbworker.response.chunk.size")
+    @Default("100")
+    int getResponseChunkSize();
+
     default String getKafkaTopoNbTopic() {
         return getKafkaTopics().getTopoNbTopic();
     }
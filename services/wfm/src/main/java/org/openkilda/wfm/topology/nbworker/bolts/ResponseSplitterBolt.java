@@ -22,9 +22,11 @@ import org.openkilda.messaging.Message;
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoDataPage;
 import org.openkilda.wfm.AbstractBolt;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Lists;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
@@ -34,7 +36,20 @@ import org.apache.storm.tuple.Values;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Splits a response into chunked messages, because kafka has limited size of messages. Up to chunkSize items are
+ * packed into one message as an {@link InfoDataPage}, chunk size 1 sends every item as a separate message.
+ */
 public class ResponseSplitterBolt extends AbstractBolt {
+    private final int chunkSize;
+
+    public ResponseSplitterBolt(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
     @Override
     protected void handleInput(Tuple input) {
         List<InfoData> responses = (List<InfoData>) input.getValueByField("response");
@@ -45,21 +60,22 @@ public class ResponseSplitterBolt extends AbstractBolt {
     }
 
     private void sendChunkedResponse(List<InfoData> responses, Tuple input, String requestId) {
-        List<Message> messages = new ArrayList<>(responses.size());
+        List<Message> messages = new ArrayList<>();
         if (CollectionUtils.isEmpty(responses)) {
             log.debug("No records found in the database");
-            Message message = new ChunkedInfoMessage(null, System.currentTimeMillis(), requestId, requestId,
-                    responses.size());
+            Message message = new ChunkedInfoMessage(null, System.currentTimeMillis(), requestId, requestId, 0);
             messages.add(message);
         } else {
+            List<List<InfoData>> pages = Lists.partition(responses, chunkSize);
             int i = 0;
-            for (InfoData data : responses) {
+            for (List<InfoData> page : pages) {
+                InfoData data = chunkSize == 1 ? page.get(0) : new InfoDataPage(new ArrayList<>(page));
                 Message message = new ChunkedInfoMessage(data, System.currentTimeMillis(), requestId, i++,
-                        responses.size());
+                        pages.size());
                 messages.add(message);
             }
 
-            log.debug("Response is divided into {} messages", messages.size());
+            log.debug("Response of {} records is divided into {} messages", responses.size(), messages.size());
         }
 
         // emit all found messages
@@ -67,7 +67,7 @@ public class OpenTsdbTopology extends AbstractTopology<OpenTsdbTopologyConfig> {
                 .shuffleGrouping(OTSDB_SPOUT_ID);
 
         tb.setBolt(OTSDB_FILTER_BOLT_ID, new OpenTSDBFilterBolt(), openTsdbConfig.getFilterBoltExecutors())
-                .fieldsGrouping(OTSDB_PARSE_BOLT_ID, new Fields("hash"));
+                .fieldsGrouping(OTSDB_PARSE_BOLT_ID, new Fields(DatapointParseBolt.FIELD_ID_HASH));
 
         OpenTsdbClient.Builder tsdbBuilder = OpenTsdbClient
                 .newBuilder(openTsdbConfig.getHosts())
@@ -18,6 +18,9 @@ package org.openkilda.wfm.topology.opentsdb.bolts;
 import static org.openkilda.messaging.Utils.MAPPER;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointFrame;
+import org.openkilda.messaging.info.DatapointFrame.TagGroup;
+import org.openkilda.messaging.info.InfoData;
 
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
@@ -25,15 +28,26 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Objects;
 
+/**
+ * Parse the datapoint records and pass them on as frames. A frame is split only when its tag groups are routed to
+ * different filter bolt tasks, see {@link #routingKey(Map)}.
+ */
 public class DatapointParseBolt extends BaseRichBolt {
+    public static final String FIELD_ID_HASH = "hash";
+    public static final String FIELD_ID_FRAME = "frame";
+
+    private static final String SWITCH_ID_TAG = "switchid";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(DatapointParseBolt.class);
     private OutputCollector collector;
 
@@ -47,10 +61,14 @@ public class DatapointParseBolt extends BaseRichBolt {
         final String data = tuple.getString(0);
         LOGGER.debug("Processing datapoint: " + data);
         try {
-            Datapoint datapoint = MAPPER.readValue(data, Datapoint.class);
-            List<Object> stream = Stream.of(datapoint.simpleHashCode(), datapoint)
-                    .collect(Collectors.toList());
-            collector.emit(stream);
+            InfoData payload = MAPPER.readValue(data, InfoData.class);
+            if (payload instanceof DatapointFrame) {
+                emit((DatapointFrame) payload);
+            } else if (payload instanceof Datapoint) {
+                emit(DatapointFrame.of((Datapoint) payload));
+            } else {
+                LOGGER.error("Unexpected datapoint payload: {}", data);
+            }
         } catch (Exception e) {
             LOGGER.error("Failed reading data: " + data, e);
         } finally {
@@ -58,8 +76,36 @@ public class DatapointParseBolt extends BaseRichBolt {
         }
     }
 
+    private void emit(DatapointFrame frame) {
+        Map<Object, List<TagGroup>> routes = new LinkedHashMap<>();
+        for (TagGroup group : frame.getGroups()) {
+            routes.computeIfAbsent(routingKey(group.getTags()), key -> new ArrayList<>()).add(group);
+        }
+
+        if (routes.size() == 1) {
+            emit(routes.keySet().iterator().next(), frame);
+            return;
+        }
+        for (Map.Entry<Object, List<TagGroup>> entry : routes.entrySet()) {
+            emit(entry.getKey(), new DatapointFrame(frame.getTime(), entry.getValue()));
+        }
+    }
+
+    private void emit(Object routingKey, DatapointFrame frame) {
+        collector.emit(new Values(Objects.hashCode(routingKey), frame));
+    }
+
+    /**
+     * The filter bolt keeps the last value of each metric, so all values of a metric must reach the same filter task.
+     * The key depends on the tags only: the stats of one switch go together, the others are routed by all their tags.
+     */
+    private static Object routingKey(Map<String, String> tags) {
+        String switchId = tags != null ? tags.get(SWITCH_ID_TAG) : null;
+        return switchId != null ? switchId : tags;
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
-        declarer.declare(new Fields("hash", "datapoint"));
+        declarer.declare(new Fields(FIELD_ID_HASH, FIELD_ID_FRAME));
     }
 }
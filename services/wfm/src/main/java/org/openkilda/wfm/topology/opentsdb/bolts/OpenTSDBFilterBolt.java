@@ -16,6 +16,8 @@
 package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointFrame;
+import org.openkilda.messaging.info.DatapointFrame.TagGroup;
 
 import lombok.Value;
 import org.apache.storm.Config;
@@ -82,13 +84,27 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
             return;
         }
         
-        if (!tuple.contains("datapoint")) { //TODO: Should make sure tuple comes from correct bolt, ie not TickTuple
+        //TODO: Should make sure tuple comes from correct bolt, ie not TickTuple
+        if (!tuple.contains(DatapointParseBolt.FIELD_ID_FRAME)) {
             collector.ack(tuple);
             return;
         }
 
-        Datapoint datapoint = (Datapoint) tuple.getValueByField("datapoint");
+        DatapointFrame frame = (DatapointFrame) tuple.getValueByField(DatapointParseBolt.FIELD_ID_FRAME);
+        for (TagGroup group : frame.getGroups()) {
+            for (Map.Entry<String, Number> entry : group.getValues().entrySet()) {
+                filter(new Datapoint(entry.getKey(), frame.getTime(), group.getTags(), entry.getValue()));
+            }
+        }
+        collector.ack(tuple);
+    }
 
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer declarer) {
+        declarer.declare(DECLARED_FIELDS);
+    }
+
+    private void filter(Datapoint datapoint) {
         if (isUpdateRequired(datapoint)) {
             addDatapoint(datapoint);
 
@@ -100,12 +116,6 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         } else {
             LOGGER.debug("skip datapoint: {}", datapoint);
         }
-        collector.ack(tuple);
-    }
-
-    @Override
-    public void declareOutputFields(OutputFieldsDeclarer declarer) {
-        declarer.declare(DECLARED_FIELDS);
     }
 
     private void addDatapoint(Datapoint datapoint) {
@@ -25,7 +25,9 @@ import org.openkilda.wfm.topology.ping.bolt.Blacklist;
 import org.openkilda.wfm.topology.ping.bolt.ComponentId;
 import org.openkilda.wfm.topology.ping.bolt.FailReporter;
 import org.openkilda.wfm.topology.ping.bolt.FlowFetcher;
+import org.openkilda.wfm.topology.ping.bolt.FlowLoader;
 import org.openkilda.wfm.topology.ping.bolt.FlowStatusEncoder;
+import org.openkilda.wfm.topology.ping.bolt.FlowSyncDecoder;
 import org.openkilda.wfm.topology.ping.bolt.GroupCollector;
 import org.openkilda.wfm.topology.ping.bolt.InputDecoder;
 import org.openkilda.wfm.topology.ping.bolt.InputRouter;
@@ -76,6 +78,9 @@ public class PingTopology extends AbstractTopology<PingTopologyConfig> {
         inputDecoder(topology);
         inputRouter(topology);
 
+        flowSyncInput(topology);
+        flowSyncDecoder(topology);
+
         flowFetcher(topology);
         periodicPingShaping(topology);
         pingProducer(topology);
@@ -125,14 +130,34 @@ public class PingTopology extends AbstractTopology<PingTopologyConfig> {
                 .shuffleGrouping(InputDecoder.BOLT_ID);
     }
 
+    private void flowSyncInput(TopologyBuilder topology) {
+        KafkaSpout<String, String> spout = createKafkaSpout(
+                topologyConfig.getKafkaTopoCacheTopic(), ComponentId.FLOW_SYNC_INPUT.toString());
+        topology.setSpout(ComponentId.FLOW_SYNC_INPUT.toString(), spout, scaleFactor);
+    }
+
+    private void flowSyncDecoder(TopologyBuilder topology) {
+        FlowSyncDecoder bolt = new FlowSyncDecoder();
+        topology.setBolt(FlowSyncDecoder.BOLT_ID, bolt, scaleFactor)
+                .shuffleGrouping(ComponentId.FLOW_SYNC_INPUT.toString());
+    }
+
     private void flowFetcher(TopologyBuilder topology) {
         Neo4jConfig neo4jConfig = configurationProvider.getConfiguration(Neo4jConfig.class);
         PathComputerAuth auth = new PathComputerAuth(neo4jConfig.getHost(),
                 neo4jConfig.getLogin(), neo4jConfig.getPassword());
 
+        FlowLoader loader = new FlowLoader(auth, topologyConfig.getFlowResyncInterval());
+        topology.setBolt(FlowLoader.BOLT_ID, loader, 1)
+                .globalGrouping(TickDeduplicator.BOLT_ID, TickDeduplicator.STREAM_PING_ID);
+
         FlowFetcher bolt = new FlowFetcher(auth);
         topology.setBolt(FlowFetcher.BOLT_ID, bolt, scaleFactor)
-                .globalGrouping(TickDeduplicator.BOLT_ID, TickDeduplicator.STREAM_PING_ID)
+                .allGrouping(TickDeduplicator.BOLT_ID, TickDeduplicator.STREAM_PING_ID)
+                .fieldsGrouping(FlowLoader.BOLT_ID, new Fields(FlowLoader.FIELD_ID_FLOW_ID))
+                .allGrouping(FlowLoader.BOLT_ID, FlowLoader.STREAM_LOAD_START_ID)
+                .allGrouping(FlowLoader.BOLT_ID, FlowLoader.STREAM_LOAD_END_ID)
+                .fieldsGrouping(FlowSyncDecoder.BOLT_ID, new Fields(FlowSyncDecoder.FIELD_ID_FLOW_ID))
                 .shuffleGrouping(InputRouter.BOLT_ID, InputRouter.STREAM_ON_DEMAND_REQUEST_ID);
     }
 
@@ -47,10 +47,18 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         return getPingConfig().getFailReset();
     }
 
+    default int getFlowResyncInterval() {
+        return getPingConfig().getFlowResyncInterval();
+    }
+
     default String getKafkaPingTopic() {
         return getKafkaTopics().getPingTopic();
     }
 
+    default String getKafkaTopoCacheTopic() {
+        return getKafkaTopics().getTopoCacheTopic();
+    }
+
     default String getKafkaSpeakerFlowPingTopic() {
         return getKafkaTopics().getSpeakerFlowPingTopic();
     }
@@ -89,5 +97,9 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         @Key("fail.reset")
         @Default("1800")
         int getFailReset();
+
+        @Key("flow.resync")
+        @Default("600")
+        int getFlowResyncInterval();
     }
 }
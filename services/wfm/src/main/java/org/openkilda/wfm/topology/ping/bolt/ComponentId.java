@@ -23,6 +23,10 @@ public enum ComponentId {
     INPUT_DECODER("input.decoder"),
     INPUT_ROUTER("input.router"),
 
+    FLOW_SYNC_INPUT("flow_sync.input"),
+    FLOW_SYNC_DECODER("flow_sync.decoder"),
+
+    FLOW_LOADER("flow_loader"),
     FLOW_FETCHER("flow_fetcher"),
     PING_PRODUCER("ping_producer"),
     PING_ROUTER("ping.router"),
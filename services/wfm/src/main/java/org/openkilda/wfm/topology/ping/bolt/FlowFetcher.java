@@ -17,17 +17,20 @@ package org.openkilda.wfm.topology.ping.bolt;
 
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.flow.FlowPingRequest;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowPingResponse;
 import org.openkilda.messaging.model.BidirectionalFlow;
 import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.FlowPair;
 import org.openkilda.pce.provider.PathComputer;
 import org.openkilda.pce.provider.PathComputerAuth;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.AbstractException;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.utils.FlowCollector;
-import org.openkilda.wfm.share.utils.PathComputerFlowFetcher;
 import org.openkilda.wfm.topology.ping.model.FlowRef;
+import org.openkilda.wfm.topology.ping.model.FlowRegistry;
 import org.openkilda.wfm.topology.ping.model.FlowsHeap;
 import org.openkilda.wfm.topology.ping.model.PingContext;
 import org.openkilda.wfm.topology.ping.model.PingContext.Kinds;
@@ -38,6 +41,16 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Source of the flows to ping.
+ * <p/>
+ * Periodic pings are produced from the in-memory {@link FlowRegistry}. It is filled by the {@link FlowLoader}, follows
+ * the flow change events of the flow topology and is replaced by the next load, which recovers from lost events.
+ * The flows and the flow events are routed by flow id, so each instance of the bolt serves its own part of the flows.
+ */
 public class FlowFetcher extends Abstract {
     public static final String BOLT_ID = ComponentId.FLOW_FETCHER.toString();
 
@@ -58,6 +71,20 @@ public class FlowFetcher extends Abstract {
     private PathComputer pathComputer = null;
     private FlowsHeap flowsHeap;
 
+    private FlowRegistry flowRegistry;
+
+    /**
+     * Flows of the load in progress, they replace the {@link #flowRegistry} at the end of the load.
+     */
+    private FlowRegistry loadingRegistry;
+    private long loadId;
+
+    /**
+     * Flows changed by the flow events since the load in progress has started. The load may have read them before
+     * the change, so their load tuples are ignored, the events are already applied to the {@link #loadingRegistry}.
+     */
+    private Set<String> loadSupersededFlowIds;
+
     public FlowFetcher(PathComputerAuth pathComputerAuth) {
         this.pathComputerAuth = pathComputerAuth;
     }
@@ -70,6 +97,10 @@ public class FlowFetcher extends Abstract {
             handlePeriodicRequest(input);
         } else if (InputRouter.BOLT_ID.equals(component)) {
             handleOnDemandRequest(input);
+        } else if (FlowSyncDecoder.BOLT_ID.equals(component)) {
+            handleFlowSync(input);
+        } else if (FlowLoader.BOLT_ID.equals(component)) {
+            handleLoad(input);
         } else {
             unhandledInput(input);
         }
@@ -77,11 +108,14 @@ public class FlowFetcher extends Abstract {
 
     private void handlePeriodicRequest(Tuple input) throws PipelineException {
         log.debug("Handle periodic ping request");
-        PathComputerFlowFetcher fetcher = new PathComputerFlowFetcher(pathComputer);
+        if (flowRegistry == null) {
+            log.debug("Skip periodic ping request, the flows are not loaded yet");
+            return;
+        }
 
         final CommandContext commandContext = pullContext(input);
         final FlowsHeap heap = new FlowsHeap();
-        for (BidirectionalFlow flow : fetcher.getFlows()) {
+        for (BidirectionalFlow flow : flowRegistry.getFlows()) {
             if (!flow.isPeriodicPings()) {
                 log.debug("Skip flow {} due to isPeriodicPings == false", flow.getFlowId());
                 continue;
@@ -97,6 +131,71 @@ public class FlowFetcher extends Abstract {
         flowsHeap = heap;
     }
 
+    private void handleLoad(Tuple input) throws PipelineException {
+        long inputLoadId = pullValue(input, FlowLoader.FIELD_ID_LOAD_ID, Long.class);
+        if (FlowLoader.STREAM_LOAD_START_ID.equals(input.getSourceStreamId())) {
+            loadingRegistry = new FlowRegistry();
+            loadSupersededFlowIds = new HashSet<>();
+            loadId = inputLoadId;
+            return;
+        }
+
+        if (loadingRegistry == null || inputLoadId != loadId) {
+            log.warn("Skip the tuple of the load {}, it is not in progress", inputLoadId);
+            return;
+        }
+
+        if (FlowLoader.STREAM_LOAD_END_ID.equals(input.getSourceStreamId())) {
+            flowRegistry = loadingRegistry;
+            loadingRegistry = null;
+            loadSupersededFlowIds = null;
+            log.info("Loaded {} flows to ping", flowRegistry.size());
+            return;
+        }
+
+        BidirectionalFlow flow = pullValue(input, FlowLoader.FIELD_ID_FLOW, BidirectionalFlow.class);
+        if (loadSupersededFlowIds.contains(flow.getFlowId())) {
+            log.debug("Skip loaded flow {}, it is changed since the load has started", flow.getFlowId());
+            return;
+        }
+        loadingRegistry.put(flow);
+    }
+
+    private void handleFlowSync(Tuple input) throws PipelineException {
+        InfoMessage message = pullValue(input, FlowSyncDecoder.FIELD_ID_INPUT, InfoMessage.class);
+        FlowInfoData data = (FlowInfoData) message.getData();
+
+        // the load in progress may have read the flow before the change
+        updateRegistry(flowRegistry, data);
+        if (loadingRegistry != null) {
+            updateRegistry(loadingRegistry, data);
+            loadSupersededFlowIds.add(data.getFlowId());
+        }
+    }
+
+    private void updateRegistry(FlowRegistry registry, FlowInfoData data) {
+        if (registry == null) {
+            return;
+        }
+
+        switch (data.getOperation()) {
+            case DELETE:
+            case UNPUSH:
+            case UNPUSH_PROPAGATE:
+                log.debug("Drop flow {} from the ping list", data.getFlowId());
+                registry.remove(data.getFlowId());
+                break;
+            default:
+                FlowPair<Flow, Flow> payload = data.getPayload();
+                if (payload == null || payload.getLeft() == null || payload.getRight() == null) {
+                    log.error("Flow {} event {} has no flow pair", data.getFlowId(), data.getOperation());
+                    return;
+                }
+                log.debug("Update flow {} in the ping list", data.getFlowId());
+                registry.put(new BidirectionalFlow(payload));
+        }
+    }
+
     private void handleOnDemandRequest(Tuple input) throws PipelineException {
         log.debug("Handle on demand ping request");
         FlowPingRequest request = pullOnDemandRequest(input);
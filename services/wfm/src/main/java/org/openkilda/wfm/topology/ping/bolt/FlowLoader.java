@@ -0,0 +1,104 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.ping.bolt;
+
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.model.BidirectionalFlow;
+import org.openkilda.pce.provider.PathComputer;
+import org.openkilda.pce.provider.PathComputerAuth;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.error.AbstractException;
+import org.openkilda.wfm.share.utils.PathComputerFlowFetcher;
+
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the flows to ping from the database.
+ * <p/>
+ * Only one instance of the bolt is expected. It reads all flows on the first tick and then once per resync
+ * interval, and emits each flow with its flow id, so the flow reaches the {@link FlowFetcher} instance which owns
+ * it. The start and the end of the load are sent to all fetchers, they replace their flows with the loaded ones
+ * at the end.
+ */
+public class FlowLoader extends Abstract {
+    public static final String BOLT_ID = ComponentId.FLOW_LOADER.toString();
+
+    public static final String FIELD_ID_FLOW_ID = Utils.FLOW_ID;
+    public static final String FIELD_ID_FLOW = "flow";
+    public static final String FIELD_ID_LOAD_ID = "load_id";
+
+    public static final Fields STREAM_FIELDS = new Fields(
+            FIELD_ID_FLOW_ID, FIELD_ID_FLOW, FIELD_ID_LOAD_ID, FIELD_ID_CONTEXT);
+
+    public static final Fields STREAM_LOAD_START_FIELDS = new Fields(FIELD_ID_LOAD_ID, FIELD_ID_CONTEXT);
+    public static final String STREAM_LOAD_START_ID = "load_start";
+
+    public static final Fields STREAM_LOAD_END_FIELDS = new Fields(FIELD_ID_LOAD_ID, FIELD_ID_CONTEXT);
+    public static final String STREAM_LOAD_END_ID = "load_end";
+
+    private final PathComputerAuth pathComputerAuth;
+    private final long resyncInterval;
+    private PathComputer pathComputer = null;
+
+    private long resyncTime = 0;
+    private int loadedCount = 0;
+
+    public FlowLoader(PathComputerAuth pathComputerAuth, int resyncInterval) {
+        this.pathComputerAuth = pathComputerAuth;
+        this.resyncInterval = TimeUnit.SECONDS.toMillis(resyncInterval);
+    }
+
+    @Override
+    protected void handleInput(Tuple input) throws AbstractException {
+        long now = System.currentTimeMillis();
+        if (now < resyncTime) {
+            return;
+        }
+
+        final CommandContext commandContext = pullContext(input);
+        final long loadId = now;
+        loadedCount = 0;
+        // sent before the read, so the fetchers know which flow events may be missed by it
+        getOutput().emit(STREAM_LOAD_START_ID, input, new Values(loadId, commandContext));
+        PathComputerFlowFetcher.fetch(pathComputer, flow -> emitFlow(input, flow, loadId, commandContext));
+        getOutput().emit(STREAM_LOAD_END_ID, input, new Values(loadId, commandContext));
+        log.info("Loaded {} flows to ping", loadedCount);
+
+        resyncTime = now + resyncInterval;
+    }
+
+    private void emitFlow(Tuple input, BidirectionalFlow flow, long loadId, CommandContext commandContext) {
+        getOutput().emit(input, new Values(flow.getFlowId(), flow, loadId, commandContext));
+        loadedCount += 1;
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer outputManager) {
+        outputManager.declare(STREAM_FIELDS);
+        outputManager.declareStream(STREAM_LOAD_START_ID, STREAM_LOAD_START_FIELDS);
+        outputManager.declareStream(STREAM_LOAD_END_ID, STREAM_LOAD_END_FIELDS);
+    }
+
+    @Override
+    public void init() {
+        pathComputer = pathComputerAuth.getPathComputer();
+    }
+}
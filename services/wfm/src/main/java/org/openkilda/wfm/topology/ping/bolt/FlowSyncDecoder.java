@@ -0,0 +1,59 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.ping.bolt;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.flow.FlowInfoData;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.error.AbstractException;
+import org.openkilda.wfm.share.bolt.KafkaDecoder;
+
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+
+/**
+ * Decodes the flow change events the flow topology sends to the topology cache topic. The topic carries the
+ * network events too, they are dropped here. The events are emitted with the flow id, so each of them reaches
+ * the {@link FlowFetcher} instance which owns the flow.
+ */
+public class FlowSyncDecoder extends KafkaDecoder {
+    public static final String BOLT_ID = ComponentId.FLOW_SYNC_DECODER.toString();
+
+    public static final String FIELD_ID_FLOW_ID = Utils.FLOW_ID;
+
+    public static final Fields STREAM_FIELDS = new Fields(FIELD_ID_FLOW_ID, FIELD_ID_INPUT, FIELD_ID_CONTEXT);
+
+    @Override
+    protected void handleInput(Tuple input) throws AbstractException {
+        Message message = decode(pullPayload(input));
+        if (!(message instanceof InfoMessage) || !(((InfoMessage) message).getData() instanceof FlowInfoData)) {
+            return;
+        }
+
+        String flowId = ((FlowInfoData) ((InfoMessage) message).getData()).getFlowId();
+        Values output = new Values(flowId, message, new CommandContext(message));
+        getOutput().emit(input, output);
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer outputManager) {
+        outputManager.declare(STREAM_FIELDS);
+    }
+}
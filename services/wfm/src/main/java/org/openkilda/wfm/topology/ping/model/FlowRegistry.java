@@ -0,0 +1,47 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.ping.model;
+
+import org.openkilda.messaging.model.BidirectionalFlow;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory set of flows the periodic pings are sent for. It is filled by the flow load and then follows
+ * the flow change events.
+ */
+public class FlowRegistry {
+    private final Map<String, BidirectionalFlow> flows = new HashMap<>();
+
+    public void put(BidirectionalFlow flow) {
+        flows.put(flow.getFlowId(), flow);
+    }
+
+    public void remove(String flowId) {
+        flows.remove(flowId);
+    }
+
+    public Collection<BidirectionalFlow> getFlows() {
+        return Collections.unmodifiableCollection(flows.values());
+    }
+
+    public int size() {
+        return flows.size();
+    }
+}
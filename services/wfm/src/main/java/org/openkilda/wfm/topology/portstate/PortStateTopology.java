@@ -87,7 +87,8 @@ public class PortStateTopology extends AbstractTopology<PortStateTopologyConfig>
         // Setup spout and bolt for WFM_STATS_SPOUT line
         String wfmStatsTopic = topologyConfig.getKafkaStatsTopic();
         logger.debug("connecting to {} topic", wfmStatsTopic);
-        builder.setSpout(WFM_STATS_SPOUT, createKafkaSpout(wfmStatsTopic, WFM_STATS_SPOUT));
+        // the stats topic can carry messages in a binary wire format, the parse bolt decodes raw bytes
+        builder.setSpout(WFM_STATS_SPOUT, createBinaryKafkaSpout(wfmStatsTopic, WFM_STATS_SPOUT));
         
         WfmStatsParseBolt wfmStatsParseBolt = new WfmStatsParseBolt();
         builder.setBolt(WFM_STATS_PARSE_BOLT_NAME, wfmStatsParseBolt, topologyConfig.getParallelism())
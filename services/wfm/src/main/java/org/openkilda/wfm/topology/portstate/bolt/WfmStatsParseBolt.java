@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.portstate.bolt;
 
+import org.openkilda.messaging.codec.MessageCodec;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.stats.SwitchPortStatusData;
@@ -37,23 +38,27 @@ public class WfmStatsParseBolt extends AbstractKafkaParserBolt {
     @Override
     public void execute(Tuple tuple) {
         logger.debug("Ingoing tuple: {}", tuple);
-        String request = tuple.getString(0);
+        Object request = tuple.getValue(0);
         try {
-            InfoData data = getInfoData(tuple);
+            InfoData data = getInfoData(MessageCodec.decode(request));
             if (data instanceof SwitchPortStatusData) {
                 doParseSwitchPortsData((SwitchPortStatusData) data);
             }
         } catch (MessageException e) {
-            logger.error("Not an InfoMessage in queue message={}", request);
+            logger.error("Not an InfoMessage in queue message={}", describe(request));
         } catch (IOException exception) {
-            logger.error("Could not deserialize message={} exception={}", request,
+            logger.error("Could not deserialize message={} exception={}", describe(request),
                     exception.getMessage());
         } finally {
             collector.ack(tuple);
-            logger.debug("Message ack: {}", request);
+            logger.debug("Message ack: {}", tuple);
         }
     }
 
+    private static Object describe(Object request) {
+        return request instanceof byte[] ? MessageCodec.describe((byte[]) request) : request;
+    }
+
     private void doParseSwitchPortsData(SwitchPortStatusData data) {
         data.getPorts()
                 .stream()
@@ -23,6 +23,7 @@ public enum StatsComponentType {
     STATS_OFS_BOLT,
     PORT_STATS_METRIC_GEN,
     METER_CFG_STATS_METRIC_GEN,
+    METER_STATS_METRIC_GEN,
     FLOW_STATS_METRIC_GEN,
     ERROR_BOLT,
     STATS_CACHE_BOLT,
@@ -21,6 +21,7 @@ package org.openkilda.wfm.topology.stats;
 public enum StatsStreamType {
     PORT_STATS,
     METER_CONFIG_STATS,
+    METER_STATS,
     FLOW_STATS,
     STATS_RESPONSE,
     CACHE_UPDATE,
@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.stats;
 
 import static org.openkilda.wfm.topology.stats.StatsComponentType.FLOW_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.METER_CFG_STATS_METRIC_GEN;
+import static org.openkilda.wfm.topology.stats.StatsComponentType.METER_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.PORT_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_CACHE_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_CACHE_FILTER_BOLT;
@@ -33,6 +34,7 @@ import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt;
 import org.openkilda.wfm.topology.stats.bolts.SpeakerBolt;
 import org.openkilda.wfm.topology.stats.metrics.FlowMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.MeterConfigMetricGenBolt;
+import org.openkilda.wfm.topology.stats.metrics.MeterMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.PortMetricGenBolt;
 
 import org.apache.storm.generated.StormTopology;
@@ -71,7 +73,8 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
 
 
         final String kafkaSpoutId = StatsComponentType.STATS_OFS_KAFKA_SPOUT.toString();
-        KafkaSpout kafkaSpout = createKafkaSpout(topologyConfig.getKafkaStatsTopic(), kafkaSpoutId);
+        // Floodlight can publish stats in a binary wire format, the spout passes raw bytes to the SpeakerBolt
+        KafkaSpout kafkaSpout = createBinaryKafkaSpout(topologyConfig.getKafkaStatsTopic(), kafkaSpoutId);
         builder.setSpout(kafkaSpoutId, kafkaSpout, parallelism);
 
         SpeakerBolt speakerBolt = new SpeakerBolt();
@@ -98,23 +101,28 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
                 .allGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name())
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.FLOW_STATS.toString(), fieldMessage);
 
-        builder.setBolt(PORT_STATS_METRIC_GEN.name(), new PortMetricGenBolt(), parallelism)
+        final int maxFrameDatapoints = topologyConfig.getFrameMaxDatapoints();
+        builder.setBolt(PORT_STATS_METRIC_GEN.name(), new PortMetricGenBolt(maxFrameDatapoints), parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.PORT_STATS.toString(), fieldMessage);
-        builder.setBolt(METER_CFG_STATS_METRIC_GEN.name(), new MeterConfigMetricGenBolt(),
+        builder.setBolt(METER_CFG_STATS_METRIC_GEN.name(), new MeterConfigMetricGenBolt(maxFrameDatapoints),
                 parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.METER_CONFIG_STATS.toString(),
                         fieldMessage);
+        builder.setBolt(METER_STATS_METRIC_GEN.name(), new MeterMetricGenBolt(maxFrameDatapoints), parallelism)
+                .fieldsGrouping(statsOfsBolt, StatsStreamType.METER_STATS.toString(), fieldMessage);
 
         logger.debug("starting flow_stats_metric_gen");
         builder.setBolt(FLOW_STATS_METRIC_GEN.name(),
-                new FlowMetricGenBolt(),
+                new FlowMetricGenBolt(maxFrameDatapoints),
                 parallelism)
-                .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.FLOW_STATS.toString(), fieldMessage);
+                // keep the enriched stats inside the worker, there is no state to route by
+                .localOrShuffleGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.FLOW_STATS.toString());
 
         String openTsdbTopic = topologyConfig.getKafkaOtsdbTopic();
         builder.setBolt("stats-opentsdb", createKafkaBolt(openTsdbTopic))
                 .shuffleGrouping(PORT_STATS_METRIC_GEN.name())
                 .shuffleGrouping(METER_CFG_STATS_METRIC_GEN.name())
+                .shuffleGrouping(METER_STATS_METRIC_GEN.name())
                 .shuffleGrouping(FLOW_STATS_METRIC_GEN.name());
 
         return builder.createTopology();
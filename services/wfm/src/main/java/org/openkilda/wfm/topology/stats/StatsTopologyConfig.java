@@ -18,10 +18,16 @@ package org.openkilda.wfm.topology.stats;
 import org.openkilda.wfm.topology.AbstractTopologyConfig;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
 
 @Configuration
 public interface StatsTopologyConfig extends AbstractTopologyConfig {
 
+    @Key("stats.frame.max-datapoints")
+    @Default("1000")
+    int getFrameMaxDatapoints();
+
     default String getKafkaOtsdbTopic() {
         return getKafkaTopics().getOtsdbTopic();
     }
@@ -25,6 +25,7 @@ import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.messaging.info.stats.FlowStatsReply;
 import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.messaging.utils.LongObjectHashMap;
 import org.openkilda.pce.provider.Auth;
 import org.openkilda.pce.provider.NeoDriver;
 import org.openkilda.pce.provider.PathComputer;
@@ -44,7 +45,6 @@ import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.Map;
 
 public class CacheBolt extends BaseRichBolt {
@@ -72,7 +72,7 @@ public class CacheBolt extends BaseRichBolt {
     /**
      * Cookie to flow map.
      */
-    private Map<Long, CacheFlowEntry> cookieToFlow = new HashMap<>();
+    private LongObjectHashMap<CacheFlowEntry> cookieToFlow = new LongObjectHashMap<>();
 
     /**
      * Instance constructor.
@@ -86,13 +86,13 @@ public class CacheBolt extends BaseRichBolt {
     private void initFlowCache() {
         try {
             PathComputer pathComputer = new NeoDriver(pathComputerAuth.getDriver());
-            pathComputer.getAllFlows().forEach(
+            pathComputer.streamFlows(
                     flow -> cookieToFlow.put(flow.getCookie(), new CacheFlowEntry(
                             flow.getFlowId(),
                             flow.getSourceSwitch().toOtsdFormat(),
                             flow.getDestinationSwitch().toOtsdFormat()))
             );
-            logger.debug("initFlowCache: {}", cookieToFlow);
+            logger.debug("initFlowCache: {} cookies", cookieToFlow.size());
             logger.info("Stats Cache: Initialized");
         } catch (Exception ex) {
             logger.error("Error on initFlowCache", ex);
@@ -121,7 +121,7 @@ public class CacheBolt extends BaseRichBolt {
 
             if (componentId == STATS_CACHE_FILTER_BOLT) {
 
-                Long cookie = tuple.getLongByField(FieldsNames.COOKIE.name());
+                long cookie = tuple.getLongByField(FieldsNames.COOKIE.name());
                 String flow = tuple.getStringByField(FieldsNames.FLOW.name());
                 String sw = new SwitchId(tuple.getValueByField(FieldsNames.SWITCH.name()).toString()).toOtsdFormat();
 
@@ -140,23 +140,25 @@ public class CacheBolt extends BaseRichBolt {
                         break;
                 }
 
-                logger.debug("updated cookieToFlow: {}", cookieToFlow);
+                logger.debug("updated cookieToFlow: {} cookies", cookieToFlow.size());
             } else if (componentId == STATS_OFS_BOLT) {
                 InfoMessage message = (InfoMessage) tuple.getValueByField(MESSAGE_FIELD);
 
                 FlowStatsData data = (FlowStatsData) message.getData();
 
-                Map<Long, CacheFlowEntry> dataCache = new HashMap<>();
+                // flows of the entries in the order of entries, null for unknown cookies
+                int count = 0;
+                for (FlowStatsReply reply : data.getStats()) {
+                    count += reply.getEntries().size();
+                }
+                CacheFlowEntry[] flows = new CacheFlowEntry[count];
+                int index = 0;
                 for (FlowStatsReply reply : data.getStats()) {
                     for (FlowStatsEntry entry : reply.getEntries()) {
-                        if (cookieToFlow.containsKey(entry.getCookie())) {
-                            CacheFlowEntry cacheFlowEntry = cookieToFlow.get(entry.getCookie());
-                            dataCache.put(entry.getCookie(), cacheFlowEntry);
-                        }
+                        flows[index++] = cookieToFlow.get(entry.getCookie());
                     }
                 }
-                logger.debug("execute:dataCache: {}", dataCache);
-                Values values = new Values(message, dataCache);
+                Values values = new Values(message, flows);
                 outputCollector.emit(FLOW_STATS.name(), tuple, values);
             }
         } finally {
@@ -173,7 +175,7 @@ public class CacheBolt extends BaseRichBolt {
                 fieldsMessageFlowStats);
     }
 
-    private void updateCacheEntry(Long cookie, String flowId, String sw, MeasurePoint measurePoint) {
+    private void updateCacheEntry(long cookie, String flowId, String sw, MeasurePoint measurePoint) {
         CacheFlowEntry current = cookieToFlow.get(cookie);
         CacheFlowEntry replacement;
         if (current != null) {
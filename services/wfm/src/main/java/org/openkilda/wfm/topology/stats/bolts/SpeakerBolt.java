@@ -19,11 +19,13 @@ import static org.openkilda.wfm.topology.AbstractTopology.fieldMessage;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
-import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageCodec;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.FlowStatsDeltaData;
 import org.openkilda.messaging.info.stats.MeterConfigStatsData;
+import org.openkilda.messaging.info.stats.MeterStatsData;
 import org.openkilda.messaging.info.stats.PortStatsData;
 import org.openkilda.wfm.topology.stats.StatsStreamType;
 
@@ -43,6 +45,7 @@ public class SpeakerBolt extends BaseRichBolt {
     private static final Logger logger = LoggerFactory.getLogger(SpeakerBolt.class);
     private static final String PORT_STATS_STREAM = StatsStreamType.PORT_STATS.toString();
     private static final String METER_CFG_STATS_STREAM = StatsStreamType.METER_CONFIG_STATS.toString();
+    private static final String METER_STATS_STREAM = StatsStreamType.METER_STATS.toString();
     private static final String FLOW_STATS_STREAM = StatsStreamType.FLOW_STATS.toString();
 
     private OutputCollector outputCollector;
@@ -53,33 +56,45 @@ public class SpeakerBolt extends BaseRichBolt {
     @Override
     public void execute(Tuple tuple) {
         logger.debug("Ingoing tuple: {}", tuple);
-        String request = tuple.getString(0);
-        //String request = tuple.getStringByField("value");
+        Object request = tuple.getValue(0);
         try {
-            Message stats = Utils.MAPPER.readValue(request, Message.class);
+            Message stats = MessageCodec.decode(request);
             if (!Destination.WFM_STATS.equals(stats.getDestination()) || !(stats instanceof InfoMessage)) {
                 return;
             }
             InfoMessage message = (InfoMessage) stats;
             final InfoData data = message.getData();
             if (data instanceof PortStatsData) {
-                logger.debug("Port stats message: {}", new Values(request));
+                logger.debug("Port stats message: {}", message);
                 outputCollector.emit(PORT_STATS_STREAM, tuple, new Values(message));
             } else if (data instanceof MeterConfigStatsData) {
-                logger.debug("Meter config stats message: {}", new Values(request));
+                logger.debug("Meter config stats message: {}", message);
                 outputCollector.emit(METER_CFG_STATS_STREAM, tuple, new Values(message));
+            } else if (data instanceof MeterStatsData) {
+                logger.debug("Meter stats message: {}", message);
+                outputCollector.emit(METER_STATS_STREAM, tuple, new Values(message));
             } else if (data instanceof FlowStatsData) {
-                logger.debug("Flow stats message: {}", new Values(request));
+                logger.debug("Flow stats message: {}", message);
                 outputCollector.emit(FLOW_STATS_STREAM, tuple, new Values(message));
+            } else if (data instanceof FlowStatsDeltaData) {
+                logger.debug("Flow stats delta message: {}", message);
+                FlowStatsData flowStats = ((FlowStatsDeltaData) data).toFlowStatsData();
+                InfoMessage expanded = new InfoMessage(flowStats, message.getTimestamp(),
+                        message.getCorrelationId(), message.getDestination());
+                outputCollector.emit(FLOW_STATS_STREAM, tuple, new Values(expanded));
             }
         } catch (IOException exception) {
-            logger.error("Could not deserialize message={}", request, exception);
+            logger.error("Could not deserialize message={}", describe(request), exception);
         } finally {
             outputCollector.ack(tuple);
-            logger.debug("Message ack: {}", request);
+            logger.debug("Message ack: {}", tuple);
         }
     }
 
+    private static Object describe(Object request) {
+        return request instanceof byte[] ? MessageCodec.describe((byte[]) request) : request;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -87,6 +102,7 @@ public class SpeakerBolt extends BaseRichBolt {
     public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
         outputFieldsDeclarer.declareStream(PORT_STATS_STREAM, fieldMessage);
         outputFieldsDeclarer.declareStream(METER_CFG_STATS_STREAM, fieldMessage);
+        outputFieldsDeclarer.declareStream(METER_STATS_STREAM, fieldMessage);
         outputFieldsDeclarer.declareStream(FLOW_STATS_STREAM, fieldMessage);
     }
 
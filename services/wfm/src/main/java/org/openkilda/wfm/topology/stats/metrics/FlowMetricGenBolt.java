@@ -20,12 +20,12 @@ import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
 import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.CACHE_FIELD;
 
 import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.info.DatapointFrame;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.messaging.info.stats.FlowStatsReply;
 import org.openkilda.messaging.model.SwitchId;
-import org.openkilda.wfm.error.JsonEncodeException;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
 import org.openkilda.wfm.topology.stats.FlowCookieException;
 import org.openkilda.wfm.topology.stats.FlowDirectionHelper;
@@ -51,6 +51,10 @@ public class FlowMetricGenBolt extends MetricGenBolt {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FlowMetricGenBolt.class);
 
+    public FlowMetricGenBolt(int maxFrameDatapoints) {
+        super(maxFrameDatapoints);
+    }
+
 
     @Override
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
@@ -62,10 +66,8 @@ public class FlowMetricGenBolt extends MetricGenBolt {
         StatsComponentType componentId = StatsComponentType.valueOf(input.getSourceComponent());
         InfoMessage message = (InfoMessage) input.getValueByField(MESSAGE_FIELD);
 
-        Map<Long, CacheFlowEntry> dataCache =
-                (Map<Long, CacheFlowEntry>) input.getValueByField(CACHE_FIELD);
-
-        LOGGER.debug("dataCache in FlowMetricGenBolt {}", dataCache);
+        // flows of the stats entries in the order of entries, see CacheBolt
+        CacheFlowEntry[] flows = (CacheFlowEntry[]) input.getValueByField(CACHE_FIELD);
 
         if (!Destination.WFM_STATS.equals(message.getDestination())) {
             collector.ack(input);
@@ -80,12 +82,21 @@ public class FlowMetricGenBolt extends MetricGenBolt {
         SwitchId switchId = data.getSwitchId();
 
         try {
+            DatapointFrame.Builder frame = DatapointFrame.builder(timestamp);
+            int index = 0;
             for (FlowStatsReply reply : data.getStats()) {
                 for (FlowStatsEntry entry : reply.getEntries()) {
-                    @Nullable CacheFlowEntry flowEntry = dataCache.get(entry.getCookie());
-                    emit(entry, timestamp, switchId, flowEntry);
+                    @Nullable CacheFlowEntry flowEntry = flows[index++];
+                    try {
+                        addDatapoints(frame, entry, switchId, flowEntry);
+                    } catch (FlowCookieException e) {
+                        // skip only the broken entry, the rest of the frame is still valid
+                        LOGGER.warn("Skip flow stats of sw {} cookie {}: {}", switchId, entry.getCookie(),
+                                e.getMessage());
+                    }
                 }
             }
+            emit(frame);
             collector.ack(input);
         } catch (ServiceUnavailableException e) {
             LOGGER.error("Error process: {}", input.toString(), e);
@@ -96,8 +107,8 @@ public class FlowMetricGenBolt extends MetricGenBolt {
         }
     }
 
-    private void emit(FlowStatsEntry entry, long timestamp, @Nonnull SwitchId switchId,
-                      @Nullable CacheFlowEntry flowEntry) throws Exception {
+    private void addDatapoints(DatapointFrame.Builder frame, FlowStatsEntry entry, @Nonnull SwitchId switchId,
+                               @Nullable CacheFlowEntry flowEntry) throws FlowCookieException {
         String flowId = "unknown";
         if (flowEntry != null) {
             flowId = flowEntry.getFlowId();
@@ -105,18 +116,18 @@ public class FlowMetricGenBolt extends MetricGenBolt {
             LOGGER.warn("missed cache for sw {} cookie {}", switchId, entry.getCookie());
         }
 
-        emitAnySwitchMetrics(entry, timestamp, switchId, flowId);
+        addAnySwitchMetrics(frame, entry, switchId, flowId);
 
         if (flowEntry != null) {
             Map<String, String> flowTags = makeFlowTags(entry, flowEntry.getFlowId());
 
             boolean isMatch = false;
             if (switchId.toOtsdFormat().equals(flowEntry.getIngressSwitch())) {
-                emitIngressMetrics(entry, timestamp, flowTags);
+                addIngressMetrics(frame, entry, flowTags);
                 isMatch = true;
             }
             if (switchId.toOtsdFormat().equals(flowEntry.getEgressSwitch())) {
-                emitEgressMetrics(entry, timestamp, flowTags);
+                addEgressMetrics(frame, entry, flowTags);
                 isMatch = true;
             }
 
@@ -128,8 +139,8 @@ public class FlowMetricGenBolt extends MetricGenBolt {
         }
     }
 
-    private void emitAnySwitchMetrics(FlowStatsEntry entry, long timestamp, SwitchId switchId, String flowId)
-            throws JsonEncodeException, FlowCookieException {
+    private void addAnySwitchMetrics(DatapointFrame.Builder frame, FlowStatsEntry entry, SwitchId switchId,
+                                     String flowId) throws FlowCookieException {
         Map<String, String> tags = new HashMap<>();
         tags.put("switchid", switchId.toOtsdFormat());
         tags.put("cookie", String.valueOf(entry.getCookie()));
@@ -137,23 +148,21 @@ public class FlowMetricGenBolt extends MetricGenBolt {
         tags.put("flowid", flowId);
         tags.put("direction", FlowDirectionHelper.findDirection(entry.getCookie()).name().toLowerCase());
 
-        collector.emit(tuple("pen.flow.raw.packets", timestamp, entry.getPacketCount(), tags));
-        collector.emit(tuple("pen.flow.raw.bytes", timestamp, entry.getByteCount(), tags));
-        collector.emit(tuple("pen.flow.raw.bits", timestamp, entry.getByteCount() * 8, tags));
+        frame.add("pen.flow.raw.packets", entry.getPacketCount(), tags);
+        frame.add("pen.flow.raw.bytes", entry.getByteCount(), tags);
+        frame.add("pen.flow.raw.bits", entry.getByteCount() * 8, tags);
     }
 
-    private void emitIngressMetrics(FlowStatsEntry entry, long timestamp, Map<String, String> tags)
-            throws JsonEncodeException {
-        collector.emit(tuple("pen.flow.ingress.packets", timestamp, entry.getPacketCount(), tags));
-        collector.emit(tuple("pen.flow.ingress.bytes", timestamp, entry.getByteCount(), tags));
-        collector.emit(tuple("pen.flow.ingress.bits", timestamp, entry.getByteCount() * 8, tags));
+    private void addIngressMetrics(DatapointFrame.Builder frame, FlowStatsEntry entry, Map<String, String> tags) {
+        frame.add("pen.flow.ingress.packets", entry.getPacketCount(), tags);
+        frame.add("pen.flow.ingress.bytes", entry.getByteCount(), tags);
+        frame.add("pen.flow.ingress.bits", entry.getByteCount() * 8, tags);
     }
 
-    private void emitEgressMetrics(FlowStatsEntry entry, long timestamp, Map<String, String> tags)
-            throws JsonEncodeException {
-        collector.emit(tuple("pen.flow.packets", timestamp, entry.getPacketCount(), tags));
-        collector.emit(tuple("pen.flow.bytes", timestamp, entry.getByteCount(), tags));
-        collector.emit(tuple("pen.flow.bits", timestamp, entry.getByteCount() * 8, tags));
+    private void addEgressMetrics(DatapointFrame.Builder frame, FlowStatsEntry entry, Map<String, String> tags) {
+        frame.add("pen.flow.packets", entry.getPacketCount(), tags);
+        frame.add("pen.flow.bytes", entry.getByteCount(), tags);
+        frame.add("pen.flow.bits", entry.getByteCount() * 8, tags);
     }
 
     private Map<String, String> makeFlowTags(FlowStatsEntry entry, String flowId) throws FlowCookieException {
@@ -19,6 +19,7 @@ import static org.openkilda.messaging.Utils.CORRELATION_ID;
 import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
 
 import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.info.DatapointFrame;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.MeterConfigReply;
 import org.openkilda.messaging.info.stats.MeterConfigStatsData;
@@ -37,6 +38,10 @@ import java.util.Map;
 public class MeterConfigMetricGenBolt extends MetricGenBolt {
     private static final Logger LOGGER = LoggerFactory.getLogger(MeterConfigMetricGenBolt.class);
 
+    public MeterConfigMetricGenBolt(int maxFrameDatapoints) {
+        super(maxFrameDatapoints);
+    }
+
     @Override
     public void execute(Tuple input) {
         StatsComponentType componentId = StatsComponentType.valueOf(input.getSourceComponent());
@@ -55,25 +60,25 @@ public class MeterConfigMetricGenBolt extends MetricGenBolt {
 
         try {
             SwitchId switchId = data.getSwitchId();
+            DatapointFrame.Builder frame = DatapointFrame.builder(timestamp);
             for (MeterConfigReply reply : data.getStats()) {
                 for (Long meterId : reply.getMeterIds()) {
-                    emit(timestamp, meterId, switchId);
+                    addDatapoint(frame, meterId, switchId);
                 }
             }
+            emit(frame);
+        } catch (JsonEncodeException e) {
+            LOGGER.error("Error during serialization of datapoint", e);
         } finally {
             collector.ack(input);
         }
     }
 
-    private void emit(long timestamp, Long meterId, SwitchId switchId) {
-        try {
-            Map<String, String> tags = ImmutableMap.of(
-                    "switchid", switchId.toOtsdFormat(),
-                    "meterId", meterId.toString()
-            );
-            collector.emit(tuple("pen.switch.meters", timestamp, meterId, tags));
-        } catch (JsonEncodeException e) {
-            LOGGER.error("Error during serialization of datapoint", e);
-        }
+    private void addDatapoint(DatapointFrame.Builder frame, Long meterId, SwitchId switchId) {
+        Map<String, String> tags = ImmutableMap.of(
+                "switchid", switchId.toOtsdFormat(),
+                "meterId", meterId.toString()
+        );
+        frame.add("pen.switch.meters", meterId, tags);
     }
 }
@@ -0,0 +1,87 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import static org.openkilda.messaging.Utils.CORRELATION_ID;
+import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.info.DatapointFrame;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.MeterStatsData;
+import org.openkilda.messaging.info.stats.MeterStatsEntry;
+import org.openkilda.messaging.info.stats.MeterStatsReply;
+import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.wfm.error.JsonEncodeException;
+import org.openkilda.wfm.topology.stats.StatsComponentType;
+import org.openkilda.wfm.topology.stats.StatsStreamType;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.storm.tuple.Tuple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+public class MeterMetricGenBolt extends MetricGenBolt {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MeterMetricGenBolt.class);
+
+    public MeterMetricGenBolt(int maxFrameDatapoints) {
+        super(maxFrameDatapoints);
+    }
+
+    @Override
+    public void execute(Tuple input) {
+        StatsComponentType componentId = StatsComponentType.valueOf(input.getSourceComponent());
+        InfoMessage message = (InfoMessage) input.getValueByField(MESSAGE_FIELD);
+
+        if (!Destination.WFM_STATS.equals(message.getDestination())) {
+            collector.ack(input);
+            return;
+        }
+
+        LOGGER.debug("Meter stats message: {}={}, component={}, stream={}", CORRELATION_ID, message.getCorrelationId(),
+                componentId, StatsStreamType.valueOf(input.getSourceStreamId()));
+        MeterStatsData data = (MeterStatsData) message.getData();
+        long timestamp = message.getTimestamp();
+
+        try {
+            SwitchId switchId = data.getSwitchId();
+            DatapointFrame.Builder frame = DatapointFrame.builder(timestamp);
+            for (MeterStatsReply reply : data.getStats()) {
+                for (MeterStatsEntry entry : reply.getEntries()) {
+                    addDatapoints(frame, entry, switchId);
+                }
+            }
+            emit(frame);
+        } catch (JsonEncodeException e) {
+            LOGGER.error("Error during serialization of datapoint", e);
+        } finally {
+            collector.ack(input);
+        }
+    }
+
+    private void addDatapoints(DatapointFrame.Builder frame, MeterStatsEntry entry, SwitchId switchId) {
+        Map<String, String> tags = ImmutableMap.of(
+                "switchid", switchId.toOtsdFormat(),
+                "meterid", String.valueOf(entry.getMeterId())
+        );
+
+        frame.add("pen.switch.meters.packets", entry.getPacketsInCount(), tags);
+        frame.add("pen.switch.meters.bytes", entry.getByteInCount(), tags);
+        frame.add("pen.switch.meters.bits", entry.getByteInCount() * 8, tags);
+    }
+}
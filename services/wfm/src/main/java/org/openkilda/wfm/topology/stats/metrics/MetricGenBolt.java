@@ -16,7 +16,7 @@
 package org.openkilda.wfm.topology.stats.metrics;
 
 import org.openkilda.messaging.Utils;
-import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointFrame;
 import org.openkilda.wfm.error.JsonEncodeException;
 import org.openkilda.wfm.topology.AbstractTopology;
 
@@ -32,20 +32,39 @@ import java.util.Map;
 
 public abstract class MetricGenBolt extends BaseRichBolt {
 
+    /**
+     * Max amount of datapoints in one emitted frame, keeps the record below the Kafka max message size.
+     */
+    private final int maxFrameDatapoints;
+
     protected OutputCollector collector;
 
-    protected static List<Object> tuple(String metric, long timestamp, Number value, Map<String, String> tag)
-            throws JsonEncodeException {
-        Datapoint datapoint = new Datapoint(metric, timestamp, tag, value);
+    protected MetricGenBolt(int maxFrameDatapoints) {
+        this.maxFrameDatapoints = maxFrameDatapoints;
+    }
+
+    /**
+     * Encode the frame of datapoints into one tuple.
+     */
+    protected static List<Object> tuple(DatapointFrame frame) throws JsonEncodeException {
         String json;
         try {
-            json = Utils.MAPPER.writeValueAsString(datapoint);
+            json = Utils.MAPPER.writeValueAsString(frame);
         } catch (JsonProcessingException e) {
-            throw new JsonEncodeException(datapoint, e);
+            throw new JsonEncodeException(frame, e);
         }
         return Collections.singletonList(json);
     }
 
+    protected void emit(DatapointFrame.Builder frame) throws JsonEncodeException {
+        if (frame.isEmpty()) {
+            return;
+        }
+        for (DatapointFrame chunk : frame.build(maxFrameDatapoints)) {
+            collector.emit(tuple(chunk));
+        }
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(AbstractTopology.fieldMessage);
@@ -19,6 +19,7 @@ import static org.openkilda.messaging.Utils.CORRELATION_ID;
 import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
 
 import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.info.DatapointFrame;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.PortStatsData;
 import org.openkilda.messaging.info.stats.PortStatsEntry;
@@ -41,6 +42,10 @@ public class PortMetricGenBolt extends MetricGenBolt {
 
     private Map<SwitchId, SwitchId> switchNameCache = new HashMap<>();
 
+    public PortMetricGenBolt(int maxFrameDatapoints) {
+        super(maxFrameDatapoints);
+    }
+
     @Override
     public void execute(Tuple input) {
         StatsComponentType componentId = StatsComponentType.valueOf(input.getSourceComponent());
@@ -63,39 +68,39 @@ public class PortMetricGenBolt extends MetricGenBolt {
                 switchNameCache.put(data.getSwitchId(), switchId);
             }
 
+            DatapointFrame.Builder frame = DatapointFrame.builder(timestamp);
             for (PortStatsReply reply : data.getStats()) {
                 for (PortStatsEntry entry : reply.getEntries()) {
-                    emit(entry, timestamp, switchId);
+                    addDatapoints(frame, entry, switchId);
                 }
             }
+            emit(frame);
+        } catch (JsonEncodeException e) {
+            LOGGER.error("Error during serialization of datapoint", e);
         } finally {
             collector.ack(input);
         }
     }
 
-    private void emit(PortStatsEntry entry, long timestamp, SwitchId switchId) {
-        try {
-            Map<String, String> tags = ImmutableMap.of(
-                    "switchid", switchId.toOtsdFormat(),
-                    "port", String.valueOf(entry.getPortNo())
-            );
+    private void addDatapoints(DatapointFrame.Builder frame, PortStatsEntry entry, SwitchId switchId) {
+        Map<String, String> tags = ImmutableMap.of(
+                "switchid", switchId.toOtsdFormat(),
+                "port", String.valueOf(entry.getPortNo())
+        );
 
-            collector.emit(tuple("pen.switch.rx-packets", timestamp, entry.getRxPackets(), tags));
-            collector.emit(tuple("pen.switch.tx-packets", timestamp, entry.getTxPackets(), tags));
-            collector.emit(tuple("pen.switch.rx-bytes", timestamp, entry.getRxBytes(), tags));
-            collector.emit(tuple("pen.switch.rx-bits", timestamp, entry.getRxBytes() * 8, tags));
-            collector.emit(tuple("pen.switch.tx-bytes", timestamp, entry.getTxBytes(), tags));
-            collector.emit(tuple("pen.switch.tx-bits", timestamp, entry.getTxBytes() * 8, tags));
-            collector.emit(tuple("pen.switch.rx-dropped", timestamp, entry.getRxDropped(), tags));
-            collector.emit(tuple("pen.switch.tx-dropped", timestamp, entry.getTxDropped(), tags));
-            collector.emit(tuple("pen.switch.rx-errors", timestamp, entry.getRxErrors(), tags));
-            collector.emit(tuple("pen.switch.tx-errors", timestamp, entry.getTxErrors(), tags));
-            collector.emit(tuple("pen.switch.rx-frame-error", timestamp, entry.getRxFrameErr(), tags));
-            collector.emit(tuple("pen.switch.rx-over-error", timestamp, entry.getRxOverErr(), tags));
-            collector.emit(tuple("pen.switch.rx-crc-error", timestamp, entry.getRxCrcErr(), tags));
-            collector.emit(tuple("pen.switch.collisions", timestamp, entry.getCollisions(), tags));
-        } catch (JsonEncodeException e) {
-            LOGGER.error("Error during serialization of datapoint", e);
-        }
+        frame.add("pen.switch.rx-packets", entry.getRxPackets(), tags);
+        frame.add("pen.switch.tx-packets", entry.getTxPackets(), tags);
+        frame.add("pen.switch.rx-bytes", entry.getRxBytes(), tags);
+        frame.add("pen.switch.rx-bits", entry.getRxBytes() * 8, tags);
+        frame.add("pen.switch.tx-bytes", entry.getTxBytes(), tags);
+        frame.add("pen.switch.tx-bits", entry.getTxBytes() * 8, tags);
+        frame.add("pen.switch.rx-dropped", entry.getRxDropped(), tags);
+        frame.add("pen.switch.tx-dropped", entry.getTxDropped(), tags);
+        frame.add("pen.switch.rx-errors", entry.getRxErrors(), tags);
+        frame.add("pen.switch.tx-errors", entry.getTxErrors(), tags);
+        frame.add("pen.switch.rx-frame-error", entry.getRxFrameErr(), tags);
+        frame.add("pen.switch.rx-over-error", entry.getRxOverErr(), tags);
+        frame.add("pen.switch.rx-crc-error", entry.getRxCrcErr(), tags);
+        frame.add("pen.switch.collisions", entry.getCollisions(), tags);
     }
 }
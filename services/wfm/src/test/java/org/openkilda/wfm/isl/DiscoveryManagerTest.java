@@ -31,8 +31,12 @@ import org.openkilda.messaging.model.SwitchId;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -100,6 +104,17 @@ public class DiscoveryManagerTest {
         assertEquals(0, discoveryPlan.discoveryFailure.size());
     }
 
+    @Test
+    public void shouldGroupDiscoveryPlanBySwitch() {
+        setupThreeLinks();
+
+        Map<SwitchId, List<NetworkEndpoint>> groups = dm.makeDiscoveryPlan().groupNeedDiscoveryBySwitch();
+        assertEquals(2, groups.size());
+        assertEquals(new HashSet<>(Arrays.asList(srcNode1, srcNode2)),
+                new HashSet<>(groups.get(srcNode1.getDatapath())));
+        assertEquals(Collections.singletonList(srcNode3), groups.get(srcNode3.getDatapath()));
+    }
+
     @Test
     public void shouldAlwaysSendDiscoveryForActiveLinks() {
         setupThreeLinks();
@@ -530,4 +545,49 @@ public class DiscoveryManagerTest {
         Optional<DiscoveryLink> foundAsLink4After = dm.findBySourceEndpoint(srcNode4);
         assertTrue(foundAsLink4After.isPresent());
     }
+
+    @Test
+    public void shouldCheckLinkOnlyWhenIntervalIsOver() {
+        dm = new DiscoveryManager(new HashMap<>(), 3, islHealthFailureLimit, maxAttemptsLimit, minutesKeepRemovedIsl);
+        NetworkEndpoint endpoint = new NetworkEndpoint(new SwitchId("ff:01"), 1);
+        dm.handlePortUp(endpoint.getDatapath(), endpoint.getPortNumber());
+
+        for (int tick = 1; tick <= 6; tick++) {
+            List<NetworkEndpoint> needDiscovery = dm.makeDiscoveryPlan().needDiscovery;
+            if (tick % 3 == 0) {
+                assertEquals(Collections.singletonList(endpoint), needDiscovery);
+                dm.handleDiscovered(endpoint.getDatapath(), endpoint.getPortNumber(), new SwitchId("ff:02"), 1);
+            } else {
+                assertTrue("Tick " + tick, needDiscovery.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void shouldCheckRestoredLinks() {
+        DiscoveryLink link = new DiscoveryLink(new SwitchId("ff:01"), 1, new SwitchId("ff:02"), 1,
+                islHealthCheckInterval, maxAttemptsLimit, true);
+        Map<SwitchId, Set<DiscoveryLink>> linksBySwitch = new HashMap<>();
+        linksBySwitch.put(link.getSource().getDatapath(), new HashSet<>(Collections.singleton(link)));
+
+        dm = new DiscoveryManager(linksBySwitch, islHealthCheckInterval, islHealthFailureLimit, maxAttemptsLimit,
+                minutesKeepRemovedIsl);
+
+        assertEquals(Optional.of(link), dm.findBySourceEndpoint(link.getSource()));
+        assertEquals(Collections.singletonList(link.getSource()), dm.makeDiscoveryPlan().needDiscovery);
+    }
+
+    @Test
+    public void shouldRemoveDiscoveredLinkOnPortDown() {
+        setupThreeLinks();
+        // the destination is a part of the hash code of the link
+        dm.handleDiscovered(srcNode1.getDatapath(), srcNode1.getPortNumber(),
+                dstNode1.getDatapath(), dstNode1.getPortNumber());
+
+        dm.handlePortDown(srcNode1.getDatapath(), srcNode1.getPortNumber());
+
+        assertFalse(dm.findBySourceEndpoint(srcNode1).isPresent());
+        assertEquals(1, dm.findAllBySwitch(srcNode1.getDatapath()).size());
+        assertFalse(dm.makeDiscoveryPlan().needDiscovery.contains(srcNode1));
+    }
 }
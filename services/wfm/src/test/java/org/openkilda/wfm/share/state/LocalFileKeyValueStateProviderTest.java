@@ -0,0 +1,69 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+import org.apache.storm.Config;
+import org.apache.storm.state.KeyValueState;
+import org.apache.storm.task.TopologyContext;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class LocalFileKeyValueStateProviderTest {
+    private static final String NAMESPACE = "OfeLinkBolt-1";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final LocalFileKeyValueStateProvider provider = new LocalFileKeyValueStateProvider();
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireConfiguredDirectory() {
+        provider.newState(NAMESPACE, new HashMap<>(), mock(TopologyContext.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldKeepStatesOfTopologiesApart() {
+        KeyValueState<String, String> wfm = (KeyValueState<String, String>) provider.newState(
+                NAMESPACE, makeStormConf("wfm"), mock(TopologyContext.class));
+        wfm.put("key", "wfm");
+        wfm.prepareCommit(1);
+        wfm.commit(1);
+
+        KeyValueState<String, String> other = (KeyValueState<String, String>) provider.newState(
+                NAMESPACE, makeStormConf("other"), mock(TopologyContext.class));
+        assertNull(other.get("key"));
+
+        KeyValueState<String, String> restored = (KeyValueState<String, String>) provider.newState(
+                NAMESPACE, makeStormConf("wfm"), mock(TopologyContext.class));
+        assertEquals("wfm", restored.get("key"));
+    }
+
+    private Map<String, Object> makeStormConf(String topologyName) {
+        Map<String, Object> stormConf = new HashMap<>();
+        stormConf.put(Config.TOPOLOGY_STATE_PROVIDER_CONFIG, folder.getRoot().getAbsolutePath());
+        stormConf.put(Config.TOPOLOGY_NAME, topologyName);
+        return stormConf;
+    }
+}
@@ -0,0 +1,120 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.openkilda.messaging.model.DiscoveryLink;
+import org.openkilda.messaging.model.SwitchId;
+
+import org.apache.storm.spout.CheckPointState;
+import org.apache.storm.spout.CheckPointState.State;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class LocalFileKeyValueStateTest {
+    private static final String NAMESPACE = "OfeLinkBolt-1";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldRestoreCommittedState() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        LocalFileKeyValueState<String, Object> state = new LocalFileKeyValueState<>(directory, NAMESPACE);
+
+        Map<SwitchId, Set<DiscoveryLink>> links = new HashMap<>();
+        DiscoveryLink link = new DiscoveryLink(new SwitchId("ff:01"), 1, new SwitchId("ff:02"), 2, 0, -1, true);
+        links.put(link.getSource().getDatapath(), new HashSet<>(Collections.singleton(link)));
+        state.put("links", links);
+        state.prepareCommit(1);
+        state.commit(1);
+
+        LocalFileKeyValueState<String, Object> restored = new LocalFileKeyValueState<>(directory, NAMESPACE);
+        assertEquals(links, restored.get("links"));
+    }
+
+    @Test
+    public void shouldSnapshotValueChangedInPlace() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        LocalFileKeyValueState<String, Object> state = new LocalFileKeyValueState<>(directory, NAMESPACE);
+
+        Map<String, Integer> value = new HashMap<>();
+        state.put("value", value);
+        value.put("a", 1);
+        state.prepareCommit(1);
+        value.put("b", 2);
+        state.commit(1);
+
+        LocalFileKeyValueState<String, Object> restored = new LocalFileKeyValueState<>(directory, NAMESPACE);
+        assertEquals(Collections.singletonMap("a", 1), restored.get("value"));
+    }
+
+    @Test
+    public void shouldRollbackToCommittedState() throws Exception {
+        LocalFileKeyValueState<String, Object> state = new LocalFileKeyValueState<>(
+                folder.getRoot().toPath(), NAMESPACE);
+
+        state.put("key", "committed");
+        state.prepareCommit(1);
+        state.commit(1);
+
+        state.put("key", "prepared");
+        state.put("other", "prepared");
+        state.prepareCommit(2);
+        state.rollback();
+
+        assertEquals("committed", state.get("key"));
+        assertNull(state.get("other"));
+    }
+
+    @Test
+    public void shouldFinishCommitPreparedBeforeRestart() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        LocalFileKeyValueState<String, Object> state = new LocalFileKeyValueState<>(directory, NAMESPACE);
+        state.put("key", "prepared");
+        state.prepareCommit(5);
+
+        LocalFileKeyValueState<String, Object> restarted = new LocalFileKeyValueState<>(directory, NAMESPACE);
+        assertNull(restarted.get("key"));
+        restarted.commit(5);
+        assertEquals("prepared", restarted.get("key"));
+    }
+
+    @Test
+    public void shouldKeepCheckpointSpoutState() throws Exception {
+        // the checkpoint spout keeps its progress in the state of the same provider
+        Path directory = folder.getRoot().toPath();
+        LocalFileKeyValueState<String, CheckPointState> state = new LocalFileKeyValueState<>(
+                directory, "$checkpointspout");
+        state.put("__state", new CheckPointState(3, State.COMMITTING));
+        state.commit();
+
+        LocalFileKeyValueState<String, CheckPointState> restored = new LocalFileKeyValueState<>(
+                directory, "$checkpointspout");
+        assertEquals(3, restored.get("__state").getTxid());
+        assertEquals(State.COMMITTING, restored.get("__state").getState());
+    }
+}
@@ -0,0 +1,81 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class LongHashSetTest {
+
+    @Test
+    public void shouldAddContainAndRemove() {
+        LongHashSet set = new LongHashSet();
+
+        assertTrue(set.add(0L));
+        assertTrue(set.add(-1L));
+        assertFalse(set.add(0L));
+
+        assertEquals(2, set.size());
+        assertTrue(set.contains(0L));
+        assertTrue(set.contains(-1L));
+        assertFalse(set.contains(1L));
+
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(new long[] {-1L, 0L}, values);
+
+        assertTrue(set.remove(0L));
+        assertFalse(set.remove(0L));
+        assertFalse(set.contains(0L));
+        assertEquals(1, set.size());
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(-1L));
+    }
+
+    @Test
+    public void shouldMatchHashSetOnRandomOperations() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> reference = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200000; i++) {
+            // narrow value range to get collisions and removals of existing values
+            long value = random.nextInt(5000) | (random.nextBoolean() ? 0x4000000000000000L : 0x2000000000000000L);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(value), set.remove(value));
+            } else {
+                assertEquals(reference.add(value), set.add(value));
+            }
+        }
+
+        assertEquals(reference.size(), set.size());
+        for (Long value : reference) {
+            assertTrue(set.contains(value));
+        }
+        assertEquals(reference.size(), set.toArray().length);
+    }
+}
@@ -0,0 +1,141 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.event;
+
+import static org.apache.storm.utils.Utils.DEFAULT_STREAM_ID;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.openkilda.messaging.Utils.DEFAULT_CORRELATION_ID;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.HeartBeat;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoveryPeerCommandData;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.DiscoPacketSendingBatchConfirmation;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.PortChangeType;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.model.SwitchId;
+
+import com.google.common.collect.Lists;
+import org.apache.storm.task.IOutputCollector;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class DiscoveryRouterBoltTest {
+    private final SwitchId srcSwitch = new SwitchId("ff:01");
+    private final SwitchId dstSwitch = new SwitchId("ff:02");
+
+    private IOutputCollector output;
+    private DiscoveryRouterBolt bolt;
+
+    @Before
+    public void before() {
+        output = Mockito.mock(IOutputCollector.class);
+        bolt = new DiscoveryRouterBolt();
+        bolt.prepare(Collections.emptyMap(), Mockito.mock(TopologyContext.class), new OutputCollector(output));
+    }
+
+    @Test
+    public void shouldRoutePortEventBySwitch() throws Exception {
+        PortInfoData port = new PortInfoData(srcSwitch, 2, PortChangeType.UP);
+        String json = encode(new InfoMessage(port, 0, DEFAULT_CORRELATION_ID, Destination.WFM));
+
+        bolt.execute(makeTuple(json));
+
+        Mockito.verify(output).emit(eq(DEFAULT_STREAM_ID), anyCollection(),
+                eq(new Values(json, srcSwitch.toString())));
+    }
+
+    @Test
+    public void shouldRouteIslEventBySourceSwitch() throws Exception {
+        IslInfoData isl = new IslInfoData(
+                Lists.newArrayList(new PathNode(srcSwitch, 1, 0), new PathNode(dstSwitch, 2, 1)),
+                IslChangeType.DISCOVERED);
+        String json = encode(new InfoMessage(isl, 0, DEFAULT_CORRELATION_ID, Destination.WFM));
+
+        bolt.execute(makeTuple(json));
+
+        Mockito.verify(output).emit(eq(DEFAULT_STREAM_ID), anyCollection(),
+                eq(new Values(json, srcSwitch.toString())));
+    }
+
+    @Test
+    public void shouldRoutePeerCommandBySwitch() throws Exception {
+        DiscoveryPeerCommandData command = new DiscoveryPeerCommandData(
+                dstSwitch, 2, DiscoveryPeerCommandData.Action.PORT_UP);
+        String json = encode(new CommandMessage(command, 0, DEFAULT_CORRELATION_ID, Destination.WFM_OF_DISCOVERY));
+
+        bolt.execute(makeTuple(json));
+
+        Mockito.verify(output).emit(eq(DEFAULT_STREAM_ID), anyCollection(),
+                eq(new Values(json, dstSwitch.toString())));
+    }
+
+    @Test
+    public void shouldRouteBatchConfirmationBySwitch() throws Exception {
+        DiscoPacketSendingBatchConfirmation confirmation = new DiscoPacketSendingBatchConfirmation(
+                srcSwitch, Arrays.asList(1, 2));
+        String json = encode(new InfoMessage(confirmation, 0, DEFAULT_CORRELATION_ID, Destination.WFM));
+
+        bolt.execute(makeTuple(json));
+
+        Mockito.verify(output).emit(eq(DEFAULT_STREAM_ID), anyCollection(),
+                eq(new Values(json, srcSwitch.toString())));
+    }
+
+    @Test
+    public void shouldBroadcastHeartBeat() throws Exception {
+        String json = encode(new HeartBeat(0, DEFAULT_CORRELATION_ID));
+
+        bolt.execute(makeTuple(json));
+
+        Mockito.verify(output).emit(eq(DiscoveryRouterBolt.STREAM_BROADCAST_ID), anyCollection(),
+                eq(new Values(json)));
+    }
+
+    @Test
+    public void shouldDropInvalidJson() {
+        Tuple tuple = makeTuple("{\"corrupted-json");
+
+        bolt.execute(tuple);
+
+        Mockito.verify(output, Mockito.never()).emit(Mockito.anyString(), anyCollection(), Mockito.anyList());
+        Mockito.verify(output).ack(tuple);
+    }
+
+    private static String encode(Object message) throws Exception {
+        return MAPPER.writeValueAsString(message);
+    }
+
+    private static Tuple makeTuple(String json) {
+        Tuple tuple = Mockito.mock(Tuple.class);
+        Mockito.when(tuple.getString(0)).thenReturn(json);
+        return tuple;
+    }
+}
@@ -0,0 +1,91 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.event;
+
+import static org.junit.Assert.assertTrue;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.NetworkCommandData;
+import org.openkilda.wfm.AbstractStormTest;
+import org.openkilda.wfm.LaunchEnvironment;
+import org.openkilda.wfm.topology.TestKafkaConsumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.storm.Config;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Runs the topology with the production storm config (the local file state provider), the discovery bolt must
+ * initialize its state and start the work.
+ */
+public class OfEventWfmTopologyTest extends AbstractStormTest {
+    private static final String TOPOLOGY_NAME = OfEventWfmTopologyTest.class.getSimpleName();
+    private static final long INIT_TIMEOUT = 60000;
+
+    private static TestKafkaConsumer speakerConsumer;
+
+    @BeforeClass
+    public static void setupOnce() throws Exception {
+        AbstractStormTest.setupOnce();
+
+        Properties configOverlay = new Properties();
+        configOverlay.setProperty("discovery.state.dir", fsData.newFolder().getAbsolutePath());
+
+        LaunchEnvironment launchEnvironment = makeLaunchEnvironment();
+        launchEnvironment.setupOverlay(configOverlay);
+        OfEventWfmTopology topology = new OfEventWfmTopology(launchEnvironment);
+
+        speakerConsumer = new TestKafkaConsumer(
+                topology.getConfig().getKafkaSpeakerTopic(), Destination.CONTROLLER,
+                kafkaProperties(UUID.nameUUIDFromBytes(Destination.CONTROLLER.toString().getBytes()).toString()));
+        speakerConsumer.start();
+
+        Config config = topology.makeStormConfig();
+        cluster.submitTopology(TOPOLOGY_NAME, config, topology.createTopology());
+    }
+
+    @AfterClass
+    public static void teardownOnce() throws Exception {
+        speakerConsumer.wakeup();
+        speakerConsumer.join();
+
+        AbstractStormTest.teardownOnce();
+    }
+
+    @Test
+    public void shouldInitializeDiscoveryStateAndRequestNetworkDump() throws Exception {
+        // storm holds the ticks of a stateful bolt until its state is initialized, so the network dump request
+        // is sent only if the checkpoint reaches the bolt
+        boolean isDumpRequested = false;
+        long deadline = System.currentTimeMillis() + INIT_TIMEOUT;
+        while (!isDumpRequested && System.currentTimeMillis() < deadline) {
+            ConsumerRecord<String, String> record = speakerConsumer.pollMessage(1000);
+            if (record != null) {
+                CommandMessage message = MAPPER.readValue(record.value(), CommandMessage.class);
+                isDumpRequested = message.getData() instanceof NetworkCommandData;
+            }
+        }
+
+        assertTrue("The discovery bolt has not requested the network dump", isDumpRequested);
+    }
+}
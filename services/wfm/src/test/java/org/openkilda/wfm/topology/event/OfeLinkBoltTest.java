@@ -17,15 +17,27 @@ package org.openkilda.wfm.topology.event;
 
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.openkilda.messaging.Utils.DEFAULT_CORRELATION_ID;
 import static org.openkilda.wfm.topology.event.OfeLinkBolt.STATE_ID_DISCOVERY;
 
 import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoveryPeerCommandData;
+import org.openkilda.messaging.ctrl.state.OFELinkBoltState;
+import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.DiscoPacketSendingBatchConfirmation;
+import org.openkilda.messaging.info.discovery.NetworkDumpBeginMarker;
+import org.openkilda.messaging.info.discovery.NetworkDumpEndMarker;
 import org.openkilda.messaging.info.event.IslChangeType;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathNode;
@@ -55,9 +67,13 @@ import org.junit.Test;
 import org.kohsuke.args4j.CmdLineException;
 import org.mockito.Mockito;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class OfeLinkBoltTest extends AbstractStormTest {
@@ -162,4 +178,108 @@ public class OfeLinkBoltTest extends AbstractStormTest {
 
         assertFalse(discoveryLink.getState().isActive());
     }
+
+    @Test
+    public void shouldSyncRestoredStateWithNetworkDump() {
+        DiscoveryLink link = new DiscoveryLink(new SwitchId("ff:01"), 2, new SwitchId("ff:02"), 2, 0, -1, true);
+        KeyValueState<String, Object> boltState = new InMemoryKeyValueState<>();
+        Map<SwitchId, Set<DiscoveryLink>> links = new HashMap<>();
+        links.put(link.getSource().getDatapath(), new HashSet<>(Collections.singleton(link)));
+        boltState.put(STATE_ID_DISCOVERY, links);
+
+        bolt = new OfeLinkBolt(config);
+        bolt.prepare(stormConfig(), context, new OutputCollector(outputDelegate));
+        bolt.initState(boltState);
+
+        assertThat(bolt.state, is(State.NEED_SYNC));
+        assertThat(((OFELinkBoltState) bolt.dumpState()).getDiscovery(), contains(link));
+    }
+
+    @Test
+    public void shouldSyncOnNetworkDumpOfFirstInstance() throws JsonProcessingException {
+        Mockito.when(context.getThisTaskIndex()).thenReturn(1);
+
+        bolt.doTick(makeTuple("tick"));
+        Mockito.verify(outputDelegate, never()).emit(eq(OfeLinkBolt.SPEAKER_STREAM), anyCollection(), anyList());
+        assertThat(bolt.state, is(State.WAIT_SYNC));
+
+        bolt.doWork(makeTuple(new NetworkDumpBeginMarker(), "dump"));
+        assertThat(bolt.state, is(State.SYNC_IN_PROGRESS));
+
+        bolt.doWork(makeTuple(new NetworkDumpEndMarker(), "another-dump"));
+        assertThat(bolt.state, is(State.SYNC_IN_PROGRESS));
+
+        bolt.doWork(makeTuple(new NetworkDumpEndMarker(), "dump"));
+        assertThat(bolt.state, is(State.MAIN));
+    }
+
+    @Test
+    public void shouldRequestNetworkDumpByFirstInstance() throws JsonProcessingException {
+        bolt.doTick(makeTuple("tick"));
+        Mockito.verify(outputDelegate).emit(eq(OfeLinkBolt.SPEAKER_STREAM), anyCollection(), anyList());
+        assertThat(bolt.state, is(State.WAIT_SYNC));
+
+        bolt.doWork(makeTuple(new NetworkDumpBeginMarker(), "dump-of-another-bolt"));
+        assertThat(bolt.state, is(State.WAIT_SYNC));
+    }
+
+    @Test
+    public void shouldSendPeerCommandThroughDiscoveryTopic() throws JsonProcessingException {
+        bolt.state = State.MAIN;
+        bolt.doWork(makeTuple(new PortInfoData(new SwitchId("ff:01"), 2, PortChangeType.UP), DEFAULT_CORRELATION_ID));
+
+        PathNode source = new PathNode(new SwitchId("ff:01"), 2, 0);
+        PathNode destination = new PathNode(new SwitchId("ff:02"), 3, 1);
+        IslInfoData isl = new IslInfoData(Lists.newArrayList(source, destination), IslChangeType.DISCOVERED);
+        bolt.doWork(makeTuple(isl, DEFAULT_CORRELATION_ID));
+
+        assertThat(outputDelegate.getMessagesCount(OfeLinkBolt.DISCO_STREAM), is(1));
+    }
+
+    @Test
+    public void shouldRegisterPortOnPeerCommand() throws JsonProcessingException {
+        KeyValueState<String, Object> boltState = new InMemoryKeyValueState<>();
+        bolt.initState(boltState);
+
+        DiscoveryPeerCommandData command = new DiscoveryPeerCommandData(
+                new SwitchId("ff:02"), 3, DiscoveryPeerCommandData.Action.PORT_UP);
+        CommandMessage message = new CommandMessage(command, 0, DEFAULT_CORRELATION_ID, Destination.WFM_OF_DISCOVERY);
+        Tuple tuple = makeTuple(objectMapper.writeValueAsString(message));
+        bolt.doWork(tuple);
+
+        @SuppressWarnings("unchecked")
+        Map<SwitchId, Set<DiscoveryLink>> links =
+                (Map<SwitchId, Set<DiscoveryLink>>) boltState.get(STATE_ID_DISCOVERY);
+        assertThat(links.get(new SwitchId("ff:02")), contains(
+                hasProperty("source", hasProperty("portNumber", is(3)))));
+        Mockito.verify(outputDelegate).ack(tuple);
+    }
+
+    @Test
+    public void shouldAcknowledgeAllPortsOfBatchConfirmation() throws JsonProcessingException {
+        SwitchId switchId = new SwitchId("ff:01");
+        Set<DiscoveryLink> switchLinks = new HashSet<>();
+        switchLinks.add(new DiscoveryLink(switchId, 1, 0, -1));
+        switchLinks.add(new DiscoveryLink(switchId, 2, 0, -1));
+        KeyValueState<String, Object> boltState = new InMemoryKeyValueState<>();
+        boltState.put(STATE_ID_DISCOVERY, new HashMap<>(Collections.singletonMap(switchId, switchLinks)));
+        bolt.initState(boltState);
+        bolt.state = State.MAIN;
+
+        Tuple tuple = makeTuple(new DiscoPacketSendingBatchConfirmation(switchId, Arrays.asList(1, 2)),
+                DEFAULT_CORRELATION_ID);
+        bolt.doWork(tuple);
+
+        assertThat(switchLinks, everyItem(hasProperty("ackAttempts", is(1))));
+        Mockito.verify(outputDelegate).ack(tuple);
+    }
+
+    private Tuple makeTuple(InfoData data, String correlationId) throws JsonProcessingException {
+        InfoMessage message = new InfoMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
+        return makeTuple(objectMapper.writeValueAsString(message));
+    }
+
+    private Tuple makeTuple(String json) {
+        return new TupleImpl(context, new Values(json), TASK_ID_BOLT, STREAM_ID_INPUT);
+    }
 }
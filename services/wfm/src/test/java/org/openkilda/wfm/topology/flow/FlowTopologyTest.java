@@ -59,6 +59,7 @@ import org.openkilda.messaging.payload.flow.FlowCacheSyncResults;
 import org.openkilda.messaging.payload.flow.FlowState;
 import org.openkilda.messaging.payload.flow.OutputVlanType;
 import org.openkilda.wfm.AbstractStormTest;
+import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.topology.TestKafkaConsumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -76,6 +77,7 @@ import org.junit.Test;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Properties;
 import java.util.UUID;
 
 public class FlowTopologyTest extends AbstractStormTest {
@@ -94,11 +96,17 @@ public class FlowTopologyTest extends AbstractStormTest {
     public static void setupOnce() throws Exception {
         AbstractStormTest.setupOnce();
 
-        flowTopology = new FlowTopology(makeLaunchEnvironment(), new MockedPathComputerAuth());
+        // the stateful bolts are checkpointed with the production state provider
+        Properties configOverlay = new Properties();
+        configOverlay.setProperty("flow.state.provider.config", fsData.newFolder().getAbsolutePath());
+        LaunchEnvironment launchEnvironment = makeLaunchEnvironment();
+        launchEnvironment.setupOverlay(configOverlay);
+
+        flowTopology = new FlowTopology(launchEnvironment, new MockedPathComputerAuth());
         topologyConfig = flowTopology.getConfig();
 
         StormTopology stormTopology = flowTopology.createTopology();
-        Config config = stormConfig();
+        Config config = flowTopology.makeStormConfig();
         cluster.submitTopology(FlowTopologyTest.class.getSimpleName(), config, stormTopology);
 
         nbConsumer = new TestKafkaConsumer(
@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.flow;
 
+import org.openkilda.pce.cache.TopologyCache;
 import org.openkilda.pce.provider.PathComputerAuth;
 
 public class MockedPathComputerAuth extends PathComputerAuth {
@@ -28,4 +29,9 @@ public class MockedPathComputerAuth extends PathComputerAuth {
         return new PathComputerMock();
     }
 
+    @Override
+    public PathComputerMock getPathComputer(TopologyCache topologyCache) {
+        return getPathComputer();
+    }
+
 }
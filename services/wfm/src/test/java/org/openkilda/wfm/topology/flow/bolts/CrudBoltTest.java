@@ -0,0 +1,290 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.bolts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.flow.FlowCacheSyncRequest;
+import org.openkilda.messaging.command.flow.FlowRerouteRequest;
+import org.openkilda.messaging.command.flow.SynchronizeCacheAction;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.flow.FlowInfoData;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.FlowPair;
+import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.messaging.payload.flow.FlowState;
+import org.openkilda.pce.cache.TopologyCache;
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.provider.FlowRevision;
+import org.openkilda.pce.provider.PathComputer;
+import org.openkilda.pce.provider.PathComputerAuth;
+import org.openkilda.wfm.topology.flow.ComponentType;
+import org.openkilda.wfm.topology.flow.FlowTopology;
+import org.openkilda.wfm.topology.flow.StreamType;
+
+import org.apache.storm.Constants;
+import org.apache.storm.state.InMemoryKeyValueState;
+import org.apache.storm.task.IOutputCollector;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class CrudBoltTest {
+    private static final String FLOW_A = "flow-a";
+    private static final String FLOW_B = "flow-b";
+    private static final String FLOW_C = "flow-c";
+
+    private PathComputer pathComputer;
+    private IOutputCollector output;
+
+    @Before
+    public void before() {
+        pathComputer = Mockito.mock(PathComputer.class);
+        output = Mockito.mock(IOutputCollector.class);
+        Mockito.doAnswer(invocation -> {
+            Consumer<Flow> consumer = invocation.getArgument(0);
+            int index = 1;
+            for (String flowId : new String[]{FLOW_A, FLOW_B, FLOW_C}) {
+                FlowPair<Flow, Flow> flow = makeFlow(flowId, index++);
+                consumer.accept(flow.getLeft());
+                consumer.accept(flow.getRight());
+            }
+            return null;
+        }).when(pathComputer).streamFlows(any());
+    }
+
+    @Test
+    public void shouldBatchReroutesInterleavedWithRequestsForOtherFlows() throws Exception {
+        CrudBolt bolt = makeBolt();
+
+        bolt.execute(makeRerouteTuple(FLOW_A));
+        bolt.execute(makeStatusTuple(FLOW_B));
+        bolt.execute(makeRerouteTuple(FLOW_C));
+        Mockito.verify(pathComputer, Mockito.never()).getPaths(anyCollection());
+
+        bolt.execute(makeTickTuple());
+
+        Collection<FlowPair<Flow, Flow>> batch = captureBatch();
+        assertEquals(2, batch.size());
+    }
+
+    @Test
+    public void shouldHandleReroutesBeforeRequestForReroutedFlow() throws Exception {
+        CrudBolt bolt = makeBolt();
+
+        bolt.execute(makeRerouteTuple(FLOW_A));
+        bolt.execute(makeRerouteTuple(FLOW_C));
+        bolt.execute(makeStatusTuple(FLOW_A));
+
+        Collection<FlowPair<Flow, Flow>> batch = captureBatch();
+        assertEquals(2, batch.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReadMismatchedFlowsAtOnceOnCacheSync() {
+        Mockito.doAnswer(invocation -> {
+            Consumer<FlowRevision> consumer = invocation.getArgument(0);
+            for (String flowId : new String[]{FLOW_A, FLOW_B, FLOW_C}) {
+                consumer.accept(new FlowRevision(flowId, FlowRevision.UNKNOWN));
+            }
+            return null;
+        }).when(pathComputer).streamFlowRevisions(any());
+        CrudBolt bolt = makeBolt();
+
+        bolt.execute(makeCacheSyncTuple());
+
+        ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(pathComputer).getFlows(captor.capture());
+        assertEquals(3, captor.getValue().size());
+        Mockito.verify(pathComputer, Mockito.never()).getFlows(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldNotReadReroutedFlowOnCacheSync() throws Exception {
+        PathInfoData path = new PathInfoData(0L, Collections.emptyList());
+        Mockito.when(pathComputer.getPaths(anyCollection()))
+                .thenReturn(Collections.singletonMap(FLOW_A, new FlowPair<>(path, path)));
+        Mockito.when(pathComputer.confirmBandwidth(any(), any())).thenReturn(true);
+        CrudBolt bolt = makeBolt();
+
+        bolt.execute(makeRerouteTuple(FLOW_A));
+        bolt.execute(makeTickTuple());
+
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(output).emit(eq(StreamType.UPDATE.toString()), any(), captor.capture());
+        InfoMessage message = Utils.MAPPER.readValue((String) captor.getValue().get(0), InfoMessage.class);
+        FlowPair<Flow, Flow> stored = ((FlowInfoData) message.getData()).getPayload();
+        assertNotEquals(FlowRevision.UNKNOWN, stored.getLeft().getRevision());
+
+        // the topology engine stores the flow with the assigned revision
+        Mockito.doAnswer(invocation -> {
+            Consumer<FlowRevision> consumer = invocation.getArgument(0);
+            consumer.accept(new FlowRevision(FLOW_A, stored.getLeft().getRevision()));
+            return null;
+        }).when(pathComputer).streamFlowRevisions(any());
+        bolt.execute(makeCacheSyncTuple());
+
+        ArgumentCaptor<Collection> flowIds = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(pathComputer, Mockito.atMost(1)).getFlows(flowIds.capture());
+        assertTrue(flowIds.getAllValues().stream().noneMatch(ids -> ids.contains(FLOW_A)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldTakeAlternatePathIfCheapestIsNotConfirmed() throws Exception {
+        FlowPair<PathInfoData, PathInfoData> cheapest = makePath(new SwitchId("ff:03"));
+        FlowPair<PathInfoData, PathInfoData> alternate = makePath(new SwitchId("ff:04"));
+        Mockito.when(pathComputer.getPaths(anyCollection()))
+                .thenReturn(Collections.singletonMap(FLOW_A, cheapest));
+        Mockito.when(pathComputer.getAvailableNetwork(Mockito.anyBoolean(), Mockito.anyLong()))
+                .thenReturn(Mockito.mock(AvailableNetwork.class));
+        Mockito.when(pathComputer.getKPaths(any(), any(), Mockito.anyInt()))
+                .thenReturn(Arrays.asList(cheapest, alternate));
+        Mockito.when(pathComputer.confirmBandwidth(any(), eq(cheapest))).thenReturn(false);
+        Mockito.when(pathComputer.confirmBandwidth(any(), eq(alternate))).thenReturn(true);
+        CrudBolt bolt = makeBolt();
+
+        bolt.execute(makeRerouteTuple(FLOW_A));
+        bolt.execute(makeTickTuple());
+
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(output).emit(eq(StreamType.UPDATE.toString()), any(), captor.capture());
+        InfoMessage message = Utils.MAPPER.readValue((String) captor.getValue().get(0), InfoMessage.class);
+        FlowPair<Flow, Flow> stored = ((FlowInfoData) message.getData()).getPayload();
+        assertEquals(alternate.getLeft(), stored.getLeft().getFlowPath());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<FlowPair<Flow, Flow>> captureBatch() throws Exception {
+        ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(pathComputer).getPaths(captor.capture());
+        return captor.getValue();
+    }
+
+    private CrudBolt makeBolt() {
+        CrudBolt bolt = new CrudBolt(new StubPathComputerAuth(pathComputer));
+        bolt.prepare(Collections.emptyMap(), Mockito.mock(TopologyContext.class),
+                new OutputCollector(output));
+        bolt.initState(new InMemoryKeyValueState<>());
+        return bolt;
+    }
+
+    private static FlowPair<Flow, Flow> makeFlow(String flowId, int index) {
+        SwitchId srcSwitch = new SwitchId("ff:01");
+        SwitchId dstSwitch = new SwitchId("ff:02");
+
+        Flow forward = new Flow(flowId, 100, false, "", srcSwitch, 1, 100 + index, dstSwitch, 1, 100 + index);
+        forward.setCookie(0x4000000000000000L | index);
+        forward.setTransitVlan(100 + index);
+        forward.setMeterId(100 + index);
+        forward.setState(FlowState.UP);
+
+        Flow reverse = new Flow(flowId, 100, false, "", dstSwitch, 1, 100 + index, srcSwitch, 1, 100 + index);
+        reverse.setCookie(0x2000000000000000L | index);
+        reverse.setTransitVlan(200 + index);
+        reverse.setMeterId(100 + index);
+        reverse.setState(FlowState.UP);
+        return new FlowPair<>(forward, reverse);
+    }
+
+    private static FlowPair<PathInfoData, PathInfoData> makePath(SwitchId transit) {
+        PathInfoData forward = new PathInfoData(0L, Arrays.asList(
+                new PathNode(new SwitchId("ff:01"), 2, 0), new PathNode(transit, 1, 1),
+                new PathNode(transit, 2, 2), new PathNode(new SwitchId("ff:02"), 2, 3)));
+        PathInfoData reverse = new PathInfoData(0L, Arrays.asList(
+                new PathNode(new SwitchId("ff:02"), 2, 0), new PathNode(transit, 2, 1),
+                new PathNode(transit, 1, 2), new PathNode(new SwitchId("ff:01"), 2, 3)));
+        return new FlowPair<>(forward, reverse);
+    }
+
+    private static Tuple makeRerouteTuple(String flowId) {
+        CommandMessage message = new CommandMessage(
+                new FlowRerouteRequest(flowId), System.currentTimeMillis(), "reroute-" + flowId);
+        Tuple tuple = Mockito.mock(Tuple.class);
+        Mockito.when(tuple.getSourceComponent()).thenReturn(ComponentType.SPLITTER_BOLT.toString());
+        Mockito.when(tuple.getSourceStreamId()).thenReturn(StreamType.REROUTE.toString());
+        Mockito.when(tuple.getStringByField(Utils.FLOW_ID)).thenReturn(flowId);
+        Mockito.when(tuple.getValueByField(FlowTopology.MESSAGE_FIELD)).thenReturn(message);
+        return tuple;
+    }
+
+    private static Tuple makeCacheSyncTuple() {
+        CommandMessage message = new CommandMessage(
+                new FlowCacheSyncRequest(SynchronizeCacheAction.NONE), System.currentTimeMillis(), "cache-sync");
+        Tuple tuple = Mockito.mock(Tuple.class);
+        Mockito.when(tuple.getSourceComponent()).thenReturn(ComponentType.SPLITTER_BOLT.toString());
+        Mockito.when(tuple.getSourceStreamId()).thenReturn(StreamType.CACHE_SYNC.toString());
+        Mockito.when(tuple.getValueByField(FlowTopology.MESSAGE_FIELD)).thenReturn(message);
+        return tuple;
+    }
+
+    private static Tuple makeStatusTuple(String flowId) {
+        Tuple tuple = Mockito.mock(Tuple.class);
+        Mockito.when(tuple.getSourceComponent()).thenReturn(ComponentType.TRANSACTION_BOLT.toString());
+        Mockito.when(tuple.getSourceStreamId()).thenReturn(StreamType.STATUS.toString());
+        Mockito.when(tuple.getStringByField(Utils.FLOW_ID)).thenReturn(flowId);
+        Mockito.when(tuple.getValueByField(FlowTopology.STATUS_FIELD)).thenReturn(FlowState.UP);
+        return tuple;
+    }
+
+    private static Tuple makeTickTuple() {
+        Tuple tuple = Mockito.mock(Tuple.class);
+        Mockito.when(tuple.getSourceComponent()).thenReturn(Constants.SYSTEM_COMPONENT_ID);
+        Mockito.when(tuple.getSourceStreamId()).thenReturn(Constants.SYSTEM_TICK_STREAM_ID);
+        return tuple;
+    }
+
+    private static class StubPathComputerAuth extends PathComputerAuth {
+        private final transient PathComputer pathComputer;
+
+        StubPathComputerAuth(PathComputer pathComputer) {
+            super(null, null, null);
+            this.pathComputer = pathComputer;
+        }
+
+        @Override
+        public PathComputer getPathComputer() {
+            return pathComputer;
+        }
+
+        @Override
+        public PathComputer getPathComputer(TopologyCache topologyCache) {
+            return pathComputer;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.bolts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.openkilda.messaging.Utils.DEFAULT_CORRELATION_ID;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.flow.FlowsDumpRequest;
+import org.openkilda.messaging.command.flow.RemoveFlow;
+import org.openkilda.messaging.error.ErrorData;
+import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.model.SwitchId;
+
+import org.apache.storm.task.IOutputCollector;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.List;
+
+public class RouterBoltTest {
+    private final SwitchId switchId = new SwitchId("ff:01");
+
+    private IOutputCollector output;
+    private RouterBolt bolt;
+
+    @Before
+    public void before() {
+        output = Mockito.mock(IOutputCollector.class);
+        bolt = new RouterBolt();
+        bolt.prepare(Collections.emptyMap(), Mockito.mock(TopologyContext.class), new OutputCollector(output));
+    }
+
+    @Test
+    public void shouldRouteNorthboundRequestToSplitter() {
+        Message message = command(new FlowsDumpRequest(), Destination.WFM);
+
+        assertEquals(RouterBolt.STREAM_SPLITTER_ID, RouterBolt.route(message));
+    }
+
+    @Test
+    public void shouldRouteFlowRulesToTopologyEngine() {
+        Message message = command(removeFlow(), Destination.WFM);
+
+        assertEquals(RouterBolt.STREAM_TOPOLOGY_ENGINE_ID, RouterBolt.route(message));
+    }
+
+    @Test
+    public void shouldRouteErrorsToTopologyEngine() {
+        Message message = new ErrorMessage(new ErrorData(ErrorType.CREATION_FAILURE, "failure", "flow-id"),
+                0, DEFAULT_CORRELATION_ID, Destination.WFM);
+
+        assertEquals(RouterBolt.STREAM_TOPOLOGY_ENGINE_ID, RouterBolt.route(message));
+    }
+
+    @Test
+    public void shouldRouteSpeakerResponseToSpeaker() {
+        Message message = command(removeFlow(), Destination.WFM_TRANSACTION);
+
+        assertEquals(RouterBolt.STREAM_SPEAKER_ID, RouterBolt.route(message));
+    }
+
+    @Test
+    public void shouldSkipMessagesForOtherComponents() {
+        Message message = command(removeFlow(), Destination.CONTROLLER);
+
+        assertNull(RouterBolt.route(message));
+    }
+
+    @Test
+    public void shouldEmitDecodedMessage() throws Exception {
+        Message message = command(removeFlow(), Destination.WFM_TRANSACTION);
+        Tuple tuple = makeTuple(MAPPER.writeValueAsString(message));
+
+        bolt.execute(tuple);
+
+        ArgumentCaptor<List<Object>> values = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(output).emit(eq(RouterBolt.STREAM_SPEAKER_ID), anyCollection(), values.capture());
+        Mockito.verify(output).ack(tuple);
+
+        CommandMessage emitted = (CommandMessage) values.getValue().get(0);
+        assertEquals(Destination.WFM_TRANSACTION, emitted.getDestination());
+        assertTrue(emitted.getData() instanceof RemoveFlow);
+    }
+
+    @Test
+    public void shouldDropInvalidJson() {
+        Tuple tuple = makeTuple("{\"corrupted-json");
+
+        bolt.execute(tuple);
+
+        Mockito.verify(output, Mockito.never()).emit(Mockito.anyString(), anyCollection(), Mockito.anyList());
+        Mockito.verify(output).ack(tuple);
+    }
+
+    private RemoveFlow removeFlow() {
+        return new RemoveFlow(1L, "flow-id", 2L, switchId, null, null);
+    }
+
+    private static CommandMessage command(CommandData data, Destination destination) {
+        return new CommandMessage(data, 0, DEFAULT_CORRELATION_ID, destination);
+    }
+
+    private static Tuple makeTuple(String json) {
+        Tuple tuple = Mockito.mock(Tuple.class);
+        Mockito.when(tuple.getString(0)).thenReturn(json);
+        return tuple;
+    }
+}
@@ -0,0 +1,151 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.bolts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.messaging.payload.flow.FlowState;
+import org.openkilda.wfm.topology.flow.ComponentType;
+import org.openkilda.wfm.topology.flow.FlowTopology;
+import org.openkilda.wfm.topology.flow.StreamType;
+import org.openkilda.wfm.topology.flow.model.SwitchTransactions;
+
+import org.apache.storm.Constants;
+import org.apache.storm.state.InMemoryKeyValueState;
+import org.apache.storm.state.KeyValueState;
+import org.apache.storm.task.IOutputCollector;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+
+public class TransactionBoltTest {
+    private static final String FLOW_ID = "flow-id";
+
+    private final SwitchId switchId = new SwitchId("ff:01");
+    private final SwitchId anotherSwitchId = new SwitchId("ff:02");
+
+    private IOutputCollector output;
+    private KeyValueState<SwitchId, SwitchTransactions> state;
+
+    @Before
+    public void before() {
+        output = Mockito.mock(IOutputCollector.class);
+        state = new InMemoryKeyValueState<>();
+    }
+
+    @Test
+    public void shouldReportFlowUpWhenSpeakerConfirmsAllRules() {
+        TransactionBolt bolt = makeBolt(60000);
+
+        bolt.execute(makeTuple(ComponentType.TOPOLOGY_ENGINE_BOLT, 1L));
+        bolt.execute(makeTuple(ComponentType.TOPOLOGY_ENGINE_BOLT, 2L));
+        bolt.execute(makeTuple(ComponentType.SPEAKER_BOLT, 1L));
+        Mockito.verify(output, Mockito.never()).emit(
+                eq(StreamType.STATUS.toString()), anyCollection(), eq(new Values(FLOW_ID, FlowState.UP)));
+        assertEquals(1, state.get(switchId).count(FLOW_ID));
+
+        bolt.execute(makeTuple(ComponentType.SPEAKER_BOLT, 2L));
+
+        Mockito.verify(output).emit(
+                eq(StreamType.STATUS.toString()), anyCollection(), eq(new Values(FLOW_ID, FlowState.UP)));
+        assertNull(state.get(switchId));
+    }
+
+    @Test
+    public void shouldReportFlowDownWhenTransactionExpires() {
+        TransactionBolt bolt = makeBolt(0);
+
+        bolt.execute(makeTuple(ComponentType.TOPOLOGY_ENGINE_BOLT, 1L));
+        bolt.execute(makeTickTuple());
+
+        Mockito.verify(output).emit(
+                eq(StreamType.STATUS.toString()), anyCollection(), eq(new Values(FLOW_ID, FlowState.DOWN)));
+        assertNull(state.get(switchId));
+    }
+
+    @Test
+    public void shouldNotReportFlowUpWhenAnotherSwitchConfirmsAfterTimeout() {
+        TransactionBolt bolt = makeBolt(60000);
+
+        bolt.execute(makeTuple(ComponentType.TOPOLOGY_ENGINE_BOLT, switchId, 1L));
+        bolt.execute(makeTuple(ComponentType.TOPOLOGY_ENGINE_BOLT, anotherSwitchId, 2L));
+        // the transaction on the first switch is expired, on the second one it is not yet
+        SwitchTransactions expired = new SwitchTransactions();
+        expired.add(FLOW_ID, 1L, 0);
+        state.put(switchId, expired);
+        bolt.execute(makeTickTuple());
+        bolt.execute(makeTuple(ComponentType.SPEAKER_BOLT, anotherSwitchId, 2L));
+
+        Mockito.verify(output).emit(
+                eq(StreamType.STATUS.toString()), anyCollection(), eq(new Values(FLOW_ID, FlowState.DOWN)));
+        Mockito.verify(output, Mockito.never()).emit(
+                eq(StreamType.STATUS.toString()), anyCollection(), eq(new Values(FLOW_ID, FlowState.UP)));
+        assertNull(state.get(switchId));
+        assertNull(state.get(anotherSwitchId));
+    }
+
+    @Test
+    public void shouldReportFlowDownOnceWhenTransactionsExpireOnSeveralSwitches() {
+        TransactionBolt bolt = makeBolt(0);
+
+        bolt.execute(makeTuple(ComponentType.TOPOLOGY_ENGINE_BOLT, switchId, 1L));
+        bolt.execute(makeTuple(ComponentType.TOPOLOGY_ENGINE_BOLT, anotherSwitchId, 2L));
+        bolt.execute(makeTickTuple());
+
+        Mockito.verify(output).emit(
+                eq(StreamType.STATUS.toString()), anyCollection(), eq(new Values(FLOW_ID, FlowState.DOWN)));
+    }
+
+    private TransactionBolt makeBolt(long timeout) {
+        TransactionBolt bolt = new TransactionBolt(timeout);
+        bolt.prepare(Collections.emptyMap(), Mockito.mock(TopologyContext.class), new OutputCollector(output));
+        bolt.initState(state);
+        return bolt;
+    }
+
+    private Tuple makeTuple(ComponentType source, long transactionId) {
+        return makeTuple(source, switchId, transactionId);
+    }
+
+    private Tuple makeTuple(ComponentType source, SwitchId switchId, long transactionId) {
+        Tuple tuple = Mockito.mock(Tuple.class);
+        Mockito.when(tuple.getSourceComponent()).thenReturn(source.toString());
+        Mockito.when(tuple.getSourceStreamId()).thenReturn(StreamType.CREATE.toString());
+        Mockito.when(tuple.getValueByField(Utils.TRANSACTION_ID)).thenReturn(transactionId);
+        Mockito.when(tuple.getValueByField(FlowTopology.SWITCH_ID_FIELD)).thenReturn(switchId);
+        Mockito.when(tuple.getValueByField(Utils.FLOW_ID)).thenReturn(FLOW_ID);
+        Mockito.when(tuple.getValueByField(FlowTopology.MESSAGE_FIELD)).thenReturn("{}");
+        return tuple;
+    }
+
+    private static Tuple makeTickTuple() {
+        Tuple tuple = Mockito.mock(Tuple.class);
+        Mockito.when(tuple.getSourceComponent()).thenReturn(Constants.SYSTEM_COMPONENT_ID);
+        Mockito.when(tuple.getSourceStreamId()).thenReturn(Constants.SYSTEM_TICK_STREAM_ID);
+        return tuple;
+    }
+}
@@ -0,0 +1,79 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.wfm.topology.flow.model.SwitchTransactions.RemoveResult;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.storm.state.DefaultStateSerializer;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class SwitchTransactionsTest {
+
+    @Test
+    public void shouldCompleteFlowWhenAllTransactionsRemoved() {
+        SwitchTransactions transactions = new SwitchTransactions();
+
+        assertTrue(transactions.add("flow", 1L, 100L));
+        assertTrue(transactions.add("flow", 2L, 100L));
+        assertFalse(transactions.add("flow", 2L, 100L));
+        assertEquals(2, transactions.count("flow"));
+
+        assertEquals(RemoveResult.UNKNOWN_FLOW, transactions.remove("other", 1L));
+        assertEquals(RemoveResult.UNKNOWN_TRANSACTION, transactions.remove("flow", 3L));
+        assertEquals(RemoveResult.PENDING, transactions.remove("flow", 1L));
+        assertEquals(RemoveResult.COMPLETED, transactions.remove("flow", 2L));
+
+        assertTrue(transactions.isEmpty());
+        assertEquals(0, transactions.count("flow"));
+    }
+
+    @Test
+    public void shouldExpireFlowsAfterTheirLastDeadline() {
+        SwitchTransactions transactions = new SwitchTransactions();
+        transactions.add("first", 1L, 100L);
+        transactions.add("second", 2L, 100L);
+        transactions.add("second", 3L, 200L);
+
+        assertEquals(Collections.emptyList(), transactions.expire(99L));
+        assertEquals(Collections.singletonList("first"), transactions.expire(100L));
+        assertEquals(ImmutableMap.of("second", ImmutableSet.of(2L, 3L)), transactions.dump());
+
+        assertEquals(Collections.singletonList("second"), transactions.expire(200L));
+        assertTrue(transactions.isEmpty());
+    }
+
+    @Test
+    public void shouldSurviveStateSerialization() {
+        SwitchTransactions transactions = new SwitchTransactions();
+        transactions.add("flow", 1L, 100L);
+        transactions.add("flow", 2L, 100L);
+
+        DefaultStateSerializer<SwitchTransactions> serializer = new DefaultStateSerializer<>();
+        SwitchTransactions restored = serializer.deserialize(serializer.serialize(transactions));
+
+        assertEquals(transactions.dump(), restored.dump());
+        assertEquals(RemoveResult.PENDING, restored.remove("flow", 1L));
+        assertEquals(Collections.singletonList("flow"), restored.expire(100L));
+    }
+}
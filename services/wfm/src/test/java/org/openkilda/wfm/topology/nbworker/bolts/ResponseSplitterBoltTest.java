@@ -0,0 +1,108 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.nbworker.bolts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.info.ChunkedInfoMessage;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoDataPage;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
+import org.openkilda.messaging.model.SwitchId;
+
+import org.apache.storm.task.IOutputCollector;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ResponseSplitterBoltTest {
+    private static final String CORRELATION_ID = "request";
+
+    private final IOutputCollector output = Mockito.mock(IOutputCollector.class);
+
+    @Test
+    public void shouldPackItemsIntoPages() throws Exception {
+        List<ChunkedInfoMessage> messages = split(3, switches(7));
+
+        assertEquals(3, messages.size());
+        List<InfoData> received = new ArrayList<>();
+        for (ChunkedInfoMessage message : messages) {
+            assertEquals(3, message.getTotalMessages());
+            assertEquals(CORRELATION_ID, message.getCorrelationId());
+            received.addAll(InfoDataPage.unpack(message.getData()));
+        }
+        assertEquals(switches(7), received);
+        assertEquals(1, ((InfoDataPage) messages.get(2).getData()).getItems().size());
+    }
+
+    @Test
+    public void shouldSendItemPerMessageIfChunkSizeIsOne() throws Exception {
+        List<ChunkedInfoMessage> messages = split(1, switches(2));
+
+        assertEquals(2, messages.size());
+        assertEquals(switches(2).get(0), messages.get(0).getData());
+        assertEquals(2, messages.get(1).getTotalMessages());
+    }
+
+    @Test
+    public void shouldSendEmptyResponse() throws Exception {
+        List<ChunkedInfoMessage> messages = split(3, Collections.emptyList());
+
+        assertEquals(1, messages.size());
+        assertNull(messages.get(0).getData());
+        assertEquals(0, messages.get(0).getTotalMessages());
+    }
+
+    private List<ChunkedInfoMessage> split(int chunkSize, List<InfoData> response) throws Exception {
+        ResponseSplitterBolt bolt = new ResponseSplitterBolt(chunkSize);
+        bolt.prepare(Collections.emptyMap(), Mockito.mock(TopologyContext.class), new OutputCollector(output));
+
+        Tuple tuple = Mockito.mock(Tuple.class);
+        Mockito.when(tuple.getValueByField("response")).thenReturn(response);
+        Mockito.when(tuple.getStringByField("correlationId")).thenReturn(CORRELATION_ID);
+        bolt.execute(tuple);
+
+        ArgumentCaptor<List<Object>> values = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(output, Mockito.atLeastOnce()).emit(anyString(), anyCollection(), values.capture());
+
+        List<ChunkedInfoMessage> messages = new ArrayList<>();
+        for (List<Object> value : values.getAllValues()) {
+            assertEquals(CORRELATION_ID, value.get(0));
+            messages.add(MAPPER.readValue((String) value.get(1), ChunkedInfoMessage.class));
+        }
+        return messages;
+    }
+
+    private static List<InfoData> switches(int count) {
+        List<InfoData> switches = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            switches.add(new SwitchInfoData(new SwitchId(i), SwitchState.ACTIVATED, null, null, null, null));
+        }
+        return switches;
+    }
+}
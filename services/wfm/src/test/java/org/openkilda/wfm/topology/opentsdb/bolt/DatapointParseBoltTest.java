@@ -0,0 +1,117 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.opentsdb.bolt;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointFrame;
+import org.openkilda.wfm.topology.opentsdb.bolts.DatapointParseBolt;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.tuple.Tuple;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DatapointParseBoltTest {
+    private static final long TIMESTAMP = System.currentTimeMillis();
+
+    private final DatapointParseBolt target = new DatapointParseBolt();
+
+    @Mock
+    private OutputCollector outputCollector;
+
+    @Mock
+    private Tuple tuple;
+
+    @Captor
+    private ArgumentCaptor<List<Object>> argumentCaptor;
+
+    @Before
+    public void init() {
+        target.prepare(Collections.emptyMap(), null, outputCollector);
+    }
+
+    @Test
+    public void shouldEmitFrameOfOneSwitchAsIs() throws Exception {
+        Map<String, String> portOne = ImmutableMap.of("switchid", "00000001", "port", "1");
+        Map<String, String> portTwo = ImmutableMap.of("switchid", "00000001", "port", "2");
+        DatapointFrame frame = DatapointFrame.builder(TIMESTAMP)
+                .add("pen.switch.rx-bytes", 10, portOne)
+                .add("pen.switch.tx-bytes", 20, portOne)
+                .add("pen.switch.rx-bytes", 30, portTwo)
+                .build();
+        when(tuple.getString(0)).thenReturn(MAPPER.writeValueAsString(frame));
+
+        target.execute(tuple);
+
+        verify(outputCollector).emit(argumentCaptor.capture());
+        List<Object> emitted = argumentCaptor.getValue();
+        assertEquals("00000001".hashCode(), emitted.get(0));
+        assertEquals(frame.toDatapoints(), ((DatapointFrame) emitted.get(1)).toDatapoints());
+        verify(outputCollector).ack(tuple);
+    }
+
+    @Test
+    public void shouldSplitFrameByRoutingKey() throws Exception {
+        Map<String, String> cookie = ImmutableMap.of("switchid", "00000001", "cookie", "1");
+        Map<String, String> flow = ImmutableMap.of("flowid", "flow-1", "direction", "forward");
+        DatapointFrame frame = DatapointFrame.builder(TIMESTAMP)
+                .add("pen.flow.raw.bytes", 10, cookie)
+                .add("pen.flow.bytes", 10, flow)
+                .add("pen.flow.packets", 1, flow)
+                .build();
+        when(tuple.getString(0)).thenReturn(MAPPER.writeValueAsString(frame));
+
+        target.execute(tuple);
+
+        verify(outputCollector, times(2)).emit(argumentCaptor.capture());
+        List<List<Object>> emitted = argumentCaptor.getAllValues();
+        assertEquals("00000001".hashCode(), emitted.get(0).get(0));
+        assertEquals(1, ((DatapointFrame) emitted.get(0).get(1)).toDatapoints().size());
+        assertEquals(flow.hashCode(), emitted.get(1).get(0));
+        assertEquals(2, ((DatapointFrame) emitted.get(1).get(1)).toDatapoints().size());
+        verify(outputCollector).ack(tuple);
+    }
+
+    @Test
+    public void shouldEmitSingleDatapoint() throws Exception {
+        Datapoint datapoint = new Datapoint("pen.isl.latency", TIMESTAMP, Collections.emptyMap(), 123);
+        when(tuple.getString(0)).thenReturn(MAPPER.writeValueAsString(datapoint));
+
+        target.execute(tuple);
+
+        verify(outputCollector).emit(argumentCaptor.capture());
+        DatapointFrame emitted = (DatapointFrame) argumentCaptor.getValue().get(1);
+        assertEquals(Collections.singletonList(datapoint), emitted.toDatapoints());
+        verify(outputCollector).ack(tuple);
+    }
+}
@@ -32,7 +32,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.openkilda.messaging.info.Datapoint;
-import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.DatapointFrame;
+import org.openkilda.wfm.topology.opentsdb.bolts.DatapointParseBolt;
 import org.openkilda.wfm.topology.opentsdb.bolts.OpenTSDBFilterBolt;
 
 import org.apache.storm.task.OutputCollector;
@@ -146,11 +147,11 @@ public class OpenTSDBFilterBoltTest {
         assertEquals(infoData1.simpleHashCode(), infoData2.simpleHashCode());
 
         // when
-        when(tuple.contains(eq("datapoint"))).thenReturn(true);
-        when(tuple.getValueByField(eq("datapoint"))).thenReturn(infoData1);
+        when(tuple.contains(eq(DatapointParseBolt.FIELD_ID_FRAME))).thenReturn(true);
+        when(tuple.getValueByField(eq(DatapointParseBolt.FIELD_ID_FRAME))).thenReturn(DatapointFrame.of(infoData1));
         target.execute(tuple);
 
-        when(tuple.getValueByField(eq("datapoint"))).thenReturn(infoData2);
+        when(tuple.getValueByField(eq(DatapointParseBolt.FIELD_ID_FRAME))).thenReturn(DatapointFrame.of(infoData2));
         target.execute(tuple);
 
         // then
@@ -163,18 +164,18 @@ public class OpenTSDBFilterBoltTest {
         // given
         target.prepare(Collections.emptyMap(), null, outputCollector);
 
-        when(tuple.contains(eq("datapoint"))).thenReturn(true);
+        when(tuple.contains(eq(DatapointParseBolt.FIELD_ID_FRAME))).thenReturn(true);
 
         final long now = System.currentTimeMillis();
         final long timestamp = now - TimeUnit.MINUTES.toMillis(10) - 1;
 
         // when
         Datapoint infoData1 = new Datapoint("1", timestamp, singletonMap("key", "a"), VALUE);
-        when(tuple.getValueByField(eq("datapoint"))).thenReturn(infoData1);
+        when(tuple.getValueByField(eq(DatapointParseBolt.FIELD_ID_FRAME))).thenReturn(DatapointFrame.of(infoData1));
         target.execute(tuple);
 
         Datapoint infoData2 = new Datapoint("2", timestamp, singletonMap("key", "b"), VALUE);
-        when(tuple.getValueByField(eq("datapoint"))).thenReturn(infoData2);
+        when(tuple.getValueByField(eq(DatapointParseBolt.FIELD_ID_FRAME))).thenReturn(DatapointFrame.of(infoData2));
         target.execute(tuple);
 
         Tuple tickTuple = mock(Tuple.class);
@@ -183,7 +184,7 @@ public class OpenTSDBFilterBoltTest {
         target.execute(tickTuple);
 
         Datapoint infoData3 = new Datapoint("1", now, singletonMap("key", "a"), VALUE);
-        when(tuple.getValueByField(eq("datapoint"))).thenReturn(infoData3);
+        when(tuple.getValueByField(eq(DatapointParseBolt.FIELD_ID_FRAME))).thenReturn(DatapointFrame.of(infoData3));
         target.execute(tuple);
 
         // then
@@ -191,10 +192,37 @@ public class OpenTSDBFilterBoltTest {
         verify(outputCollector, times(4)).ack(any(Tuple.class));
     }
 
+    @Test
+    public void shouldEmitOnlyChangedDatapointsOfFrame() throws Exception {
+        target.prepare(Collections.emptyMap(), null, outputCollector);
+        when(tuple.contains(eq(DatapointParseBolt.FIELD_ID_FRAME))).thenReturn(true);
+
+        Map<String, String> tags = singletonMap("switchid", "00000001");
+        DatapointFrame first = DatapointFrame.builder(TIMESTAMP)
+                .add("rx-bytes", 10, tags)
+                .add("tx-bytes", 20, tags)
+                .build();
+        when(tuple.getValueByField(eq(DatapointParseBolt.FIELD_ID_FRAME))).thenReturn(first);
+        target.execute(tuple);
+
+        DatapointFrame second = DatapointFrame.builder(TIMESTAMP + 1)
+                .add("rx-bytes", 10, tags)
+                .add("tx-bytes", 30, tags)
+                .build();
+        when(tuple.getValueByField(eq(DatapointParseBolt.FIELD_ID_FRAME))).thenReturn(second);
+        target.execute(tuple);
+
+        verify(outputCollector, times(3)).emit(argumentCaptor.capture());
+        verify(outputCollector, times(2)).ack(any(Tuple.class));
+        List<Object> last = argumentCaptor.getValue();
+        assertEquals("tx-bytes", last.get(0));
+        assertEquals(30, last.get(2));
+    }
+
     private void mockTuple(long timestamp) throws Exception {
-        InfoData infoData = new Datapoint(METRIC, timestamp, Collections.emptyMap(), VALUE);
-        when(tuple.contains(eq("datapoint"))).thenReturn(true);
-        when(tuple.getValueByField(eq("datapoint"))).thenReturn(infoData);
+        Datapoint infoData = new Datapoint(METRIC, timestamp, Collections.emptyMap(), VALUE);
+        when(tuple.contains(eq(DatapointParseBolt.FIELD_ID_FRAME))).thenReturn(true);
+        when(tuple.getValueByField(eq(DatapointParseBolt.FIELD_ID_FRAME))).thenReturn(DatapointFrame.of(infoData));
     }
 
     private void mockTuple() throws Exception {
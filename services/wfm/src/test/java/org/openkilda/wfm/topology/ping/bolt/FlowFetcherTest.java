@@ -0,0 +1,146 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.ping.bolt;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.flow.FlowInfoData;
+import org.openkilda.messaging.info.flow.FlowOperation;
+import org.openkilda.messaging.model.BidirectionalFlow;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.FlowPair;
+import org.openkilda.pce.provider.PathComputer;
+import org.openkilda.pce.provider.PathComputerAuth;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.topology.ping.model.PingContext;
+
+import org.apache.storm.task.IOutputCollector;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.Utils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class FlowFetcherTest {
+    private static final long LOAD_ID = 1L;
+
+    private IOutputCollector output;
+    private FlowFetcher fetcher;
+
+    @Before
+    public void setUp() {
+        output = Mockito.mock(IOutputCollector.class);
+        fetcher = new FlowFetcher(new StubPathComputerAuth());
+        fetcher.prepare(Collections.emptyMap(), Mockito.mock(TopologyContext.class), new OutputCollector(output));
+    }
+
+    @Test
+    public void deleteDuringLoadIsNotOverwrittenByLoadedFlow() {
+        fetcher.execute(makeLoadTuple(FlowLoader.STREAM_LOAD_START_ID, null));
+        fetcher.execute(makeLoadTuple(Utils.DEFAULT_STREAM_ID, makeFlow("flow-1")));
+        fetcher.execute(makeSyncTuple("flow-2", FlowOperation.DELETE));
+        fetcher.execute(makeLoadTuple(Utils.DEFAULT_STREAM_ID, makeFlow("flow-2")));
+        fetcher.execute(makeLoadTuple(Utils.DEFAULT_STREAM_ID, makeFlow("flow-3")));
+        fetcher.execute(makeLoadTuple(FlowLoader.STREAM_LOAD_END_ID, null));
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("flow-1", "flow-3")), pingFlowIds());
+    }
+
+    @Test
+    public void updateDuringLoadIsNotOverwrittenByLoadedFlow() {
+        fetcher.execute(makeLoadTuple(FlowLoader.STREAM_LOAD_START_ID, null));
+        fetcher.execute(makeSyncTuple("flow-1", FlowOperation.UPDATE));
+        fetcher.execute(makeLoadTuple(Utils.DEFAULT_STREAM_ID, makeFlow("flow-1", false)));
+        fetcher.execute(makeLoadTuple(FlowLoader.STREAM_LOAD_END_ID, null));
+
+        Assert.assertEquals(Collections.singleton("flow-1"), pingFlowIds());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> pingFlowIds() {
+        fetcher.execute(makeTickTuple());
+
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(output, Mockito.atLeast(0)).emit(eq(Utils.DEFAULT_STREAM_ID), any(), captor.capture());
+        Set<String> result = new HashSet<>();
+        for (List values : captor.getAllValues()) {
+            result.add(((PingContext) values.get(1)).getFlowId());
+        }
+        return result;
+    }
+
+    private Tuple makeLoadTuple(String streamId, BidirectionalFlow flow) {
+        Tuple tuple = makeTuple(FlowLoader.BOLT_ID, streamId);
+        Mockito.when(tuple.getValueByField(FlowLoader.FIELD_ID_LOAD_ID)).thenReturn(LOAD_ID);
+        Mockito.when(tuple.getValueByField(FlowLoader.FIELD_ID_FLOW)).thenReturn(flow);
+        return tuple;
+    }
+
+    private Tuple makeSyncTuple(String flowId, FlowOperation operation) {
+        BidirectionalFlow flow = makeFlow(flowId);
+        FlowInfoData data = new FlowInfoData(flowId, new FlowPair<>(flow.getForward(), flow.getReverse()),
+                operation, "sync-" + flowId);
+        Tuple tuple = makeTuple(FlowSyncDecoder.BOLT_ID, Utils.DEFAULT_STREAM_ID);
+        Mockito.when(tuple.getValueByField(FlowSyncDecoder.FIELD_ID_INPUT))
+                .thenReturn(new InfoMessage(data, System.currentTimeMillis(), "sync-" + flowId));
+        return tuple;
+    }
+
+    private Tuple makeTickTuple() {
+        return makeTuple(TickDeduplicator.BOLT_ID, TickDeduplicator.STREAM_PING_ID);
+    }
+
+    private static Tuple makeTuple(String component, String streamId) {
+        Tuple tuple = Mockito.mock(Tuple.class);
+        Mockito.when(tuple.getSourceComponent()).thenReturn(component);
+        Mockito.when(tuple.getSourceStreamId()).thenReturn(streamId);
+        Mockito.when(tuple.getValueByField(FlowFetcher.FIELD_ID_CONTEXT)).thenReturn(new CommandContext());
+        return tuple;
+    }
+
+    private static BidirectionalFlow makeFlow(String flowId) {
+        return makeFlow(flowId, true);
+    }
+
+    private static BidirectionalFlow makeFlow(String flowId, boolean periodicPings) {
+        Flow forward = Flow.builder().flowId(flowId).periodicPings(periodicPings).build();
+        Flow reverse = Flow.builder().flowId(flowId).periodicPings(periodicPings).build();
+        return new BidirectionalFlow(forward, reverse);
+    }
+
+    private static class StubPathComputerAuth extends PathComputerAuth {
+        StubPathComputerAuth() {
+            super(null, null, null);
+        }
+
+        @Override
+        public PathComputer getPathComputer() {
+            return Mockito.mock(PathComputer.class);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.ping.model;
+
+import org.openkilda.messaging.model.BidirectionalFlow;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FlowRegistryTest {
+    @Test
+    public void putAndRemove() {
+        FlowRegistry registry = new FlowRegistry();
+
+        registry.put(makeFlow("flow-1", 100));
+        registry.put(makeFlow("flow-2", 100));
+        registry.put(makeFlow("flow-1", 200));
+        Assert.assertEquals(2, registry.size());
+        Assert.assertTrue(registry.getFlows().stream()
+                .anyMatch(flow -> "flow-1".equals(flow.getFlowId()) && flow.getBandwidth() == 200));
+
+        registry.remove("flow-1");
+        registry.remove("flow-3");
+        Assert.assertEquals(1, registry.size());
+        Assert.assertEquals("flow-2", registry.getFlows().iterator().next().getFlowId());
+    }
+
+    private static BidirectionalFlow makeFlow(String flowId, long bandwidth) {
+        return BidirectionalFlow.builder()
+                .flowId(flowId)
+                .bandwidth(bandwidth)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.portstate.bolt;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.openkilda.messaging.Utils.DEFAULT_CORRELATION_ID;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.WireFormat;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.PortChangeType;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.stats.PortStatus;
+import org.openkilda.messaging.info.stats.SwitchPortStatusData;
+import org.openkilda.messaging.model.SwitchId;
+
+import org.apache.storm.task.IOutputCollector;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+
+public class WfmStatsParseBoltTest {
+    private final SwitchId switchId = new SwitchId("ff:01");
+
+    private IOutputCollector output;
+    private WfmStatsParseBolt bolt;
+
+    @Before
+    public void before() {
+        output = Mockito.mock(IOutputCollector.class);
+        bolt = new WfmStatsParseBolt();
+        bolt.prepare(Collections.emptyMap(), Mockito.mock(TopologyContext.class), new OutputCollector(output));
+    }
+
+    @Test
+    public void shouldParseSmileEncodedPortStatus() throws Exception {
+        verifyPortStatusIsParsed(WireFormat.SMILE);
+    }
+
+    @Test
+    public void shouldParseJsonEncodedPortStatus() throws Exception {
+        verifyPortStatusIsParsed(WireFormat.JSON);
+    }
+
+    private void verifyPortStatusIsParsed(WireFormat format) throws Exception {
+        SwitchPortStatusData data = new SwitchPortStatusData(
+                switchId, Collections.singleton(new PortStatus(2, PortChangeType.UP)), "requester");
+        InfoMessage message = new InfoMessage(data, 0, DEFAULT_CORRELATION_ID, Destination.WFM_STATS);
+        Tuple tuple = makeTuple(MessageCodec.encode(message, format));
+
+        bolt.execute(tuple);
+
+        Mockito.verify(output).emit(eq(WfmStatsParseBolt.WFM_TO_PARSE_PORT_INFO_STREAM), any(),
+                eq(new Values(new PortInfoData(switchId, 2, PortChangeType.UP))));
+        Mockito.verify(output).ack(tuple);
+    }
+
+    private static Tuple makeTuple(byte[] payload) {
+        Tuple tuple = Mockito.mock(Tuple.class);
+        Mockito.when(tuple.getValue(0)).thenReturn(payload);
+        return tuple;
+    }
+}
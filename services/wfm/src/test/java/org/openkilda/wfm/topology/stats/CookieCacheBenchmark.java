@@ -0,0 +1,123 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats;
+
+import org.openkilda.messaging.utils.LongObjectHashMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cookie to flow lookups the stats CacheBolt does for one flow stats message: the boxed
+ * {@link HashMap} with a per message result map against the {@link LongObjectHashMap} with a flat result array.
+ * <p/>
+ * It is not a part of the test suite, run it with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CookieCacheBenchmark {
+    @Param({"100000"})
+    private int cookies;
+
+    /**
+     * Flow stats entries in one message.
+     */
+    @Param({"1000"})
+    private int entries;
+
+    private Map<Long, CacheFlowEntry> boxedCache;
+    private LongObjectHashMap<CacheFlowEntry> primitiveCache;
+    private long[] lookups;
+
+    /**
+     * Fill both caches with the same flows and pick the cookies of one stats message, some of them unknown.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        boxedCache = new HashMap<>();
+        primitiveCache = new LongObjectHashMap<>();
+        long[] known = new long[cookies];
+        for (int i = 0; i < cookies; i++) {
+            long cookie = (random.nextBoolean() ? 0x4000000000000000L : 0x2000000000000000L) | (i + 1);
+            CacheFlowEntry flow = new CacheFlowEntry("flow-" + i, "00000001", "00000002");
+            boxedCache.put(cookie, flow);
+            primitiveCache.put(cookie, flow);
+            known[i] = cookie;
+        }
+
+        lookups = new long[entries];
+        for (int i = 0; i < entries; i++) {
+            lookups[i] = i % 10 == 0 ? cookies + i + 1 : known[random.nextInt(cookies)];
+        }
+    }
+
+    /**
+     * The former CacheBolt lookup: boxed keys and a new map per message.
+     */
+    @Benchmark
+    public Map<Long, CacheFlowEntry> boxedHashMap() {
+        Map<Long, CacheFlowEntry> result = new HashMap<>();
+        for (long cookie : lookups) {
+            if (boxedCache.containsKey(cookie)) {
+                result.put(cookie, boxedCache.get(cookie));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The current CacheBolt lookup: primitive keys and a flat array aligned with the stats entries.
+     */
+    @Benchmark
+    public CacheFlowEntry[] primitiveHashMap() {
+        CacheFlowEntry[] result = new CacheFlowEntry[lookups.length];
+        for (int i = 0; i < lookups.length; i++) {
+            result[i] = primitiveCache.get(lookups[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Run the benchmark.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CookieCacheBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
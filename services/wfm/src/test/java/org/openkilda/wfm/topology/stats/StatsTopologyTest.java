@@ -27,12 +27,16 @@ import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.InstallOneSwitchFlow;
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointFrame;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.messaging.info.stats.FlowStatsReply;
 import org.openkilda.messaging.info.stats.MeterConfigReply;
 import org.openkilda.messaging.info.stats.MeterConfigStatsData;
+import org.openkilda.messaging.info.stats.MeterStatsData;
+import org.openkilda.messaging.info.stats.MeterStatsEntry;
+import org.openkilda.messaging.info.stats.MeterStatsReply;
 import org.openkilda.messaging.info.stats.PortStatsData;
 import org.openkilda.messaging.info.stats.PortStatsEntry;
 import org.openkilda.messaging.info.stats.PortStatsReply;
@@ -131,9 +135,10 @@ public class StatsTopologyTest extends StableAbstractStormTest {
             Map result = Testing.completeTopology(cluster, stormTopology, completeTopologyParam);
             ArrayList<FixedTuple> tuples =
                     (ArrayList<FixedTuple>) result.get(StatsComponentType.PORT_STATS_METRIC_GEN.name());
-            assertThat(tuples.size(), is(728));
-            tuples.stream()
-                    .map(this::readFromJson)
+            assertThat(tuples.size(), is(1));
+            List<Datapoint> datapoints = readDatapoints(tuples);
+            assertThat(datapoints.size(), is(728));
+            datapoints
                     .forEach(datapoint -> {
                         assertThat(datapoint.getTags().get("switchId"), is(switchId.toString().replaceAll(":", "")));
                         assertThat(datapoint.getTime(), is(timestamp));
@@ -169,9 +174,10 @@ public class StatsTopologyTest extends StableAbstractStormTest {
             Map result = Testing.completeTopology(cluster, stormTopology, completeTopologyParam);
             ArrayList<FixedTuple> tuples =
                     (ArrayList<FixedTuple>) result.get(StatsComponentType.METER_CFG_STATS_METRIC_GEN.name());
-            assertThat(tuples.size(), is(3));
-            tuples.stream()
-                    .map(this::readFromJson)
+            assertThat(tuples.size(), is(1));
+            List<Datapoint> datapoints = readDatapoints(tuples);
+            assertThat(datapoints.size(), is(3));
+            datapoints
                     .forEach(datapoint -> {
                         assertThat(datapoint.getTags().get("switchid"),
                                 is(switchId.toOtsdFormat()));
@@ -181,6 +187,49 @@ public class StatsTopologyTest extends StableAbstractStormTest {
         });
     }
 
+    @Test
+    public void meterStatsTest() throws Exception {
+        final SwitchId switchId = new SwitchId(1L);
+        final List<MeterStatsReply> stats = Collections.singletonList(new MeterStatsReply(2, Arrays.asList(
+                new MeterStatsEntry(1L, 1000L, 10L), new MeterStatsEntry(2L, 2000L, 20L))));
+        InfoMessage message = new InfoMessage(new MeterStatsData(switchId, stats), timestamp, CORRELATION_ID,
+                Destination.WFM_STATS);
+
+        //mock kafka spout
+        MockedSources sources = new MockedSources();
+        sources.addMockData(StatsComponentType.STATS_OFS_KAFKA_SPOUT.toString(),
+                new Values(MAPPER.writeValueAsString(message)));
+        sources.addMockData(StatsComponentType.STATS_KILDA_SPEAKER_SPOUT.name(),
+                new Values(MAPPER.writeValueAsString(message))
+        );
+
+        completeTopologyParam.setMockedSources(sources);
+
+        //execute topology
+        Testing.withTrackedCluster(clusterParam, (cluster) -> {
+            StatsTopology topology = new TestingTargetTopology(launchEnvironment, new TestingKafkaBolt());
+            StormTopology stormTopology = topology.createTopology();
+
+            //verify results
+            Map result = Testing.completeTopology(cluster, stormTopology, completeTopologyParam);
+            ArrayList<FixedTuple> tuples =
+                    (ArrayList<FixedTuple>) result.get(StatsComponentType.METER_STATS_METRIC_GEN.name());
+            assertThat(tuples.size(), is(1));
+            List<Datapoint> datapoints = readDatapoints(tuples);
+            assertThat(datapoints.size(), is(6));
+            datapoints.forEach(datapoint -> {
+                assertThat(datapoint.getTags().get("switchid"), is(switchId.toOtsdFormat()));
+                assertThat(datapoint.getTime(), is(timestamp));
+            });
+            Datapoint bytes = datapoints.stream()
+                    .filter(datapoint -> "pen.switch.meters.bytes".equals(datapoint.getMetric()))
+                    .filter(datapoint -> "2".equals(datapoint.getTags().get("meterid")))
+                    .findFirst()
+                    .orElseThrow(AssertionError::new);
+            assertThat(bytes.getValue().longValue(), is(2000L));
+        });
+    }
+
     @Test
     public void flowStatsTest() throws Exception {
         //mock kafka spout
@@ -235,9 +284,10 @@ public class StatsTopologyTest extends StableAbstractStormTest {
             //verify results which were sent to Kafka bolt
             ArrayList<FixedTuple> tuples =
                     (ArrayList<FixedTuple>) result.get(StatsComponentType.FLOW_STATS_METRIC_GEN.name());
-            assertThat(tuples.size(), is(9));
-            tuples.stream()
-                    .map(this::readFromJson)
+            assertThat(tuples.size(), is(1));
+            List<Datapoint> datapoints = readDatapoints(tuples);
+            assertThat(datapoints.size(), is(9));
+            datapoints
                     .forEach(datapoint -> {
                         if (datapoint.getMetric().equals("pen.flow.packets")) {
                             assertThat(datapoint.getTags().get("direction"), is("forward"));
@@ -292,13 +342,19 @@ public class StatsTopologyTest extends StableAbstractStormTest {
         });
     }
 
-    private Datapoint readFromJson(FixedTuple tuple) {
+    private List<Datapoint> readDatapoints(List<FixedTuple> tuples) {
+        return tuples.stream()
+                .map(this::readFromJson)
+                .flatMap(frame -> frame.toDatapoints().stream())
+                .collect(toList());
+    }
+
+    private DatapointFrame readFromJson(FixedTuple tuple) {
         try {
-            return Utils.MAPPER.readValue(tuple.values.get(0).toString(), Datapoint.class);
+            return Utils.MAPPER.readValue(tuple.values.get(0).toString(), DatapointFrame.class);
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new IllegalStateException(e);
         }
-        return null;
     }
 
     /**
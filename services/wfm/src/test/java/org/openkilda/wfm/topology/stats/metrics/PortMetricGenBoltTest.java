@@ -0,0 +1,85 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import static org.apache.storm.utils.Utils.DEFAULT_STREAM_ID;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.openkilda.messaging.Utils.DEFAULT_CORRELATION_ID;
+import static org.openkilda.messaging.Utils.MAPPER;
+import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.info.DatapointFrame;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.PortStatsEntry;
+import org.openkilda.messaging.info.stats.PortStatsReply;
+import org.openkilda.messaging.model.SwitchId;
+import org.openkilda.wfm.topology.stats.StatsComponentType;
+import org.openkilda.wfm.topology.stats.StatsStreamType;
+
+import org.apache.storm.task.IOutputCollector;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.List;
+
+public class PortMetricGenBoltTest {
+    private IOutputCollector output;
+    private PortMetricGenBolt bolt;
+
+    @Before
+    public void before() {
+        output = Mockito.mock(IOutputCollector.class);
+        bolt = new PortMetricGenBolt(5);
+        bolt.prepare(Collections.emptyMap(), Mockito.mock(TopologyContext.class), new OutputCollector(output));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSplitDatapointsIntoFramesOfLimitedSize() throws Exception {
+        PortStatsEntry entry = new PortStatsEntry(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13);
+        PortStatsData data = new PortStatsData(new SwitchId("ff:01"),
+                Collections.singletonList(new PortStatsReply(1, Collections.singletonList(entry))));
+        Tuple tuple = Mockito.mock(Tuple.class);
+        Mockito.when(tuple.getSourceComponent()).thenReturn(StatsComponentType.STATS_OFS_BOLT.name());
+        Mockito.when(tuple.getSourceStreamId()).thenReturn(StatsStreamType.PORT_STATS.name());
+        Mockito.when(tuple.getValueByField(MESSAGE_FIELD)).thenReturn(
+                new InfoMessage(data, 1000L, DEFAULT_CORRELATION_ID, Destination.WFM_STATS));
+
+        bolt.execute(tuple);
+
+        // every port produces 14 datapoints
+        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(output, Mockito.times(3)).emit(eq(DEFAULT_STREAM_ID), any(), captor.capture());
+        int total = 0;
+        for (List<Object> values : captor.getAllValues()) {
+            DatapointFrame frame = MAPPER.readValue((String) values.get(0), DatapointFrame.class);
+            assertEquals(1000L, frame.getTime());
+            total += frame.toDatapoints().size();
+        }
+        assertEquals(14, total);
+        Mockito.verify(output).ack(tuple);
+    }
+}